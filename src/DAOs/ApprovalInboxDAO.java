@@ -0,0 +1,317 @@
+package DAOs;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pending leave and overtime requests as one approval inbox.
+ *
+ * Both request tables are merged in a single UNION query ordered by
+ * (dateCreated, requestType, requestId) and read with keyset pagination, so
+ * each page costs the same no matter how deep the supervisor scrolls.
+ *
+ * Each request table gets a lastModified column that MySQL bumps on every
+ * insert and update. Clients keep the highest value they have seen (the high
+ * water mark) and only fetch rows changed since then: pending rows are new or
+ * edited items, decided rows are items to drop from the inbox. The columns
+ * are added by SchemaMigrations; before that the inbox pages still load but
+ * no changes are reported.
+ */
+public class ApprovalInboxDAO {
+
+    public static final String TYPE_LEAVE = "LEAVE";
+    public static final String TYPE_OVERTIME = "OVERTIME";
+
+    // Applied by SchemaMigrations. Existing rows get the time of the migration.
+    static final String[] ADD_CHANGE_TRACKING = {
+        "ALTER TABLE leaverequest ADD COLUMN lastModified TIMESTAMP(3) NOT NULL " +
+            "DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3)",
+        "ALTER TABLE leaverequest ADD INDEX idx_leaverequest_last_modified (lastModified)",
+        "ALTER TABLE leaverequest ADD INDEX idx_leaverequest_inbox (approvalStatus, dateCreated, leaveRequestId)",
+        "ALTER TABLE overtimerequest ADD COLUMN lastModified TIMESTAMP(3) NOT NULL " +
+            "DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3)",
+        "ALTER TABLE overtimerequest ADD INDEX idx_overtimerequest_last_modified (lastModified)",
+        "ALTER TABLE overtimerequest ADD INDEX idx_overtimerequest_inbox (approvalStatus, dateCreated, overtimeRequestId)"
+    };
+
+    private static final String LEAVE_COLUMNS = """
+        SELECT 'LEAVE' AS requestType, lr.leaveRequestId AS requestId, lr.employeeId,
+               e.firstName, e.lastName, lr.leaveTypeId,
+               CAST(lr.leaveStart AS DATETIME) AS periodStart, CAST(lr.leaveEnd AS DATETIME) AS periodEnd,
+               lr.leaveReason AS reason, lr.approvalStatus, lr.dateCreated, lr.lastModified
+        FROM leaverequest lr
+        JOIN employee e ON lr.employeeId = e.employeeId
+        """;
+
+    private static final String OVERTIME_COLUMNS = """
+        SELECT 'OVERTIME' AS requestType, o.overtimeRequestId AS requestId, o.employeeId,
+               e.firstName, e.lastName, NULL AS leaveTypeId,
+               o.overtimeStart AS periodStart, o.overtimeEnd AS periodEnd,
+               o.overtimeReason AS reason, o.approvalStatus, o.dateCreated, o.lastModified
+        FROM overtimerequest o
+        JOIN employee e ON o.employeeId = e.employeeId
+        """;
+
+    // Each branch is cut to the page size before merging, so neither table is read past the page
+    private static final String SELECT_PAGE =
+        "SELECT * FROM ((" + LEAVE_COLUMNS +
+        "WHERE lr.approvalStatus = 'Pending' AND (? IS NULL OR e.supervisorId = ?) " +
+        "AND (lr.dateCreated > ? OR (lr.dateCreated = ? AND ('LEAVE' > ? OR ('LEAVE' = ? AND lr.leaveRequestId > ?)))) " +
+        "ORDER BY lr.dateCreated, lr.leaveRequestId LIMIT ?) " +
+        "UNION ALL (" + OVERTIME_COLUMNS +
+        "WHERE o.approvalStatus = 'Pending' AND (? IS NULL OR e.supervisorId = ?) " +
+        "AND (o.dateCreated > ? OR (o.dateCreated = ? AND ('OVERTIME' > ? OR ('OVERTIME' = ? AND o.overtimeRequestId > ?)))) " +
+        "ORDER BY o.dateCreated, o.overtimeRequestId LIMIT ?)) inbox " +
+        "ORDER BY dateCreated, requestType, requestId LIMIT ?";
+
+    private static final String SELECT_CHANGES =
+        "SELECT * FROM ((" + LEAVE_COLUMNS +
+        "WHERE lr.lastModified >= ? AND (? IS NULL OR e.supervisorId = ?)) " +
+        "UNION ALL (" + OVERTIME_COLUMNS +
+        "WHERE o.lastModified >= ? AND (? IS NULL OR e.supervisorId = ?))) changes " +
+        "ORDER BY lastModified, requestType, requestId";
+
+    // Before the change tracking migration: same page without the lastModified columns
+    private static final String SELECT_PAGE_UNTRACKED = SELECT_PAGE
+        .replace("lr.lastModified", "NULL AS lastModified")
+        .replace("o.lastModified", "NULL AS lastModified");
+
+    private static final String SELECT_SERVER_TIME = "SELECT NOW(3) AS serverTime";
+
+    private final DatabaseConnection databaseConnection;
+
+    public ApprovalInboxDAO() {
+        this.databaseConnection = new DatabaseConnection();
+    }
+
+    public ApprovalInboxDAO(DatabaseConnection databaseConnection) {
+        this.databaseConnection = databaseConnection;
+    }
+
+    /**
+     * One page of pending requests, oldest first
+     * @param supervisorId Only requests of this supervisor's direct reports (null for all)
+     * @param after Cursor of the last item already shown (null for the first page)
+     * @param limit Page size
+     * @return Up to limit items
+     */
+    public List<InboxItem> findPendingPage(Integer supervisorId, InboxCursor after, int limit) {
+        InboxCursor cursor = after != null ? after : InboxCursor.START;
+        List<InboxItem> items = new ArrayList<>();
+
+        try (Connection conn = openConnection();
+             PreparedStatement stmt = conn.prepareStatement(hasChangeTracking(conn) ? SELECT_PAGE : SELECT_PAGE_UNTRACKED)) {
+
+            int index = bindPageBranch(stmt, 1, supervisorId, cursor, limit);
+            index = bindPageBranch(stmt, index, supervisorId, cursor, limit);
+            stmt.setInt(index, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    items.add(mapInboxItem(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error loading approval inbox page: " + e.getMessage());
+        }
+
+        return items;
+    }
+
+    /**
+     * Requests inserted or updated at or after a point in time, whatever their status
+     * @param supervisorId Only requests of this supervisor's direct reports (null for all)
+     * @param since High water mark (inclusive)
+     * @return Changed items ordered by lastModified (none before the change
+     *         tracking migration), or null if the query failed
+     */
+    public List<InboxItem> findChangedSince(Integer supervisorId, Timestamp since) {
+        List<InboxItem> items = new ArrayList<>();
+
+        try (Connection conn = openConnection()) {
+            if (!hasChangeTracking(conn)) {
+                return items;
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_CHANGES)) {
+                for (int branch = 0; branch < 2; branch++) {
+                    stmt.setTimestamp(branch * 3 + 1, since);
+                    stmt.setObject(branch * 3 + 2, supervisorId, Types.INTEGER);
+                    stmt.setObject(branch * 3 + 3, supervisorId, Types.INTEGER);
+                }
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        items.add(mapInboxItem(rs));
+                    }
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error loading approval inbox changes: " + e.getMessage());
+            return null;
+        }
+
+        return items;
+    }
+
+    /**
+     * Current database time, the starting high water mark for a freshly loaded inbox.
+     * Taken from the server so it compares correctly with lastModified.
+     * @return Server time, or null if the database is unreachable
+     */
+    public Timestamp getServerTime() {
+        try (Connection conn = openConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_SERVER_TIME);
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getTimestamp("serverTime") : null;
+        } catch (SQLException e) {
+            System.err.println("Error reading database time: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // HELPER METHODS
+
+    private static int bindPageBranch(PreparedStatement stmt, int index, Integer supervisorId,
+                                      InboxCursor cursor, int limit) throws SQLException {
+        stmt.setObject(index++, supervisorId, Types.INTEGER);
+        stmt.setObject(index++, supervisorId, Types.INTEGER);
+        stmt.setTimestamp(index++, cursor.getDateCreated());
+        stmt.setTimestamp(index++, cursor.getDateCreated());
+        stmt.setString(index++, cursor.getRequestType());
+        stmt.setString(index++, cursor.getRequestType());
+        stmt.setInt(index++, cursor.getRequestId());
+        stmt.setInt(index++, limit);
+        return index;
+    }
+
+    private static InboxItem mapInboxItem(ResultSet rs) throws SQLException {
+        int leaveTypeId = rs.getInt("leaveTypeId");
+        Integer leaveType = rs.wasNull() ? null : leaveTypeId;
+        return new InboxItem(rs.getString("requestType"), rs.getInt("requestId"), rs.getInt("employeeId"),
+                rs.getString("firstName") + " " + rs.getString("lastName"), leaveType,
+                toLocalDateTime(rs.getTimestamp("periodStart")), toLocalDateTime(rs.getTimestamp("periodEnd")),
+                rs.getString("reason"), rs.getString("approvalStatus"),
+                rs.getTimestamp("dateCreated"), rs.getTimestamp("lastModified"));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private Connection openConnection() throws SQLException {
+        return databaseConnection.createConnection();
+    }
+
+    /**
+     * Check if the lastModified columns and inbox indexes have been added (SchemaMigrations)
+     */
+    private static boolean hasChangeTracking(Connection conn) {
+        return SchemaMigrations.isApplied(conn, SchemaMigrations.APPROVAL_INBOX_CHANGE_TRACKING);
+    }
+
+    /**
+     * A leave or overtime request as shown in the approval inbox
+     */
+    public static class InboxItem {
+        private final String requestType;
+        private final int requestId;
+        private final int employeeId;
+        private final String employeeName;
+        private final Integer leaveTypeId;
+        private final LocalDateTime periodStart;
+        private final LocalDateTime periodEnd;
+        private final String reason;
+        private final String approvalStatus;
+        private final Timestamp dateCreated;
+        private final Timestamp lastModified;
+
+        public InboxItem(String requestType, int requestId, int employeeId, String employeeName,
+                         Integer leaveTypeId, LocalDateTime periodStart, LocalDateTime periodEnd, String reason,
+                         String approvalStatus, Timestamp dateCreated, Timestamp lastModified) {
+            this.requestType = requestType;
+            this.requestId = requestId;
+            this.employeeId = employeeId;
+            this.employeeName = employeeName;
+            this.leaveTypeId = leaveTypeId;
+            this.periodStart = periodStart;
+            this.periodEnd = periodEnd;
+            this.reason = reason;
+            this.approvalStatus = approvalStatus;
+            this.dateCreated = dateCreated;
+            this.lastModified = lastModified;
+        }
+
+        public String getRequestType() { return requestType; }
+        public int getRequestId() { return requestId; }
+        public int getEmployeeId() { return employeeId; }
+        public String getEmployeeName() { return employeeName; }
+        public Integer getLeaveTypeId() { return leaveTypeId; }
+        public LocalDateTime getPeriodStart() { return periodStart; }
+        public LocalDateTime getPeriodEnd() { return periodEnd; }
+        public String getReason() { return reason; }
+        public String getApprovalStatus() { return approvalStatus; }
+        public Timestamp getDateCreated() { return dateCreated; }
+        public Timestamp getLastModified() { return lastModified; }
+
+        public boolean isLeave() { return TYPE_LEAVE.equals(requestType); }
+        public boolean isPending() { return "Pending".equalsIgnoreCase(approvalStatus); }
+
+        /**
+         * Identifies the request across both tables, e.g. "LEAVE:42"
+         */
+        public String getKey() { return requestType + ":" + requestId; }
+
+        public InboxCursor toCursor() {
+            return new InboxCursor(dateCreated, requestType, requestId);
+        }
+    }
+
+    /**
+     * Position in the inbox ordering (dateCreated, requestType, requestId).
+     * Passed to clients as an opaque token.
+     */
+    public static class InboxCursor {
+        static final InboxCursor START = new InboxCursor(new Timestamp(0), "", 0);
+
+        private final Timestamp dateCreated;
+        private final String requestType;
+        private final int requestId;
+
+        public InboxCursor(Timestamp dateCreated, String requestType, int requestId) {
+            this.dateCreated = dateCreated != null ? dateCreated : new Timestamp(0);
+            this.requestType = requestType;
+            this.requestId = requestId;
+        }
+
+        public Timestamp getDateCreated() { return dateCreated; }
+        public String getRequestType() { return requestType; }
+        public int getRequestId() { return requestId; }
+
+        public String toToken() {
+            return dateCreated.getTime() + ":" + requestType + ":" + requestId;
+        }
+
+        /**
+         * @param token Value from toToken()
+         * @return The cursor, or null if the token is malformed
+         */
+        public static InboxCursor fromToken(String token) {
+            if (token == null) {
+                return null;
+            }
+            String[] parts = token.split(":");
+            if (parts.length != 3) {
+                return null;
+            }
+            try {
+                return new InboxCursor(new Timestamp(Long.parseLong(parts[0])), parts[1], Integer.parseInt(parts[2]));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
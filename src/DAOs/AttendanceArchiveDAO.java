@@ -0,0 +1,296 @@
+package DAOs;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Archive tier for attendance.
+ *
+ * Attendance of closed years (older than HOT_YEARS) that nothing else refers
+ * to is moved, one month per transaction, into attendance_archive. The
+ * archive table is partitioned by year, so a lookup into an old year only
+ * reads that year's partition. The live table stays unpartitioned (InnoDB
+ * does not allow foreign keys on partitioned tables) and small.
+ *
+ * Only AttendanceDAO, AttendanceService, AttendanceRollupDAO and the leave
+ * conflict checks read the archive, so a month is archived only while no pay
+ * period covers it and no payrollattendance or tardinessrecord row refers to
+ * its attendance: payroll, payslip and tardiness queries keep joining to live
+ * rows. Months are archived oldest first and archiving stops at the first
+ * month that has to stay live, so every day up to getArchivedThrough() is in
+ * the archive and every later day is live. AttendanceDAO refuses to write
+ * attendance dated on or before that boundary (imports report those rows as
+ * errors), and the archive keeps the live table's unique (employeeId, date) key.
+ *
+ * The archive table is created by SchemaMigrations. Archiving rewrites large
+ * ranges and reorganizes partitions, so it is an administrator step run from
+ * the command line (java DAOs.AttendanceArchiveDAO), never from the application.
+ */
+public class AttendanceArchiveDAO {
+
+    public static final String ATTENDANCE_ARCHIVE = "attendance_archive";
+
+    // Current year and the previous one stay in the live tables
+    public static final int HOT_YEARS = 2;
+
+    private static final ZoneId MANILA_TIMEZONE = ZoneId.of("Asia/Manila");
+    private static final long BOUNDARY_CACHE_MILLIS = 5 * 60 * 1000L;
+
+    private static final int MYSQL_PARTITION_VALUES_NOT_INCREASING = 1493;
+
+    // The attendance table after FROM or JOIN, whatever the spacing, case or alias
+    private static final Pattern ATTENDANCE_TABLE =
+        Pattern.compile("\\b(FROM|JOIN)\\s+attendance\\b", Pattern.CASE_INSENSITIVE);
+
+    static final String CREATE_ATTENDANCE_ARCHIVE = """
+        CREATE TABLE IF NOT EXISTS attendance_archive (
+            attendanceId INT NOT NULL,
+            date DATE NOT NULL,
+            timeIn TIME NULL,
+            timeOut TIME NULL,
+            employeeId INT NOT NULL,
+            archivedAt TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+            PRIMARY KEY (attendanceId, date),
+            UNIQUE KEY uk_attendance_archive_employee_date (employeeId, date),
+            KEY idx_attendance_archive_date (date)
+        )
+        PARTITION BY RANGE (YEAR(date)) (PARTITION pmax VALUES LESS THAN MAXVALUE)
+        """;
+
+    // Pay periods, payroll lines and tardiness records keep a month live
+    private static final String MONTH_IS_REFERENCED = """
+        SELECT EXISTS (SELECT 1 FROM payperiod WHERE startDate < ? AND endDate >= ?)
+            OR EXISTS (SELECT 1 FROM payrollattendance pa
+                       JOIN attendance a ON pa.attendanceId = a.attendanceId
+                       WHERE a.date >= ? AND a.date < ?)
+            OR EXISTS (SELECT 1 FROM tardinessrecord tr
+                       JOIN attendance a ON tr.attendanceId = a.attendanceId
+                       WHERE a.date >= ? AND a.date < ?)
+        """;
+
+    // INSERT IGNORE so a month interrupted half-way can simply be archived again
+    private static final String COPY_ATTENDANCE = """
+        INSERT IGNORE INTO attendance_archive (attendanceId, date, timeIn, timeOut, employeeId)
+        SELECT attendanceId, date, timeIn, timeOut, employeeId FROM attendance
+        WHERE date >= ? AND date < ?
+        """;
+
+    private static final String DELETE_ATTENDANCE =
+        "DELETE FROM attendance WHERE date >= ? AND date < ?";
+
+    private static final String SELECT_OLDEST_LIVE_DATE = "SELECT MIN(date) FROM attendance";
+
+    private static final String SELECT_ARCHIVED_THROUGH = "SELECT MAX(date) FROM attendance_archive";
+
+    // Last archived date (null = nothing archived), cached for BOUNDARY_CACHE_MILLIS
+    private static volatile LocalDate archivedThrough;
+    private static volatile long archivedThroughLoadedAt;
+
+    private final DatabaseConnection databaseConnection;
+
+    public AttendanceArchiveDAO() {
+        this(new DatabaseConnection());
+    }
+
+    public AttendanceArchiveDAO(DatabaseConnection databaseConnection) {
+        this.databaseConnection = databaseConnection;
+    }
+
+    /**
+     * Archive closed years from the command line
+     * @param args none
+     */
+    public static void main(String[] args) {
+        System.exit(new AttendanceArchiveDAO().archiveClosedYears() >= 0 ? 0 : 1);
+    }
+
+    // ROUTING
+
+    /**
+     * Last date held in the archive, cached for a few minutes
+     * @param conn Open connection (used only when the cache is stale)
+     * @return Last archived date, or null if nothing is archived
+     */
+    public static LocalDate getArchivedThrough(Connection conn) {
+        if (System.currentTimeMillis() - archivedThroughLoadedAt < BOUNDARY_CACHE_MILLIS) {
+            return archivedThrough;
+        }
+        if (!SchemaMigrations.isApplied(conn, SchemaMigrations.ATTENDANCE_ARCHIVE)) {
+            return null;
+        }
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SELECT_ARCHIVED_THROUGH)) {
+            Date last = rs.next() ? rs.getDate(1) : null;
+            archivedThrough = last != null ? last.toLocalDate() : null;
+        } catch (SQLException e) {
+            System.err.println("Error reading attendance archive boundary: " + e.getMessage());
+            archivedThrough = null;
+        }
+        archivedThroughLoadedAt = System.currentTimeMillis();
+        return archivedThrough;
+    }
+
+    /**
+     * Check if a range starting at this date needs the archive
+     */
+    public static boolean reachesArchive(Connection conn, LocalDate startDate) {
+        if (startDate == null) {
+            return false;
+        }
+        LocalDate boundary = getArchivedThrough(conn);
+        return boundary != null && !startDate.isAfter(boundary);
+    }
+
+    public static boolean reachesArchive(Connection conn, Date startDate) {
+        return startDate != null && reachesArchive(conn, startDate.toLocalDate());
+    }
+
+    /**
+     * Check if attendance for this day may be written to the live table:
+     * archived days are read from the archive only, so a live row would be
+     * hidden (and copied in a second time by the next archive run)
+     */
+    public static boolean isWritable(Connection conn, Date date) {
+        return !reachesArchive(conn, date);
+    }
+
+    /**
+     * The same query against the archive table
+     * @param sql Query reading attendance (FROM or JOIN attendance)
+     * @return Query to prepare
+     * @throws IllegalArgumentException if the query does not read attendance
+     */
+    public static String archiveQuery(String sql) {
+        Matcher matcher = ATTENDANCE_TABLE.matcher(sql);
+        if (!matcher.find()) {
+            throw new IllegalArgumentException("Query does not read the attendance table: " + sql);
+        }
+        return matcher.replaceAll("$1 " + ATTENDANCE_ARCHIVE);
+    }
+
+    /**
+     * The same query against the archive, for a day that has been archived
+     * @param conn Open connection
+     * @param sql Query reading attendance
+     * @param date The day the query reads
+     * @return Query to prepare
+     */
+    public static String forDay(Connection conn, String sql, LocalDate date) {
+        return reachesArchive(conn, date) ? archiveQuery(sql) : sql;
+    }
+
+    // ARCHIVAL
+
+    /**
+     * Check if a year is closed (older than the years kept live)
+     */
+    public boolean isClosedYear(int year) {
+        return year <= LocalDate.now(MANILA_TIMEZONE).getYear() - HOT_YEARS;
+    }
+
+    /**
+     * Move closed months to the archive, oldest first, up to the first month
+     * that has to stay live (see the class comment)
+     * @return Attendance rows archived, or -1 on error
+     */
+    public int archiveClosedYears() {
+        if (!SchemaMigrations.isApplied(databaseConnection, SchemaMigrations.ATTENDANCE_ARCHIVE)) {
+            System.err.println("Cannot archive attendance: migration " + SchemaMigrations.ATTENDANCE_ARCHIVE
+                    + " has not been applied (run DAOs.SchemaMigrations)");
+            return -1;
+        }
+
+        try (Connection conn = databaseConnection.createConnection()) {
+            int archived = 0;
+            int partitionYear = 0;
+            LocalDate month = getOldestLiveMonth(conn);
+            while (month != null && isClosedYear(month.getYear()) && !isReferenced(conn, month)) {
+                if (month.getYear() != partitionYear) {
+                    partitionYear = month.getYear();
+                    addYearPartition(conn, partitionYear);
+                }
+                archived += archiveRange(conn, Date.valueOf(month), Date.valueOf(month.plusMonths(1)));
+                month = getOldestLiveMonth(conn);
+            }
+
+            archivedThroughLoadedAt = 0; // Re-read the boundary on the next query
+            System.out.println("Archived " + archived + " attendance records"
+                    + (month != null ? "; " + month + " onwards stays live" : ""));
+            return archived;
+        } catch (SQLException e) {
+            System.err.println("Error archiving attendance: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    // HELPER METHODS
+
+    private static int archiveRange(Connection conn, Date start, Date end) throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            executeRange(conn, COPY_ATTENDANCE, start, end);
+            int archived = executeRange(conn, DELETE_ATTENDANCE, start, end);
+            conn.commit();
+            return archived;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private static int executeRange(Connection conn, String sql, Date start, Date end) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setDate(1, start);
+            stmt.setDate(2, end);
+            return stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * First day of the month holding the oldest live attendance row, or null if there is none
+     */
+    private static LocalDate getOldestLiveMonth(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SELECT_OLDEST_LIVE_DATE)) {
+            Date oldest = rs.next() ? rs.getDate(1) : null;
+            return oldest != null ? oldest.toLocalDate().withDayOfMonth(1) : null;
+        }
+    }
+
+    private static boolean isReferenced(Connection conn, LocalDate month) throws SQLException {
+        Date start = Date.valueOf(month);
+        Date end = Date.valueOf(month.plusMonths(1));
+        try (PreparedStatement stmt = conn.prepareStatement(MONTH_IS_REFERENCED)) {
+            stmt.setDate(1, end);
+            stmt.setDate(2, start);
+            for (int i = 3; i <= 5; i += 2) {
+                stmt.setDate(i, start);
+                stmt.setDate(i + 1, end);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    /**
+     * Split a partition for the year off the catch-all partition. Years must be
+     * added in increasing order; an older year just shares the next partition.
+     */
+    private static void addYearPartition(Connection conn, int year) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE " + ATTENDANCE_ARCHIVE + " REORGANIZE PARTITION pmax INTO ("
+                    + "PARTITION p" + year + " VALUES LESS THAN (" + (year + 1) + "), "
+                    + "PARTITION pmax VALUES LESS THAN MAXVALUE)");
+        } catch (SQLException e) {
+            if (e.getErrorCode() != MYSQL_PARTITION_VALUES_NOT_INCREASING) {
+                throw e;
+            }
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package DAOs;
 
 import Models.AttendanceModel;
+import Models.TardinessRecordModel;
+import Utility.AttendanceRules;
+import Utility.WorkdayCalendar;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.sql.*;
 import java.time.*;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
 
 public class AttendanceDAO {
     private static final ZoneId MANILA_TIMEZONE = ZoneId.of("Asia/Manila");
@@ -50,11 +57,90 @@ public class AttendanceDAO {
     
     private static final String SELECT_MONTHLY_ATTENDANCE = 
         "SELECT attendanceId, date, timeIn, timeOut, employeeId FROM attendance " +
-        "WHERE employeeId = ? AND YEAR(date) = ? AND MONTH(date) = ? ORDER BY date";
+        "WHERE employeeId = ? AND date >= ? AND date < ? ORDER BY date";
+    
+    // Clock-in path: insert today's row, or fill timeIn on a row created without one
+    private static final String INSERT_CLOCK_IN = 
+        "INSERT INTO attendance (date, timeIn, timeOut, employeeId) VALUES (?, ?, NULL, ?)";
+    
+    private static final String UPDATE_CLOCK_IN = 
+        "UPDATE attendance SET timeIn = ?, attendanceId = LAST_INSERT_ID(attendanceId) " +
+        "WHERE employeeId = ? AND date = ? AND timeIn IS NULL";
+    
+    // Only needed until the unique key migration has been applied
+    private static final String LOCK_EMPLOYEE_DATE = 
+        "SELECT attendanceId FROM attendance WHERE employeeId = ? AND date = ? FOR UPDATE";
+    
+    // Applied by SchemaMigrations (ATTENDANCE_CLOCK_IN_KEY)
+    static final String ADD_EMPLOYEE_DATE_UNIQUE_KEY = 
+        "ALTER TABLE attendance ADD UNIQUE KEY uk_attendance_employee_date (employeeId, date)";
+    
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+    
+    // Write-behind flush: idempotent, so a batch replayed after a crash changes nothing
+    private static final String UPSERT_JOURNALED_CLOCK_IN = 
+        "INSERT INTO attendance (date, timeIn, timeOut, employeeId) VALUES (?, ?, NULL, ?) " +
+        "ON DUPLICATE KEY UPDATE timeIn = COALESCE(timeIn, VALUES(timeIn))";
+    
+    private static final String UPDATE_JOURNALED_CLOCK_OUT = 
+        "UPDATE attendance SET timeOut = ? " +
+        "WHERE employeeId = ? AND date = ? AND timeIn IS NOT NULL AND timeOut IS NULL";
+    
+    private static final String INSERT_JOURNALED_TARDINESS = 
+        "INSERT INTO tardinessrecord (attendanceId, tardinessHours, tardinessType, supervisorNotes, createdAt) " +
+        "SELECT a.attendanceId, ?, ?, ?, NOW() FROM attendance a " +
+        "WHERE a.employeeId = ? AND a.date = ? AND (a.timeIn = ? OR a.timeOut = ?) " +
+        "AND NOT EXISTS (SELECT 1 FROM tardinessrecord t " +
+        "WHERE t.attendanceId = a.attendanceId AND t.tardinessType = ?)";
+    
+    // Bulk import: imported punches replace stored times, a missing timeOut keeps the stored one
+    private static final String UPSERT_IMPORTED_ATTENDANCE = 
+        "INSERT INTO attendance (date, timeIn, timeOut, employeeId) VALUES (?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE timeIn = VALUES(timeIn), timeOut = COALESCE(VALUES(timeOut), timeOut)";
+    
+    // Late/undertime records of a re-imported day describe the old times
+    private static final String DELETE_IMPORTED_DAY_TARDINESS = 
+        "DELETE tr FROM tardinessrecord tr JOIN attendance a ON tr.attendanceId = a.attendanceId " +
+        "WHERE a.employeeId = ? AND a.date = ? AND tr.tardinessType IN ('LATE', 'UNDERTIME')";
+    
+    // Derived hours, one definition each ({t} = table prefix, e.g. "a."):
+    //   computedHours - elapsed time minus the 1-hour lunch break (payroll)
+    //   regularHours  - time inside 08:00-17:00, minus lunch if it spans 12:00-13:00
+    //   lateHours     - hours after 08:00 when timeIn is past the 08:10 grace period
+    //   overtimeHours - time before 08:00 plus time after 17:00
+    private static final String[][] COMPUTED_HOUR_FORMULAS = {
+        {"computedHours",
+         "CASE WHEN {t}timeIn IS NOT NULL AND {t}timeOut IS NOT NULL " +
+         "THEN GREATEST(0, (TIME_TO_SEC({t}timeOut) - TIME_TO_SEC({t}timeIn)) / 3600 - 1) ELSE 0 END"},
+        {"regularHours",
+         "CASE WHEN {t}timeIn IS NOT NULL AND {t}timeOut IS NOT NULL " +
+         "THEN GREATEST(0, (LEAST(TIME_TO_SEC({t}timeOut), 61200) - GREATEST(TIME_TO_SEC({t}timeIn), 28800)) / 3600 " +
+         "- CASE WHEN GREATEST(TIME_TO_SEC({t}timeIn), 28800) <= 43200 AND LEAST(TIME_TO_SEC({t}timeOut), 61200) >= 46800 " +
+         "THEN 1 ELSE 0 END) ELSE 0 END"},
+        {"lateHours",
+         "CASE WHEN TIME_TO_SEC({t}timeIn) > 29400 THEN (TIME_TO_SEC({t}timeIn) - 28800) / 3600 ELSE 0 END"},
+        {"overtimeHours",
+         "CASE WHEN {t}timeIn IS NOT NULL AND {t}timeOut IS NOT NULL " +
+         "THEN GREATEST(0, 28800 - TIME_TO_SEC({t}timeIn)) / 3600 + GREATEST(0, TIME_TO_SEC({t}timeOut) - 61200) / 3600 " +
+         "ELSE 0 END"}
+    };
+    
+    private static final String COMPUTED_HOUR_TYPE = "DECIMAL(6,4)";
+    
+    // Applied by SchemaMigrations (ATTENDANCE_COMPUTED_HOURS): STORED generated columns, which
+    // MySQL fills for every existing row while adding them and keeps current on every write
+    static final String ADD_COMPUTED_HOUR_COLUMNS = buildAddComputedHourColumns();
+    
+    private static final String COUNT_COMPLIANT_DAYS = 
+        "SELECT COUNT(*) FROM attendance WHERE employeeId = ? AND date BETWEEN ? AND ? " +
+        "AND timeOut IS NOT NULL AND timeIn <= '08:10:00'";
     
     private static final String DELETE_ATTENDANCE = 
         "DELETE FROM attendance WHERE attendanceId = ?";
     
+    private static final String SELECT_ATTENDANCE_KEY = 
+        "SELECT employeeId, date FROM attendance WHERE attendanceId = ?";
+    
     private static final String SELECT_INCOMPLETE_ATTENDANCE = 
         "SELECT attendanceId, date, timeIn, timeOut, employeeId FROM attendance " +
         "WHERE employeeId = ? AND (timeIn IS NULL OR timeOut IS NULL) ORDER BY date DESC";
@@ -69,6 +155,130 @@ public class AttendanceDAO {
         "SUM(CASE WHEN timeIn > '08:10:00' THEN 1 ELSE 0 END) as lateDays " +
         "FROM attendance WHERE employeeId = ? AND date BETWEEN ? AND ?";
     
+    /**
+     * Current employee and date of an attendance row (null if it does not exist)
+     */
+    private static AttendanceModel findAttendanceKey(Connection conn, int attendanceId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_ATTENDANCE_KEY)) {
+            stmt.setInt(1, attendanceId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                AttendanceModel key = new AttendanceModel();
+                key.setEmployeeId(rs.getInt("employeeId"));
+                key.setDate(rs.getDate("date"));
+                return key;
+            }
+        }
+    }
+    
+    /**
+     * Recount tardiness period totals when an update moved an attendance row
+     * (and its tardiness records) to another employee or month
+     */
+    private static void refreshMovedTardinessTotals(Connection conn, AttendanceModel previous, int employeeId, Date date) throws SQLException {
+        if (previous == null || date == null) {
+            return;
+        }
+        LocalDate oldMonth = previous.getDate().toLocalDate().withDayOfMonth(1);
+        LocalDate newMonth = date.toLocalDate().withDayOfMonth(1);
+        if (previous.getEmployeeId() != employeeId || !oldMonth.equals(newMonth)) {
+            TardinessRecordDAO.refreshPeriodTotals(conn, previous.getEmployeeId(), oldMonth, oldMonth);
+            TardinessRecordDAO.refreshPeriodTotals(conn, employeeId, newMonth, newMonth);
+        }
+    }
+    
+    /**
+     * Use the injected DatabaseConnection when there is one, otherwise the default settings
+     */
+    private Connection openConnection() throws SQLException {
+        return databaseConnection != null ? databaseConnection.createConnection() : getConnection();
+    }
+    
+    /**
+     * Check that the unique (employeeId, date) key the upserts rely on exists
+     * (applied by SchemaMigrations); without it they would add duplicate rows
+     */
+    private static boolean hasEmployeeDateKey(Connection conn, String operation) {
+        if (SchemaMigrations.isApplied(conn, SchemaMigrations.ATTENDANCE_CLOCK_IN_KEY)) {
+            return true;
+        }
+        System.err.println("Cannot " + operation + ": migration " + SchemaMigrations.ATTENDANCE_CLOCK_IN_KEY
+                + " has not been applied (run DAOs.SchemaMigrations)");
+        return false;
+    }
+    
+    /**
+     * Refuse a write dated on or before the archive boundary: those days are
+     * read from the archive only (see AttendanceArchiveDAO)
+     */
+    private static boolean isWritableDate(Connection conn, Date date, String operation) {
+        if (AttendanceArchiveDAO.isWritable(conn, date)) {
+            return true;
+        }
+        System.err.println("Cannot " + operation + ": attendance for " + date + " has been archived");
+        return false;
+    }
+    
+    /**
+     * Last archived attendance date; attendance on or before it cannot be written
+     * @return The date, or null if nothing is archived
+     */
+    public LocalDate getArchivedThrough() {
+        try (Connection conn = openConnection()) {
+            return AttendanceArchiveDAO.getArchivedThrough(conn);
+        } catch (SQLException e) {
+            System.err.println("Error reading attendance archive boundary: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Prepare a query that reads the computed hour columns of attendance
+     * (computedHours, regularHours, lateHours, overtimeHours) through a table
+     * alias. Until SchemaMigrations has added the stored columns, each
+     * alias.column reference is replaced with the same formula computed inline.
+     * @param conn Open connection
+     * @param sql Query using e.g. a.computedHours
+     * @param alias Alias of the attendance table in the query
+     * @return Query to prepare
+     */
+    public static String withComputedHours(Connection conn, String sql, String alias) {
+        if (SchemaMigrations.isApplied(conn, SchemaMigrations.ATTENDANCE_COMPUTED_HOURS)) {
+            return sql;
+        }
+        return expandComputedHours(sql, alias);
+    }
+    
+    /**
+     * Same as withComputedHours() against the archive tier (see
+     * AttendanceArchiveDAO), which has no stored hour columns
+     * @param sql Query reading attendance, using e.g. a.computedHours
+     * @param alias Alias of the attendance table in the query
+     * @return Query to prepare
+     */
+    public static String archiveWithComputedHours(String sql, String alias) {
+        return expandComputedHours(AttendanceArchiveDAO.archiveQuery(sql), alias);
+    }
+    
+    private static String expandComputedHours(String sql, String alias) {
+        for (String[] formula : COMPUTED_HOUR_FORMULAS) {
+            sql = sql.replaceAll("\\b" + alias + "\\." + formula[0] + "\\b",
+                    "CAST((" + formula[1].replace("{t}", alias + ".") + ") AS " + COMPUTED_HOUR_TYPE + ")");
+        }
+        return sql;
+    }
+    
+    private static String buildAddComputedHourColumns() {
+        StringBuilder sql = new StringBuilder("ALTER TABLE attendance ");
+        for (String[] formula : COMPUTED_HOUR_FORMULAS) {
+            sql.append("ADD COLUMN ").append(formula[0]).append(' ').append(COMPUTED_HOUR_TYPE)
+               .append(" AS (").append(formula[1].replace("{t}", "")).append(") STORED, ");
+        }
+        return sql.append("ADD INDEX idx_attendance_date_overtime (date, overtimeHours)").toString();
+    }
+    
     /**
      * Get database connection with Manila timezone
      */
@@ -100,6 +310,9 @@ public class AttendanceDAO {
             Date manilaDate = convertToManilaDate(attendance.getDate());
             Time manilaTimeIn = convertToManilaTime(attendance.getTimeIn());
             Time manilaTimeOut = convertToManilaTime(attendance.getTimeOut());
+            if (!isWritableDate(conn, manilaDate, "create attendance")) {
+                return false;
+            }
             
             stmt.setDate(1, manilaDate);
             stmt.setTime(2, manilaTimeIn);
@@ -134,21 +347,36 @@ public class AttendanceDAO {
             return false;
         }
         
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(UPDATE_ATTENDANCE)) {
-            
-            // Convert to Manila timezone before saving
-            Date manilaDate = convertToManilaDate(attendance.getDate());
-            Time manilaTimeIn = convertToManilaTime(attendance.getTimeIn());
-            Time manilaTimeOut = convertToManilaTime(attendance.getTimeOut());
-            
-            stmt.setDate(1, manilaDate);
-            stmt.setTime(2, manilaTimeIn);
-            stmt.setTime(3, manilaTimeOut);
-            stmt.setInt(4, attendance.getEmployeeId());
-            stmt.setInt(5, attendance.getAttendanceId());
+        try (Connection conn = getConnection()) {
+            if (!isWritableDate(conn, convertToManilaDate(attendance.getDate()), "update attendance")) {
+                return false;
+            }
+            conn.setAutoCommit(false);
             
-            return stmt.executeUpdate() > 0;
+            try (PreparedStatement stmt = conn.prepareStatement(UPDATE_ATTENDANCE)) {
+                AttendanceModel previous = findAttendanceKey(conn, attendance.getAttendanceId());
+                
+                // Convert to Manila timezone before saving
+                Date manilaDate = convertToManilaDate(attendance.getDate());
+                Time manilaTimeIn = convertToManilaTime(attendance.getTimeIn());
+                Time manilaTimeOut = convertToManilaTime(attendance.getTimeOut());
+                
+                stmt.setDate(1, manilaDate);
+                stmt.setTime(2, manilaTimeIn);
+                stmt.setTime(3, manilaTimeOut);
+                stmt.setInt(4, attendance.getEmployeeId());
+                stmt.setInt(5, attendance.getAttendanceId());
+                
+                boolean updated = stmt.executeUpdate() > 0;
+                if (updated) {
+                    refreshMovedTardinessTotals(conn, previous, attendance.getEmployeeId(), manilaDate);
+                }
+                conn.commit();
+                return updated;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
             
         } catch (SQLException e) {
             System.err.println("Error updating attendance: " + e.getMessage());
@@ -163,16 +391,12 @@ public class AttendanceDAO {
      * @return 
      */
     public AttendanceModel getAttendanceById(int attendanceId) {
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_ID)) {
-            
-            stmt.setInt(1, attendanceId);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return mapResultSetToAttendance(rs);
-                }
+        try (Connection conn = getConnection()) {
+            AttendanceModel attendance = readAttendanceById(conn, SELECT_BY_ID, attendanceId);
+            if (attendance == null && AttendanceArchiveDAO.getArchivedThrough(conn) != null) {
+                attendance = readAttendanceById(conn, AttendanceArchiveDAO.archiveQuery(SELECT_BY_ID), attendanceId);
             }
+            return attendance;
             
         } catch (SQLException e) {
             System.err.println("Error getting attendance by ID: " + e.getMessage());
@@ -188,15 +412,19 @@ public class AttendanceDAO {
      * @return 
      */
     public AttendanceModel getAttendanceByEmployeeAndDate(int employeeId, Date date) {
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_EMPLOYEE_DATE)) {
-            
-            stmt.setInt(1, employeeId);
-            stmt.setDate(2, convertToManilaDate(date));
+        try (Connection conn = getConnection()) {
+            Date manilaDate = convertToManilaDate(date);
+            String sql = AttendanceArchiveDAO.reachesArchive(conn, manilaDate)
+                    ? AttendanceArchiveDAO.archiveQuery(SELECT_BY_EMPLOYEE_DATE) : SELECT_BY_EMPLOYEE_DATE;
             
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return mapResultSetToAttendance(rs);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, employeeId);
+                stmt.setDate(2, manilaDate);
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return mapResultSetToAttendance(rs);
+                    }
                 }
             }
             
@@ -217,17 +445,14 @@ public class AttendanceDAO {
     public List<AttendanceModel> getAttendanceByEmployeeAndDateRange(int employeeId, Date startDate, Date endDate) {
         List<AttendanceModel> attendanceList = new ArrayList<>();
         
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_EMPLOYEE_DATE_RANGE)) {
-            
-            stmt.setInt(1, employeeId);
-            stmt.setDate(2, convertToManilaDate(startDate));
-            stmt.setDate(3, convertToManilaDate(endDate));
+        try (Connection conn = getConnection()) {
+            Date start = convertToManilaDate(startDate);
+            Date end = convertToManilaDate(endDate);
             
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    attendanceList.add(mapResultSetToAttendance(rs));
-                }
+            readEmployeeRange(conn, SELECT_BY_EMPLOYEE_DATE_RANGE, employeeId, start, end, attendanceList);
+            if (AttendanceArchiveDAO.reachesArchive(conn, start)) {
+                // Archived days are all older than live ones, so appending keeps newest-first order
+                readEmployeeRange(conn, AttendanceArchiveDAO.archiveQuery(SELECT_BY_EMPLOYEE_DATE_RANGE), employeeId, start, end, attendanceList);
             }
             
         } catch (SQLException e) {
@@ -247,18 +472,16 @@ public class AttendanceDAO {
     public List<AttendanceModel> getMonthlyAttendance(int employeeId, int month, int year) {
         List<AttendanceModel> attendanceList = new ArrayList<>();
         
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SELECT_MONTHLY_ATTENDANCE)) {
-            
-            stmt.setInt(1, employeeId);
-            stmt.setInt(2, year);
-            stmt.setInt(3, month);
+        try (Connection conn = getConnection()) {
+            LocalDate monthStart = LocalDate.of(year, month, 1);
+            Date start = Date.valueOf(monthStart);
+            Date end = Date.valueOf(monthStart.plusMonths(1));
             
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    attendanceList.add(mapResultSetToAttendance(rs));
-                }
+            // Archived days come first to keep oldest-first order
+            if (AttendanceArchiveDAO.reachesArchive(conn, monthStart)) {
+                readEmployeeRange(conn, AttendanceArchiveDAO.archiveQuery(SELECT_MONTHLY_ATTENDANCE), employeeId, start, end, attendanceList);
             }
+            readEmployeeRange(conn, SELECT_MONTHLY_ATTENDANCE, employeeId, start, end, attendanceList);
             
         } catch (SQLException e) {
             System.err.println("Error getting monthly attendance: " + e.getMessage());
@@ -331,24 +554,23 @@ public class AttendanceDAO {
     public Map<String, Object> getAttendanceSummary(int employeeId, Date startDate, Date endDate) {
         Map<String, Object> summary = new HashMap<>();
         
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SELECT_ATTENDANCE_SUMMARY)) {
-            
-            stmt.setInt(1, employeeId);
-            stmt.setDate(2, convertToManilaDate(startDate));
-            stmt.setDate(3, convertToManilaDate(endDate));
+        try (Connection conn = getConnection()) {
+            Date start = convertToManilaDate(startDate);
+            Date end = convertToManilaDate(endDate);
             
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    summary.put("totalDays", rs.getInt("totalDays"));
-                    summary.put("completeDays", rs.getInt("completeDays"));
-                    summary.put("lateDays", rs.getInt("lateDays"));
-                    summary.put("presentDays", rs.getInt("completeDays"));
-                    summary.put("attendanceRate", rs.getInt("completeDays") > 0 ? 
-                        (double) rs.getInt("completeDays") / rs.getInt("totalDays") * 100 : 0);
-                }
+            int[] counts = new int[3]; // totalDays, completeDays, lateDays
+            addSummaryCounts(conn, SELECT_ATTENDANCE_SUMMARY, employeeId, start, end, counts);
+            if (AttendanceArchiveDAO.reachesArchive(conn, start)) {
+                addSummaryCounts(conn, AttendanceArchiveDAO.archiveQuery(SELECT_ATTENDANCE_SUMMARY), employeeId, start, end, counts);
             }
             
+            summary.put("totalDays", counts[0]);
+            summary.put("completeDays", counts[1]);
+            summary.put("lateDays", counts[2]);
+            summary.put("presentDays", counts[1]);
+            summary.put("attendanceRate", counts[1] > 0 ? 
+                (double) counts[1] / counts[0] * 100 : 0);
+            
         } catch (SQLException e) {
             System.err.println("Error getting attendance summary: " + e.getMessage());
         }
@@ -362,11 +584,25 @@ public class AttendanceDAO {
      * @return 
      */
     public boolean deleteAttendance(int attendanceId) {
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(DELETE_ATTENDANCE)) {
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
             
-            stmt.setInt(1, attendanceId);
-            return stmt.executeUpdate() > 0;
+            try (PreparedStatement stmt = conn.prepareStatement(DELETE_ATTENDANCE)) {
+                AttendanceModel previous = findAttendanceKey(conn, attendanceId);
+                
+                stmt.setInt(1, attendanceId);
+                boolean deleted = stmt.executeUpdate() > 0;
+                if (deleted && previous != null) {
+                    // Recount in case its tardiness records were removed with it by a cascading key
+                    LocalDate date = previous.getDate().toLocalDate();
+                    TardinessRecordDAO.refreshPeriodTotals(conn, previous.getEmployeeId(), date, date);
+                }
+                conn.commit();
+                return deleted;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
             
         } catch (SQLException e) {
             System.err.println("Error deleting attendance: " + e.getMessage());
@@ -385,21 +621,103 @@ public class AttendanceDAO {
         Date currentDate = Date.valueOf(nowManila.toLocalDate());
         Time currentTime = Time.valueOf(nowManila.toLocalTime());
         
-        // Check if employee already clocked in today
-        AttendanceModel existing = getAttendanceByEmployeeAndDate(employeeId, currentDate);
-        
-        if (existing != null && existing.hasTimeIn()) {
-            return false; // Already clocked in
+        return recordClockIn(employeeId, currentDate, currentTime, null) != null;
+    }
+    
+    /**
+     * Clock in with one connection and one transaction: insert the day's row
+     * (or fill timeIn on a row that has none) and write the late record
+     * together. The unique (employeeId, date) key (see SchemaMigrations) makes
+     * concurrent or repeated clock-ins for the same day safe without a prior
+     * SELECT; until it is applied, the day's row is looked up and locked first.
+     * @param employeeId Employee clocking in
+     * @param date Attendance date (Manila)
+     * @param timeIn Time in (Manila)
+     * @param lateRecord Tardiness record to write with the attendance, or null if on time
+     * @return Attendance ID, or null if already clocked in for the date or on error
+     */
+    public Integer recordClockIn(int employeeId, Date date, Time timeIn, TardinessRecordModel lateRecord) {
+        try (Connection conn = openConnection()) {
+            boolean keyed = SchemaMigrations.isApplied(conn, SchemaMigrations.ATTENDANCE_CLOCK_IN_KEY);
+            conn.setAutoCommit(false);
+            
+            try {
+                Integer attendanceId = null;
+                
+                // Without the unique key, look for the day's row first (as clockIn() did)
+                if (keyed || !hasRowForUpdate(conn, employeeId, convertToManilaDate(date))) {
+                    try (PreparedStatement stmt = conn.prepareStatement(INSERT_CLOCK_IN, Statement.RETURN_GENERATED_KEYS)) {
+                        stmt.setDate(1, convertToManilaDate(date));
+                        stmt.setTime(2, convertToManilaTime(timeIn));
+                        stmt.setInt(3, employeeId);
+                        
+                        if (stmt.executeUpdate() > 0) {
+                            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                                if (generatedKeys.next()) {
+                                    attendanceId = generatedKeys.getInt(1);
+                                }
+                            }
+                        }
+                    } catch (SQLException e) {
+                        // The day's row already exists; only that statement is rolled back
+                        if (e.getErrorCode() != MYSQL_DUPLICATE_ENTRY) {
+                            throw e;
+                        }
+                    }
+                }
+                
+                if (attendanceId == null) {
+                    // Row already exists: only a row without timeIn may be clocked in
+                    try (PreparedStatement stmt = conn.prepareStatement(UPDATE_CLOCK_IN, Statement.RETURN_GENERATED_KEYS)) {
+                        stmt.setTime(1, convertToManilaTime(timeIn));
+                        stmt.setInt(2, employeeId);
+                        stmt.setDate(3, convertToManilaDate(date));
+                        
+                        if (stmt.executeUpdate() > 0) {
+                            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                                if (generatedKeys.next()) {
+                                    attendanceId = generatedKeys.getInt(1);
+                                }
+                            }
+                        }
+                    }
+                }
+                
+                if (attendanceId == null) {
+                    conn.rollback();
+                    return null; // Already clocked in
+                }
+                
+                if (lateRecord != null) {
+                    lateRecord.setAttendanceId(attendanceId);
+                    if (!TardinessRecordDAO.insertTardinessRecord(conn, lateRecord)) {
+                        conn.rollback();
+                        return null;
+                    }
+                }
+                
+                conn.commit();
+                return attendanceId;
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error recording clock in: " + e.getMessage());
         }
         
-        if (existing != null) {
-            // Update existing record with time in
-            existing.setTimeIn(currentTime);
-            return updateAttendance(existing);
-        } else {
-            // Create new attendance record
-            AttendanceModel attendance = new AttendanceModel(currentDate, currentTime, null, employeeId);
-            return createAttendance(attendance);
+        return null;
+    }
+    
+    private static boolean hasRowForUpdate(Connection conn, int employeeId, Date date) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(LOCK_EMPLOYEE_DATE)) {
+            stmt.setInt(1, employeeId);
+            stmt.setDate(2, date);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
         }
     }
     
@@ -497,6 +815,181 @@ public class AttendanceDAO {
         return attendanceList;
     }
     
+    /**
+     * Write journaled clock events (see ClockEventJournal) in one transaction,
+     * batched like bulkUpdateAttendance. Clock-ins are inserted before
+     * clock-outs so a punch pair in the same batch lands on one row. Every
+     * statement is idempotent, so replaying a batch after a crash is safe.
+     * @param events Journaled events, oldest first
+     * @return STORED if the whole batch was committed, REJECTED if it failed on
+     *         bad data (e.g. an unknown employee), RETRY for any other failure
+     */
+    public ClockEventJournal.WriteResult writeClockEvents(List<ClockEventJournal.ClockEvent> events) {
+        if (events == null || events.isEmpty()) {
+            return ClockEventJournal.WriteResult.STORED;
+        }
+        
+        try (Connection conn = openConnection()) {
+            if (!hasEmployeeDateKey(conn, "write journaled clock events")) {
+                return ClockEventJournal.WriteResult.RETRY;
+            }
+            conn.setAutoCommit(false);
+            
+            try (PreparedStatement clockIn = conn.prepareStatement(UPSERT_JOURNALED_CLOCK_IN);
+                 PreparedStatement clockOut = conn.prepareStatement(UPDATE_JOURNALED_CLOCK_OUT);
+                 PreparedStatement tardiness = conn.prepareStatement(INSERT_JOURNALED_TARDINESS)) {
+                
+                boolean hasClockOuts = false;
+                boolean hasTardiness = false;
+                Map<Integer, Set<LocalDate>> tardyPeriods = new HashMap<>(); // employeeId -> months with new tardiness
+                
+                for (ClockEventJournal.ClockEvent event : events) {
+                    Date manilaDate = convertToManilaDate(event.getDate());
+                    Time manilaTime = convertToManilaTime(event.getTime());
+                    
+                    if (event.getType() == ClockEventJournal.EventType.IN) {
+                        clockIn.setDate(1, manilaDate);
+                        clockIn.setTime(2, manilaTime);
+                        clockIn.setInt(3, event.getEmployeeId());
+                        clockIn.addBatch();
+                        
+                        AttendanceModel attendance = new AttendanceModel(event.getDate(), event.getTime(), null, event.getEmployeeId());
+                        if (attendance.isLateAttendance()) {
+                            BigDecimal lateHours = BigDecimal.valueOf(
+                                    AttendanceRules.lateMinutes(attendance.getTimeInSecondOfDay()) / 60.0);
+                            addJournaledTardiness(tardiness, event, manilaDate, lateHours,
+                                    TardinessRecordModel.TardinessType.LATE, "Late arrival at " + attendance.getFormattedTimeIn());
+                            tardyPeriods.computeIfAbsent(event.getEmployeeId(), k -> new HashSet<>())
+                                    .add(manilaDate.toLocalDate().withDayOfMonth(1));
+                            hasTardiness = true;
+                        }
+                    } else {
+                        clockOut.setTime(1, manilaTime);
+                        clockOut.setInt(2, event.getEmployeeId());
+                        clockOut.setDate(3, manilaDate);
+                        clockOut.addBatch();
+                        hasClockOuts = true;
+                        
+                        AttendanceModel attendance = new AttendanceModel(event.getDate(), null, event.getTime(), event.getEmployeeId());
+                        if (attendance.isEarlyOut()) {
+                            addJournaledTardiness(tardiness, event, manilaDate, attendance.getUndertimeHoursBigDecimal(),
+                                    TardinessRecordModel.TardinessType.UNDERTIME, "Early departure at " + attendance.getFormattedTimeOut());
+                            tardyPeriods.computeIfAbsent(event.getEmployeeId(), k -> new HashSet<>())
+                                    .add(manilaDate.toLocalDate().withDayOfMonth(1));
+                            hasTardiness = true;
+                        }
+                    }
+                }
+                
+                clockIn.executeBatch();
+                if (hasClockOuts) {
+                    clockOut.executeBatch();
+                }
+                if (hasTardiness) {
+                    tardiness.executeBatch();
+                    // Inserts are conditional (replays, earlier punches), so recount the touched periods
+                    for (Map.Entry<Integer, Set<LocalDate>> entry : tardyPeriods.entrySet()) {
+                        for (LocalDate month : entry.getValue()) {
+                            TardinessRecordDAO.refreshPeriodTotals(conn, entry.getKey(), month, month);
+                        }
+                    }
+                }
+                conn.commit();
+                return ClockEventJournal.WriteResult.STORED;
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error writing journaled clock events: " + e.getMessage());
+            return isDataError(e) ? ClockEventJournal.WriteResult.REJECTED : ClockEventJournal.WriteResult.RETRY;
+        }
+    }
+    
+    /**
+     * SQLSTATE class 22 (data exception) or 23 (integrity constraint violation):
+     * the statement will fail the same way every time it is retried
+     */
+    private static boolean isDataError(SQLException e) {
+        if (e instanceof BatchUpdateException && e.getNextException() != null) {
+            e = e.getNextException();
+        }
+        String state = e.getSQLState();
+        return state != null && (state.startsWith("22") || state.startsWith("23"));
+    }
+    
+    private void addJournaledTardiness(PreparedStatement stmt, ClockEventJournal.ClockEvent event, Date manilaDate,
+                                       BigDecimal hours, TardinessRecordModel.TardinessType type, String notes) throws SQLException {
+        stmt.setBigDecimal(1, hours.setScale(4, RoundingMode.HALF_UP));
+        stmt.setString(2, type.name());
+        stmt.setString(3, notes);
+        stmt.setInt(4, event.getEmployeeId());
+        stmt.setDate(5, manilaDate);
+        // Only if this punch is the one stored (an earlier punch may have won)
+        stmt.setTime(6, convertToManilaTime(event.getTime()));
+        stmt.setTime(7, convertToManilaTime(event.getTime()));
+        stmt.setString(8, type.name());
+        stmt.addBatch();
+    }
+    
+    /**
+     * Insert or update imported attendance rows in one batched transaction,
+     * keyed on the unique (employeeId, date) key. LATE and UNDERTIME records
+     * of the imported days are deleted in the same transaction; recreate them
+     * from the new times with TardinessRecordDAO.generateTardinessRecords.
+     * @param attendanceList Validated rows
+     * @return true if the whole batch was committed
+     */
+    public boolean bulkUpsertAttendance(List<AttendanceModel> attendanceList) {
+        if (attendanceList == null || attendanceList.isEmpty()) {
+            return true;
+        }
+        
+        try (Connection conn = openConnection()) {
+            if (!hasEmployeeDateKey(conn, "import attendance")) {
+                return false;
+            }
+            for (AttendanceModel attendance : attendanceList) {
+                if (!isWritableDate(conn, convertToManilaDate(attendance.getDate()), "import attendance")) {
+                    return false;
+                }
+            }
+            conn.setAutoCommit(false);
+            
+            try (PreparedStatement stmt = conn.prepareStatement(UPSERT_IMPORTED_ATTENDANCE);
+                 PreparedStatement tardiness = conn.prepareStatement(DELETE_IMPORTED_DAY_TARDINESS)) {
+                for (AttendanceModel attendance : attendanceList) {
+                    Date manilaDate = convertToManilaDate(attendance.getDate());
+                    stmt.setDate(1, manilaDate);
+                    stmt.setTime(2, convertToManilaTime(attendance.getTimeIn()));
+                    stmt.setTime(3, convertToManilaTime(attendance.getTimeOut()));
+                    stmt.setInt(4, attendance.getEmployeeId());
+                    stmt.addBatch();
+                    
+                    tardiness.setInt(1, attendance.getEmployeeId());
+                    tardiness.setDate(2, manilaDate);
+                    tardiness.addBatch();
+                }
+                
+                stmt.executeBatch();
+                tardiness.executeBatch();
+                conn.commit();
+                return true;
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error bulk upserting attendance: " + e.getMessage());
+        }
+        
+        return false;
+    }
+    
     /**
      * Bulk update attendance records
      * @param attendanceList
@@ -508,12 +1001,19 @@ public class AttendanceDAO {
         }
         
         try (Connection conn = getConnection()) {
+            for (AttendanceModel attendance : attendanceList) {
+                if (!isWritableDate(conn, convertToManilaDate(attendance.getDate()), "update attendance")) {
+                    return false;
+                }
+            }
             conn.setAutoCommit(false);
             
             try (PreparedStatement stmt = conn.prepareStatement(UPDATE_ATTENDANCE)) {
+                List<AttendanceModel[]> moves = new ArrayList<>(); // {previous, updated}
                 for (AttendanceModel attendance : attendanceList) {
                     if (attendance.getAttendanceId() <= 0) continue;
                     
+                    moves.add(new AttendanceModel[] {findAttendanceKey(conn, attendance.getAttendanceId()), attendance});
                     Date manilaDate = convertToManilaDate(attendance.getDate());
                     Time manilaTimeIn = convertToManilaTime(attendance.getTimeIn());
                     Time manilaTimeOut = convertToManilaTime(attendance.getTimeOut());
@@ -528,6 +1028,9 @@ public class AttendanceDAO {
                 }
                 
                 int[] results = stmt.executeBatch();
+                for (AttendanceModel[] move : moves) {
+                    refreshMovedTardinessTotals(conn, move[0], move[1].getEmployeeId(), convertToManilaDate(move[1].getDate()));
+                }
                 conn.commit();
                 
                 // Check if all updates were successful
@@ -561,16 +1064,21 @@ public List<AttendanceModel> getAttendanceByDate(Date date) {
     String sql = "SELECT attendanceId, date, timeIn, timeOut, employeeId FROM attendance " +
                  "WHERE date = ? ORDER BY employeeId";
     
-    try (Connection conn = getConnection();  // Use your existing getConnection() method
-         PreparedStatement stmt = conn.prepareStatement(sql)) {
-        
-        stmt.setDate(1, convertToManilaDate(date));
+    try (Connection conn = getConnection()) {  // Use your existing getConnection() method
+        Date manilaDate = convertToManilaDate(date);
+        if (AttendanceArchiveDAO.reachesArchive(conn, manilaDate)) {
+            sql = AttendanceArchiveDAO.archiveQuery(sql);
+        }
         
-        try (ResultSet rs = stmt.executeQuery()) {
-            while (rs.next()) {
-                AttendanceModel attendance = mapResultSetToAttendance(rs);
-                if (attendance != null) {
-                    attendanceList.add(attendance);
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setDate(1, manilaDate);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    AttendanceModel attendance = mapResultSetToAttendance(rs);
+                    if (attendance != null) {
+                        attendanceList.add(attendance);
+                    }
                 }
             }
         }
@@ -584,6 +1092,51 @@ public List<AttendanceModel> getAttendanceByDate(Date date) {
     
     // Helper methods
     
+    private AttendanceModel readAttendanceById(Connection conn, String sql, int attendanceId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, attendanceId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? mapResultSetToAttendance(rs) : null;
+            }
+        }
+    }
+    
+    /**
+     * Run an (employeeId, start, end) query and append the rows to the list
+     */
+    private void readEmployeeRange(Connection conn, String sql, int employeeId, Date start, Date end,
+                                   List<AttendanceModel> attendanceList) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, employeeId);
+            stmt.setDate(2, start);
+            stmt.setDate(3, end);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    attendanceList.add(mapResultSetToAttendance(rs));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Run an (employeeId, start, end) count query and add its columns to the totals
+     */
+    private static void addSummaryCounts(Connection conn, String sql, int employeeId, Date start, Date end,
+                                         int[] counts) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, employeeId);
+            stmt.setDate(2, start);
+            stmt.setDate(3, end);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    for (int i = 0; i < counts.length; i++) {
+                        counts[i] += rs.getInt(i + 1);
+                    }
+                }
+            }
+        }
+    }
+    
     /**
      * Map ResultSet to AttendanceModel
      */
@@ -623,25 +1176,38 @@ public List<AttendanceModel> getAttendanceByDate(Date date) {
     }
     
     /**
-     * Get working days count in date range
+     * Count complete attendance days with time in by the 8:10 AM grace period cutoff
+     * @param employeeId
      * @param startDate
      * @param endDate
      * @return 
      */
-    public int getWorkingDaysCount(Date startDate, Date endDate) {
-        LocalDate start = startDate.toLocalDate();
-        LocalDate end = endDate.toLocalDate();
-        int workingDays = 0;
-        
-        LocalDate current = start;
-        while (!current.isAfter(end)) {
-            DayOfWeek dayOfWeek = current.getDayOfWeek();
-            if (dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY) {
-                workingDays++;
+    public int countCompliantDays(int employeeId, Date startDate, Date endDate) {
+        try (Connection conn = openConnection()) {
+            Date start = convertToManilaDate(startDate);
+            Date end = convertToManilaDate(endDate);
+            
+            int[] counts = new int[1];
+            addSummaryCounts(conn, COUNT_COMPLIANT_DAYS, employeeId, start, end, counts);
+            if (AttendanceArchiveDAO.reachesArchive(conn, start)) {
+                addSummaryCounts(conn, AttendanceArchiveDAO.archiveQuery(COUNT_COMPLIANT_DAYS), employeeId, start, end, counts);
             }
-            current = current.plusDays(1);
+            return counts[0];
+            
+        } catch (SQLException e) {
+            System.err.println("Error counting compliant attendance days: " + e.getMessage());
         }
         
-        return workingDays;
+        return 0;
+    }
+    
+    /**
+     * Get working days count in date range (weekdays, excluding holidays)
+     * @param startDate
+     * @param endDate
+     * @return 
+     */
+    public int getWorkingDaysCount(Date startDate, Date endDate) {
+        return WorkdayCalendar.getInstance().countWorkdays(startDate.toLocalDate(), endDate.toLocalDate());
     }
 }
\ No newline at end of file
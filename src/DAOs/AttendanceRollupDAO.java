@@ -0,0 +1,446 @@
+package DAOs;
+
+import Utility.WorkdayCalendar;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Per-day, per-department attendance counts (attendance_daily_rollup).
+ *
+ * Company-wide daily and monthly reports read these few rows instead of
+ * scanning every punch. Rows are kept current incrementally:
+ * - a clock-in adds one to presentCount (and lateCount if late)
+ * - an early clock-out adds one to undertimeCount
+ * - bulk writes (write-behind flushes, imports, edits) and leave approvals
+ *   recompute just the affected days with refreshDays()
+ * The first clock-in of a department on a day recomputes that row, so a
+ * row always starts from the real counts. absent = headcount - present - onLeave.
+ *
+ * Reads build any day that is missing a department's row (no punches yet,
+ * or a department nobody has clocked in for) before returning it, so a
+ * report never shows a partial day.
+ *
+ * The table is created by SchemaMigrations. Until then nothing is kept and
+ * reads count each day from the source tables.
+ */
+public class AttendanceRollupDAO {
+
+    static final String CREATE_ROLLUP_TABLE = """
+        CREATE TABLE IF NOT EXISTS attendance_daily_rollup (
+            rollupDate DATE NOT NULL,
+            department VARCHAR(100) NOT NULL,
+            headcount INT NOT NULL DEFAULT 0,
+            presentCount INT NOT NULL DEFAULT 0,
+            lateCount INT NOT NULL DEFAULT 0,
+            undertimeCount INT NOT NULL DEFAULT 0,
+            onLeaveCount INT NOT NULL DEFAULT 0,
+            updatedAt TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+            PRIMARY KEY (rollupDate, department)
+        )
+        """;
+
+    // One day's counts from the source tables (all departments, or one when department is not NULL)
+    private static final String COUNT_DAY = """
+        SELECT ? AS rollupDate, p.department, COUNT(*) AS headcount,
+               SUM(CASE WHEN a.attendanceId IS NOT NULL THEN 1 ELSE 0 END) AS presentCount,
+               SUM(CASE WHEN a.timeIn > '08:10:00' THEN 1 ELSE 0 END) AS lateCount,
+               SUM(CASE WHEN a.timeOut < '17:00:00' THEN 1 ELSE 0 END) AS undertimeCount,
+               SUM(CASE WHEN a.attendanceId IS NULL AND lr.employeeId IS NOT NULL THEN 1 ELSE 0 END) AS onLeaveCount
+        FROM employee e
+        JOIN position p ON e.positionId = p.positionId
+        LEFT JOIN attendance a ON a.employeeId = e.employeeId AND a.date = ? AND a.timeIn IS NOT NULL
+        LEFT JOIN (SELECT DISTINCT employeeId FROM leaverequest
+                   WHERE approvalStatus = 'Approved' AND ? BETWEEN leaveStart AND leaveEnd) lr
+               ON lr.employeeId = e.employeeId
+        WHERE e.status != 'Terminated' AND (? IS NULL OR p.department = ?)
+        GROUP BY p.department
+        """;
+
+    // Full recompute of one day
+    private static final String REFRESH_DAY = """
+        INSERT INTO attendance_daily_rollup
+            (rollupDate, department, headcount, presentCount, lateCount, undertimeCount, onLeaveCount)
+        """ + COUNT_DAY + """
+        ON DUPLICATE KEY UPDATE headcount = VALUES(headcount), presentCount = VALUES(presentCount),
+            lateCount = VALUES(lateCount), undertimeCount = VALUES(undertimeCount),
+            onLeaveCount = VALUES(onLeaveCount)
+        """;
+
+    private static final String INCREMENT_CLOCK_IN = """
+        UPDATE attendance_daily_rollup r
+        JOIN position p ON p.department = r.department
+        JOIN employee e ON e.positionId = p.positionId
+        SET r.presentCount = r.presentCount + 1, r.lateCount = r.lateCount + ?
+        WHERE e.employeeId = ? AND r.rollupDate = ?
+        """;
+
+    private static final String INCREMENT_UNDERTIME = """
+        UPDATE attendance_daily_rollup r
+        JOIN position p ON p.department = r.department
+        JOIN employee e ON e.positionId = p.positionId
+        SET r.undertimeCount = r.undertimeCount + 1
+        WHERE e.employeeId = ? AND r.rollupDate = ?
+        """;
+
+    private static final String SELECT_EMPLOYEE_DEPARTMENT = """
+        SELECT p.department FROM employee e
+        JOIN position p ON e.positionId = p.positionId
+        WHERE e.employeeId = ?
+        """;
+
+    private static final String SELECT_DAY = """
+        SELECT rollupDate, department, headcount, presentCount, lateCount, undertimeCount, onLeaveCount
+        FROM attendance_daily_rollup WHERE rollupDate = ? ORDER BY department
+        """;
+
+    private static final String SELECT_DAILY_TOTALS = """
+        SELECT rollupDate, 'All' AS department, SUM(headcount) AS headcount, SUM(presentCount) AS presentCount,
+               SUM(lateCount) AS lateCount, SUM(undertimeCount) AS undertimeCount, SUM(onLeaveCount) AS onLeaveCount
+        FROM attendance_daily_rollup
+        WHERE rollupDate >= ? AND rollupDate < ?
+        GROUP BY rollupDate ORDER BY rollupDate
+        """;
+
+    // Before the rollup migration
+    private static final String COUNT_DAY_BY_DEPARTMENT = COUNT_DAY + "ORDER BY p.department";
+
+    private static final String COUNT_DAY_TOTAL =
+        "SELECT rollupDate, 'All' AS department, SUM(headcount) AS headcount, SUM(presentCount) AS presentCount, " +
+        "SUM(lateCount) AS lateCount, SUM(undertimeCount) AS undertimeCount, SUM(onLeaveCount) AS onLeaveCount " +
+        "FROM (" + COUNT_DAY + ") d GROUP BY rollupDate";
+
+    private static final String COUNT_ACTIVE_DEPARTMENTS = """
+        SELECT COUNT(DISTINCT p.department) FROM employee e
+        JOIN position p ON e.positionId = p.positionId
+        WHERE e.status != 'Terminated'
+        """;
+
+    private static final String COUNT_DEPARTMENTS_PER_DAY = """
+        SELECT rollupDate, COUNT(*) AS departments FROM attendance_daily_rollup
+        WHERE rollupDate >= ? AND rollupDate < ?
+        GROUP BY rollupDate
+        """;
+
+    private static final ZoneId MANILA_TIMEZONE = ZoneId.of("Asia/Manila");
+
+    private final DatabaseConnection databaseConnection;
+
+    public AttendanceRollupDAO() {
+        this(new DatabaseConnection());
+    }
+
+    public AttendanceRollupDAO(DatabaseConnection databaseConnection) {
+        this.databaseConnection = databaseConnection;
+    }
+
+    // INCREMENTAL UPDATES
+
+    /**
+     * Count a clock-in. Call after the attendance row is committed.
+     * @param employeeId Employee who clocked in
+     * @param date Attendance date
+     * @param late true if past the grace period
+     */
+    public void recordClockIn(int employeeId, Date date, boolean late) {
+        if (!hasRollupTable()) {
+            return;
+        }
+        try (Connection conn = openConnection();
+             PreparedStatement stmt = conn.prepareStatement(INCREMENT_CLOCK_IN)) {
+            stmt.setInt(1, late ? 1 : 0);
+            stmt.setInt(2, employeeId);
+            stmt.setDate(3, date);
+            if (stmt.executeUpdate() == 0) {
+                // First punch of the department today: build the row from the source tables
+                refreshDay(conn, date.toLocalDate(), getDepartment(conn, employeeId));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error updating attendance rollup for clock in: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Count an early clock-out. Call after the attendance row is committed.
+     * @param employeeId Employee who clocked out
+     * @param date Attendance date
+     */
+    public void recordUndertime(int employeeId, Date date) {
+        if (!hasRollupTable()) {
+            return;
+        }
+        try (Connection conn = openConnection();
+             PreparedStatement stmt = conn.prepareStatement(INCREMENT_UNDERTIME)) {
+            stmt.setInt(1, employeeId);
+            stmt.setDate(2, date);
+            if (stmt.executeUpdate() == 0) {
+                refreshDay(conn, date.toLocalDate(), getDepartment(conn, employeeId));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error updating attendance rollup for clock out: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Recompute every department's row for the given days
+     * @param dates Days to recompute
+     * @return true if all days were refreshed (or there is no rollup table yet)
+     */
+    public boolean refreshDays(Collection<LocalDate> dates) {
+        if (dates == null || dates.isEmpty() || !hasRollupTable()) {
+            return true;
+        }
+        try (Connection conn = openConnection()) {
+            for (LocalDate date : new TreeSet<>(dates)) {
+                refreshDay(conn, date, null);
+            }
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error refreshing attendance rollup: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Recompute every day in a range (leave approvals, imports, reconciliation)
+     * @param startDate First day
+     * @param endDate Last day (inclusive)
+     * @return true if all days were refreshed
+     */
+    public boolean refreshRange(LocalDate startDate, LocalDate endDate) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            dates.add(date);
+        }
+        return refreshDays(dates);
+    }
+
+    // QUERIES
+
+    /**
+     * Get the per-department rows for one day, building the day first if a
+     * department's row is missing
+     * @param date Report date
+     * @return One row per department (empty for a future date)
+     */
+    public List<DepartmentDay> getDay(LocalDate date) {
+        List<DepartmentDay> rows = new ArrayList<>();
+        try (Connection conn = openConnection()) {
+            boolean future = date.isAfter(LocalDate.now(MANILA_TIMEZONE));
+            if (!SchemaMigrations.isApplied(conn, SchemaMigrations.ATTENDANCE_DAILY_ROLLUP)) {
+                return future ? rows : countDay(conn, COUNT_DAY_BY_DEPARTMENT, date);
+            }
+            if (!future) {
+                fillMissingDays(conn, Collections.singletonList(date));
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_DAY)) {
+                stmt.setDate(1, Date.valueOf(date));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(mapRow(rs));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error reading attendance rollup: " + e.getMessage());
+        }
+        return rows;
+    }
+
+    /**
+     * Get company-wide totals for each day of a month. Workdays up to today
+     * that are missing rows are built first.
+     * @param yearMonth Report month
+     * @return One row per day that has data, department "All"
+     */
+    public List<DepartmentDay> getDailyTotals(YearMonth yearMonth) {
+        List<DepartmentDay> rows = new ArrayList<>();
+        try (Connection conn = openConnection()) {
+            LocalDate today = LocalDate.now(MANILA_TIMEZONE);
+            LocalDate lastDay = yearMonth.atEndOfMonth().isAfter(today) ? today : yearMonth.atEndOfMonth();
+            List<LocalDate> workdays = lastDay.isBefore(yearMonth.atDay(1))
+                    ? Collections.emptyList()
+                    : WorkdayCalendar.getInstance().getWorkdays(yearMonth.atDay(1), lastDay);
+
+            if (!SchemaMigrations.isApplied(conn, SchemaMigrations.ATTENDANCE_DAILY_ROLLUP)) {
+                for (LocalDate date : workdays) {
+                    rows.addAll(countDay(conn, COUNT_DAY_TOTAL, date));
+                }
+                return rows;
+            }
+            fillMissingDays(conn, workdays);
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_DAILY_TOTALS)) {
+                stmt.setDate(1, Date.valueOf(yearMonth.atDay(1)));
+                stmt.setDate(2, Date.valueOf(yearMonth.plusMonths(1).atDay(1)));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(mapRow(rs));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error reading monthly attendance rollup: " + e.getMessage());
+        }
+        return rows;
+    }
+
+    // HELPER METHODS
+
+    private Connection openConnection() throws SQLException {
+        return databaseConnection.createConnection();
+    }
+
+    private boolean hasRollupTable() {
+        return SchemaMigrations.isApplied(databaseConnection, SchemaMigrations.ATTENDANCE_DAILY_ROLLUP);
+    }
+
+    /**
+     * Count one day straight from the source tables (before the rollup migration)
+     */
+    private static List<DepartmentDay> countDay(Connection conn, String sql, LocalDate date) throws SQLException {
+        List<DepartmentDay> rows = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(AttendanceArchiveDAO.forDay(conn, sql, date))) {
+            bindDay(stmt, date, null);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapRow(rs));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Recompute every department of the given days that have fewer rows than
+     * there are departments with active employees
+     */
+    private static void fillMissingDays(Connection conn, List<LocalDate> dates) throws SQLException {
+        if (dates.isEmpty()) {
+            return;
+        }
+        int departments;
+        try (PreparedStatement stmt = conn.prepareStatement(COUNT_ACTIVE_DEPARTMENTS);
+             ResultSet rs = stmt.executeQuery()) {
+            departments = rs.next() ? rs.getInt(1) : 0;
+        }
+
+        TreeSet<LocalDate> sorted = new TreeSet<>(dates);
+        Map<LocalDate, Integer> rowsPerDay = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(COUNT_DEPARTMENTS_PER_DAY)) {
+            stmt.setDate(1, Date.valueOf(sorted.first()));
+            stmt.setDate(2, Date.valueOf(sorted.last().plusDays(1)));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rowsPerDay.put(rs.getDate("rollupDate").toLocalDate(), rs.getInt("departments"));
+                }
+            }
+        }
+
+        for (LocalDate date : sorted) {
+            if (rowsPerDay.getOrDefault(date, 0) < departments) {
+                refreshDay(conn, date, null);
+            }
+        }
+    }
+
+    private static void refreshDay(Connection conn, LocalDate date, String department) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(AttendanceArchiveDAO.forDay(conn, REFRESH_DAY, date))) {
+            bindDay(stmt, date, department);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static void bindDay(PreparedStatement stmt, LocalDate date, String department) throws SQLException {
+        Date sqlDate = Date.valueOf(date);
+        stmt.setDate(1, sqlDate);
+        stmt.setDate(2, sqlDate);
+        stmt.setDate(3, sqlDate);
+        stmt.setString(4, department);
+        stmt.setString(5, department);
+    }
+
+    private static String getDepartment(Connection conn, int employeeId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_EMPLOYEE_DEPARTMENT)) {
+            stmt.setInt(1, employeeId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString("department") : null;
+            }
+        }
+    }
+
+    private static DepartmentDay mapRow(ResultSet rs) throws SQLException {
+        DepartmentDay row = new DepartmentDay();
+        row.date = rs.getDate("rollupDate").toLocalDate();
+        row.department = rs.getString("department");
+        row.headcount = rs.getInt("headcount");
+        row.presentCount = rs.getInt("presentCount");
+        row.lateCount = rs.getInt("lateCount");
+        row.undertimeCount = rs.getInt("undertimeCount");
+        row.onLeaveCount = rs.getInt("onLeaveCount");
+        return row;
+    }
+
+    /**
+     * Attendance counts of one department (or the whole company) on one day
+     */
+    public static class DepartmentDay {
+        private LocalDate date;
+        private String department;
+        private int headcount;
+        private int presentCount;
+        private int lateCount;
+        private int undertimeCount;
+        private int onLeaveCount;
+
+        public LocalDate getDate() { return date; }
+        public String getDepartment() { return department; }
+        public int getHeadcount() { return headcount; }
+        public int getPresentCount() { return presentCount; }
+        public int getLateCount() { return lateCount; }
+        public int getUndertimeCount() { return undertimeCount; }
+        public int getOnLeaveCount() { return onLeaveCount; }
+
+        public int getAbsentCount() {
+            return Math.max(0, headcount - presentCount - onLeaveCount);
+        }
+
+        /**
+         * Copy of this row with another headcount (e.g. the current employee directory count)
+         */
+        public DepartmentDay withHeadcount(int headcount) {
+            DepartmentDay row = new DepartmentDay();
+            row.date = date;
+            row.department = department;
+            row.headcount = headcount;
+            row.presentCount = presentCount;
+            row.lateCount = lateCount;
+            row.undertimeCount = undertimeCount;
+            row.onLeaveCount = onLeaveCount;
+            return row;
+        }
+
+        /**
+         * Row for a department with no rollup row on a day (nobody present)
+         */
+        public static DepartmentDay empty(LocalDate date, String department) {
+            DepartmentDay row = new DepartmentDay();
+            row.date = date;
+            row.department = department;
+            return row;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("DepartmentDay{date=%s, department=%s, headcount=%d, present=%d, late=%d, undertime=%d, onLeave=%d}",
+                    date, department, headcount, presentCount, lateCount, undertimeCount, onLeaveCount);
+        }
+    }
+}
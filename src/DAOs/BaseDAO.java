@@ -384,7 +384,7 @@ public abstract class BaseDAO<T, ID> {
     }
     
     /**
-     * Check if a date is a workday (Monday-Friday)
+     * Check if a date is a workday (Monday-Friday and not a holiday)
      * @param date The date to check
      * @return true if the date is a workday
      */
@@ -698,7 +698,7 @@ public abstract class BaseDAO<T, ID> {
      */
     protected List<Map<String, Object>> getAttendanceWithOvertimeForRequests(int employeeId) {
         String sql = "SELECT a.attendanceId, a.date, a.timeIn, a.timeOut, " +
-                    "ROUND(GREATEST(0, ((TIME_TO_SEC(a.timeOut) - TIME_TO_SEC(a.timeIn)) / 3600.0) - 9.0), 2) AS overtimeHours " +
+                    "ROUND(GREATEST(0, a.computedHours - 8.0), 2) AS overtimeHours " +
                     "FROM " + DatabaseConnection.TABLE_ATTENDANCE + " a " +
                     "WHERE a.employeeId = ? AND a.date >= CURDATE() AND a.timeIn IS NOT NULL AND a.timeOut IS NOT NULL " +
                     "ORDER BY a.date DESC";
@@ -706,7 +706,7 @@ public abstract class BaseDAO<T, ID> {
         List<Map<String, Object>> results = new ArrayList<>();
         
         try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(AttendanceDAO.withComputedHours(conn, sql, "a"))) {
             
             stmt.setInt(1, employeeId);
             
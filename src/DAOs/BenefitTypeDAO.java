@@ -41,6 +41,7 @@ public class BenefitTypeDAO {
                         benefitType.setBenefitTypeId(generatedKeys.getInt(1));
                     }
                 }
+                ReferenceDataCache.getInstance().invalidateBenefitTypes();
                 return true;
             }
         } catch (SQLException e) {
@@ -55,6 +56,11 @@ public class BenefitTypeDAO {
      * @return 
      */
     public BenefitTypeModel findById(int benefitTypeId) {
+        BenefitTypeModel cached = ReferenceDataCache.getInstance().getBenefitType(benefitTypeId);
+        if (cached != null) {
+            return cached;
+        }
+        
         String sql = "SELECT * FROM benefittype WHERE benefitTypeId = ?";
         
         try (Connection conn = DatabaseConnection.getConnection();
@@ -136,7 +142,11 @@ public class BenefitTypeDAO {
             pstmt.setString(2, benefitType.getBenefitDescription());
             pstmt.setInt(3, benefitType.getBenefitTypeId());
             
-            return pstmt.executeUpdate() > 0;
+            boolean updated = pstmt.executeUpdate() > 0;
+            if (updated) {
+                ReferenceDataCache.getInstance().invalidateBenefitTypes();
+            }
+            return updated;
         } catch (SQLException e) {
             System.err.println("Error updating benefit type: " + e.getMessage());
         }
@@ -170,7 +180,11 @@ public class BenefitTypeDAO {
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, benefitTypeId);
-            return pstmt.executeUpdate() > 0;
+            boolean deleted = pstmt.executeUpdate() > 0;
+            if (deleted) {
+                ReferenceDataCache.getInstance().invalidateBenefitTypes();
+            }
+            return deleted;
         } catch (SQLException e) {
             System.err.println("Error deleting benefit type: " + e.getMessage());
         }
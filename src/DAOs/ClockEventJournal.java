@@ -0,0 +1,425 @@
+package DAOs;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.sql.Time;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local append-only journal for clock-in/clock-out events (write-behind mode).
+ *
+ * A punch is appended to the journal file and forced to disk before the
+ * caller is acknowledged, so clocking does not wait on the database. A
+ * background flusher hands pending events to a BatchWriter (normally
+ * AttendanceDAO.writeClockEvents) in batches; after a batch is stored, its
+ * last sequence number is saved to the checkpoint file. On startup every
+ * event after the checkpoint is replayed, so punches made while the database
+ * was slow or down are not lost. The journal file is emptied whenever
+ * everything in it has been flushed.
+ *
+ * A batch the database rejects (as opposed to one it could not take right
+ * now) is retried one event at a time; events that still fail are moved to
+ * the dead-letter file (journal name + ".rejected") for HR to review, so one
+ * bad punch cannot hold up the ones behind it.
+ *
+ * Line format: sequence,IN|OUT,employeeId,yyyy-MM-dd,HH:mm:ss
+ */
+public class ClockEventJournal {
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 500;
+
+    /**
+     * Clock event type
+     */
+    public enum EventType {
+        IN, OUT
+    }
+
+    /**
+     * One journaled punch
+     */
+    public static final class ClockEvent {
+        private final long sequence;
+        private final EventType type;
+        private final int employeeId;
+        private final Date date;
+        private final Time time;
+
+        public ClockEvent(long sequence, EventType type, int employeeId, Date date, Time time) {
+            this.sequence = sequence;
+            this.type = type;
+            this.employeeId = employeeId;
+            this.date = date;
+            this.time = time;
+        }
+
+        public long getSequence() { return sequence; }
+        public EventType getType() { return type; }
+        public int getEmployeeId() { return employeeId; }
+        public Date getDate() { return date; }
+        public Time getTime() { return time; }
+
+        private String toLine() {
+            return sequence + "," + type + "," + employeeId + "," + date + "," + time + "\n";
+        }
+
+        private static ClockEvent fromLine(String line) {
+            String[] parts = line.split(",");
+            if (parts.length != 5) {
+                return null;
+            }
+            try {
+                return new ClockEvent(Long.parseLong(parts[0]), EventType.valueOf(parts[1]),
+                        Integer.parseInt(parts[2]), Date.valueOf(parts[3]), Time.valueOf(parts[4]));
+            } catch (IllegalArgumentException e) {
+                return null; // Torn last line after a crash
+            }
+        }
+    }
+
+    /**
+     * Outcome of writing a batch
+     */
+    public enum WriteResult {
+        /** Every event is committed */
+        STORED,
+        /** Nothing was stored and the database may accept it later (e.g. unreachable, lock timeout) */
+        RETRY,
+        /** Nothing was stored because the batch holds an event the database will never accept */
+        REJECTED
+    }
+
+    /**
+     * Stores a batch of events in one transaction
+     */
+    @FunctionalInterface
+    public interface BatchWriter {
+        WriteResult write(List<ClockEvent> events);
+    }
+
+    private final Path journalPath;
+    private final Path checkpointPath;
+    private final Path deadLetterPath;
+    private final FileChannel channel;
+
+    private final Deque<ClockEvent> pending = new ArrayDeque<>();
+    private final Set<String> recordedPunches = new HashSet<>(); // type|employeeId|date
+    private long lastSequence;
+    private Date latestPunchDate;
+
+    private ScheduledExecutorService flusher;
+
+    /**
+     * Open (or create) a journal and load every event not yet flushed
+     * @param journalFile Journal file; the checkpoint is stored next to it
+     * @throws IOException if the journal cannot be opened
+     */
+    public ClockEventJournal(File journalFile) throws IOException {
+        this.journalPath = journalFile.toPath();
+        this.checkpointPath = journalPath.resolveSibling(journalPath.getFileName() + ".checkpoint");
+        this.deadLetterPath = journalPath.resolveSibling(journalPath.getFileName() + ".rejected");
+        if (journalPath.getParent() != null) {
+            Files.createDirectories(journalPath.getParent());
+        }
+
+        long checkpoint = readCheckpoint();
+        lastSequence = checkpoint;
+        replay(checkpoint);
+
+        this.channel = FileChannel.open(journalPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        dropTornTail();
+    }
+
+    // APPEND
+
+    /**
+     * Durably record a punch. Returns once the event is on disk.
+     * @param type IN or OUT
+     * @param employeeId Employee ID
+     * @param date Attendance date
+     * @param time Punch time
+     * @return The journaled event, or null if the same punch was already recorded for that date
+     * @throws IOException if the event could not be written to disk
+     */
+    public synchronized ClockEvent append(EventType type, int employeeId, Date date, Time time) throws IOException {
+        if (latestPunchDate == null || date.after(latestPunchDate)) {
+            // New day: earlier days' punch keys are no longer needed
+            String suffix = "|" + date;
+            recordedPunches.removeIf(key -> !key.endsWith(suffix));
+            latestPunchDate = date;
+        }
+        if (!recordedPunches.add(punchKey(type, employeeId, date))) {
+            return null;
+        }
+        ClockEvent event = new ClockEvent(lastSequence + 1, type, employeeId, date, time);
+        try {
+            channel.write(ByteBuffer.wrap(event.toLine().getBytes(StandardCharsets.UTF_8)));
+            channel.force(false);
+        } catch (IOException e) {
+            recordedPunches.remove(punchKey(type, employeeId, date));
+            throw e;
+        }
+        lastSequence = event.getSequence();
+        pending.addLast(event);
+        return event;
+    }
+
+    /**
+     * Check whether a punch is already journaled (flushed or not)
+     */
+    public synchronized boolean hasPunch(EventType type, int employeeId, Date date) {
+        return recordedPunches.contains(punchKey(type, employeeId, date));
+    }
+
+    /**
+     * Number of events not yet written to the database
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Copy of the events not yet written to the database, oldest first
+     */
+    public synchronized List<ClockEvent> getPendingEvents() {
+        return new ArrayList<>(pending);
+    }
+
+    /**
+     * File holding the events the database rejected (same line format as the journal)
+     */
+    public Path getDeadLetterPath() {
+        return deadLetterPath;
+    }
+
+    // FLUSH
+
+    /**
+     * Start the background flusher
+     * @param writer Destination for batches
+     * @param intervalMillis Delay between flush attempts
+     */
+    public synchronized void startFlusher(BatchWriter writer, long intervalMillis) {
+        if (flusher != null) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "clock-event-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                while (flush(writer, DEFAULT_BATCH_SIZE) > 0) {
+                    // Keep draining while batches succeed
+                }
+            } catch (Exception e) {
+                System.err.println("Error flushing clock events: " + e.getMessage());
+            }
+        }, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Write the oldest pending events as one batch. If the batch is rejected,
+     * its events are written one by one and the rejected ones dead-lettered.
+     * @param writer Destination for the batch
+     * @param maxBatchSize Maximum events per batch
+     * @return Number of events stored or dead-lettered (0 if nothing pending or the database is unavailable)
+     */
+    public int flush(BatchWriter writer, int maxBatchSize) {
+        List<ClockEvent> batch = new ArrayList<>();
+        synchronized (this) {
+            for (ClockEvent event : pending) {
+                if (batch.size() >= maxBatchSize) {
+                    break;
+                }
+                batch.add(event);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // Outside the lock, so punches keep being acknowledged during a slow write
+        WriteResult result = writer.write(batch);
+        if (result == WriteResult.RETRY) {
+            return 0; // Kept pending, retried on the next run
+        }
+
+        int flushed = batch.size();
+        if (result == WriteResult.REJECTED) {
+            flushed = isolateRejected(writer, batch);
+            if (flushed == 0) {
+                return 0;
+            }
+        }
+
+        long flushedThrough = batch.get(flushed - 1).getSequence();
+        synchronized (this) {
+            while (!pending.isEmpty() && pending.peekFirst().getSequence() <= flushedThrough) {
+                pending.removeFirst();
+            }
+            try {
+                writeCheckpoint(flushedThrough);
+                if (pending.isEmpty()) {
+                    channel.truncate(0);
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                // Events are stored; at worst they are replayed again, and the writes are idempotent
+                System.err.println("Error updating clock event checkpoint: " + e.getMessage());
+            }
+        }
+        return flushed;
+    }
+
+    /**
+     * Write a rejected batch one event at a time, in order, dead-lettering the
+     * events that are rejected on their own
+     * @return Number of leading events stored or dead-lettered; stops at the
+     *         first event the database could not take right now
+     */
+    private int isolateRejected(BatchWriter writer, List<ClockEvent> batch) {
+        int handled = 0;
+        for (ClockEvent event : batch) {
+            WriteResult result = batch.size() == 1
+                    ? WriteResult.REJECTED
+                    : writer.write(Collections.singletonList(event));
+            if (result == WriteResult.RETRY) {
+                break;
+            }
+            if (result == WriteResult.REJECTED && !deadLetter(event)) {
+                break;
+            }
+            handled++;
+        }
+        return handled;
+    }
+
+    private boolean deadLetter(ClockEvent event) {
+        try {
+            Files.write(deadLetterPath, event.toLine().getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND,
+                    StandardOpenOption.SYNC);
+            System.err.println("Clock event rejected by the database, moved to " + deadLetterPath + ": "
+                    + event.toLine().trim());
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error writing rejected clock event, keeping it pending: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Stop the flusher, try one last flush and close the journal file
+     * @param writer Destination for the final flush
+     */
+    public void close(BatchWriter writer) {
+        ScheduledExecutorService executor;
+        synchronized (this) {
+            executor = flusher;
+            flusher = null;
+        }
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (writer != null) {
+            while (flush(writer, DEFAULT_BATCH_SIZE) > 0) {
+                // Drain what the database accepts; the rest stays in the journal
+            }
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing clock event journal: " + e.getMessage());
+        }
+    }
+
+    // HELPER METHODS
+
+    private static String punchKey(EventType type, int employeeId, Date date) {
+        return type + "|" + employeeId + "|" + date;
+    }
+
+    private void replay(long checkpoint) throws IOException {
+        if (!Files.exists(journalPath)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                ClockEvent event = ClockEvent.fromLine(line.trim());
+                if (event == null) {
+                    continue;
+                }
+                lastSequence = Math.max(lastSequence, event.getSequence());
+                recordedPunches.add(punchKey(event.getType(), event.getEmployeeId(), event.getDate()));
+                if (event.getSequence() > checkpoint) {
+                    pending.addLast(event);
+                }
+            }
+        }
+        if (!pending.isEmpty()) {
+            System.out.println("Replaying " + pending.size() + " unflushed clock events from " + journalPath);
+        }
+    }
+
+    /**
+     * Cut off a partially written last line so new events start on a fresh line
+     */
+    private void dropTornTail() throws IOException {
+        byte[] content = Files.readAllBytes(journalPath);
+        int end = content.length;
+        while (end > 0 && content[end - 1] != '\n') {
+            end--;
+        }
+        if (end < content.length) {
+            channel.truncate(end);
+            channel.force(false);
+        }
+    }
+
+    private long readCheckpoint() {
+        try {
+            if (Files.exists(checkpointPath)) {
+                return Long.parseLong(new String(Files.readAllBytes(checkpointPath), StandardCharsets.UTF_8).trim());
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Error reading clock event checkpoint, replaying whole journal: " + e.getMessage());
+        }
+        return 0;
+    }
+
+    private void writeCheckpoint(long sequence) throws IOException {
+        Path temp = checkpointPath.resolveSibling(checkpointPath.getFileName() + ".tmp");
+        Files.write(temp, String.valueOf(sequence).getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+        Files.move(temp, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
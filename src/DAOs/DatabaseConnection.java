@@ -17,6 +17,8 @@ import java.time.format.DateTimeFormatter; // For date formatting
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import Utility.AttendanceRules;
+import Utility.WorkdayCalendar;
 
 /**
  * Enhanced database connection for MotorPH payroll system.
@@ -338,10 +340,7 @@ public class DatabaseConnection {
      * @return true if late, false if on time or early
      */
     public static boolean isLateArrival(String timeIn) {
-        if (timeIn == null || timeIn.isEmpty()) {
-            return false;
-        }
-        return timeIn.compareTo(LATE_THRESHOLD_TIME) > 0;
+        return AttendanceRules.isLate(AttendanceRules.parseSecondOfDay(timeIn));
     }
     
     /**
@@ -351,27 +350,8 @@ public class DatabaseConnection {
      * @return Hours worked (excluding 1-hour lunch break)
      */
     public static double calculateHoursWorked(String timeIn, String timeOut) {
-        if (timeIn == null || timeOut == null || timeIn.isEmpty() || timeOut.isEmpty()) {
-            return 0.0;
-        }
-        
-        try {
-            String[] inParts = timeIn.split(":");
-            String[] outParts = timeOut.split(":");
-            
-            int inSeconds = Integer.parseInt(inParts[0]) * 3600 + 
-                           Integer.parseInt(inParts[1]) * 60 + 
-                           Integer.parseInt(inParts[2]);
-            
-            int outSeconds = Integer.parseInt(outParts[0]) * 3600 + 
-                            Integer.parseInt(outParts[1]) * 60 + 
-                            Integer.parseInt(outParts[2]);
-            
-            double totalHours = (outSeconds - inSeconds) / 3600.0;
-            return Math.max(0, totalHours - LUNCH_BREAK_HOURS); // Subtract lunch break
-        } catch (NumberFormatException e) {
-            return 0.0;
-        }
+        return AttendanceRules.toHours(AttendanceRules.workedSeconds(
+                AttendanceRules.parseSecondOfDay(timeIn), AttendanceRules.parseSecondOfDay(timeOut)));
     }
     
     /**
@@ -380,57 +360,26 @@ public class DatabaseConnection {
      * @return Hours late (0 if not late)
      */
     public static double calculateLateHours(String timeIn) {
-        if (timeIn == null || timeIn.isEmpty() || !isLateArrival(timeIn)) {
-            return 0.0;
-        }
-        
-        try {
-            String[] inParts = timeIn.split(":");
-            String[] startParts = WORK_START_TIME.split(":");
-            
-            int inSeconds = Integer.parseInt(inParts[0]) * 3600 + 
-                           Integer.parseInt(inParts[1]) * 60 + 
-                           Integer.parseInt(inParts[2]);
-            
-            int startSeconds = Integer.parseInt(startParts[0]) * 3600 + 
-                              Integer.parseInt(startParts[1]) * 60 + 
-                              Integer.parseInt(startParts[2]);
-            
-            return Math.max(0, (inSeconds - startSeconds) / 3600.0);
-        } catch (NumberFormatException e) {
-            return 0.0;
-        }
+        return AttendanceRules.toHours(AttendanceRules.lateSeconds(AttendanceRules.parseSecondOfDay(timeIn)));
     }
     
     /**
-     * Get workdays (Monday-Friday) count between two dates
+     * Get workdays count between two dates (Monday-Friday, excluding holidays)
      * @param startDate Start date (inclusive)
      * @param endDate End date (inclusive)
-     * @return Number of workdays (weekdays only)
+     * @return Number of workdays
      */
     public static int getWorkdaysCount(LocalDate startDate, LocalDate endDate) {
-        int workdays = 0;
-        LocalDate current = startDate;
-        
-        while (!current.isAfter(endDate)) {
-            // Check if current day is Monday-Friday (1-5)
-            if (current.getDayOfWeek().getValue() >= 1 && current.getDayOfWeek().getValue() <= 5) {
-                workdays++;
-            }
-            current = current.plusDays(1);
-        }
-        
-        return workdays;
+        return WorkdayCalendar.getInstance().countWorkdays(startDate, endDate);
     }
     
     /**
-     * Check if a date is a workday (Monday-Friday)
+     * Check if a date is a workday (Monday-Friday and not a holiday)
      * @param date The date to check
-     * @return true if the date is Monday-Friday
+     * @return true if the date is a workday
      */
     public static boolean isWorkday(LocalDate date) {
-        int dayOfWeek = date.getDayOfWeek().getValue();
-        return dayOfWeek >= 1 && dayOfWeek <= 5; // Monday=1, Friday=5
+        return WorkdayCalendar.getInstance().isWorkday(date);
     }
     
     /**
@@ -12,6 +12,8 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Enhanced EmployeeDAO with integrated Government ID management and Position integration
@@ -259,6 +261,7 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
             }
             
             conn.commit(); // Commit transaction
+            EmployeeDirectoryIndex.getInstance().upsert(employee);
             System.out.println("Employee and government IDs saved successfully");
             return true;
             
@@ -314,6 +317,7 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
             }
             
             conn.commit(); // Commit transaction
+            EmployeeDirectoryIndex.getInstance().upsert(employee);
             System.out.println("Employee and government IDs updated successfully");
             return true;
             
@@ -407,6 +411,7 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
             
             if (employeeDeleted) {
                 conn.commit(); // Commit transaction
+                EmployeeDirectoryIndex.getInstance().remove(employeeId);
                 System.out.println("✅ Employee and government IDs deleted successfully");
                 return true;
             } else {
@@ -535,26 +540,33 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
         String sql = """
             INSERT INTO employee 
             (firstName, lastName, birthDate, phoneNumber, email, basicSalary, 
-             hourlyRate, userRole, passwordHash, status, lastLogin, positionId, supervisorId) 
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+             hourlyRate, userRole, passwordHash, status, lastLogin, positionId, supervisorId, employeeId) 
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
             """;
         
-        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        assignEmployeeId(employee);
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             setInsertParameters(stmt, employee);
+            stmt.setInt(14, employee.getEmployeeId());
             
-            int rowsAffected = stmt.executeUpdate();
-            
-            if (rowsAffected > 0) {
-                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        employee.setEmployeeId(generatedKeys.getInt(1));
-                        return true;
-                    }
-                }
-            }
+            return stmt.executeUpdate() > 0;
+        }
+    }
+    
+    /**
+     * Give a new employee its ID before the INSERT. IDs come from the shared
+     * EmployeeIdAllocator block, so concurrent HR users never pick the same ID;
+     * an ID entered by hand is claimed first and refused if another client
+     * may already hold it.
+     */
+    private void assignEmployeeId(EmployeeModel employee) throws SQLException {
+        EmployeeIdAllocator allocator = EmployeeIdAllocator.getInstance();
+        if (employee.getEmployeeId() == null) {
+            employee.setEmployeeId(allocator.nextId());
+        } else {
+            allocator.claim(employee.getEmployeeId());
         }
-        
-        return false;
     }
     
     /**
@@ -686,7 +698,11 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
             stmt.setInt(3, employeeId);
             
             int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
+            if (rowsAffected > 0) {
+                EmployeeDirectoryIndex.getInstance().remove(employeeId);
+                return true;
+            }
+            return false;
             
         } catch (SQLException e) {
             System.err.println("Error deactivating employee: " + e.getMessage());
@@ -710,6 +726,26 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
         return executeQuery(sql);
     }
     
+    /**
+     * Get the IDs of every employee, terminated ones included
+     * (e.g. to validate imported historical attendance)
+     * @return Employee IDs, or null on error
+     */
+    public Set<Integer> getAllEmployeeIds() {
+        Set<Integer> employeeIds = new HashSet<>();
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT employeeId FROM employee");
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                employeeIds.add(rs.getInt("employeeId"));
+            }
+            return employeeIds;
+        } catch (SQLException e) {
+            System.err.println("Error loading employee IDs: " + e.getMessage());
+            return null;
+        }
+    }
+    
     /**
      * Find employee by email
      */
@@ -959,23 +995,26 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
         String sql = """
             INSERT INTO employee 
             (firstName, lastName, birthDate, phoneNumber, email, basicSalary, 
-             hourlyRate, userRole, passwordHash, status, lastLogin, positionId, supervisorId) 
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+             hourlyRate, userRole, passwordHash, status, lastLogin, positionId, supervisorId, employeeId) 
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
             """;
 
+        try {
+            assignEmployeeId(employee);
+        } catch (SQLException e) {
+            System.err.println("Error allocating employee ID: " + e.getMessage());
+            return false;
+        }
+
         try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             setInsertParameters(stmt, employee);
+            stmt.setInt(14, employee.getEmployeeId());
             int rowsAffected = stmt.executeUpdate();
 
             if (rowsAffected > 0) {
-                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        int generatedId = generatedKeys.getInt(1);
-                        employee.setEmployeeId(generatedId);
-                    }
-                }
+                EmployeeDirectoryIndex.getInstance().upsert(employee);
                 return true;
             }
             return false;
@@ -1044,7 +1083,11 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
             stmt.setInt(paramIndex++, employee.getEmployeeId());
 
             int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
+            if (rowsAffected > 0) {
+                EmployeeDirectoryIndex.getInstance().upsert(employee);
+                return true;
+            }
+            return false;
 
         } catch (SQLException e) {
             System.err.println("Error updating employee: " + e.getMessage());
@@ -1052,6 +1095,15 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
         }
     }
     
+    @Override
+    public boolean delete(Integer employeeId) {
+        boolean deleted = super.delete(employeeId);
+        if (deleted) {
+            EmployeeDirectoryIndex.getInstance().remove(employeeId);
+        }
+        return deleted;
+    }
+    
     // INNER CLASSES FOR DATA TRANSFER OBJECTS
     
     /**
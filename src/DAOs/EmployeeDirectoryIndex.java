@@ -0,0 +1,444 @@
+package DAOs;
+
+import Models.EmployeeModel;
+import Models.EmployeeModel.EmployeeStatus;
+import Models.PositionModel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory directory of active (non-terminated) employees for search screens.
+ *
+ * Name search uses a trigram index on "first last" (lower case), so a query of
+ * three or more characters only verifies the few employees that share all of
+ * its trigrams. Shorter queries are matched as prefixes of a first/last name
+ * token. Position is kept as a facet; department is resolved through the
+ * positions in ReferenceDataCache.
+ *
+ * The index is loaded once from EmployeeDAO.getActiveEmployees() and kept current
+ * by EmployeeDAO's write methods through upsert() and remove().
+ */
+public class EmployeeDirectoryIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private static final EmployeeDirectoryIndex INSTANCE = new EmployeeDirectoryIndex();
+
+    /**
+     * Snapshot of the indexed values, so postings can be removed even if the
+     * caller has since changed the EmployeeModel in place
+     */
+    private static final class Entry {
+        private final EmployeeModel employee;
+        private final String searchName;
+        private final Integer positionId;
+
+        private Entry(EmployeeModel employee) {
+            this.employee = employee;
+            this.searchName = normalize(
+                    (employee.getFirstName() != null ? employee.getFirstName() : "") + " "
+                    + (employee.getLastName() != null ? employee.getLastName() : ""));
+            this.positionId = employee.getPositionId();
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private boolean loaded = false;
+
+    private final TreeMap<Integer, Entry> byId = new TreeMap<>();
+    private final Map<String, Set<Integer>> gramPostings = new HashMap<>();
+    private final TreeMap<String, Set<Integer>> tokenPostings = new TreeMap<>();
+    private final Map<Integer, Set<Integer>> positionPostings = new HashMap<>();
+
+    /**
+     * Create a standalone index, not shared with the screens (for tests and tools).
+     * Screens use getInstance().
+     */
+    public EmployeeDirectoryIndex() {
+    }
+
+    /**
+     * Get the process-wide index
+     * @return shared EmployeeDirectoryIndex
+     */
+    public static EmployeeDirectoryIndex getInstance() {
+        return INSTANCE;
+    }
+
+    // LOADING
+
+    /**
+     * Reload the whole index from the database
+     */
+    public void refresh() {
+        List<EmployeeModel> employees = new EmployeeDAO(new DatabaseConnection()).getActiveEmployees();
+        rebuild(employees);
+    }
+
+    /**
+     * Replace the index contents with the given employees
+     * @param employees Employees to index (terminated ones are skipped)
+     */
+    public void rebuild(Collection<EmployeeModel> employees) {
+        lock.writeLock().lock();
+        try {
+            byId.clear();
+            gramPostings.clear();
+            tokenPostings.clear();
+            positionPostings.clear();
+            for (EmployeeModel employee : employees) {
+                if (isIndexable(employee)) {
+                    addEntry(new Entry(employee));
+                }
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Load the index from the database if it has not been loaded yet
+     */
+    public void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        refresh();
+    }
+
+    /**
+     * Check if the index has been loaded
+     * @return true once loaded
+     */
+    public boolean isLoaded() {
+        lock.readLock().lock();
+        try {
+            return loaded;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // WRITE HOOKS (called by EmployeeDAO)
+
+    /**
+     * Add or replace an employee. Terminated employees are removed.
+     * Ignored until the index is loaded, since loading reads the current rows anyway.
+     * @param employee The saved employee
+     */
+    public void upsert(EmployeeModel employee) {
+        if (employee == null || employee.getEmployeeId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            removeEntry(employee.getEmployeeId());
+            if (isIndexable(employee)) {
+                addEntry(new Entry(employee));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove an employee (deleted or deactivated)
+     * @param employeeId Employee ID
+     */
+    public void remove(Integer employeeId) {
+        if (employeeId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeEntry(employeeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-read a single employee row and upsert it (for writes that only
+     * know the employee ID, e.g. status or password changes)
+     * @param employeeId Employee ID
+     */
+    public void reload(Integer employeeId) {
+        if (employeeId == null || !isLoaded()) {
+            return;
+        }
+        EmployeeModel employee = new EmployeeDAO(new DatabaseConnection()).findById(employeeId);
+        if (employee != null) {
+            upsert(employee);
+        } else {
+            remove(employeeId);
+        }
+    }
+
+    /**
+     * Mark the index stale so the next query reloads it from the database
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // QUERIES
+
+    /**
+     * Get an active employee by ID
+     * @param employeeId Employee ID
+     * @return EmployeeModel or null if not found / not active
+     */
+    public EmployeeModel findById(Integer employeeId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Entry entry = employeeId != null ? byId.get(employeeId) : null;
+            return entry != null ? entry.employee : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get all active employees ordered by employee ID
+     * @return List of employees
+     */
+    public List<EmployeeModel> getAll() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<EmployeeModel> results = new ArrayList<>(byId.size());
+            for (Entry entry : byId.values()) {
+                results.add(entry.employee);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search active employees whose full name contains the query
+     * (queries shorter than three characters match the start of a first or last name)
+     * @param query Name fragment, case-insensitive
+     * @return Matching employees ordered by employee ID
+     */
+    public List<EmployeeModel> searchByName(String query) {
+        ensureLoaded();
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return getAll();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Integer> candidates = normalized.length() < GRAM_LENGTH
+                    ? prefixCandidates(normalized)
+                    : gramCandidates(normalized);
+
+            List<EmployeeModel> results = new ArrayList<>();
+            for (Integer id : sorted(candidates)) {
+                Entry entry = byId.get(id);
+                if (entry != null && entry.searchName.contains(normalized)) {
+                    results.add(entry.employee);
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get active employees holding a position
+     * @param positionId Position ID
+     * @return Employees ordered by employee ID
+     */
+    public List<EmployeeModel> findByPosition(Integer positionId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return toEmployees(sorted(positionPostings.getOrDefault(positionId, Collections.emptySet())));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get active employees in a department (case-insensitive)
+     * @param department Department name
+     * @return Employees ordered by employee ID
+     */
+    public List<EmployeeModel> findByDepartment(String department) {
+        if (department == null) {
+            return Collections.emptyList();
+        }
+        ensureLoaded();
+
+        Set<Integer> positionIds = new HashSet<>();
+        for (PositionModel position : ReferenceDataCache.getInstance().getAllPositions()) {
+            if (department.equalsIgnoreCase(position.getDepartment())) {
+                positionIds.add(position.getPositionId());
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Integer> ids = new TreeSet<>();
+            for (Integer positionId : positionIds) {
+                ids.addAll(positionPostings.getOrDefault(positionId, Collections.emptySet()));
+            }
+            return toEmployees(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed employees
+     * @return count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // HELPER METHODS (callers hold the lock)
+
+    private static boolean isIndexable(EmployeeModel employee) {
+        return employee != null && employee.getEmployeeId() != null
+                && employee.getStatus() != EmployeeStatus.TERMINATED;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase();
+    }
+
+    private void addEntry(Entry entry) {
+        Integer id = entry.employee.getEmployeeId();
+        byId.put(id, entry);
+        for (String gram : grams(entry.searchName)) {
+            gramPostings.computeIfAbsent(gram, k -> new HashSet<>()).add(id);
+        }
+        for (String token : entry.searchName.split(" ")) {
+            if (!token.isEmpty()) {
+                tokenPostings.computeIfAbsent(token, k -> new HashSet<>()).add(id);
+            }
+        }
+        if (entry.positionId != null) {
+            positionPostings.computeIfAbsent(entry.positionId, k -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void removeEntry(Integer id) {
+        Entry entry = byId.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String gram : grams(entry.searchName)) {
+            removePosting(gramPostings, gram, id);
+        }
+        for (String token : entry.searchName.split(" ")) {
+            removePosting(tokenPostings, token, id);
+        }
+        if (entry.positionId != null) {
+            removePosting(positionPostings, entry.positionId, id);
+        }
+    }
+
+    private static <K> void removePosting(Map<K, Set<Integer>> postings, K key, Integer id) {
+        Set<Integer> ids = postings.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    /**
+     * Intersect the posting lists of every trigram in the query, smallest first
+     */
+    private Set<Integer> gramCandidates(String query) {
+        List<Set<Integer>> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Integer> ids = gramPostings.get(gram);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            lists.add(ids);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+        Set<Integer> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private Set<Integer> prefixCandidates(String prefix) {
+        Set<Integer> result = new HashSet<>();
+        SortedMap<String, Set<Integer>> matches = tokenPostings.subMap(prefix, prefix + Character.MAX_VALUE);
+        for (Set<Integer> ids : matches.values()) {
+            result.addAll(ids);
+        }
+        return result;
+    }
+
+    private static List<Integer> sorted(Set<Integer> ids) {
+        List<Integer> list = new ArrayList<>(ids);
+        Collections.sort(list);
+        return list;
+    }
+
+    private List<EmployeeModel> toEmployees(Collection<Integer> ids) {
+        List<EmployeeModel> results = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Entry entry = byId.get(id);
+            if (entry != null) {
+                results.add(entry.employee);
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,245 @@
+package DAOs;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Hands out employee IDs from blocks reserved in the id_sequence table.
+ *
+ * Each client reserves a block of IDs with one atomic UPDATE
+ * (nextValue = LAST_INSERT_ID(nextValue + blockSize)), then serves IDs from
+ * memory until the block is used up. Two HR users creating employees at the
+ * same time always receive disjoint blocks, so their IDs never collide.
+ * Unused IDs from an abandoned dialog are given back with release() and
+ * reused by this client once they are confirmed to be still free; IDs left in
+ * a block when the application exits are simply skipped (gaps are harmless).
+ *
+ * An ID entered by hand has to be claimed with claim() before it is saved.
+ * That succeeds for IDs this client handed out or holds in its own block, and
+ * for IDs at or beyond the sequence (which then moves past them). Anything
+ * below the sequence may sit in another client's block and is refused.
+ *
+ * The table is created and seeded by SchemaMigrations. Until that step is
+ * applied, new IDs are MAX(employeeId) + 1 as before, without the guarantee
+ * for concurrent creators.
+ */
+public class EmployeeIdAllocator {
+
+    public static final int DEFAULT_BLOCK_SIZE = 10;
+    public static final int FIRST_EMPLOYEE_ID = 10001;
+
+    private static final String SEQUENCE_NAME = "employee";
+
+    static final String CREATE_SEQUENCE_TABLE =
+        "CREATE TABLE IF NOT EXISTS id_sequence (" +
+        "sequenceName VARCHAR(50) NOT NULL PRIMARY KEY, " +
+        "nextValue INT NOT NULL)";
+
+    // Seed from the current highest employee ID; a no-op if the row already exists
+    static final String SEED_SEQUENCE =
+        "INSERT IGNORE INTO id_sequence (sequenceName, nextValue) " +
+        "SELECT '" + SEQUENCE_NAME + "', GREATEST(COALESCE(MAX(employeeId) + 1, " + FIRST_EMPLOYEE_ID + "), "
+        + FIRST_EMPLOYEE_ID + ") FROM employee";
+
+    private static final String RESERVE_BLOCK =
+        "UPDATE id_sequence SET nextValue = LAST_INSERT_ID(nextValue + ?) WHERE sequenceName = ?";
+
+    private static final String SELECT_LAST_INSERT_ID = "SELECT LAST_INSERT_ID()";
+
+    // Only moves the sequence if the ID is not below it (no other client can hold it)
+    private static final String CLAIM_ID =
+        "UPDATE id_sequence SET nextValue = ? + 1 WHERE sequenceName = ? AND nextValue <= ?";
+
+    private static final String SELECT_NEXT_VALUE =
+        "SELECT nextValue FROM id_sequence WHERE sequenceName = ?";
+
+    private static final String SELECT_EMPLOYEE_EXISTS =
+        "SELECT 1 FROM employee WHERE employeeId = ?";
+
+    private static final String SELECT_MAX_EMPLOYEE_ID =
+        "SELECT COALESCE(MAX(employeeId) + 1, " + FIRST_EMPLOYEE_ID + ") FROM employee";
+
+    private static final EmployeeIdAllocator INSTANCE = new EmployeeIdAllocator(DEFAULT_BLOCK_SIZE);
+
+    private final DatabaseConnection databaseConnection;
+    private final int blockSize;
+
+    private final Deque<Integer> releasedIds = new ArrayDeque<>();
+    private final Set<Integer> issuedIds = new HashSet<>();
+    private final Set<Integer> manuallyUsedIds = new HashSet<>();
+    private int nextId = 0;    // next unused ID in the current block
+    private int blockEnd = 0;  // exclusive end of the current block
+
+    private EmployeeIdAllocator(int blockSize) {
+        this.databaseConnection = new DatabaseConnection();
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Get the process-wide allocator
+     * @return shared EmployeeIdAllocator
+     */
+    public static EmployeeIdAllocator getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the next free employee ID. Only touches the database when the
+     * current block is used up or a released ID is reused.
+     * @return Employee ID that no other client will receive
+     * @throws SQLException if a new block cannot be reserved
+     */
+    public synchronized int nextId() throws SQLException {
+        try (Connection conn = databaseConnection.createConnection()) {
+            if (!hasSequence(conn)) {
+                return maxEmployeeIdPlusOne(conn);
+            }
+            while (!releasedIds.isEmpty()) {
+                int released = releasedIds.pop();
+                // A released ID may have been saved after all (e.g. entered again by hand)
+                if (!employeeExists(conn, released)) {
+                    issuedIds.add(released);
+                    return released;
+                }
+            }
+            do {
+                if (nextId >= blockEnd) {
+                    reserveBlock(conn);
+                }
+            } while (manuallyUsedIds.remove(nextId++)); // Skip IDs already taken by hand
+            issuedIds.add(nextId - 1);
+            return nextId - 1;
+        }
+    }
+
+    /**
+     * Give back an ID that was handed out but not saved (e.g. cancelled dialog).
+     * nextId() checks it against the employee table before offering it again.
+     * @param employeeId The unused ID
+     */
+    public synchronized void release(int employeeId) {
+        if (issuedIds.remove(employeeId) && !releasedIds.contains(employeeId)) {
+            releasedIds.push(employeeId);
+        }
+    }
+
+    /**
+     * Check, without claiming it, whether an ID entered by hand can be used
+     * @param employeeId The ID
+     * @return true if claim() would accept it
+     */
+    public synchronized boolean isClaimable(int employeeId) {
+        if (isOwn(employeeId)) {
+            return true;
+        }
+        try (Connection conn = databaseConnection.createConnection()) {
+            return !hasSequence(conn) || employeeId >= readNextValue(conn);
+        } catch (SQLException e) {
+            System.err.println("Error reading employee ID sequence: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Claim an ID that is about to be saved, so that no client hands it out
+     * later. IDs from this allocator are always accepted.
+     * @param employeeId The ID
+     * @throws SQLException if the ID may belong to another client's block
+     */
+    public synchronized void claim(int employeeId) throws SQLException {
+        releasedIds.remove(employeeId);
+        if (issuedIds.remove(employeeId)) {
+            return;
+        }
+        if (employeeId >= nextId && employeeId < blockEnd) {
+            manuallyUsedIds.add(employeeId); // Inside our own block, nextId() skips it
+            return;
+        }
+        try (Connection conn = databaseConnection.createConnection()) {
+            if (!hasSequence(conn)) {
+                return;
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(CLAIM_ID)) {
+                stmt.setInt(1, employeeId);
+                stmt.setString(2, SEQUENCE_NAME);
+                stmt.setInt(3, employeeId);
+                if (stmt.executeUpdate() == 0) {
+                    throw new SQLException("Employee ID " + employeeId
+                            + " is below the ID sequence and may be reserved by another client");
+                }
+            }
+        }
+    }
+
+    // HELPER METHODS
+
+    private boolean isOwn(int employeeId) {
+        return issuedIds.contains(employeeId) || releasedIds.contains(employeeId)
+                || (employeeId >= nextId && employeeId < blockEnd);
+    }
+
+    private static boolean hasSequence(Connection conn) {
+        return SchemaMigrations.isApplied(conn, SchemaMigrations.EMPLOYEE_ID_SEQUENCE);
+    }
+
+    /**
+     * Reserve the next block with a single atomic UPDATE
+     */
+    private void reserveBlock(Connection conn) throws SQLException {
+        int newNextValue = -1;
+        try (PreparedStatement stmt = conn.prepareStatement(RESERVE_BLOCK)) {
+            stmt.setInt(1, blockSize);
+            stmt.setString(2, SEQUENCE_NAME);
+            if (stmt.executeUpdate() == 0) {
+                throw new SQLException("Employee ID sequence row is missing");
+            }
+        }
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SELECT_LAST_INSERT_ID)) {
+            if (rs.next()) {
+                newNextValue = rs.getInt(1);
+            }
+        }
+        if (newNextValue <= 0) {
+            throw new SQLException("Could not read reserved employee ID block");
+        }
+
+        blockEnd = newNextValue;
+        nextId = newNextValue - blockSize;
+    }
+
+    private static boolean employeeExists(Connection conn, int employeeId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_EMPLOYEE_EXISTS)) {
+            stmt.setInt(1, employeeId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static int readNextValue(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_NEXT_VALUE)) {
+            stmt.setString(1, SEQUENCE_NAME);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("Employee ID sequence row is missing");
+                }
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private static int maxEmployeeIdPlusOne(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SELECT_MAX_EMPLOYEE_ID)) {
+            return rs.next() ? rs.getInt(1) : FIRST_EMPLOYEE_ID;
+        }
+    }
+}
@@ -3,12 +3,27 @@ package DAOs;
 import Models.LeaveBalance;
 import java.sql.*;
 import java.time.*;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * LeaveBalanceDAO with balance calculation and conflict resolution
  * Enhanced for timezone-aware leave balance management
+ *
+ * Deductions and restorations are a single conditional UPDATE on the balance
+ * row (the row lock makes concurrent approvals queue, and the WHERE clause
+ * refuses to oversubscribe), plus an append-only entry in
+ * leave_balance_ledger in the same transaction. The ledger is unique per
+ * (leave request, entry type), so a request is never deducted or restored twice.
+ * Days later found to be worked are credited back through a single running
+ * CONFLICT entry per request, which a cancellation nets out of its restore.
  */
 public class LeaveBalanceDAO {
     
@@ -52,8 +67,108 @@ public class LeaveBalanceDAO {
         "remainingLeaveDays, carryOverDays, balanceYear, lastUpdated FROM leavebalance " +
         "WHERE employeeId = ? AND leaveTypeId = ? AND balanceYear = ? AND leaveBalanceId != ?";
     
+    // Created by SchemaMigrations; until then balances change without ledger entries
+    static final String CREATE_LEDGER_TABLE = """
+        CREATE TABLE IF NOT EXISTS leave_balance_ledger (
+            ledgerId BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+            leaveBalanceId INT NOT NULL,
+            employeeId INT NOT NULL,
+            leaveTypeId INT NOT NULL,
+            balanceYear INT NOT NULL,
+            leaveRequestId INT NULL,
+            deltaDays INT NOT NULL,
+            entryType VARCHAR(10) NOT NULL,
+            createdAt TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+            UNIQUE KEY uq_ledger_request_entry (leaveRequestId, entryType),
+            KEY idx_ledger_employee_year (employeeId, balanceYear)
+        )
+        """;
     
+    // MySQL assigns single-table SET clauses left to right, so remainingLeaveDays
+    // sees the new usedLeaveDays. LAST_INSERT_ID(id) hands the row ID to the ledger insert.
+    private static final String DEDUCT_FROM_BALANCE = """
+        UPDATE leavebalance
+        SET usedLeaveDays = usedLeaveDays + ?,
+            remainingLeaveDays = GREATEST(0, totalLeaveDays + carryOverDays - usedLeaveDays),
+            lastUpdated = ?,
+            leaveBalanceId = LAST_INSERT_ID(leaveBalanceId)
+        WHERE employeeId = ? AND leaveTypeId = ? AND balanceYear = ? AND remainingLeaveDays >= ?
+        ORDER BY leaveBalanceId LIMIT 1
+        """;
     
+    private static final String RESTORE_TO_BALANCE = """
+        UPDATE leavebalance
+        SET usedLeaveDays = GREATEST(0, usedLeaveDays - ?),
+            remainingLeaveDays = GREATEST(0, totalLeaveDays + carryOverDays - usedLeaveDays),
+            lastUpdated = ?,
+            leaveBalanceId = LAST_INSERT_ID(leaveBalanceId)
+        WHERE employeeId = ? AND leaveTypeId = ? AND balanceYear = ?
+        ORDER BY leaveBalanceId LIMIT 1
+        """;
+    
+    private static final String INSERT_LEDGER_ENTRY = """
+        INSERT INTO leave_balance_ledger
+            (leaveBalanceId, employeeId, leaveTypeId, balanceYear, leaveRequestId, deltaDays, entryType, createdAt)
+        VALUES (LAST_INSERT_ID(), ?, ?, ?, ?, ?, ?, ?)
+        """;
+    
+    private static final String INSERT_LEDGER_ENTRY_FOR_BALANCE = """
+        INSERT INTO leave_balance_ledger
+            (leaveBalanceId, employeeId, leaveTypeId, balanceYear, leaveRequestId, deltaDays, entryType, createdAt)
+        VALUES (?, ?, ?, ?, ?, ?, 'DEDUCT', ?)
+        """;
+    
+    private static final String SET_BALANCE_USAGE = 
+        "UPDATE leavebalance SET usedLeaveDays = ?, remainingLeaveDays = ?, lastUpdated = ? WHERE leaveBalanceId = ?";
+    
+    // What a request still costs: its deduction less any conflict credits
+    private static final String SELECT_REQUEST_DEDUCTION = """
+        SELECT employeeId, leaveTypeId, balanceYear, SUM(deltaDays) AS deltaDays FROM leave_balance_ledger
+        WHERE leaveRequestId = ? AND entryType IN ('DEDUCT', 'CONFLICT')
+        GROUP BY employeeId, leaveTypeId, balanceYear
+        """;
+    
+    private static final String CREDIT_BALANCE = """
+        UPDATE leavebalance
+        SET usedLeaveDays = GREATEST(0, usedLeaveDays - ?),
+            remainingLeaveDays = GREATEST(0, totalLeaveDays + carryOverDays - usedLeaveDays),
+            lastUpdated = ?
+        WHERE leaveBalanceId = ?
+        """;
+    
+    private static final String UPSERT_CONFLICT_CREDIT = """
+        INSERT INTO leave_balance_ledger
+            (leaveBalanceId, employeeId, leaveTypeId, balanceYear, leaveRequestId, deltaDays, entryType, createdAt)
+        VALUES (?, ?, ?, ?, ?, ?, 'CONFLICT', ?)
+        ON DUPLICATE KEY UPDATE deltaDays = deltaDays + VALUES(deltaDays), createdAt = VALUES(createdAt)
+        """;
+    
+    // Year rollover: one row per active employee x leave type that has no balance
+    // for the year yet, with the previous year's unused days carried over (capped)
+    private static final String INITIALIZE_YEARLY_BALANCES = """
+        INSERT INTO leavebalance (employeeId, leaveTypeId, totalLeaveDays, usedLeaveDays,
+            remainingLeaveDays, carryOverDays, balanceYear, lastUpdated)
+        SELECT e.employeeId, lt.leaveTypeId, COALESCE(lt.maxDaysPerYear, 0), 0,
+               COALESCE(lt.maxDaysPerYear, 0) + LEAST(COALESCE(prev.remaining, 0), ?),
+               LEAST(COALESCE(prev.remaining, 0), ?), ?, ?
+        FROM employee e
+        CROSS JOIN leavetype lt
+        LEFT JOIN (SELECT employeeId, leaveTypeId, MAX(remainingLeaveDays) AS remaining
+                   FROM leavebalance WHERE balanceYear = ?
+                   GROUP BY employeeId, leaveTypeId) prev
+               ON prev.employeeId = e.employeeId AND prev.leaveTypeId = lt.leaveTypeId
+        WHERE e.status != 'Terminated'
+          AND NOT EXISTS (SELECT 1 FROM leavebalance b
+                          WHERE b.employeeId = e.employeeId AND b.leaveTypeId = lt.leaveTypeId
+                            AND b.balanceYear = ?)
+        """;
+    
+    public static final int DEFAULT_MAX_CARRY_OVER_DAYS = 5;
+    
+    private static final String ENTRY_DEDUCT = "DEDUCT";
+    private static final String ENTRY_RESTORE = "RESTORE";
+    
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
     
     
     /**
@@ -279,28 +394,46 @@ public class LeaveBalanceDAO {
      * @return 
      */
     public boolean deductLeaveFromBalance(int employeeId, int leaveTypeId, Year balanceYear, int daysToDeduct) {
+        return deductLeaveFromBalance(employeeId, leaveTypeId, balanceYear, daysToDeduct, null);
+    }
+    
+    /**
+     * Deduct leave for a request in one conditional update. Fails instead of
+     * going below zero, and fails if the request was already deducted.
+     * @param employeeId
+     * @param leaveTypeId
+     * @param balanceYear
+     * @param daysToDeduct
+     * @param leaveRequestId Request being approved (null for manual adjustments)
+     * @return true if the days were deducted
+     */
+    public boolean deductLeaveFromBalance(int employeeId, int leaveTypeId, Year balanceYear, int daysToDeduct,
+                                          Integer leaveRequestId) {
+        if (daysToDeduct <= 0) {
+            return false;
+        }
+        
         try (Connection conn = getConnection()) {
             conn.setAutoCommit(false);
             
             try {
-                LeaveBalance balance = getLeaveBalance(employeeId, leaveTypeId, balanceYear);
-                if (balance == null || !balance.canTakeLeave(daysToDeduct)) {
-                    conn.rollback();
-                    return false;
-                }
-                
-                // Deduct the leave
-                boolean success = balance.deductLeave(daysToDeduct);
-                if (!success) {
-                    conn.rollback();
-                    return false;
+                try (PreparedStatement stmt = conn.prepareStatement(DEDUCT_FROM_BALANCE)) {
+                    stmt.setInt(1, daysToDeduct);
+                    stmt.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now(MANILA_TIMEZONE)));
+                    stmt.setInt(3, employeeId);
+                    stmt.setInt(4, leaveTypeId);
+                    stmt.setInt(5, balanceYear.getValue());
+                    stmt.setInt(6, daysToDeduct);
+                    
+                    if (stmt.executeUpdate() == 0) {
+                        // No balance row, or not enough days left
+                        conn.rollback();
+                        return false;
+                    }
                 }
                 
-                // Update in database
-                boolean updated = updateLeaveBalance(balance);
-                if (!updated) {
-                    conn.rollback();
-                    return false;
+                if (hasLedger(conn)) {
+                    insertLedgerEntry(conn, employeeId, leaveTypeId, balanceYear, leaveRequestId, -daysToDeduct, ENTRY_DEDUCT);
                 }
                 
                 conn.commit();
@@ -308,6 +441,10 @@ public class LeaveBalanceDAO {
                 
             } catch (SQLException e) {
                 conn.rollback();
+                if (e.getErrorCode() == MYSQL_DUPLICATE_ENTRY) {
+                    System.err.println("Leave request " + leaveRequestId + " was already deducted from the balance");
+                    return false;
+                }
                 throw e;
             }
             
@@ -327,24 +464,43 @@ public class LeaveBalanceDAO {
      * @return 
      */
     public boolean addLeaveToBalance(int employeeId, int leaveTypeId, Year balanceYear, int daysToAdd) {
+        return addLeaveToBalance(employeeId, leaveTypeId, balanceYear, daysToAdd, null);
+    }
+    
+    /**
+     * Add leave back to balance in one update, recorded in the ledger
+     * @param employeeId
+     * @param leaveTypeId
+     * @param balanceYear
+     * @param daysToAdd
+     * @param leaveRequestId Request being cancelled (null for manual adjustments)
+     * @return true if the days were added back
+     */
+    public boolean addLeaveToBalance(int employeeId, int leaveTypeId, Year balanceYear, int daysToAdd,
+                                     Integer leaveRequestId) {
+        if (daysToAdd <= 0) {
+            return false;
+        }
+        
         try (Connection conn = getConnection()) {
             conn.setAutoCommit(false);
             
             try {
-                LeaveBalance balance = getLeaveBalance(employeeId, leaveTypeId, balanceYear);
-                if (balance == null) {
-                    conn.rollback();
-                    return false;
+                try (PreparedStatement stmt = conn.prepareStatement(RESTORE_TO_BALANCE)) {
+                    stmt.setInt(1, daysToAdd);
+                    stmt.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now(MANILA_TIMEZONE)));
+                    stmt.setInt(3, employeeId);
+                    stmt.setInt(4, leaveTypeId);
+                    stmt.setInt(5, balanceYear.getValue());
+                    
+                    if (stmt.executeUpdate() == 0) {
+                        conn.rollback();
+                        return false;
+                    }
                 }
                 
-                // Add the leave back
-                balance.addLeave(daysToAdd);
-                
-                // Update in database
-                boolean updated = updateLeaveBalance(balance);
-                if (!updated) {
-                    conn.rollback();
-                    return false;
+                if (hasLedger(conn)) {
+                    insertLedgerEntry(conn, employeeId, leaveTypeId, balanceYear, leaveRequestId, daysToAdd, ENTRY_RESTORE);
                 }
                 
                 conn.commit();
@@ -352,6 +508,10 @@ public class LeaveBalanceDAO {
                 
             } catch (SQLException e) {
                 conn.rollback();
+                if (e.getErrorCode() == MYSQL_DUPLICATE_ENTRY) {
+                    System.err.println("Leave request " + leaveRequestId + " was already restored to the balance");
+                    return false;
+                }
                 throw e;
             }
             
@@ -362,6 +522,190 @@ public class LeaveBalanceDAO {
         return false;
     }
     
+    /**
+     * Give back exactly what was deducted for a request, as recorded in the ledger
+     * @param leaveRequestId Cancelled leave request
+     * @return Days restored, 0 if the ledger has no deduction for the request
+     *         (approved before the ledger existed) or nothing is left to give back
+     *         after conflict credits, or -1 on error or if already restored
+     */
+    public int restoreLeaveForRequest(int leaveRequestId) {
+        int employeeId;
+        int leaveTypeId;
+        int balanceYear;
+        int deductedDays;
+        
+        try (Connection conn = getConnection()) {
+            if (!hasLedger(conn)) {
+                return 0;
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_REQUEST_DEDUCTION)) {
+                stmt.setInt(1, leaveRequestId);
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) {
+                        return 0;
+                    }
+                    employeeId = rs.getInt("employeeId");
+                    leaveTypeId = rs.getInt("leaveTypeId");
+                    balanceYear = rs.getInt("balanceYear");
+                    deductedDays = -rs.getInt("deltaDays");
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error reading leave ledger: " + e.getMessage());
+            return -1;
+        }
+        
+        if (deductedDays <= 0) {
+            return 0;
+        }
+        boolean restored = addLeaveToBalance(employeeId, leaveTypeId, Year.of(balanceYear), deductedDays, leaveRequestId);
+        return restored ? deductedDays : -1;
+    }
+    
+    /**
+     * Credit back days that approved requests were charged for but that turned
+     * out to be worked. Reads the ledger for all requests at once and writes the
+     * balance updates and ledger credits as two JDBC batches in one transaction.
+     * Requests without a ledger deduction, or already restored, are skipped.
+     * @param effectiveDaysByRequest Leave request ID -> leave days the request should cost now
+     * @return Leave request ID -> days credited by this call (requests with nothing
+     *         to credit are left out), or null on error
+     */
+    public Map<Integer, Integer> creditConflictDays(Map<Integer, Integer> effectiveDaysByRequest) {
+        Map<Integer, Integer> credited = new LinkedHashMap<>();
+        if (effectiveDaysByRequest.isEmpty()) {
+            return credited;
+        }
+        
+        String sql = "SELECT leaveRequestId, leaveBalanceId, employeeId, leaveTypeId, balanceYear, deltaDays, entryType " +
+                     "FROM leave_balance_ledger WHERE leaveRequestId IN (" +
+                     placeholders(effectiveDaysByRequest.size()) + ") FOR UPDATE";
+        
+        try (Connection conn = getConnection()) {
+            if (!hasLedger(conn)) {
+                return credited;
+            }
+            conn.setAutoCommit(false);
+            
+            try {
+                Map<Integer, LeaveBalance> deductedFrom = new HashMap<>();
+                Map<Integer, Integer> charged = new HashMap<>();
+                Set<Integer> restored = new HashSet<>();
+                
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    int index = 1;
+                    for (Integer requestId : effectiveDaysByRequest.keySet()) {
+                        stmt.setInt(index++, requestId);
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            int requestId = rs.getInt("leaveRequestId");
+                            String entryType = rs.getString("entryType");
+                            if (ENTRY_RESTORE.equals(entryType)) {
+                                restored.add(requestId);
+                                continue;
+                            }
+                            // DEDUCT is negative, CONFLICT credits are positive
+                            charged.merge(requestId, -rs.getInt("deltaDays"), Integer::sum);
+                            if (ENTRY_DEDUCT.equals(entryType)) {
+                                LeaveBalance balance = new LeaveBalance();
+                                balance.setLeaveBalanceId(rs.getInt("leaveBalanceId"));
+                                balance.setEmployeeId(rs.getInt("employeeId"));
+                                balance.setLeaveTypeId(rs.getInt("leaveTypeId"));
+                                balance.setBalanceYear(Year.of(rs.getInt("balanceYear")));
+                                deductedFrom.put(requestId, balance);
+                            }
+                        }
+                    }
+                }
+                
+                for (Map.Entry<Integer, Integer> entry : effectiveDaysByRequest.entrySet()) {
+                    int requestId = entry.getKey();
+                    if (!deductedFrom.containsKey(requestId) || restored.contains(requestId)) {
+                        continue;
+                    }
+                    int credit = charged.get(requestId) - Math.max(0, entry.getValue());
+                    if (credit > 0) {
+                        credited.put(requestId, credit);
+                    }
+                }
+                
+                if (!credited.isEmpty()) {
+                    Timestamp now = Timestamp.valueOf(LocalDateTime.now(MANILA_TIMEZONE));
+                    
+                    try (PreparedStatement stmt = conn.prepareStatement(CREDIT_BALANCE)) {
+                        for (Map.Entry<Integer, Integer> credit : credited.entrySet()) {
+                            stmt.setInt(1, credit.getValue());
+                            stmt.setTimestamp(2, now);
+                            stmt.setInt(3, deductedFrom.get(credit.getKey()).getLeaveBalanceId());
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
+                    }
+                    
+                    try (PreparedStatement stmt = conn.prepareStatement(UPSERT_CONFLICT_CREDIT)) {
+                        for (Map.Entry<Integer, Integer> credit : credited.entrySet()) {
+                            LeaveBalance balance = deductedFrom.get(credit.getKey());
+                            stmt.setInt(1, balance.getLeaveBalanceId());
+                            stmt.setInt(2, balance.getEmployeeId());
+                            stmt.setInt(3, balance.getLeaveTypeId());
+                            stmt.setInt(4, balance.getBalanceYear().getValue());
+                            stmt.setInt(5, credit.getKey());
+                            stmt.setInt(6, credit.getValue());
+                            stmt.setTimestamp(7, now);
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
+                    }
+                }
+                
+                conn.commit();
+                return credited;
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error crediting conflict days to leave balances: " + e.getMessage());
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Create the year's balances for every active employee and leave type in
+     * one INSERT ... SELECT. Employees who already have a balance for a type
+     * and year are skipped, so running it again only fills in the gaps.
+     * @param balanceYear Year to initialize
+     * @param maxCarryOverDays Most unused days carried over per leave type
+     * @return Number of balances created, or -1 on error
+     */
+    public int initializeYearlyBalances(Year balanceYear, int maxCarryOverDays) {
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INITIALIZE_YEARLY_BALANCES)) {
+            
+            int carryOverCap = Math.max(0, maxCarryOverDays);
+            stmt.setInt(1, carryOverCap);
+            stmt.setInt(2, carryOverCap);
+            stmt.setInt(3, balanceYear.getValue());
+            stmt.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now(MANILA_TIMEZONE)));
+            stmt.setInt(5, balanceYear.minusYears(1).getValue());
+            stmt.setInt(6, balanceYear.getValue());
+            
+            return stmt.executeUpdate();
+            
+        } catch (SQLException e) {
+            System.err.println("Error initializing leave balances for " + balanceYear + ": " + e.getMessage());
+        }
+        
+        return -1;
+    }
+    
     /**
      * Resolve conflicts between leave balances
      * @param existing
@@ -454,6 +798,151 @@ public class LeaveBalanceDAO {
     
     // Helper methods
     
+    /**
+     * Check if the ledger table has been created (SchemaMigrations)
+     */
+    static boolean hasLedger(Connection conn) {
+        return SchemaMigrations.isApplied(conn, SchemaMigrations.LEAVE_BALANCE_LEDGER);
+    }
+    
+    // BATCH OPERATIONS (run inside the caller's transaction)
+    
+    /**
+     * Lock and load the year's balances of the given employees
+     * @return Balances keyed by balanceKey(employeeId, leaveTypeId); the lowest
+     *         ID wins when duplicates exist, as with single deductions
+     */
+    Map<String, LeaveBalance> lockBalances(Connection conn, Year balanceYear, Collection<Integer> employeeIds)
+            throws SQLException {
+        Map<String, LeaveBalance> balances = new HashMap<>();
+        if (employeeIds.isEmpty()) {
+            return balances;
+        }
+        
+        String sql = "SELECT leaveBalanceId, employeeId, leaveTypeId, totalLeaveDays, usedLeaveDays, " +
+                     "remainingLeaveDays, carryOverDays, balanceYear, lastUpdated FROM leavebalance " +
+                     "WHERE balanceYear = ? AND employeeId IN (" + placeholders(employeeIds.size()) + ") " +
+                     "ORDER BY leaveBalanceId FOR UPDATE";
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            stmt.setInt(index++, balanceYear.getValue());
+            for (Integer employeeId : employeeIds) {
+                stmt.setInt(index++, employeeId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    LeaveBalance balance = mapResultSetToLeaveBalance(rs);
+                    balances.putIfAbsent(balanceKey(balance.getEmployeeId(), balance.getLeaveTypeId()), balance);
+                }
+            }
+        }
+        return balances;
+    }
+    
+    /**
+     * Requests that already have a DEDUCT entry in the ledger
+     * @param leaveRequestIds Requests about to be deducted
+     * @return IDs of those already deducted (none before the ledger migration)
+     */
+    Set<Integer> findDeductedRequests(Connection conn, Collection<Integer> leaveRequestIds) throws SQLException {
+        Set<Integer> deducted = new HashSet<>();
+        if (leaveRequestIds.isEmpty() || !hasLedger(conn)) {
+            return deducted;
+        }
+        
+        String sql = "SELECT DISTINCT leaveRequestId FROM leave_balance_ledger " +
+                     "WHERE entryType = '" + ENTRY_DEDUCT + "' AND leaveRequestId IN (" +
+                     placeholders(leaveRequestIds.size()) + ")";
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (Integer leaveRequestId : leaveRequestIds) {
+                stmt.setInt(index++, leaveRequestId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    deducted.add(rs.getInt("leaveRequestId"));
+                }
+            }
+        }
+        return deducted;
+    }
+    
+    /**
+     * Write balances changed in memory (after LeaveBalance.deductLeave) and one
+     * ledger entry per request, each as a single JDBC batch
+     * @param deductions Leave request ID -> days deducted
+     * @param balancesByRequest Leave request ID -> balance the days came from
+     */
+    void writeDeductions(Connection conn, Map<Integer, Integer> deductions,
+                         Map<Integer, LeaveBalance> balancesByRequest) throws SQLException {
+        if (deductions.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(MANILA_TIMEZONE));
+        
+        Map<Integer, LeaveBalance> changed = new LinkedHashMap<>();
+        for (LeaveBalance balance : balancesByRequest.values()) {
+            changed.put(balance.getLeaveBalanceId(), balance);
+        }
+        
+        try (PreparedStatement stmt = conn.prepareStatement(SET_BALANCE_USAGE)) {
+            for (LeaveBalance balance : changed.values()) {
+                stmt.setInt(1, balance.getUsedLeaveDays());
+                stmt.setInt(2, balance.getRemainingLeaveDays());
+                stmt.setTimestamp(3, now);
+                stmt.setInt(4, balance.getLeaveBalanceId());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        
+        if (!hasLedger(conn)) {
+            return;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_LEDGER_ENTRY_FOR_BALANCE)) {
+            for (Map.Entry<Integer, Integer> deduction : deductions.entrySet()) {
+                LeaveBalance balance = balancesByRequest.get(deduction.getKey());
+                stmt.setInt(1, balance.getLeaveBalanceId());
+                stmt.setInt(2, balance.getEmployeeId());
+                stmt.setInt(3, balance.getLeaveTypeId());
+                stmt.setInt(4, balance.getBalanceYear().getValue());
+                stmt.setInt(5, deduction.getKey());
+                stmt.setInt(6, -deduction.getValue());
+                stmt.setTimestamp(7, now);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+    
+    static String balanceKey(int employeeId, int leaveTypeId) {
+        return employeeId + ":" + leaveTypeId;
+    }
+    
+    static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+    
+    private void insertLedgerEntry(Connection conn, int employeeId, int leaveTypeId, Year balanceYear,
+                                   Integer leaveRequestId, int deltaDays, String entryType) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_LEDGER_ENTRY)) {
+            stmt.setInt(1, employeeId);
+            stmt.setInt(2, leaveTypeId);
+            stmt.setInt(3, balanceYear.getValue());
+            if (leaveRequestId != null) {
+                stmt.setInt(4, leaveRequestId);
+            } else {
+                stmt.setNull(4, Types.INTEGER);
+            }
+            stmt.setInt(5, deltaDays);
+            stmt.setString(6, entryType);
+            stmt.setTimestamp(7, Timestamp.valueOf(LocalDateTime.now(MANILA_TIMEZONE)));
+            stmt.executeUpdate();
+        }
+    }
+    
     /**
      * Map ResultSet to LeaveBalance
      */
@@ -261,6 +261,10 @@ public class LeaveDAO extends BaseDAO<LeaveRequestModel, Integer> {
     public boolean approveLeaveRequest(Integer leaveRequestId, String supervisorNotes) {
         String sql = "UPDATE leaverequest SET approvalStatus = ?, dateApproved = CURRENT_TIMESTAMP, supervisorNotes = ? WHERE leaveRequestId = ?";
         int rowsAffected = executeUpdate(sql, ApprovalStatus.APPROVED.getValue(), supervisorNotes, leaveRequestId);
+        if (rowsAffected > 0) {
+            RequestIntervalIndex.getInstance().setLeaveApproved(leaveRequestId);
+            LeaveOccupancyIndex.getInstance().setApproved(leaveRequestId);
+        }
         return rowsAffected > 0;
     }
     
@@ -273,6 +277,10 @@ public class LeaveDAO extends BaseDAO<LeaveRequestModel, Integer> {
     public boolean rejectLeaveRequest(Integer leaveRequestId, String supervisorNotes) {
         String sql = "UPDATE leaverequest SET approvalStatus = ?, dateApproved = CURRENT_TIMESTAMP, supervisorNotes = ? WHERE leaveRequestId = ?";
         int rowsAffected = executeUpdate(sql, ApprovalStatus.REJECTED.getValue(), supervisorNotes, leaveRequestId);
+        if (rowsAffected > 0) {
+            RequestIntervalIndex.getInstance().removeLeave(leaveRequestId);
+            LeaveOccupancyIndex.getInstance().remove(leaveRequestId);
+        }
         return rowsAffected > 0;
     }
     
@@ -301,6 +309,8 @@ public class LeaveDAO extends BaseDAO<LeaveRequestModel, Integer> {
                         handleGeneratedKey(leave, generatedKeys);
                     }
                 }
+                RequestIntervalIndex.getInstance().upsertLeave(leave);
+                LeaveOccupancyIndex.getInstance().upsert(leave);
                 return true;
             }
             return false;
@@ -326,6 +336,10 @@ public class LeaveDAO extends BaseDAO<LeaveRequestModel, Integer> {
             
             setUpdateParameters(stmt, leave);
             int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected > 0) {
+                RequestIntervalIndex.getInstance().upsertLeave(leave);
+                LeaveOccupancyIndex.getInstance().upsert(leave);
+            }
             return rowsAffected > 0;
             
         } catch (SQLException e) {
@@ -334,4 +348,19 @@ public class LeaveDAO extends BaseDAO<LeaveRequestModel, Integer> {
             return false;
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Override delete to drop the request from the overlap index
+     * @param leaveRequestId The leave request ID to delete
+     * @return true if delete was successful
+     */
+    @Override
+    public boolean delete(Integer leaveRequestId) {
+        boolean deleted = super.delete(leaveRequestId);
+        if (deleted) {
+            RequestIntervalIndex.getInstance().removeLeave(leaveRequestId);
+            LeaveOccupancyIndex.getInstance().remove(leaveRequestId);
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,430 @@
+package DAOs;
+
+import Models.LeaveRequestModel;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Day-indexed occupancy of pending and approved leave, for team calendars.
+ *
+ * Every employee with leave gets a dense slot number, and each calendar day
+ * keeps two BitSets of slots: employees on approved leave and employees on
+ * pending leave. A team is a BitSet of its members' slots, so "who is out on
+ * this day" is one AND, and the head count for each day of a quarter is about
+ * ninety ANDs plus cardinality(), with no query.
+ *
+ * All pending and approved requests are loaded with one query on first use,
+ * and again once the contents are older than RELOAD_AFTER_MILLIS (to pick up
+ * writes made from another workstation). The DAO write methods keep the
+ * index current next to RequestIntervalIndex: submit and edit go through
+ * upsert(), approval through setApproved(), and reject, cancel and delete
+ * through remove(). When a request goes away its
+ * days are recomputed from the employee's other requests, so two overlapping
+ * requests never clear each other's bits.
+ */
+public class LeaveOccupancyIndex {
+
+    private static final long RELOAD_AFTER_MILLIS = 5 * 60 * 1000L;
+
+    private static final String SELECT_ACTIVE_LEAVE = """
+        SELECT leaveRequestId, employeeId, leaveStart, leaveEnd, approvalStatus FROM leaverequest
+        WHERE approvalStatus IN ('Pending', 'Approved')
+        """;
+
+    private static final LeaveOccupancyIndex INSTANCE = new LeaveOccupancyIndex();
+
+    /**
+     * One indexed request, as closed range of epoch days
+     */
+    private static final class Booking {
+        private final int requestId;
+        private final int employeeId;
+        private final long startDay;
+        private final long endDay;
+        private boolean approved;
+
+        private Booking(int requestId, int employeeId, long startDay, long endDay, boolean approved) {
+            this.requestId = requestId;
+            this.employeeId = employeeId;
+            this.startDay = startDay;
+            this.endDay = endDay;
+            this.approved = approved;
+        }
+
+        private boolean covers(long day) {
+            return startDay <= day && day <= endDay;
+        }
+    }
+
+    /**
+     * Employees of a team who are out on one day
+     */
+    public static final class DayOccupancy {
+        private final LocalDate date;
+        private final List<Integer> approved;
+        private final List<Integer> pending;
+
+        private DayOccupancy(LocalDate date, List<Integer> approved, List<Integer> pending) {
+            this.date = date;
+            this.approved = approved;
+            this.pending = pending;
+        }
+
+        public LocalDate getDate() { return date; }
+        public List<Integer> getApproved() { return approved; }
+        /** Employees with only pending leave that day (approved takes precedence) */
+        public List<Integer> getPending() { return pending; }
+        public int getTotal() { return approved.size() + pending.size(); }
+        public boolean isApproved(int employeeId) { return approved.contains(employeeId); }
+        public boolean isPending(int employeeId) { return pending.contains(employeeId); }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private boolean loaded = false;
+    private long loadedAt;
+
+    private final Map<Integer, Integer> slotByEmployee = new HashMap<>();
+    private final List<Integer> employeeBySlot = new ArrayList<>();
+    private final Map<Integer, Booking> byRequestId = new HashMap<>();
+    private final Map<Integer, Map<Integer, Booking>> byEmployee = new HashMap<>();
+    private final Map<Long, BitSet> approvedByDay = new HashMap<>();
+    private final Map<Long, BitSet> pendingByDay = new HashMap<>();
+
+    private final DatabaseConnection databaseConnection;
+
+    /**
+     * A standalone index, separate from the shared one (for tests and tools)
+     */
+    public LeaveOccupancyIndex() {
+        this.databaseConnection = new DatabaseConnection();
+    }
+
+    /**
+     * Get the process-wide index
+     * @return shared LeaveOccupancyIndex
+     */
+    public static LeaveOccupancyIndex getInstance() {
+        return INSTANCE;
+    }
+
+    // LOADING
+
+    /**
+     * Reload the whole index from the database
+     */
+    public void refresh() {
+        List<LeaveRequestModel> requests = new ArrayList<>();
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ACTIVE_LEAVE);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                LeaveRequestModel request = new LeaveRequestModel();
+                request.setLeaveRequestId(rs.getInt("leaveRequestId"));
+                request.setEmployeeId(rs.getInt("employeeId"));
+                request.setLeaveStart(rs.getDate("leaveStart"));
+                request.setLeaveEnd(rs.getDate("leaveEnd"));
+                request.setApprovalStatus(LeaveRequestModel.ApprovalStatus.fromString(rs.getString("approvalStatus")));
+                requests.add(request);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error loading leave occupancy: " + e.getMessage());
+            return;
+        }
+        rebuild(requests);
+    }
+
+    /**
+     * Replace the index contents with the given requests
+     * @param requests Leave requests (only pending and approved ones are indexed)
+     */
+    public void rebuild(Collection<LeaveRequestModel> requests) {
+        lock.writeLock().lock();
+        try {
+            slotByEmployee.clear();
+            employeeBySlot.clear();
+            byRequestId.clear();
+            byEmployee.clear();
+            approvedByDay.clear();
+            pendingByDay.clear();
+            for (LeaveRequestModel request : requests) {
+                Booking booking = toBooking(request);
+                if (booking != null) {
+                    addBooking(booking);
+                }
+            }
+            loaded = true;
+            loadedAt = System.currentTimeMillis();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Load the index from the database if it has not been loaded yet
+     * or was loaded more than RELOAD_AFTER_MILLIS ago
+     */
+    public void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (loaded && System.currentTimeMillis() - loadedAt <= RELOAD_AFTER_MILLIS) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        refresh();
+    }
+
+    // WRITE HOOKS (called by LeaveRequestDAO and LeaveDAO)
+
+    /**
+     * Add or replace a request; requests that are no longer pending or approved are removed.
+     * Ignored until the index is loaded, since loading reads the current rows anyway.
+     * @param request The saved request
+     */
+    public void upsert(LeaveRequestModel request) {
+        if (request == null || request.getLeaveRequestId() <= 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            removeBooking(request.getLeaveRequestId());
+            Booking booking = toBooking(request);
+            if (booking != null) {
+                addBooking(booking);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Move a pending request to approved
+     * @param leaveRequestId Approved request
+     */
+    public void setApproved(int leaveRequestId) {
+        lock.writeLock().lock();
+        try {
+            Booking booking = byRequestId.get(leaveRequestId);
+            if (booking == null || booking.approved) {
+                return;
+            }
+            removeBooking(leaveRequestId);
+            booking.approved = true;
+            addBooking(booking);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop a rejected, cancelled or deleted request
+     * @param leaveRequestId Request to drop
+     */
+    public void remove(int leaveRequestId) {
+        lock.writeLock().lock();
+        try {
+            removeBooking(leaveRequestId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // QUERIES
+
+    /**
+     * Team members out on one day
+     * @param employeeIds Team members
+     * @param date Day to check
+     * @param includePending Count pending requests as out
+     * @return Employee IDs, ascending
+     */
+    public List<Integer> getEmployeesOnLeave(Collection<Integer> employeeIds, LocalDate date, boolean includePending) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            BitSet out = occupied(teamMask(employeeIds), date.toEpochDay(), includePending);
+            return toEmployeeIds(out);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of team members out on each day of a range
+     * @param employeeIds Team members
+     * @param from First day
+     * @param to Last day (inclusive)
+     * @param includePending Count pending requests as out
+     * @return One count per day, from first to last
+     */
+    public int[] countOnLeave(Collection<Integer> employeeIds, LocalDate from, LocalDate to, boolean includePending) {
+        if (to.isBefore(from)) {
+            return new int[0];
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            BitSet team = teamMask(employeeIds);
+            long first = from.toEpochDay();
+            int[] counts = new int[(int) (to.toEpochDay() - first + 1)];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = occupied(team, first + i, includePending).cardinality();
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Who on the team is out on each day of a range, split by approval status
+     * @param employeeIds Team members
+     * @param from First day
+     * @param to Last day (inclusive)
+     * @return One entry per day, from first to last
+     */
+    public List<DayOccupancy> getTeamCalendar(Collection<Integer> employeeIds, LocalDate from, LocalDate to) {
+        List<DayOccupancy> calendar = new ArrayList<>();
+        if (to.isBefore(from)) {
+            return calendar;
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            BitSet team = teamMask(employeeIds);
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                long day = date.toEpochDay();
+                BitSet approved = masked(approvedByDay.get(day), team);
+                BitSet pending = masked(pendingByDay.get(day), team);
+                pending.andNot(approved);
+                calendar.add(new DayOccupancy(date, toEmployeeIds(approved), toEmployeeIds(pending)));
+            }
+            return calendar;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // HELPER METHODS (callers hold the lock)
+
+    private static Booking toBooking(LeaveRequestModel request) {
+        if (request.getLeaveStart() == null || request.getLeaveEnd() == null
+                || !(request.isPending() || request.isApproved())) {
+            return null;
+        }
+        long start = request.getLeaveStart().toLocalDate().toEpochDay();
+        long end = request.getLeaveEnd().toLocalDate().toEpochDay();
+        if (end < start) {
+            return null;
+        }
+        return new Booking(request.getLeaveRequestId(), request.getEmployeeId(), start, end, request.isApproved());
+    }
+
+    private void addBooking(Booking booking) {
+        byRequestId.put(booking.requestId, booking);
+        byEmployee.computeIfAbsent(booking.employeeId, id -> new HashMap<>()).put(booking.requestId, booking);
+        int slot = slotOf(booking.employeeId);
+        Map<Long, BitSet> days = booking.approved ? approvedByDay : pendingByDay;
+        for (long day = booking.startDay; day <= booking.endDay; day++) {
+            days.computeIfAbsent(day, d -> new BitSet()).set(slot);
+        }
+    }
+
+    private void removeBooking(int requestId) {
+        Booking booking = byRequestId.remove(requestId);
+        if (booking == null) {
+            return;
+        }
+        Map<Integer, Booking> remaining = byEmployee.get(booking.employeeId);
+        remaining.remove(requestId);
+        if (remaining.isEmpty()) {
+            byEmployee.remove(booking.employeeId);
+        }
+
+        int slot = slotByEmployee.get(booking.employeeId);
+        Map<Long, BitSet> days = booking.approved ? approvedByDay : pendingByDay;
+        for (long day = booking.startDay; day <= booking.endDay; day++) {
+            if (stillCovered(remaining, day, booking.approved)) {
+                continue;
+            }
+            BitSet bits = days.get(day);
+            if (bits != null) {
+                bits.clear(slot);
+                if (bits.isEmpty()) {
+                    days.remove(day);
+                }
+            }
+        }
+    }
+
+    private static boolean stillCovered(Map<Integer, Booking> bookings, long day, boolean approved) {
+        for (Booking other : bookings.values()) {
+            if (other.approved == approved && other.covers(day)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int slotOf(int employeeId) {
+        Integer slot = slotByEmployee.get(employeeId);
+        if (slot == null) {
+            slot = employeeBySlot.size();
+            employeeBySlot.add(employeeId);
+            slotByEmployee.put(employeeId, slot);
+        }
+        return slot;
+    }
+
+    private BitSet teamMask(Collection<Integer> employeeIds) {
+        BitSet mask = new BitSet(employeeBySlot.size());
+        for (Integer employeeId : employeeIds) {
+            Integer slot = slotByEmployee.get(employeeId);
+            if (slot != null) {
+                mask.set(slot);
+            }
+        }
+        return mask;
+    }
+
+    private BitSet occupied(BitSet team, long day, boolean includePending) {
+        BitSet out = masked(approvedByDay.get(day), team);
+        if (includePending) {
+            out.or(masked(pendingByDay.get(day), team));
+        }
+        return out;
+    }
+
+    private static BitSet masked(BitSet bits, BitSet team) {
+        if (bits == null) {
+            return new BitSet();
+        }
+        BitSet result = (BitSet) bits.clone();
+        result.and(team);
+        return result;
+    }
+
+    private List<Integer> toEmployeeIds(BitSet slots) {
+        if (slots.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Integer> ids = new ArrayList<>(slots.cardinality());
+        for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+            ids.add(employeeBySlot.get(slot));
+        }
+        Collections.sort(ids);
+        return ids;
+    }
+}
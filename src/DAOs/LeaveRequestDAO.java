@@ -1,12 +1,18 @@
 package DAOs;
 
+import Models.LeaveBalance;
 import Models.LeaveRequestModel;
 import java.sql.*;
 import java.time.*;
+import java.util.Collection;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 /**
  * This class manages employee leave requests, including creation, validation, status updates, conflict checks, and supervisor approval workflows.
@@ -58,16 +64,13 @@ public class LeaveRequestDAO {
         "approvalStatus, dateCreated, dateApproved, supervisorNotes FROM leaverequest " +
         "WHERE approvalStatus = 'Pending' ORDER BY dateCreated ASC";
     
+    private static final String APPROVE_PENDING_REQUEST = 
+        "UPDATE leaverequest SET approvalStatus = 'Approved', dateApproved = ?, supervisorNotes = ? " +
+        "WHERE leaveRequestId = ? AND approvalStatus = 'Pending'";
+    
     private static final String DELETE_LEAVE_REQUEST = 
         "DELETE FROM leaverequest WHERE leaveRequestId = ?";
     
-    private static final String SELECT_OVERLAPPING_REQUESTS = 
-        "SELECT leaveRequestId, employeeId, leaveTypeId, leaveStart, leaveEnd, leaveReason, " +
-        "approvalStatus, dateCreated, dateApproved, supervisorNotes FROM leaverequest " +
-        "WHERE employeeId = ? AND leaveRequestId != ? AND approvalStatus IN ('Pending', 'Approved') " +
-        "AND ((leaveStart BETWEEN ? AND ?) OR (leaveEnd BETWEEN ? AND ?) OR " +
-        "(leaveStart <= ? AND leaveEnd >= ?))";
-    
     private static final String SELECT_UPCOMING_LEAVES = 
         "SELECT leaveRequestId, employeeId, leaveTypeId, leaveStart, leaveEnd, leaveReason, " +
         "approvalStatus, dateCreated, dateApproved, supervisorNotes FROM leaverequest " +
@@ -82,6 +85,22 @@ public class LeaveRequestDAO {
         "SUM(CASE WHEN approvalStatus = 'Pending' THEN 1 ELSE 0 END) as pendingRequests " +
         "FROM leaverequest WHERE employeeId = ? AND dateCreated BETWEEN ? AND ?";
     
+    // What a submission is checked against, in one round trip: the balance row and
+    // completed attendance inside the window (overlaps come from RequestIntervalIndex)
+    private static final String SELECT_SUBMISSION_CONTEXT = 
+        "(SELECT 'BALANCE' AS rowKind, remainingLeaveDays AS rowValue, CAST(NULL AS DATE) AS rowDate " +
+        "FROM leavebalance WHERE employeeId = ? AND leaveTypeId = ? AND balanceYear = ? " +
+        "ORDER BY leaveBalanceId LIMIT 1) " +
+        "UNION ALL " +
+        "(SELECT 'WORKED', NULL, date FROM attendance " +
+        "WHERE employeeId = ? AND date BETWEEN ? AND ? AND timeIn IS NOT NULL AND timeOut IS NOT NULL)";
+    
+    // Added when the leave reaches back into archived attendance
+    private static final String SUBMISSION_ARCHIVED_WORKED = 
+        " UNION ALL " +
+        "(SELECT 'WORKED', NULL, date FROM " + AttendanceArchiveDAO.ATTENDANCE_ARCHIVE + " " +
+        "WHERE employeeId = ? AND date BETWEEN ? AND ? AND timeIn IS NOT NULL AND timeOut IS NOT NULL)";
+    
     /**
      * Get database connection using centralized DatabaseConnection
      * (Timezone already handled in DatabaseConnection.getConnection())
@@ -119,6 +138,8 @@ public class LeaveRequestDAO {
                         leaveRequest.setLeaveRequestId(generatedKeys.getInt(1));
                     }
                 }
+                RequestIntervalIndex.getInstance().upsertLeave(leaveRequest);
+                LeaveOccupancyIndex.getInstance().upsert(leaveRequest);
                 return true;
             }
             
@@ -152,7 +173,11 @@ public class LeaveRequestDAO {
             stmt.setString(8, leaveRequest.getSupervisorNotes());
             stmt.setInt(9, leaveRequest.getLeaveRequestId());
             
-            return stmt.executeUpdate() > 0;
+            if (stmt.executeUpdate() > 0) {
+                RequestIntervalIndex.getInstance().upsertLeave(leaveRequest);
+                LeaveOccupancyIndex.getInstance().upsert(leaveRequest);
+                return true;
+            }
             
         } catch (SQLException e) {
             System.err.println("Error updating leave request: " + e.getMessage());
@@ -306,29 +331,21 @@ public class LeaveRequestDAO {
      */
     public List<LeaveRequestModel> getOverlappingLeaveRequests(LeaveRequestModel leaveRequest) {
         List<LeaveRequestModel> overlapping = new ArrayList<>();
+        if (leaveRequest.getLeaveStart() == null || leaveRequest.getLeaveEnd() == null) {
+            return overlapping;
+        }
         
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SELECT_OVERLAPPING_REQUESTS)) {
-            
-            int requestId = leaveRequest.getLeaveRequestId() > 0 ? leaveRequest.getLeaveRequestId() : -1;
-            
-            stmt.setInt(1, leaveRequest.getEmployeeId());
-            stmt.setInt(2, requestId);
-            stmt.setDate(3, leaveRequest.getLeaveStart());
-            stmt.setDate(4, leaveRequest.getLeaveEnd());
-            stmt.setDate(5, leaveRequest.getLeaveStart());
-            stmt.setDate(6, leaveRequest.getLeaveEnd());
-            stmt.setDate(7, leaveRequest.getLeaveStart());
-            stmt.setDate(8, leaveRequest.getLeaveEnd());
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    overlapping.add(mapResultSetToLeaveRequest(rs));
-                }
+        // The index answers the common no-overlap case without a query
+        int requestId = leaveRequest.getLeaveRequestId() > 0 ? leaveRequest.getLeaveRequestId() : -1;
+        List<Integer> overlappingIds = RequestIntervalIndex.getInstance().findOverlappingLeave(
+                leaveRequest.getEmployeeId(), leaveRequest.getLeaveStart().toLocalDate(),
+                leaveRequest.getLeaveEnd().toLocalDate(), requestId);
+        
+        for (Integer overlappingId : overlappingIds) {
+            LeaveRequestModel existing = getLeaveRequestById(overlappingId);
+            if (existing != null) {
+                overlapping.add(existing);
             }
-            
-        } catch (SQLException e) {
-            System.err.println("Error checking overlapping leave requests: " + e.getMessage());
         }
         
         return overlapping;
@@ -412,7 +429,11 @@ public class LeaveRequestDAO {
              PreparedStatement stmt = conn.prepareStatement(DELETE_LEAVE_REQUEST)) {
             
             stmt.setInt(1, leaveRequestId);
-            return stmt.executeUpdate() > 0;
+            if (stmt.executeUpdate() > 0) {
+                RequestIntervalIndex.getInstance().removeLeave(leaveRequestId);
+                LeaveOccupancyIndex.getInstance().remove(leaveRequestId);
+                return true;
+            }
             
         } catch (SQLException e) {
             System.err.println("Error deleting leave request: " + e.getMessage());
@@ -515,8 +536,301 @@ public class LeaveRequestDAO {
         return false;
     }
     
+    /**
+     * Approve many pending requests in one transaction: one query loads (and
+     * locks) the requests, one the balances and one the attendance that
+     * overlaps them. Balances are checked and deducted in memory, in list
+     * order, then statuses, balances and ledger entries are written as JDBC
+     * batches. Dates with complete attendance are worked days and are not
+     * deducted, as with single approvals.
+     * @param leaveRequestIds Requests to approve
+     * @param supervisorNotes Notes stored on every approved request
+     * @param balanceYear Balance year to deduct from
+     * @return One outcome per requested ID, in the given order (all rejected on a database error)
+     */
+    public List<BulkApprovalOutcome> bulkApproveLeaveRequests(List<Integer> leaveRequestIds, String supervisorNotes,
+                                                              Year balanceYear) {
+        Set<Integer> requestIds = new LinkedHashSet<>(leaveRequestIds);
+        Map<Integer, BulkApprovalOutcome> outcomes = new LinkedHashMap<>();
+        if (requestIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        LeaveBalanceDAO balanceDAO = new LeaveBalanceDAO();
+        
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            
+            try {
+                Map<Integer, LeaveRequestModel> requests = lockLeaveRequests(conn, requestIds);
+                Set<Integer> employeeIds = new HashSet<>();
+                LocalDate firstDay = null;
+                LocalDate lastDay = null;
+                for (LeaveRequestModel request : requests.values()) {
+                    employeeIds.add(request.getEmployeeId());
+                    LocalDate start = request.getLeaveStart().toLocalDate();
+                    LocalDate end = request.getLeaveEnd().toLocalDate();
+                    firstDay = firstDay == null || start.isBefore(firstDay) ? start : firstDay;
+                    lastDay = lastDay == null || end.isAfter(lastDay) ? end : lastDay;
+                }
+                
+                Map<String, LeaveBalance> balances = balanceDAO.lockBalances(conn, balanceYear, employeeIds);
+                Set<Integer> alreadyDeducted = balanceDAO.findDeductedRequests(conn, requests.keySet());
+                Set<String> workedDays = firstDay == null ? new HashSet<>()
+                        : getCompleteAttendanceDays(conn, employeeIds, firstDay, lastDay);
+                
+                // Decide every request in memory
+                List<LeaveRequestModel> approved = new ArrayList<>();
+                Map<Integer, Integer> deductions = new LinkedHashMap<>();
+                Map<Integer, LeaveBalance> balancesByRequest = new HashMap<>();
+                Timestamp approvedAt = Timestamp.valueOf(LocalDateTime.now(MANILA_TIMEZONE));
+                
+                for (Integer requestId : requestIds) {
+                    LeaveRequestModel request = requests.get(requestId);
+                    if (request == null) {
+                        outcomes.put(requestId, new BulkApprovalOutcome(requestId, null, false, "Leave request not found"));
+                        continue;
+                    }
+                    if (!request.isPending()) {
+                        outcomes.put(requestId, new BulkApprovalOutcome(requestId, request, false,
+                                "Leave request has already been " + request.getApprovalStatus().getValue().toLowerCase()));
+                        continue;
+                    }
+                    
+                    if (alreadyDeducted.contains(requestId)) {
+                        // Refused on its own instead of failing the batch on the ledger key
+                        outcomes.put(requestId, new BulkApprovalOutcome(requestId, request, false,
+                                "Leave request was already deducted from the balance"));
+                        continue;
+                    }
+                    
+                    int effectiveDays = 0;
+                    for (Date leaveDate : request.getWorkingDayLeaveDates()) {
+                        if (!workedDays.contains(request.getEmployeeId() + ":" + leaveDate.toLocalDate())) {
+                            effectiveDays++;
+                        }
+                    }
+                    
+                    if (effectiveDays > 0) {
+                        LeaveBalance balance = balances.get(
+                                LeaveBalanceDAO.balanceKey(request.getEmployeeId(), request.getLeaveTypeId()));
+                        if (balance == null || !balance.deductLeave(effectiveDays)) {
+                            outcomes.put(requestId, new BulkApprovalOutcome(requestId, request, false,
+                                    "Insufficient leave balance (" + effectiveDays + " days needed, "
+                                    + (balance != null ? balance.getRemainingLeaveDays() : 0) + " left)"));
+                            continue;
+                        }
+                        deductions.put(requestId, effectiveDays);
+                        balancesByRequest.put(requestId, balance);
+                    }
+                    
+                    request.approve(supervisorNotes);
+                    request.setDateApproved(approvedAt);
+                    approved.add(request);
+                    outcomes.put(requestId, new BulkApprovalOutcome(requestId, request, true,
+                            "Approved (" + effectiveDays + " days deducted)"));
+                }
+                
+                // Write everything in batches
+                if (!approved.isEmpty()) {
+                    try (PreparedStatement stmt = conn.prepareStatement(APPROVE_PENDING_REQUEST)) {
+                        for (LeaveRequestModel request : approved) {
+                            stmt.setTimestamp(1, approvedAt);
+                            stmt.setString(2, supervisorNotes);
+                            stmt.setInt(3, request.getLeaveRequestId());
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
+                    }
+                    balanceDAO.writeDeductions(conn, deductions, balancesByRequest);
+                }
+                
+                conn.commit();
+                
+                for (LeaveRequestModel request : approved) {
+                    RequestIntervalIndex.getInstance().setLeaveApproved(request.getLeaveRequestId());
+                    LeaveOccupancyIndex.getInstance().setApproved(request.getLeaveRequestId());
+                }
+                return new ArrayList<>(outcomes.values());
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error bulk approving leave requests: " + e.getMessage());
+        }
+        
+        List<BulkApprovalOutcome> failed = new ArrayList<>();
+        for (Integer requestId : requestIds) {
+            failed.add(new BulkApprovalOutcome(requestId, null, false, "Not approved: database error"));
+        }
+        return failed;
+    }
+    
+    /**
+     * Load leave requests overlapping a date window together with the completed
+     * attendance of their employees, so conflicts can be worked out in memory
+     * @param employeeIds Employees to load (null for everyone)
+     * @param startDate
+     * @param endDate
+     * @param approvedOnly Only approved requests
+     * @return The window, or null on error
+     */
+    public ConflictWindow loadConflictWindow(Collection<Integer> employeeIds, Date startDate, Date endDate,
+                                             boolean approvedOnly) {
+        ConflictWindow window = new ConflictWindow();
+        if (employeeIds != null && employeeIds.isEmpty()) {
+            return window;
+        }
+        
+        StringBuilder sql = new StringBuilder(
+            "SELECT leaveRequestId, employeeId, leaveTypeId, leaveStart, leaveEnd, leaveReason, " +
+            "approvalStatus, dateCreated, dateApproved, supervisorNotes FROM leaverequest " +
+            "WHERE leaveStart <= ? AND leaveEnd >= ?");
+        if (approvedOnly) {
+            sql.append(" AND approvalStatus = 'Approved'");
+        }
+        if (employeeIds != null) {
+            sql.append(" AND employeeId IN (").append(LeaveBalanceDAO.placeholders(employeeIds.size())).append(")");
+        }
+        sql.append(" ORDER BY employeeId, leaveStart");
+        
+        try (Connection conn = getConnection()) {
+            LocalDate firstDay = null;
+            LocalDate lastDay = null;
+            
+            try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+                int index = 1;
+                stmt.setDate(index++, endDate);
+                stmt.setDate(index++, startDate);
+                if (employeeIds != null) {
+                    for (Integer employeeId : employeeIds) {
+                        stmt.setInt(index++, employeeId);
+                    }
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        LeaveRequestModel request = mapResultSetToLeaveRequest(rs);
+                        if (request.getLeaveStart() == null || request.getLeaveEnd() == null) {
+                            continue;
+                        }
+                        window.requestsByEmployee.computeIfAbsent(request.getEmployeeId(), id -> new ArrayList<>())
+                              .add(request);
+                        LocalDate start = request.getLeaveStart().toLocalDate();
+                        LocalDate end = request.getLeaveEnd().toLocalDate();
+                        firstDay = firstDay == null || start.isBefore(firstDay) ? start : firstDay;
+                        lastDay = lastDay == null || end.isAfter(lastDay) ? end : lastDay;
+                    }
+                }
+            }
+            
+            if (window.requestsByEmployee.isEmpty()) {
+                return window;
+            }
+            
+            // Attendance over the full span of the requests, not just the window
+            List<String> attendanceTables = new ArrayList<>();
+            attendanceTables.add("attendance");
+            if (AttendanceArchiveDAO.reachesArchive(conn, firstDay)) {
+                attendanceTables.add(AttendanceArchiveDAO.ATTENDANCE_ARCHIVE);
+            }
+            for (String table : attendanceTables) {
+                String attendanceSql = "SELECT employeeId, date FROM " + table + " " +
+                                       "WHERE date BETWEEN ? AND ? AND timeIn IS NOT NULL AND timeOut IS NOT NULL";
+                if (employeeIds != null) {
+                    attendanceSql += " AND employeeId IN (" +
+                                     LeaveBalanceDAO.placeholders(window.requestsByEmployee.size()) + ")";
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(attendanceSql)) {
+                    int index = 1;
+                    stmt.setDate(index++, Date.valueOf(firstDay));
+                    stmt.setDate(index++, Date.valueOf(lastDay));
+                    if (employeeIds != null) {
+                        for (Integer employeeId : window.requestsByEmployee.keySet()) {
+                            stmt.setInt(index++, employeeId);
+                        }
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            int employeeId = rs.getInt("employeeId");
+                            if (window.requestsByEmployee.containsKey(employeeId)) {
+                                window.workedDaysByEmployee.computeIfAbsent(employeeId, id -> new HashSet<>())
+                                      .add(rs.getDate("date").toLocalDate());
+                            }
+                        }
+                    }
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error loading leave conflict window: " + e.getMessage());
+            return null;
+        }
+        
+        return window;
+    }
+    
     // Helper methods
     
+    private Map<Integer, LeaveRequestModel> lockLeaveRequests(Connection conn, Set<Integer> requestIds)
+            throws SQLException {
+        Map<Integer, LeaveRequestModel> requests = new HashMap<>();
+        String sql = "SELECT leaveRequestId, employeeId, leaveTypeId, leaveStart, leaveEnd, leaveReason, " +
+                     "approvalStatus, dateCreated, dateApproved, supervisorNotes FROM leaverequest " +
+                     "WHERE leaveRequestId IN (" + LeaveBalanceDAO.placeholders(requestIds.size()) + ") FOR UPDATE";
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (Integer requestId : requestIds) {
+                stmt.setInt(index++, requestId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    LeaveRequestModel request = mapResultSetToLeaveRequest(rs);
+                    if (request.getLeaveStart() != null && request.getLeaveEnd() != null) {
+                        requests.put(request.getLeaveRequestId(), request);
+                    }
+                }
+            }
+        }
+        return requests;
+    }
+    
+    /**
+     * Days with both time in and time out, as "employeeId:yyyy-MM-dd"
+     */
+    private Set<String> getCompleteAttendanceDays(Connection conn, Set<Integer> employeeIds,
+                                                  LocalDate firstDay, LocalDate lastDay) throws SQLException {
+        Set<String> days = new HashSet<>();
+        List<String> attendanceTables = new ArrayList<>();
+        attendanceTables.add("attendance");
+        if (AttendanceArchiveDAO.reachesArchive(conn, firstDay)) {
+            attendanceTables.add(AttendanceArchiveDAO.ATTENDANCE_ARCHIVE);
+        }
+        
+        for (String table : attendanceTables) {
+            String sql = "SELECT employeeId, date FROM " + table + " " +
+                         "WHERE employeeId IN (" + LeaveBalanceDAO.placeholders(employeeIds.size()) + ") " +
+                         "AND date BETWEEN ? AND ? AND timeIn IS NOT NULL AND timeOut IS NOT NULL";
+            
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                for (Integer employeeId : employeeIds) {
+                    stmt.setInt(index++, employeeId);
+                }
+                stmt.setDate(index++, Date.valueOf(firstDay));
+                stmt.setDate(index, Date.valueOf(lastDay));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        days.add(rs.getInt("employeeId") + ":" + rs.getDate("date").toLocalDate());
+                    }
+                }
+            }
+        }
+        return days;
+    }
+    
     /**
      * Map ResultSet to LeaveRequestModel
      */
@@ -573,7 +887,186 @@ public class LeaveRequestDAO {
      * @return 
      */
     public boolean hasConflictWithApprovedLeaves(LeaveRequestModel newRequest) {
-        List<LeaveRequestModel> overlapping = getOverlappingLeaveRequests(newRequest);
-        return overlapping.stream().anyMatch(request -> request.isApproved());
+        if (newRequest.getLeaveStart() == null || newRequest.getLeaveEnd() == null) {
+            return false;
+        }
+        int requestId = newRequest.getLeaveRequestId() > 0 ? newRequest.getLeaveRequestId() : -1;
+        return RequestIntervalIndex.getInstance().hasOverlappingApprovedLeave(newRequest.getEmployeeId(),
+                newRequest.getLeaveStart().toLocalDate(), newRequest.getLeaveEnd().toLocalDate(), requestId);
+    }
+    
+    /**
+     * Check a leave request before it is submitted: balance and attendance conflicts
+     * are read with a single query, overlapping requests come from RequestIntervalIndex
+     * like every other leave overlap check
+     * @param leaveRequest
+     * @param balanceYear year of the balance the request draws from
+     * @return the verdict; never null
+     */
+    public SubmissionCheck checkLeaveSubmission(LeaveRequestModel leaveRequest, Year balanceYear) {
+        SubmissionCheck check = new SubmissionCheck();
+        if (leaveRequest == null || leaveRequest.getLeaveStart() == null || leaveRequest.getLeaveEnd() == null) {
+            check.error = "Leave dates are required";
+            return check;
+        }
+        
+        List<Date> workingDates = leaveRequest.getWorkingDayLeaveDates();
+        check.workingDays = workingDates.size();
+        int requestId = leaveRequest.getLeaveRequestId() > 0 ? leaveRequest.getLeaveRequestId() : -1;
+        Set<LocalDate> workedDays = new HashSet<>();
+        
+        try (Connection conn = getConnection()) {
+            boolean archived = AttendanceArchiveDAO.reachesArchive(conn, leaveRequest.getLeaveStart());
+            String sql = archived ? SELECT_SUBMISSION_CONTEXT + SUBMISSION_ARCHIVED_WORKED : SELECT_SUBMISSION_CONTEXT;
+            
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, leaveRequest.getEmployeeId());
+                stmt.setInt(2, leaveRequest.getLeaveTypeId());
+                stmt.setInt(3, balanceYear.getValue());
+                stmt.setInt(4, leaveRequest.getEmployeeId());
+                stmt.setDate(5, leaveRequest.getLeaveStart());
+                stmt.setDate(6, leaveRequest.getLeaveEnd());
+                if (archived) {
+                    stmt.setInt(7, leaveRequest.getEmployeeId());
+                    stmt.setDate(8, leaveRequest.getLeaveStart());
+                    stmt.setDate(9, leaveRequest.getLeaveEnd());
+                }
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        switch (rs.getString("rowKind")) {
+                            case "BALANCE" -> {
+                                int remaining = rs.getInt("rowValue");
+                                check.remainingDays = rs.wasNull() ? null : remaining;
+                                check.balanceFound = true;
+                            }
+                            case "WORKED" -> workedDays.add(rs.getDate("rowDate").toLocalDate());
+                            default -> { }
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error checking leave submission: " + e.getMessage());
+            check.error = "Could not check the request: " + e.getMessage();
+            return check;
+        }
+        
+        check.overlappingRequestIds.addAll(RequestIntervalIndex.getInstance().findOverlappingLeave(
+                leaveRequest.getEmployeeId(), leaveRequest.getLeaveStart().toLocalDate(),
+                leaveRequest.getLeaveEnd().toLocalDate(), requestId));
+        
+        // Business rule: a leave day with complete attendance counts as worked, not leave
+        for (Date workingDate : workingDates) {
+            if (workedDays.contains(workingDate.toLocalDate())) {
+                check.conflictDates.add(workingDate);
+            }
+        }
+        return check;
+    }
+    
+    /**
+     * Outcome of {@link #checkLeaveSubmission}
+     */
+    public static class SubmissionCheck {
+        private int workingDays;
+        private boolean balanceFound;
+        private Integer remainingDays;
+        private final List<Date> conflictDates = new ArrayList<>();
+        private final List<Integer> overlappingRequestIds = new ArrayList<>();
+        private String error;
+        
+        public int getWorkingDays() { return workingDays; }
+        public int getEffectiveDays() { return workingDays - conflictDates.size(); }
+        public boolean isBalanceFound() { return balanceFound; }
+        public Integer getRemainingDays() { return remainingDays; }
+        public List<Date> getConflictDates() { return conflictDates; }
+        public List<Integer> getOverlappingRequestIds() { return overlappingRequestIds; }
+        public String getError() { return error; }
+        
+        public boolean hasWorkingDays() { return workingDays > 0; }
+        public boolean hasSufficientBalance() {
+            return balanceFound && remainingDays != null && workingDays > 0 && remainingDays >= workingDays;
+        }
+        public boolean hasAttendanceConflicts() { return !conflictDates.isEmpty(); }
+        public boolean hasOverlaps() { return !overlappingRequestIds.isEmpty(); }
+        
+        /**
+         * Attendance conflicts do not block a submission; they are flagged for HR review
+         */
+        public boolean isAccepted() {
+            return error == null && hasSufficientBalance() && !hasOverlaps();
+        }
+        
+        /**
+         * Reason the request cannot be submitted, or null when it can
+         */
+        public String getRejectionReason() {
+            if (error != null) return error;
+            if (!hasWorkingDays()) return "No working days in the selected range";
+            if (!balanceFound) return "No leave balance found";
+            if (!hasSufficientBalance()) {
+                return "Insufficient leave balance (requested " + workingDays + ", available "
+                        + (remainingDays != null ? remainingDays : 0) + ")";
+            }
+            if (hasOverlaps()) return "Overlaps existing leave request " + overlappingRequestIds.get(0);
+            return null;
+        }
+        
+        @Override
+        public String toString() {
+            return "SubmissionCheck{workingDays=" + workingDays + ", remainingDays=" + remainingDays
+                    + ", conflicts=" + conflictDates.size() + ", overlaps=" + overlappingRequestIds + ", error=" + error + "}";
+        }
+    }
+    
+    /**
+     * Leave requests and completed attendance days, grouped by employee
+     */
+    public static class ConflictWindow {
+        private final Map<Integer, List<LeaveRequestModel>> requestsByEmployee = new LinkedHashMap<>();
+        private final Map<Integer, Set<LocalDate>> workedDaysByEmployee = new HashMap<>();
+        
+        public Set<Integer> getEmployeeIds() { return requestsByEmployee.keySet(); }
+        
+        public List<LeaveRequestModel> getRequests(int employeeId) {
+            return requestsByEmployee.getOrDefault(employeeId, new ArrayList<>());
+        }
+        
+        public Set<LocalDate> getWorkedDays(int employeeId) {
+            return workedDaysByEmployee.getOrDefault(employeeId, new HashSet<>());
+        }
+        
+        public int getRequestCount() {
+            return requestsByEmployee.values().stream().mapToInt(List::size).sum();
+        }
+    }
+    
+    /**
+     * Result of one request in a bulk approval
+     */
+    public static class BulkApprovalOutcome {
+        private final int leaveRequestId;
+        private final LeaveRequestModel request;
+        private final boolean approved;
+        private final String message;
+        
+        public BulkApprovalOutcome(int leaveRequestId, LeaveRequestModel request, boolean approved, String message) {
+            this.leaveRequestId = leaveRequestId;
+            this.request = request;
+            this.approved = approved;
+            this.message = message;
+        }
+        
+        public int getLeaveRequestId() { return leaveRequestId; }
+        public LeaveRequestModel getRequest() { return request; }
+        public boolean isApproved() { return approved; }
+        public String getMessage() { return message; }
+        
+        @Override
+        public String toString() {
+            return "BulkApprovalOutcome{leaveRequestId=" + leaveRequestId + ", approved=" + approved
+                    + ", message=" + message + "}";
+        }
     }
-}
\ No newline at end of file
+}
@@ -113,6 +113,7 @@ public class LeaveTypeDAO {
                         leaveType.setLeaveTypeId(generatedKeys.getInt(1));
                     }
                 }
+                ReferenceDataCache.getInstance().invalidateLeaveTypes();
                 return true;
             }
             
@@ -157,7 +158,11 @@ public class LeaveTypeDAO {
             
             stmt.setInt(4, leaveType.getLeaveTypeId());
             
-            return stmt.executeUpdate() > 0;
+            boolean updated = stmt.executeUpdate() > 0;
+            if (updated) {
+                ReferenceDataCache.getInstance().invalidateLeaveTypes();
+            }
+            return updated;
             
         } catch (SQLException e) {
             System.err.println("Error updating leave type: " + e.getMessage());
@@ -176,6 +181,11 @@ public class LeaveTypeDAO {
             return null;
         }
         
+        LeaveTypeModel cached = ReferenceDataCache.getInstance().getLeaveType(leaveTypeId);
+        if (cached != null) {
+            return cached;
+        }
+        
         try (Connection conn = getConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_BY_ID)) {
             
@@ -204,6 +214,11 @@ public class LeaveTypeDAO {
             return null;
         }
         
+        LeaveTypeModel cached = ReferenceDataCache.getInstance().getLeaveTypeByName(leaveTypeName);
+        if (cached != null) {
+            return cached;
+        }
+        
         try (Connection conn = getConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_BY_NAME)) {
             
@@ -292,7 +307,11 @@ public class LeaveTypeDAO {
              PreparedStatement stmt = conn.prepareStatement(DELETE_LEAVE_TYPE)) {
             
             stmt.setInt(1, leaveTypeId);
-            return stmt.executeUpdate() > 0;
+            boolean deleted = stmt.executeUpdate() > 0;
+            if (deleted) {
+                ReferenceDataCache.getInstance().invalidateLeaveTypes();
+            }
+            return deleted;
             
         } catch (SQLException e) {
             System.err.println("Error deleting leave type: " + e.getMessage());
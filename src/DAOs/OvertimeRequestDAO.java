@@ -3,10 +3,15 @@ package DAOs;
 import Models.OvertimeRequestModel;
 import Models.OvertimeRequestModel.ApprovalStatus;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.sql.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.PriorityQueue;
 
 /**
  * Data Access Object for OvertimeRequestModel entities.
@@ -30,6 +35,99 @@ public class OvertimeRequestDAO extends BaseDAO<OvertimeRequestModel, Integer> {
         super(new DatabaseConnection());
     }
 
+    // Running counters per employee, one row per ISO week (keyed by its Monday)
+    // and one per calendar month (keyed by its first day), both by overtimeStart.
+    // Every status change adjusts them in the same transaction, so the weekly cap
+    // check and monthly summaries are point reads instead of aggregates.
+    // Created and filled by SchemaMigrations; until then writes skip the counters
+    // and reads aggregate overtimerequest.
+    static final String CREATE_PERIOD_TOTALS_TABLE = """
+        CREATE TABLE IF NOT EXISTS overtime_period_totals (
+            employeeId INT NOT NULL,
+            periodType VARCHAR(5) NOT NULL,
+            periodStart DATE NOT NULL,
+            pendingCount INT NOT NULL DEFAULT 0,
+            approvedCount INT NOT NULL DEFAULT 0,
+            rejectedCount INT NOT NULL DEFAULT 0,
+            approvedHours DECIMAL(10,2) NOT NULL DEFAULT 0,
+            PRIMARY KEY (employeeId, periodType, periodStart)
+        )
+        """;
+
+    private static final String PERIOD_TYPES =
+        "CROSS JOIN (SELECT 'WEEK' AS periodType UNION ALL SELECT 'MONTH') t ";
+
+    private static final String PERIOD_START =
+        "CASE t.periodType WHEN 'WEEK' THEN DATE_SUB(DATE(o.overtimeStart), INTERVAL WEEKDAY(o.overtimeStart) DAY) " +
+        "ELSE DATE_FORMAT(o.overtimeStart, '%Y-%m-01') END AS periodStart";
+
+    // Hours are rounded per request, like OvertimeRequestModel
+    private static final String REQUEST_HOURS =
+        "ROUND(TIMESTAMPDIFF(MINUTE, o.overtimeStart, o.overtimeEnd) / 60, 2)";
+
+    // Adds (sign 1) or takes back (sign -1) one request as it currently stands
+    private static final String ADD_TO_PERIOD_TOTALS =
+        "INSERT INTO overtime_period_totals " +
+        "(employeeId, periodType, periodStart, pendingCount, approvedCount, rejectedCount, approvedHours) " +
+        "SELECT o.employeeId, t.periodType, " + PERIOD_START + ", " +
+        "? * (o.approvalStatus = 'Pending'), ? * (o.approvalStatus = 'Approved'), " +
+        "? * (o.approvalStatus = 'Rejected'), ? * (o.approvalStatus = 'Approved') * " + REQUEST_HOURS + " " +
+        "FROM overtimerequest o " + PERIOD_TYPES +
+        "WHERE o.overtimeRequestId = ? AND o.overtimeStart IS NOT NULL AND o.overtimeEnd IS NOT NULL " +
+        "ON DUPLICATE KEY UPDATE pendingCount = pendingCount + VALUES(pendingCount), " +
+        "approvedCount = approvedCount + VALUES(approvedCount), " +
+        "rejectedCount = rejectedCount + VALUES(rejectedCount), " +
+        "approvedHours = approvedHours + VALUES(approvedHours)";
+
+    private static final String DELETE_PERIOD_TOTALS =
+        "DELETE FROM overtime_period_totals WHERE (? IS NULL OR employeeId = ?)";
+
+    private static final String PERIOD_TOTALS_FROM_REQUESTS =
+        "INSERT INTO overtime_period_totals " +
+        "(employeeId, periodType, periodStart, pendingCount, approvedCount, rejectedCount, approvedHours) " +
+        "SELECT o.employeeId, t.periodType, " + PERIOD_START + ", " +
+        "SUM(o.approvalStatus = 'Pending'), SUM(o.approvalStatus = 'Approved'), SUM(o.approvalStatus = 'Rejected'), " +
+        "COALESCE(SUM(CASE WHEN o.approvalStatus = 'Approved' THEN " + REQUEST_HOURS + " END), 0) " +
+        "FROM overtimerequest o " + PERIOD_TYPES +
+        "WHERE o.overtimeStart IS NOT NULL AND o.overtimeEnd IS NOT NULL ";
+
+    // Recounted rows replace whatever is there, so a row added by a concurrent
+    // request write between the DELETE and the INSERT cannot fail the rebuild
+    private static final String REPLACE_PERIOD_TOTALS =
+        "GROUP BY o.employeeId, t.periodType, periodStart " +
+        "ON DUPLICATE KEY UPDATE pendingCount = VALUES(pendingCount), approvedCount = VALUES(approvedCount), " +
+        "rejectedCount = VALUES(rejectedCount), approvedHours = VALUES(approvedHours)";
+
+    // DELETE then this, in one transaction
+    private static final String REBUILD_PERIOD_TOTALS = PERIOD_TOTALS_FROM_REQUESTS +
+        "AND (? IS NULL OR o.employeeId = ?) " + REPLACE_PERIOD_TOTALS;
+
+    // Migration backfill: every employee (run in one transaction by SchemaMigrations)
+    static final String[] BACKFILL_PERIOD_TOTALS = {
+        "DELETE FROM overtime_period_totals",
+        PERIOD_TOTALS_FROM_REQUESTS + REPLACE_PERIOD_TOTALS
+    };
+
+    private static final String SELECT_PERIOD_TOTALS =
+        "SELECT pendingCount, approvedCount, rejectedCount, approvedHours FROM overtime_period_totals " +
+        "WHERE employeeId = ? AND periodType = ? AND periodStart = ?";
+
+    // Same columns as SELECT_PERIOD_TOTALS, from the requests (before the migration)
+    private static final String AGGREGATE_PERIOD_TOTALS =
+        "SELECT COALESCE(SUM(o.approvalStatus = 'Pending'), 0) AS pendingCount, " +
+        "COALESCE(SUM(o.approvalStatus = 'Approved'), 0) AS approvedCount, " +
+        "COALESCE(SUM(o.approvalStatus = 'Rejected'), 0) AS rejectedCount, " +
+        "COALESCE(SUM(CASE WHEN o.approvalStatus = 'Approved' THEN " + REQUEST_HOURS + " END), 0) AS approvedHours " +
+        "FROM overtimerequest o " +
+        "WHERE o.employeeId = ? AND o.overtimeStart >= ? AND o.overtimeStart < ? AND o.overtimeEnd IS NOT NULL";
+
+    private static final String UPDATE_STATUS =
+        "UPDATE overtimerequest SET approvalStatus = ?, dateApproved = CURRENT_TIMESTAMP, supervisorNotes = ? " +
+        "WHERE overtimeRequestId = ? AND approvalStatus = 'Pending'";
+
+    private static final String PERIOD_WEEK = "WEEK";
+    private static final String PERIOD_MONTH = "MONTH";
+
     // ABSTRACT METHOD IMPLEMENTATIONS - Required by BaseDAO
 
     /**
@@ -244,18 +342,9 @@ public class OvertimeRequestDAO extends BaseDAO<OvertimeRequestModel, Integer> {
      * @return true if approval was successful
      */
     public boolean approveOvertime(Integer overtimeRequestId, String supervisorNotes) {
-        String sql = "UPDATE overtimerequest SET approvalStatus = ?, dateApproved = CURRENT_TIMESTAMP, supervisorNotes = ? WHERE overtimeRequestId = ? AND approvalStatus = 'Pending'";
-        
-        try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, "Approved");
-            stmt.setString(2, supervisorNotes);
-            stmt.setInt(3, overtimeRequestId);
-            
-            int rowsAffected = stmt.executeUpdate();
-            
-            if (rowsAffected > 0) {
+        try {
+            if (updateStatus(overtimeRequestId, "Approved", supervisorNotes)) {
+                RequestIntervalIndex.getInstance().setOvertimeApproved(overtimeRequestId);
                 System.out.println("Overtime request approved: " + overtimeRequestId);
                 return true;
             }
@@ -279,18 +368,9 @@ public class OvertimeRequestDAO extends BaseDAO<OvertimeRequestModel, Integer> {
             return false;
         }
         
-        String sql = "UPDATE overtimerequest SET approvalStatus = ?, dateApproved = CURRENT_TIMESTAMP, supervisorNotes = ? WHERE overtimeRequestId = ? AND approvalStatus = 'Pending'";
-        
-        try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, "Rejected");
-            stmt.setString(2, supervisorNotes);
-            stmt.setInt(3, overtimeRequestId);
-            
-            int rowsAffected = stmt.executeUpdate();
-            
-            if (rowsAffected > 0) {
+        try {
+            if (updateStatus(overtimeRequestId, "Rejected", supervisorNotes)) {
+                RequestIntervalIndex.getInstance().removeOvertime(overtimeRequestId);
                 System.out.println("Overtime request rejected: " + overtimeRequestId);
                 return true;
             }
@@ -302,6 +382,36 @@ public class OvertimeRequestDAO extends BaseDAO<OvertimeRequestModel, Integer> {
         return false;
     }
 
+    /**
+     * Moves a pending request to its final status and its hours between the
+     * period counters, in one transaction
+     * @return true if the request was still pending
+     */
+    private boolean updateStatus(Integer overtimeRequestId, String status, String supervisorNotes) throws SQLException {
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(UPDATE_STATUS)) {
+                addToPeriodTotals(conn, overtimeRequestId, -1);
+                
+                stmt.setString(1, status);
+                stmt.setString(2, supervisorNotes);
+                stmt.setInt(3, overtimeRequestId);
+                
+                if (stmt.executeUpdate() == 0) {
+                    conn.rollback();
+                    return false;
+                }
+                
+                addToPeriodTotals(conn, overtimeRequestId, 1);
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
     /**
      * Finds pending overtime requests for a specific supervisor
      * @param supervisorId The supervisor's employee ID
@@ -461,6 +571,75 @@ public class OvertimeRequestDAO extends BaseDAO<OvertimeRequestModel, Integer> {
         return executeQuery(sql, Timestamp.valueOf(startDate), Timestamp.valueOf(endDate));
     }
 
+    /**
+     * Employees with the most approved overtime in a period, in one grouped query.
+     * Only active rank-and-file employees are counted (the overtime eligibility rule).
+     * Hours are rounded per request like OvertimeRequestModel, then summed. The
+     * grouped rows are streamed through a bounded min-heap, so only the top
+     * entries are kept and the database does not have to sort the groups.
+     * @param startDate Earliest overtime start
+     * @param endDate Latest overtime end
+     * @param department Only this department (null for all)
+     * @param limit Number of employees to return (0 or less for all)
+     * @return Totals, most hours first (ties by employee ID)
+     */
+    public List<EmployeeOvertimeTotal> findTopOvertimeTotals(LocalDateTime startDate, LocalDateTime endDate,
+                                                             String department, int limit) {
+        String sql = """
+            SELECT o.employeeId, e.firstName, e.lastName, e.hourlyRate, p.department,
+                   SUM(ROUND(TIMESTAMPDIFF(MINUTE, o.overtimeStart, o.overtimeEnd) / 60, 2)) AS totalHours,
+                   COUNT(*) AS requestCount
+            FROM overtimerequest o
+            JOIN employee e ON o.employeeId = e.employeeId
+            JOIN position p ON e.positionId = p.positionId
+            WHERE o.approvalStatus = 'Approved'
+            AND o.overtimeStart >= ? AND o.overtimeEnd <= ?
+            AND e.status != 'Terminated'
+            AND (LOWER(p.department) = 'rank-and-file' OR LOWER(p.position) LIKE '%rank%file%')
+            """ + (department != null ? "AND p.department = ?\n" : "") + """
+            GROUP BY o.employeeId, e.firstName, e.lastName, e.hourlyRate, p.department
+            """;
+        
+        Comparator<EmployeeOvertimeTotal> ranking = Comparator
+                .comparing(EmployeeOvertimeTotal::getTotalHours).reversed()
+                .thenComparing(EmployeeOvertimeTotal::getEmployeeId);
+        // Worst of the kept entries on top, so it is the one evicted
+        PriorityQueue<EmployeeOvertimeTotal> top = new PriorityQueue<>(ranking.reversed());
+        
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setTimestamp(1, Timestamp.valueOf(startDate));
+            stmt.setTimestamp(2, Timestamp.valueOf(endDate));
+            if (department != null) {
+                stmt.setString(3, department);
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    BigDecimal totalHours = rs.getBigDecimal("totalHours");
+                    if (totalHours == null || totalHours.signum() <= 0) {
+                        continue;
+                    }
+                    top.add(new EmployeeOvertimeTotal(rs.getInt("employeeId"),
+                            rs.getString("firstName") + " " + rs.getString("lastName"),
+                            rs.getString("department"), rs.getBigDecimal("hourlyRate"),
+                            totalHours.setScale(2, RoundingMode.HALF_UP), rs.getInt("requestCount")));
+                    if (limit > 0 && top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error ranking overtime totals: " + e.getMessage());
+        }
+        
+        List<EmployeeOvertimeTotal> results = new ArrayList<>(top);
+        results.sort(ranking);
+        return results;
+    }
+
     // HELPER METHODS
 
     /**
@@ -499,21 +678,29 @@ public class OvertimeRequestDAO extends BaseDAO<OvertimeRequestModel, Integer> {
     public boolean save(OvertimeRequestModel overtime) {
         String sql = buildInsertSQL();
         
-        try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            
-            setInsertParameters(stmt, overtime);
-            int rowsAffected = stmt.executeUpdate();
-            
-            if (rowsAffected > 0) {
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                
+                setInsertParameters(stmt, overtime);
+                if (stmt.executeUpdate() == 0) {
+                    conn.rollback();
+                    return false;
+                }
+                
                 try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                     if (generatedKeys.next()) {
-                        handleGeneratedKey(overtime, generatedKeys);
+                        overtime.setOvertimeRequestId(generatedKeys.getInt(1));
                     }
                 }
-                return true;
+                addToPeriodTotals(conn, overtime.getOvertimeRequestId(), 1);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
             }
-            return false;
+            RequestIntervalIndex.getInstance().upsertOvertime(overtime);
+            return true;
             
         } catch (SQLException e) {
             System.err.println("Error saving overtime request: " + e.getMessage());
@@ -525,16 +712,224 @@ public class OvertimeRequestDAO extends BaseDAO<OvertimeRequestModel, Integer> {
     public boolean update(OvertimeRequestModel overtime) {
         String sql = buildUpdateSQL();
         
-        try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            setUpdateParameters(stmt, overtime);
-            int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                
+                addToPeriodTotals(conn, overtime.getOvertimeRequestId(), -1);
+                setUpdateParameters(stmt, overtime);
+                if (stmt.executeUpdate() == 0) {
+                    conn.rollback();
+                    return false;
+                }
+                addToPeriodTotals(conn, overtime.getOvertimeRequestId(), 1);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            RequestIntervalIndex.getInstance().upsertOvertime(overtime);
+            return true;
             
         } catch (SQLException e) {
             System.err.println("Error updating overtime request: " + e.getMessage());
             return false;
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean delete(Integer overtimeRequestId) {
+        String sql = "DELETE FROM overtimerequest WHERE overtimeRequestId = ?";
+        
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                
+                addToPeriodTotals(conn, overtimeRequestId, -1);
+                stmt.setInt(1, overtimeRequestId);
+                if (stmt.executeUpdate() == 0) {
+                    conn.rollback();
+                    return false;
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            RequestIntervalIndex.getInstance().removeOvertime(overtimeRequestId);
+            return true;
+            
+        } catch (SQLException e) {
+            System.err.println("Error deleting overtime request " + overtimeRequestId + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    // PERIOD TOTALS
+
+    /**
+     * Approved overtime hours in the ISO week (Monday to Sunday) containing a date
+     * @param employeeId The employee ID
+     * @param date Any day of the week
+     * @return Approved hours, zero if none
+     */
+    public BigDecimal getWeeklyApprovedHours(int employeeId, LocalDate date) {
+        LocalDate monday = date.minusDays(date.getDayOfWeek().getValue() - 1);
+        return getPeriodTotals(employeeId, PERIOD_WEEK, monday).getApprovedHours();
+    }
+
+    /**
+     * Request counts and approved hours of an employee for one month
+     * @param employeeId The employee ID
+     * @param yearMonth The month
+     * @return Totals, all zero if the employee has no overtime that month
+     */
+    public OvertimePeriodTotals getMonthlyTotals(int employeeId, YearMonth yearMonth) {
+        return getPeriodTotals(employeeId, PERIOD_MONTH, yearMonth.atDay(1));
+    }
+
+    /**
+     * Recompute an employee's period totals from their overtime requests.
+     * For code that writes overtimerequest without going through this DAO.
+     * @param employeeId The employee ID
+     * @return true if the totals were rebuilt
+     */
+    public boolean refreshPeriodTotals(int employeeId) {
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                rebuildPeriodTotals(conn, employeeId);
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error refreshing overtime totals: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private OvertimePeriodTotals getPeriodTotals(int employeeId, String periodType, LocalDate periodStart) {
+        try (Connection conn = openConnection()) {
+            boolean totals = hasPeriodTotals(conn);
+            
+            try (PreparedStatement stmt = conn.prepareStatement(totals ? SELECT_PERIOD_TOTALS : AGGREGATE_PERIOD_TOTALS)) {
+                stmt.setInt(1, employeeId);
+                if (totals) {
+                    stmt.setString(2, periodType);
+                    stmt.setDate(3, Date.valueOf(periodStart));
+                } else {
+                    LocalDate periodEnd = PERIOD_WEEK.equals(periodType) ? periodStart.plusWeeks(1) : periodStart.plusMonths(1);
+                    stmt.setDate(2, Date.valueOf(periodStart));
+                    stmt.setDate(3, Date.valueOf(periodEnd));
+                }
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return new OvertimePeriodTotals(rs.getInt("pendingCount"), rs.getInt("approvedCount"),
+                                rs.getInt("rejectedCount"), rs.getBigDecimal("approvedHours"));
+                    }
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error reading overtime totals: " + e.getMessage());
+        }
+        
+        return new OvertimePeriodTotals(0, 0, 0, BigDecimal.ZERO);
+    }
+
+    /**
+     * Check if the period totals table has been created and filled (SchemaMigrations)
+     */
+    private static boolean hasPeriodTotals(Connection conn) {
+        return SchemaMigrations.isApplied(conn, SchemaMigrations.OVERTIME_PERIOD_TOTALS);
+    }
+
+    /**
+     * Recount the totals of one employee (null for everyone) from their requests.
+     * Run inside the caller's transaction so readers never see the deleted rows.
+     */
+    private static void rebuildPeriodTotals(Connection conn, Integer employeeId) throws SQLException {
+        if (!hasPeriodTotals(conn)) {
+            return;
+        }
+        for (String sql : new String[] {DELETE_PERIOD_TOTALS, REBUILD_PERIOD_TOTALS}) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setObject(1, employeeId, Types.INTEGER);
+                stmt.setObject(2, employeeId, Types.INTEGER);
+                stmt.executeUpdate();
+            }
+        }
+    }
+
+    private static void addToPeriodTotals(Connection conn, int overtimeRequestId, int sign) throws SQLException {
+        if (!hasPeriodTotals(conn)) {
+            return;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(ADD_TO_PERIOD_TOTALS)) {
+            for (int i = 1; i <= 4; i++) {
+                stmt.setInt(i, sign);
+            }
+            stmt.setInt(5, overtimeRequestId);
+            stmt.executeUpdate();
+        }
+    }
+
+    private Connection openConnection() throws SQLException {
+        return databaseConnection.createConnection();
+    }
+
+    /**
+     * Approved overtime of one employee over a period
+     */
+    public static class EmployeeOvertimeTotal {
+        private final int employeeId;
+        private final String employeeName;
+        private final String department;
+        private final BigDecimal hourlyRate;
+        private final BigDecimal totalHours;
+        private final int requestCount;
+
+        public EmployeeOvertimeTotal(int employeeId, String employeeName, String department,
+                                     BigDecimal hourlyRate, BigDecimal totalHours, int requestCount) {
+            this.employeeId = employeeId;
+            this.employeeName = employeeName;
+            this.department = department;
+            this.hourlyRate = hourlyRate;
+            this.totalHours = totalHours;
+            this.requestCount = requestCount;
+        }
+
+        public int getEmployeeId() { return employeeId; }
+        public String getEmployeeName() { return employeeName; }
+        public String getDepartment() { return department; }
+        public BigDecimal getHourlyRate() { return hourlyRate; }
+        public BigDecimal getTotalHours() { return totalHours; }
+        public int getRequestCount() { return requestCount; }
+    }
+
+    /**
+     * Overtime of one employee in one week or month, from the period counters
+     */
+    public static class OvertimePeriodTotals {
+        private final int pendingCount;
+        private final int approvedCount;
+        private final int rejectedCount;
+        private final BigDecimal approvedHours;
+
+        public OvertimePeriodTotals(int pendingCount, int approvedCount, int rejectedCount, BigDecimal approvedHours) {
+            this.pendingCount = pendingCount;
+            this.approvedCount = approvedCount;
+            this.rejectedCount = rejectedCount;
+            this.approvedHours = approvedHours != null ? approvedHours : BigDecimal.ZERO;
+        }
+
+        public int getPendingCount() { return pendingCount; }
+        public int getApprovedCount() { return approvedCount; }
+        public int getRejectedCount() { return rejectedCount; }
+        public BigDecimal getApprovedHours() { return approvedHours; }
+    }
+}
@@ -25,19 +25,15 @@ public class PayrollAttendanceDAO {
         String sql = """
             INSERT INTO payrollattendance (payrollId, attendanceId, computedHours, computedAmount)
             SELECT ?, a.attendanceId, 
-                   CASE WHEN a.timeIn IS NOT NULL AND a.timeOut IS NOT NULL 
-                        THEN GREATEST(0, (TIME_TO_SEC(a.timeOut) - TIME_TO_SEC(a.timeIn)) / 3600.0 - 1.0)
-                        ELSE 0 END as computedHours,
-                   CASE WHEN a.timeIn IS NOT NULL AND a.timeOut IS NOT NULL 
-                        THEN GREATEST(0, (TIME_TO_SEC(a.timeOut) - TIME_TO_SEC(a.timeIn)) / 3600.0 - 1.0) * e.hourlyRate
-                        ELSE 0 END as computedAmount
+                   a.computedHours,
+                   a.computedHours * e.hourlyRate as computedAmount
             FROM attendance a
             JOIN employee e ON a.employeeId = e.employeeId
             WHERE a.employeeId = ? AND a.date BETWEEN ? AND ?
             """;
         
         try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(AttendanceDAO.withComputedHours(conn, sql, "a"))) {
             
             stmt.setInt(1, payrollId);
             stmt.setInt(2, employeeId);
@@ -59,12 +55,8 @@ public class PayrollAttendanceDAO {
         String sql = """
             INSERT INTO payrollattendance (payrollId, attendanceId, computedHours, computedAmount)
             SELECT p.payrollId, a.attendanceId,
-                   CASE WHEN a.timeIn IS NOT NULL AND a.timeOut IS NOT NULL 
-                        THEN GREATEST(0, (TIME_TO_SEC(a.timeOut) - TIME_TO_SEC(a.timeIn)) / 3600.0 - 1.0)
-                        ELSE 0 END as computedHours,
-                   CASE WHEN a.timeIn IS NOT NULL AND a.timeOut IS NOT NULL 
-                        THEN GREATEST(0, (TIME_TO_SEC(a.timeOut) - TIME_TO_SEC(a.timeIn)) / 3600.0 - 1.0) * e.hourlyRate
-                        ELSE 0 END as computedAmount
+                   a.computedHours,
+                   a.computedHours * e.hourlyRate as computedAmount
             FROM payroll p
             JOIN employee e ON p.employeeId = e.employeeId
             JOIN attendance a ON p.employeeId = a.employeeId
@@ -74,7 +66,7 @@ public class PayrollAttendanceDAO {
             """;
 
         try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(AttendanceDAO.withComputedHours(conn, sql, "a"))) {
 
             stmt.setInt(1, payPeriodId);
             return stmt.executeUpdate();
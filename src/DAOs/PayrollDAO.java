@@ -222,12 +222,8 @@ public class PayrollDAO extends BaseDAO<PayrollModel, Integer> {
         String sql = """
             INSERT INTO payrollattendance (payrollId, attendanceId, computedHours, computedAmount)
             SELECT p.payrollId, a.attendanceId,
-                   CASE WHEN a.timeIn IS NOT NULL AND a.timeOut IS NOT NULL 
-                        THEN GREATEST(0, (TIME_TO_SEC(a.timeOut) - TIME_TO_SEC(a.timeIn)) / 3600.0 - 1.0)
-                        ELSE 0 END as computedHours,
-                   CASE WHEN a.timeIn IS NOT NULL AND a.timeOut IS NOT NULL 
-                        THEN GREATEST(0, (TIME_TO_SEC(a.timeOut) - TIME_TO_SEC(a.timeIn)) / 3600.0 - 1.0) * e.hourlyRate
-                        ELSE 0 END as computedAmount
+                   a.computedHours,
+                   a.computedHours * e.hourlyRate as computedAmount
             FROM payroll p
             JOIN employee e ON p.employeeId = e.employeeId
             JOIN attendance a ON p.employeeId = a.employeeId
@@ -237,7 +233,7 @@ public class PayrollDAO extends BaseDAO<PayrollModel, Integer> {
             """;
         
         try (Connection connection = databaseConnection.createConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+             PreparedStatement pstmt = connection.prepareStatement(AttendanceDAO.withComputedHours(connection, sql, "a"))) {
             pstmt.setInt(1, payPeriodId);
             int inserted = pstmt.executeUpdate();
             System.out.println("Populated " + inserted + " payroll attendance records");
@@ -23,6 +23,12 @@ public class PositionDAO {
      * @return PositionModel or null
      */
     public PositionModel findById(Integer positionId) {
+        // Positions rarely change - serve from the shared cache when possible
+        PositionModel cached = ReferenceDataCache.getInstance().getPosition(positionId);
+        if (cached != null) {
+            return cached;
+        }
+        
         String sql = "SELECT positionId, position, positionDescription, department FROM position WHERE positionId = ?";
         
         try (Connection conn = databaseConnection.createConnection();
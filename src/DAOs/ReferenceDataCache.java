@@ -0,0 +1,294 @@
+package DAOs;
+
+import Models.BenefitTypeModel;
+import Models.LeaveTypeModel;
+import Models.PositionModel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Shared in-memory cache for reference data (positions, departments,
+ * leave types and benefit types).
+ *
+ * These tables are small and rarely change, but they are looked up once per
+ * table row on most screens. The cache loads each category with a single query
+ * on first use (or at login through preloadAsync()), and the DAOs that write
+ * to these tables invalidate the matching category so the next read reloads it.
+ *
+ * Returned models are shared instances - treat them as read-only.
+ */
+public class ReferenceDataCache {
+
+    private static final ReferenceDataCache INSTANCE = new ReferenceDataCache();
+
+    // Immutable snapshots, replaced as a whole on reload
+    private volatile Map<Integer, PositionModel> positionsById;
+    private volatile List<String> departments;
+    private volatile Map<Integer, LeaveTypeModel> leaveTypesById;
+    private volatile Map<String, LeaveTypeModel> leaveTypesByName;
+    private volatile Map<Integer, BenefitTypeModel> benefitTypesById;
+
+    private ReferenceDataCache() {
+    }
+
+    /**
+     * Get the process-wide cache instance
+     * @return shared ReferenceDataCache
+     */
+    public static ReferenceDataCache getInstance() {
+        return INSTANCE;
+    }
+
+    // PRELOAD / REFRESH
+
+    /**
+     * Load every category now (blocking)
+     */
+    public void preload() {
+        loadPositions();
+        loadLeaveTypes();
+        loadBenefitTypes();
+    }
+
+    /**
+     * Load every category on a background thread so the caller (usually the
+     * login screen) is not blocked by the queries
+     */
+    public void preloadAsync() {
+        Thread loader = new Thread(() -> {
+            try {
+                preload();
+            } catch (Exception e) {
+                System.err.println("Error preloading reference data: " + e.getMessage());
+            }
+        }, "reference-data-preload");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Drop every cached category; each is reloaded on next access
+     */
+    public void invalidateAll() {
+        invalidatePositions();
+        invalidateLeaveTypes();
+        invalidateBenefitTypes();
+    }
+
+    /**
+     * Drop cached positions and departments (call after position changes)
+     */
+    public synchronized void invalidatePositions() {
+        positionsById = null;
+        departments = null;
+    }
+
+    /**
+     * Drop cached leave types (call after leave type changes)
+     */
+    public synchronized void invalidateLeaveTypes() {
+        leaveTypesById = null;
+        leaveTypesByName = null;
+    }
+
+    /**
+     * Drop cached benefit types (call after benefit type changes)
+     */
+    public synchronized void invalidateBenefitTypes() {
+        benefitTypesById = null;
+    }
+
+    // POSITIONS AND DEPARTMENTS
+
+    /**
+     * Get position by ID from memory
+     * @param positionId Position ID
+     * @return PositionModel or null if unknown
+     */
+    public PositionModel getPosition(Integer positionId) {
+        if (positionId == null) {
+            return null;
+        }
+        return positions().get(positionId);
+    }
+
+    /**
+     * Get all positions ordered by department, then position
+     * @return Unmodifiable list of positions
+     */
+    public List<PositionModel> getAllPositions() {
+        return Collections.unmodifiableList(new ArrayList<>(positions().values()));
+    }
+
+    /**
+     * Get distinct department names (sorted)
+     * @return Unmodifiable list of departments
+     */
+    public List<String> getDepartments() {
+        List<String> snapshot = departments;
+        if (snapshot == null) {
+            loadPositions();
+            snapshot = departments;
+        }
+        return snapshot != null ? snapshot : Collections.emptyList();
+    }
+
+    // LEAVE TYPES
+
+    /**
+     * Get leave type by ID from memory
+     * @param leaveTypeId Leave type ID
+     * @return LeaveTypeModel or null if unknown
+     */
+    public LeaveTypeModel getLeaveType(Integer leaveTypeId) {
+        if (leaveTypeId == null) {
+            return null;
+        }
+        return leaveTypes().get(leaveTypeId);
+    }
+
+    /**
+     * Get leave type by name (case-insensitive) from memory
+     * @param leaveTypeName Leave type name
+     * @return LeaveTypeModel or null if unknown
+     */
+    public LeaveTypeModel getLeaveTypeByName(String leaveTypeName) {
+        if (leaveTypeName == null || leaveTypeName.trim().isEmpty()) {
+            return null;
+        }
+        Map<String, LeaveTypeModel> snapshot = leaveTypesByName;
+        if (snapshot == null) {
+            loadLeaveTypes();
+            snapshot = leaveTypesByName;
+        }
+        return snapshot != null ? snapshot.get(leaveTypeName.trim().toLowerCase()) : null;
+    }
+
+    /**
+     * Get all leave types ordered by name
+     * @return Unmodifiable list of leave types
+     */
+    public List<LeaveTypeModel> getAllLeaveTypes() {
+        return Collections.unmodifiableList(new ArrayList<>(leaveTypes().values()));
+    }
+
+    // BENEFIT TYPES
+
+    /**
+     * Get benefit type by ID from memory
+     * @param benefitTypeId Benefit type ID
+     * @return BenefitTypeModel or null if unknown
+     */
+    public BenefitTypeModel getBenefitType(Integer benefitTypeId) {
+        if (benefitTypeId == null) {
+            return null;
+        }
+        return benefitTypes().get(benefitTypeId);
+    }
+
+    /**
+     * Get all benefit types ordered by name
+     * @return Unmodifiable list of benefit types
+     */
+    public List<BenefitTypeModel> getAllBenefitTypes() {
+        return Collections.unmodifiableList(new ArrayList<>(benefitTypes().values()));
+    }
+
+    // LOADERS
+
+    private Map<Integer, PositionModel> positions() {
+        Map<Integer, PositionModel> snapshot = positionsById;
+        if (snapshot == null) {
+            loadPositions();
+            snapshot = positionsById;
+        }
+        return snapshot != null ? snapshot : Collections.emptyMap();
+    }
+
+    private Map<Integer, LeaveTypeModel> leaveTypes() {
+        Map<Integer, LeaveTypeModel> snapshot = leaveTypesById;
+        if (snapshot == null) {
+            loadLeaveTypes();
+            snapshot = leaveTypesById;
+        }
+        return snapshot != null ? snapshot : Collections.emptyMap();
+    }
+
+    private Map<Integer, BenefitTypeModel> benefitTypes() {
+        Map<Integer, BenefitTypeModel> snapshot = benefitTypesById;
+        if (snapshot == null) {
+            loadBenefitTypes();
+            snapshot = benefitTypesById;
+        }
+        return snapshot != null ? snapshot : Collections.emptyMap();
+    }
+
+    /**
+     * Load positions with one query. PositionDAO.findAll() always hits the
+     * database, so this never recurses into the cache.
+     */
+    private synchronized void loadPositions() {
+        if (positionsById != null) {
+            return;
+        }
+        List<PositionModel> rows = new PositionDAO(new DatabaseConnection()).findAll();
+        if (rows.isEmpty()) {
+            return; // Leave unloaded so a DB outage is retried on next access
+        }
+
+        Map<Integer, PositionModel> byId = new LinkedHashMap<>();
+        TreeSet<String> departmentSet = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (PositionModel position : rows) {
+            byId.put(position.getPositionId(), position);
+            if (position.getDepartment() != null && !position.getDepartment().trim().isEmpty()) {
+                departmentSet.add(position.getDepartment());
+            }
+        }
+
+        departments = Collections.unmodifiableList(new ArrayList<>(departmentSet));
+        positionsById = Collections.unmodifiableMap(byId);
+    }
+
+    private synchronized void loadLeaveTypes() {
+        if (leaveTypesById != null) {
+            return;
+        }
+        List<LeaveTypeModel> rows = new LeaveTypeDAO().getAllLeaveTypes();
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, LeaveTypeModel> byId = new LinkedHashMap<>();
+        Map<String, LeaveTypeModel> byName = new HashMap<>();
+        for (LeaveTypeModel leaveType : rows) {
+            byId.put(leaveType.getLeaveTypeId(), leaveType);
+            if (leaveType.getLeaveTypeName() != null) {
+                byName.put(leaveType.getLeaveTypeName().trim().toLowerCase(), leaveType);
+            }
+        }
+
+        leaveTypesByName = Collections.unmodifiableMap(byName);
+        leaveTypesById = Collections.unmodifiableMap(byId);
+    }
+
+    private synchronized void loadBenefitTypes() {
+        if (benefitTypesById != null) {
+            return;
+        }
+        List<BenefitTypeModel> rows = new BenefitTypeDAO().findAll();
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, BenefitTypeModel> byId = new LinkedHashMap<>();
+        for (BenefitTypeModel benefitType : rows) {
+            byId.put(benefitType.getBenefitTypeId(), benefitType);
+        }
+        benefitTypesById = Collections.unmodifiableMap(byId);
+    }
+}
@@ -110,29 +110,11 @@ public class ReferenceDataDAO {
     }
     
     /**
-     * Gets all departments
+     * Gets all departments (served from ReferenceDataCache)
      * @return List of unique department names
      */
     public List<String> getAllDepartments() {
-        List<String> departments = new ArrayList<>();
-        String sql = "SELECT DISTINCT department FROM position ORDER BY department";
-        
-        try (Connection conn = databaseConnection.createConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                String department = rs.getString("department");
-                if (department != null && !department.trim().isEmpty()) {
-                    departments.add(department);
-                }
-            }
-            
-        } catch (SQLException e) {
-            System.err.println("Error getting all departments: " + e.getMessage());
-        }
-        
-        return departments;
+        return new ArrayList<>(ReferenceDataCache.getInstance().getDepartments());
     }
     
     /**
@@ -384,7 +366,11 @@ public class ReferenceDataDAO {
             pstmt.setString(1, benefitName);
             pstmt.setString(2, description);
             
-            return pstmt.executeUpdate() > 0;
+            boolean changed = pstmt.executeUpdate() > 0;
+            if (changed) {
+                ReferenceDataCache.getInstance().invalidateBenefitTypes();
+            }
+            return changed;
             
         } catch (SQLException e) {
             System.err.println("Error creating benefit type: " + e.getMessage());
@@ -417,7 +403,11 @@ public class ReferenceDataDAO {
                 pstmt.setNull(3, Types.INTEGER);
             }
             
-            return pstmt.executeUpdate() > 0;
+            boolean changed = pstmt.executeUpdate() > 0;
+            if (changed) {
+                ReferenceDataCache.getInstance().invalidateLeaveTypes();
+            }
+            return changed;
             
         } catch (SQLException e) {
             System.err.println("Error creating leave type: " + e.getMessage());
@@ -446,7 +436,11 @@ public class ReferenceDataDAO {
             pstmt.setString(2, department);
             pstmt.setString(3, description);
             
-            return pstmt.executeUpdate() > 0;
+            boolean changed = pstmt.executeUpdate() > 0;
+            if (changed) {
+                ReferenceDataCache.getInstance().invalidatePositions();
+            }
+            return changed;
             
         } catch (SQLException e) {
             System.err.println("Error creating position: " + e.getMessage());
@@ -478,7 +472,11 @@ public class ReferenceDataDAO {
             pstmt.setString(3, description);
             pstmt.setInt(4, positionId);
             
-            return pstmt.executeUpdate() > 0;
+            boolean changed = pstmt.executeUpdate() > 0;
+            if (changed) {
+                ReferenceDataCache.getInstance().invalidatePositions();
+            }
+            return changed;
             
         } catch (SQLException e) {
             System.err.println("Error updating position: " + e.getMessage());
@@ -508,7 +506,11 @@ public class ReferenceDataDAO {
             pstmt.setString(2, description);
             pstmt.setInt(3, benefitTypeId);
             
-            return pstmt.executeUpdate() > 0;
+            boolean changed = pstmt.executeUpdate() > 0;
+            if (changed) {
+                ReferenceDataCache.getInstance().invalidateBenefitTypes();
+            }
+            return changed;
             
         } catch (SQLException e) {
             System.err.println("Error updating benefit type: " + e.getMessage());
@@ -544,7 +546,11 @@ public class ReferenceDataDAO {
             }
             pstmt.setInt(4, leaveTypeId);
             
-            return pstmt.executeUpdate() > 0;
+            boolean changed = pstmt.executeUpdate() > 0;
+            if (changed) {
+                ReferenceDataCache.getInstance().invalidateLeaveTypes();
+            }
+            return changed;
             
         } catch (SQLException e) {
             System.err.println("Error updating leave type: " + e.getMessage());
@@ -569,7 +575,11 @@ public class ReferenceDataDAO {
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, benefitTypeId);
-            return pstmt.executeUpdate() > 0;
+            boolean changed = pstmt.executeUpdate() > 0;
+            if (changed) {
+                ReferenceDataCache.getInstance().invalidateBenefitTypes();
+            }
+            return changed;
             
         } catch (SQLException e) {
             System.err.println("Error deactivating benefit type: " + e.getMessage());
@@ -594,7 +604,11 @@ public class ReferenceDataDAO {
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, leaveTypeId);
-            return pstmt.executeUpdate() > 0;
+            boolean changed = pstmt.executeUpdate() > 0;
+            if (changed) {
+                ReferenceDataCache.getInstance().invalidateLeaveTypes();
+            }
+            return changed;
             
         } catch (SQLException e) {
             System.err.println("Error deactivating leave type: " + e.getMessage());
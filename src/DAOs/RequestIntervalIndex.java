@@ -0,0 +1,434 @@
+package DAOs;
+
+import Models.LeaveRequestModel;
+import Models.OvertimeRequestModel;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-employee index of pending and approved leave and overtime ranges, used
+ * for overlap checks on submission.
+ *
+ * An employee's ranges are loaded with one query the first time they are
+ * checked, and again once they are older than RELOAD_AFTER_MILLIS. The checks
+ * guard submissions, so that is kept to about the length of one submission
+ * (which checks several times) rather than minutes: a request filed from
+ * another workstation is always seen. If the ranges cannot be loaded, the
+ * check runs as a plain overlap query instead of answering "no overlap".
+ * The DAO write methods keep loaded employees current:
+ * submit and edit go through upsertLeave()/upsertOvertime(), approval flips
+ * the approved flag, and reject, cancel and delete drop the range.
+ *
+ * Ranges are closed: leave [startDay, endDay] in epoch days, overtime
+ * [start, end] in seconds. Each employee keeps them in a TreeMap by start plus
+ * the longest range length, so a range overlapping [from, to] must start in
+ * [from - longest, to] and a check only walks that slice: O(log n) plus the
+ * ranges actually near the query.
+ */
+public class RequestIntervalIndex {
+
+    private static final long RELOAD_AFTER_MILLIS = 10 * 1000L;
+
+    private static final String SELECT_ACTIVE_LEAVE = """
+        SELECT leaveRequestId, leaveStart, leaveEnd, approvalStatus FROM leaverequest
+        WHERE employeeId = ? AND approvalStatus IN ('Pending', 'Approved')
+        """;
+
+    private static final String SELECT_ACTIVE_OVERTIME = """
+        SELECT overtimeRequestId, overtimeStart, overtimeEnd, approvalStatus FROM overtimerequest
+        WHERE employeeId = ? AND approvalStatus IN ('Pending', 'Approved')
+        """;
+
+    // Fallbacks for when the ranges cannot be loaded; the last parameter limits them to approved requests
+    private static final String SELECT_OVERLAPPING_LEAVE = """
+        SELECT leaveRequestId FROM leaverequest
+        WHERE employeeId = ? AND leaveRequestId != ? AND leaveStart <= ? AND leaveEnd >= ?
+          AND approvalStatus IN ('Pending', 'Approved') AND (? = FALSE OR approvalStatus = 'Approved')
+        ORDER BY leaveStart, leaveRequestId
+        """;
+
+    private static final String SELECT_OVERLAPPING_OVERTIME = """
+        SELECT overtimeRequestId FROM overtimerequest
+        WHERE employeeId = ? AND overtimeRequestId != ? AND overtimeStart <= ? AND overtimeEnd >= ?
+          AND approvalStatus IN ('Pending', 'Approved') AND (? = FALSE OR approvalStatus = 'Approved')
+        ORDER BY overtimeStart, overtimeRequestId
+        """;
+
+    private static final RequestIntervalIndex INSTANCE = new RequestIntervalIndex();
+
+    /**
+     * One indexed request
+     */
+    private static final class Range {
+        private final int requestId;
+        private final int employeeId;
+        private final long start;
+        private final long end;
+        private boolean approved;
+
+        private Range(int requestId, int employeeId, long start, long end, boolean approved) {
+            this.requestId = requestId;
+            this.employeeId = employeeId;
+            this.start = start;
+            this.end = end;
+            this.approved = approved;
+        }
+    }
+
+    /**
+     * The ranges of one employee for one request kind
+     */
+    private static final class IntervalSet {
+        private final TreeMap<Long, Map<Integer, Range>> byStart = new TreeMap<>();
+        private final long loadedAt = System.currentTimeMillis();
+        private long longest = 0;
+
+        private void add(Range range) {
+            byStart.computeIfAbsent(range.start, k -> new LinkedHashMap<>()).put(range.requestId, range);
+            longest = Math.max(longest, range.end - range.start);
+        }
+
+        private void remove(Range range) {
+            Map<Integer, Range> sameStart = byStart.get(range.start);
+            if (sameStart != null) {
+                sameStart.remove(range.requestId);
+                if (sameStart.isEmpty()) {
+                    byStart.remove(range.start);
+                }
+            }
+        }
+
+        private List<Integer> overlapping(long from, long to, int excludeRequestId, boolean approvedOnly) {
+            List<Integer> ids = new ArrayList<>();
+            if (to < from) {
+                return ids;
+            }
+            for (Map<Integer, Range> sameStart : byStart.subMap(from - longest, true, to, true).values()) {
+                for (Range range : sameStart.values()) {
+                    if (range.end >= from && range.requestId != excludeRequestId
+                            && (!approvedOnly || range.approved)) {
+                        ids.add(range.requestId);
+                    }
+                }
+            }
+            return ids;
+        }
+
+        private boolean isStale() {
+            return System.currentTimeMillis() - loadedAt > RELOAD_AFTER_MILLIS;
+        }
+    }
+
+    /**
+     * Indexed ranges of one request kind (leave or overtime)
+     */
+    private static final class KindIndex {
+        private final Map<Integer, IntervalSet> byEmployee = new HashMap<>();
+        private final Map<Integer, Range> byRequestId = new HashMap<>();
+
+        private void drop(int employeeId) {
+            IntervalSet previous = byEmployee.remove(employeeId);
+            if (previous != null) {
+                for (Map<Integer, Range> sameStart : previous.byStart.values()) {
+                    byRequestId.keySet().removeAll(sameStart.keySet());
+                }
+            }
+        }
+
+        private void replace(int employeeId, Collection<Range> ranges) {
+            drop(employeeId);
+            IntervalSet set = new IntervalSet();
+            for (Range range : ranges) {
+                set.add(range);
+                byRequestId.put(range.requestId, range);
+            }
+            byEmployee.put(employeeId, set);
+        }
+
+        private void upsert(int requestId, int employeeId, Range range) {
+            remove(requestId);
+            IntervalSet set = byEmployee.get(employeeId);
+            if (range != null && set != null) {
+                set.add(range);
+                byRequestId.put(requestId, range);
+            }
+        }
+
+        private void remove(int requestId) {
+            Range existing = byRequestId.remove(requestId);
+            if (existing != null) {
+                IntervalSet set = byEmployee.get(existing.employeeId);
+                if (set != null) {
+                    set.remove(existing);
+                }
+            }
+        }
+
+        private void setApproved(int requestId) {
+            Range existing = byRequestId.get(requestId);
+            if (existing != null) {
+                existing.approved = true;
+            }
+        }
+    }
+
+    private final KindIndex leave = new KindIndex();
+    private final KindIndex overtime = new KindIndex();
+    private final DatabaseConnection databaseConnection;
+
+    private RequestIntervalIndex() {
+        this.databaseConnection = new DatabaseConnection();
+    }
+
+    /**
+     * Get the process-wide index
+     * @return shared RequestIntervalIndex
+     */
+    public static RequestIntervalIndex getInstance() {
+        return INSTANCE;
+    }
+
+    // OVERLAP QUERIES
+
+    /**
+     * Find pending or approved leave requests of the employee overlapping the range
+     * @param employeeId Employee
+     * @param start First leave day
+     * @param end Last leave day (inclusive)
+     * @param excludeRequestId Request to ignore (the one being edited), or -1
+     * @return IDs of overlapping requests, earliest first
+     */
+    public List<Integer> findOverlappingLeave(int employeeId, LocalDate start, LocalDate end, int excludeRequestId) {
+        return findOverlapping(leave, employeeId, start.toEpochDay(), end.toEpochDay(), excludeRequestId, false);
+    }
+
+    public boolean hasOverlappingLeave(int employeeId, LocalDate start, LocalDate end, int excludeRequestId) {
+        return !findOverlappingLeave(employeeId, start, end, excludeRequestId).isEmpty();
+    }
+
+    /**
+     * Check the range against approved leave only
+     */
+    public boolean hasOverlappingApprovedLeave(int employeeId, LocalDate start, LocalDate end, int excludeRequestId) {
+        return !findOverlapping(leave, employeeId, start.toEpochDay(), end.toEpochDay(), excludeRequestId, true).isEmpty();
+    }
+
+    /**
+     * Check for pending or approved overtime of the employee overlapping the
+     * range (touching end points count as overlapping)
+     */
+    public boolean hasOverlappingOvertime(int employeeId, LocalDateTime start, LocalDateTime end, int excludeRequestId) {
+        return !findOverlapping(overtime, employeeId, toSeconds(start), toSeconds(end), excludeRequestId, false).isEmpty();
+    }
+
+    // UPDATES (called by the DAOs after a successful write)
+
+    /**
+     * Index a new or changed leave request; rejected ones are dropped
+     */
+    public synchronized void upsertLeave(LeaveRequestModel request) {
+        if (request == null || request.getLeaveRequestId() <= 0) {
+            return;
+        }
+        leave.upsert(request.getLeaveRequestId(), request.getEmployeeId(), toRange(request));
+    }
+
+    public synchronized void setLeaveApproved(int leaveRequestId) {
+        leave.setApproved(leaveRequestId);
+    }
+
+    public synchronized void removeLeave(int leaveRequestId) {
+        leave.remove(leaveRequestId);
+    }
+
+    /**
+     * Index a new or changed overtime request; rejected ones are dropped
+     */
+    public synchronized void upsertOvertime(OvertimeRequestModel request) {
+        if (request == null || request.getOvertimeRequestId() <= 0) {
+            return;
+        }
+        overtime.upsert(request.getOvertimeRequestId(), request.getEmployeeId(), toRange(request));
+    }
+
+    public synchronized void setOvertimeApproved(int overtimeRequestId) {
+        overtime.setApproved(overtimeRequestId);
+    }
+
+    public synchronized void removeOvertime(int overtimeRequestId) {
+        overtime.remove(overtimeRequestId);
+    }
+
+    /**
+     * Drop an employee's ranges so the next check reloads them (for writes
+     * that do not go through the DAOs)
+     */
+    public synchronized void invalidateEmployee(int employeeId) {
+        leave.drop(employeeId);
+        overtime.drop(employeeId);
+    }
+
+    // LOADING
+
+    /**
+     * Replace an employee's indexed leave with the given requests
+     * (pending and approved ones are kept)
+     */
+    public synchronized void loadLeave(int employeeId, Collection<LeaveRequestModel> requests) {
+        List<Range> ranges = new ArrayList<>();
+        for (LeaveRequestModel request : requests) {
+            Range range = toRange(request);
+            if (range != null) {
+                ranges.add(range);
+            }
+        }
+        leave.replace(employeeId, ranges);
+    }
+
+    /**
+     * Replace an employee's indexed overtime with the given requests
+     * (pending and approved ones are kept)
+     */
+    public synchronized void loadOvertime(int employeeId, Collection<OvertimeRequestModel> requests) {
+        List<Range> ranges = new ArrayList<>();
+        for (OvertimeRequestModel request : requests) {
+            Range range = toRange(request);
+            if (range != null) {
+                ranges.add(range);
+            }
+        }
+        overtime.replace(employeeId, ranges);
+    }
+
+    // HELPER METHODS
+
+    private List<Integer> findOverlapping(KindIndex kind, int employeeId, long from, long to,
+                                          int excludeRequestId, boolean approvedOnly) {
+        synchronized (this) {
+            IntervalSet set = kind.byEmployee.get(employeeId);
+            if (set != null && !set.isStale()) {
+                return set.overlapping(from, to, excludeRequestId, approvedOnly);
+            }
+        }
+
+        // Load outside the lock so a slow query does not block other checks
+        List<Range> ranges = kind == leave ? queryLeave(employeeId) : queryOvertime(employeeId);
+        if (ranges == null) {
+            return queryOverlapping(kind, employeeId, from, to, excludeRequestId, approvedOnly);
+        }
+        synchronized (this) {
+            kind.replace(employeeId, ranges);
+            return kind.byEmployee.get(employeeId).overlapping(from, to, excludeRequestId, approvedOnly);
+        }
+    }
+
+    private List<Range> queryLeave(int employeeId) {
+        List<Range> ranges = new ArrayList<>();
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ACTIVE_LEAVE)) {
+            stmt.setInt(1, employeeId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Date start = rs.getDate("leaveStart");
+                    Date end = rs.getDate("leaveEnd");
+                    if (start != null && end != null) {
+                        ranges.add(new Range(rs.getInt("leaveRequestId"), employeeId,
+                                start.toLocalDate().toEpochDay(), end.toLocalDate().toEpochDay(),
+                                "Approved".equalsIgnoreCase(rs.getString("approvalStatus"))));
+                    }
+                }
+            }
+            return ranges;
+        } catch (SQLException e) {
+            System.err.println("Error loading leave ranges for employee " + employeeId + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private List<Range> queryOvertime(int employeeId) {
+        List<Range> ranges = new ArrayList<>();
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ACTIVE_OVERTIME)) {
+            stmt.setInt(1, employeeId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Timestamp start = rs.getTimestamp("overtimeStart");
+                    Timestamp end = rs.getTimestamp("overtimeEnd");
+                    if (start != null && end != null) {
+                        ranges.add(new Range(rs.getInt("overtimeRequestId"), employeeId,
+                                toSeconds(start.toLocalDateTime()), toSeconds(end.toLocalDateTime()),
+                                "Approved".equalsIgnoreCase(rs.getString("approvalStatus"))));
+                    }
+                }
+            }
+            return ranges;
+        } catch (SQLException e) {
+            System.err.println("Error loading overtime ranges for employee " + employeeId + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * The same check as one query, without the index
+     */
+    private List<Integer> queryOverlapping(KindIndex kind, int employeeId, long from, long to,
+                                           int excludeRequestId, boolean approvedOnly) {
+        List<Integer> ids = new ArrayList<>();
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     kind == leave ? SELECT_OVERLAPPING_LEAVE : SELECT_OVERLAPPING_OVERTIME)) {
+            stmt.setInt(1, employeeId);
+            stmt.setInt(2, excludeRequestId);
+            if (kind == leave) {
+                stmt.setDate(3, Date.valueOf(LocalDate.ofEpochDay(to)));
+                stmt.setDate(4, Date.valueOf(LocalDate.ofEpochDay(from)));
+            } else {
+                stmt.setTimestamp(3, Timestamp.valueOf(LocalDateTime.ofEpochSecond(to, 0, ZoneOffset.UTC)));
+                stmt.setTimestamp(4, Timestamp.valueOf(LocalDateTime.ofEpochSecond(from, 0, ZoneOffset.UTC)));
+            }
+            stmt.setBoolean(5, approvedOnly);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error checking overlapping requests for employee " + employeeId + ": " + e.getMessage());
+        }
+        return ids;
+    }
+
+    private static Range toRange(LeaveRequestModel request) {
+        if (request.getLeaveStart() == null || request.getLeaveEnd() == null
+                || !(request.isPending() || request.isApproved())) {
+            return null;
+        }
+        return new Range(request.getLeaveRequestId(), request.getEmployeeId(),
+                request.getLeaveStart().toLocalDate().toEpochDay(),
+                request.getLeaveEnd().toLocalDate().toEpochDay(), request.isApproved());
+    }
+
+    private static Range toRange(OvertimeRequestModel request) {
+        OvertimeRequestModel.ApprovalStatus status = request.getApprovalStatus();
+        if (request.getOvertimeStart() == null || request.getOvertimeEnd() == null
+                || status == OvertimeRequestModel.ApprovalStatus.REJECTED) {
+            return null;
+        }
+        return new Range(request.getOvertimeRequestId(), request.getEmployeeId(),
+                toSeconds(request.getOvertimeStart()), toSeconds(request.getOvertimeEnd()),
+                status == OvertimeRequestModel.ApprovalStatus.APPROVED);
+    }
+
+    private static long toSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,309 @@
+package DAOs;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Schema changes made on top of the original payrollsystem_db schema
+ * (unique keys, stored columns, summary tables).
+ *
+ * Migrations are an explicit administrator step, run from the command line
+ * (java DAOs.SchemaMigrations) or through migrate(), and never from a screen
+ * or a DAO read/write path: some steps rebuild a large table or backfill a
+ * whole summary. Each step is recorded in schema_migration when it succeeds
+ * and is skipped afterwards.
+ *
+ * DAOs ask isApplied() before relying on something a step adds, and keep
+ * their previous behaviour until it has been applied (summary tables are
+ * then neither written nor read). A running client notices a newly applied
+ * step within five minutes, so apply steps that add summary tables while
+ * the application is stopped, or counters written in between are missed.
+ */
+public final class SchemaMigrations {
+
+    // Migration IDs, in the order they are applied
+    public static final String ATTENDANCE_CLOCK_IN_KEY = "attendance-clock-in-key";
+    public static final String ATTENDANCE_COMPUTED_HOURS = "attendance-computed-hours";
+    public static final String TARDINESS_PERIOD_TOTALS = "tardiness-period-totals";
+    public static final String ATTENDANCE_DAILY_ROLLUP = "attendance-daily-rollup";
+    public static final String LEAVE_BALANCE_LEDGER = "leave-balance-ledger";
+    public static final String OVERTIME_PERIOD_TOTALS = "overtime-period-totals";
+    public static final String APPROVAL_INBOX_CHANGE_TRACKING = "approval-inbox-change-tracking";
+    public static final String ATTENDANCE_ARCHIVE = "attendance-archive";
+    public static final String EMPLOYEE_ID_SEQUENCE = "employee-id-sequence";
+
+    private static final String CREATE_MIGRATION_TABLE = """
+        CREATE TABLE IF NOT EXISTS schema_migration (
+            migrationId VARCHAR(100) NOT NULL,
+            appliedAt TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+            PRIMARY KEY (migrationId)
+        )
+        """;
+
+    private static final String SELECT_APPLIED =
+        "SELECT 1 FROM schema_migration WHERE migrationId = ?";
+
+    private static final String INSERT_APPLIED =
+        "INSERT INTO schema_migration (migrationId) VALUES (?)";
+
+    // Errors that mean a DDL statement was already applied by an earlier, interrupted run
+    private static final int MYSQL_TABLE_EXISTS = 1050;
+    private static final int MYSQL_DUPLICATE_COLUMN_NAME = 1060;
+    private static final int MYSQL_DUPLICATE_KEY_NAME = 1061;
+    private static final int MYSQL_NO_SUCH_TABLE = 1146;
+
+    // A step that is not applied yet is looked up again after this long
+    private static final long PENDING_RECHECK_MILLIS = 5 * 60 * 1000L;
+
+    private static final List<Migration> MIGRATIONS = List.of(
+        new Migration(ATTENDANCE_CLOCK_IN_KEY,
+            "Unique (employeeId, date) key on attendance for the single-statement clock-in",
+            List.of(AttendanceDAO.ADD_EMPLOYEE_DATE_UNIQUE_KEY),
+            List.of()),
+        // Rebuilds attendance to fill the stored columns: run in a maintenance window
+        new Migration(ATTENDANCE_COMPUTED_HOURS,
+            "Stored computedHours/regularHours/lateHours/overtimeHours columns on attendance",
+            List.of(AttendanceDAO.ADD_COMPUTED_HOUR_COLUMNS),
+            List.of()),
+        new Migration(TARDINESS_PERIOD_TOTALS,
+            "tardiness_period_totals, filled from the existing tardiness records",
+            List.of(TardinessRecordDAO.CREATE_PERIOD_TOTALS_TABLE),
+            List.of(TardinessRecordDAO.BACKFILL_PERIOD_TOTALS)),
+        // Days are built the first time they are read, so nothing to backfill
+        new Migration(ATTENDANCE_DAILY_ROLLUP,
+            "attendance_daily_rollup for the daily and monthly attendance reports",
+            List.of(AttendanceRollupDAO.CREATE_ROLLUP_TABLE),
+            List.of()),
+        new Migration(LEAVE_BALANCE_LEDGER,
+            "leave_balance_ledger recording each deduction and restoration",
+            List.of(LeaveBalanceDAO.CREATE_LEDGER_TABLE),
+            List.of()),
+        new Migration(OVERTIME_PERIOD_TOTALS,
+            "overtime_period_totals, filled from the existing overtime requests",
+            List.of(OvertimeRequestDAO.CREATE_PERIOD_TOTALS_TABLE),
+            List.of(OvertimeRequestDAO.BACKFILL_PERIOD_TOTALS)),
+        new Migration(APPROVAL_INBOX_CHANGE_TRACKING,
+            "lastModified columns and inbox indexes on leaverequest and overtimerequest",
+            List.of(ApprovalInboxDAO.ADD_CHANGE_TRACKING),
+            List.of()),
+        // Only creates the table; rows are moved by java DAOs.AttendanceArchiveDAO
+        new Migration(ATTENDANCE_ARCHIVE,
+            "attendance_archive, partitioned by year, for attendance of closed years",
+            List.of(AttendanceArchiveDAO.CREATE_ATTENDANCE_ARCHIVE),
+            List.of()),
+        new Migration(EMPLOYEE_ID_SEQUENCE,
+            "id_sequence, seeded from the highest employee ID, for block ID allocation",
+            List.of(EmployeeIdAllocator.CREATE_SEQUENCE_TABLE),
+            List.of(EmployeeIdAllocator.SEED_SEQUENCE))
+    );
+
+    // Applied steps stay applied; pending ones are kept with the time they were checked
+    private static final Set<String> applied = ConcurrentHashMap.newKeySet();
+    private static final Map<String, Long> pendingCheckedAt = new ConcurrentHashMap<>();
+
+    /**
+     * One schema change: DDL statements (run one by one, each committing on
+     * its own in MySQL) followed by data statements that run in one
+     * transaction together with recording the step
+     */
+    private static final class Migration {
+        private final String id;
+        private final String description;
+        private final List<String> ddl;
+        private final List<String> data;
+
+        private Migration(String id, String description, List<String> ddl, List<String> data) {
+            this.id = id;
+            this.description = description;
+            this.ddl = ddl;
+            this.data = data;
+        }
+    }
+
+    private SchemaMigrations() {
+    }
+
+    /**
+     * Apply the migrations from the command line
+     * @param args --status only lists the migrations and whether they are applied
+     */
+    public static void main(String[] args) {
+        DatabaseConnection databaseConnection = new DatabaseConnection();
+        if (args.length > 0 && "--status".equals(args[0])) {
+            for (String status : getStatus(databaseConnection)) {
+                System.out.println(status);
+            }
+            return;
+        }
+        System.exit(migrate(databaseConnection) ? 0 : 1);
+    }
+
+    /**
+     * Apply every migration that has not been applied yet, in order.
+     * Stops at the first step that fails; running it again resumes there.
+     * @param databaseConnection Connection settings (needs ALTER/CREATE rights)
+     * @return true if every migration is applied
+     */
+    public static boolean migrate(DatabaseConnection databaseConnection) {
+        try (Connection conn = databaseConnection.createConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(CREATE_MIGRATION_TABLE);
+            }
+
+            for (Migration migration : MIGRATIONS) {
+                if (isRecorded(conn, migration.id)) {
+                    continue;
+                }
+                long start = System.currentTimeMillis();
+                apply(conn, migration);
+                markApplied(migration.id);
+                System.out.println("Applied migration " + migration.id + " ("
+                        + migration.description + ") in " + (System.currentTimeMillis() - start) + " ms");
+            }
+            return true;
+
+        } catch (SQLException e) {
+            System.err.println("Error applying schema migrations: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Each migration with "applied" or "pending"
+     * @param databaseConnection Connection settings
+     * @return One line per migration, or an empty list on error
+     */
+    public static List<String> getStatus(DatabaseConnection databaseConnection) {
+        List<String> status = new ArrayList<>();
+        try (Connection conn = databaseConnection.createConnection()) {
+            for (Migration migration : MIGRATIONS) {
+                status.add(migration.id + ": " + (isRecorded(conn, migration.id) ? "applied" : "pending")
+                        + " - " + migration.description);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error reading schema migrations: " + e.getMessage());
+            return Collections.emptyList();
+        }
+        return status;
+    }
+
+    /**
+     * Check if a migration has been applied. Applied steps are cached for the
+     * life of the process; pending ones are looked up again every few minutes.
+     * @param conn Open connection
+     * @param migrationId One of the migration ID constants
+     * @return true if applied, false if pending or if it could not be checked
+     */
+    public static boolean isApplied(Connection conn, String migrationId) {
+        Boolean cached = getCached(migrationId);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            if (isRecorded(conn, migrationId)) {
+                markApplied(migrationId);
+                return true;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error checking schema migration " + migrationId + ": " + e.getMessage());
+        }
+        pendingCheckedAt.put(migrationId, System.currentTimeMillis());
+        return false;
+    }
+
+    /**
+     * Same as isApplied(Connection, String), opening a connection only when
+     * the answer is not cached
+     */
+    public static boolean isApplied(DatabaseConnection databaseConnection, String migrationId) {
+        Boolean cached = getCached(migrationId);
+        if (cached != null) {
+            return cached;
+        }
+        try (Connection conn = databaseConnection.createConnection()) {
+            return isApplied(conn, migrationId);
+        } catch (SQLException e) {
+            System.err.println("Error checking schema migration " + migrationId + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    // HELPER METHODS
+
+    private static void apply(Connection conn, Migration migration) throws SQLException {
+        for (String sql : migration.ddl) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(sql);
+            } catch (SQLException e) {
+                if (!isAlreadyApplied(e)) {
+                    throw new SQLException("Migration " + migration.id + " failed: " + e.getMessage(),
+                            e.getSQLState(), e.getErrorCode(), e);
+                }
+            }
+        }
+
+        conn.setAutoCommit(false);
+        try {
+            try (Statement stmt = conn.createStatement()) {
+                for (String sql : migration.data) {
+                    stmt.executeUpdate(sql);
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_APPLIED)) {
+                stmt.setString(1, migration.id);
+                stmt.executeUpdate();
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("Migration " + migration.id + " failed: " + e.getMessage(),
+                    e.getSQLState(), e.getErrorCode(), e);
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private static boolean isRecorded(Connection conn, String migrationId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_APPLIED)) {
+            stmt.setString(1, migrationId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            if (e.getErrorCode() == MYSQL_NO_SUCH_TABLE) {
+                return false; // Nothing migrated yet
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Cached answer for isApplied(), or null if the database has to be asked
+     */
+    private static Boolean getCached(String migrationId) {
+        if (applied.contains(migrationId)) {
+            return true;
+        }
+        Long checkedAt = pendingCheckedAt.get(migrationId);
+        if (checkedAt != null && System.currentTimeMillis() - checkedAt < PENDING_RECHECK_MILLIS) {
+            return false;
+        }
+        return null;
+    }
+
+    private static void markApplied(String migrationId) {
+        applied.add(migrationId);
+        pendingCheckedAt.remove(migrationId);
+    }
+
+    private static boolean isAlreadyApplied(SQLException e) {
+        return Arrays.asList(MYSQL_TABLE_EXISTS, MYSQL_DUPLICATE_COLUMN_NAME, MYSQL_DUPLICATE_KEY_NAME)
+                .contains(e.getErrorCode());
+    }
+}
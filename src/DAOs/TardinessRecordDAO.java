@@ -6,6 +6,7 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 public class TardinessRecordDAO {
     
@@ -19,17 +20,136 @@ public class TardinessRecordDAO {
         this.databaseConnection = databaseConnection;
     }
     
+    private static final String INSERT_TARDINESS_RECORD = """
+        INSERT INTO tardinessrecord (attendanceId, tardinessHours, tardinessType, supervisorNotes, createdAt)
+        VALUES (?, ?, ?, ?, NOW())
+        """;
+    
+    // Running totals per employee and pay period (pay periods are calendar months,
+    // keyed by their first day). Kept in the same transaction as every tardiness
+    // write so statistics are point reads instead of aggregates over tardinessrecord.
+    // Created and filled by SchemaMigrations; until then writes skip the totals
+    // and statistics are aggregated from tardinessrecord.
+    static final String CREATE_PERIOD_TOTALS_TABLE = """
+        CREATE TABLE IF NOT EXISTS tardiness_period_totals (
+            employeeId INT NOT NULL,
+            periodMonth DATE NOT NULL,
+            totalInstances INT NOT NULL DEFAULT 0,
+            lateInstances INT NOT NULL DEFAULT 0,
+            undertimeInstances INT NOT NULL DEFAULT 0,
+            totalHours DECIMAL(10,4) NOT NULL DEFAULT 0,
+            maxHours DECIMAL(10,4) NOT NULL DEFAULT 0,
+            PRIMARY KEY (employeeId, periodMonth),
+            INDEX idx_tardiness_totals_month (periodMonth, totalHours)
+        )
+        """;
+    
+    private static final String ADD_TO_PERIOD_TOTALS = """
+        INSERT INTO tardiness_period_totals
+            (employeeId, periodMonth, totalInstances, lateInstances, undertimeInstances, totalHours, maxHours)
+        SELECT a.employeeId, DATE_FORMAT(a.date, '%Y-%m-01'), 1, ?, ?, ?, ?
+        FROM attendance a WHERE a.attendanceId = ?
+        ON DUPLICATE KEY UPDATE totalInstances = totalInstances + 1,
+            lateInstances = lateInstances + VALUES(lateInstances),
+            undertimeInstances = undertimeInstances + VALUES(undertimeInstances),
+            totalHours = totalHours + VALUES(totalHours),
+            maxHours = GREATEST(maxHours, VALUES(maxHours))
+        """;
+    
+    private static final String DELETE_PERIOD_TOTALS = """
+        DELETE FROM tardiness_period_totals
+        WHERE periodMonth >= ? AND periodMonth < ? AND (? IS NULL OR employeeId = ?)
+        """;
+    
+    private static final String PERIOD_TOTALS_FROM_RECORDS = """
+        INSERT INTO tardiness_period_totals
+            (employeeId, periodMonth, totalInstances, lateInstances, undertimeInstances, totalHours, maxHours)
+        SELECT a.employeeId, DATE_FORMAT(a.date, '%Y-%m-01'), COUNT(*),
+               SUM(CASE WHEN tr.tardinessType = 'LATE' THEN 1 ELSE 0 END),
+               SUM(CASE WHEN tr.tardinessType = 'UNDERTIME' THEN 1 ELSE 0 END),
+               COALESCE(SUM(tr.tardinessHours), 0), COALESCE(MAX(tr.tardinessHours), 0)
+        FROM tardinessrecord tr
+        JOIN attendance a ON tr.attendanceId = a.attendanceId
+        """;
+    
+    private static final String REBUILD_PERIOD_TOTALS = PERIOD_TOTALS_FROM_RECORDS + """
+        WHERE a.date >= ? AND a.date < ? AND (? IS NULL OR a.employeeId = ?)
+        GROUP BY a.employeeId, DATE_FORMAT(a.date, '%Y-%m-01')
+        """;
+    
+    // Migration backfill: every period, replacing whatever is there
+    static final String[] BACKFILL_PERIOD_TOTALS = {
+        "DELETE FROM tardiness_period_totals",
+        PERIOD_TOTALS_FROM_RECORDS + "GROUP BY a.employeeId, DATE_FORMAT(a.date, '%Y-%m-01')"
+    };
+    
+    private static final String SELECT_RECORD_KEY = """
+        SELECT a.employeeId, a.date FROM tardinessrecord tr
+        JOIN attendance a ON tr.attendanceId = a.attendanceId
+        WHERE tr.tardinessRecordId = ?
+        """;
+    
+    private static final String SELECT_ATTENDANCE_KEY = 
+        "SELECT employeeId, date FROM attendance WHERE attendanceId = ?";
+    
+    private static final String SELECT_PERIOD_TOTALS = """
+        SELECT COALESCE(SUM(totalInstances), 0) AS totalInstances, SUM(totalHours) AS totalHours,
+               MAX(maxHours) AS maxHours, COALESCE(SUM(lateInstances), 0) AS lateInstances,
+               COALESCE(SUM(undertimeInstances), 0) AS undertimeInstances
+        FROM tardiness_period_totals
+        WHERE employeeId = ? AND periodMonth >= ? AND periodMonth < ?
+        """;
+    
+    private static final String SELECT_MONTH_TOTALS = """
+        SELECT employeeId, totalInstances, totalHours, maxHours, lateInstances, undertimeInstances
+        FROM tardiness_period_totals
+        WHERE periodMonth = ?
+        ORDER BY totalHours DESC
+        """;
+    
+    // Same columns as SELECT_MONTH_TOTALS, from the records (before the migration)
+    private static final String AGGREGATE_MONTH_TOTALS = """
+        SELECT a.employeeId, COUNT(*) AS totalInstances, SUM(tr.tardinessHours) AS totalHours,
+               MAX(tr.tardinessHours) AS maxHours,
+               COUNT(CASE WHEN tr.tardinessType = 'LATE' THEN 1 END) AS lateInstances,
+               COUNT(CASE WHEN tr.tardinessType = 'UNDERTIME' THEN 1 END) AS undertimeInstances
+        FROM tardinessrecord tr
+        JOIN attendance a ON tr.attendanceId = a.attendanceId
+        WHERE a.date >= ? AND a.date < ?
+        GROUP BY a.employeeId
+        ORDER BY totalHours DESC
+        """;
+    
+    private static final LocalDate FIRST_PERIOD = LocalDate.of(1000, 1, 1);
+    private static final LocalDate LAST_PERIOD = LocalDate.of(9999, 12, 1);
+    
     /**
      * Create a tardiness record
      */
     public boolean createTardinessRecord(TardinessRecordModel tardinessRecord) {
-        String sql = """
-            INSERT INTO tardinessrecord (attendanceId, tardinessHours, tardinessType, supervisorNotes, createdAt)
-            VALUES (?, ?, ?, ?, NOW())
-            """;
-        
-        try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                boolean inserted = insertTardinessRecord(conn, tardinessRecord);
+                conn.commit();
+                return inserted;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error creating tardiness record: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Insert a tardiness record and add it to the period totals on the caller's
+     * connection, so it can share a transaction with the attendance write
+     * (used by AttendanceDAO.recordClockIn).
+     */
+    static boolean insertTardinessRecord(Connection conn, TardinessRecordModel tardinessRecord) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_TARDINESS_RECORD, Statement.RETURN_GENERATED_KEYS)) {
             
             stmt.setInt(1, tardinessRecord.getAttendanceId());
             stmt.setBigDecimal(2, tardinessRecord.getTardinessHours());
@@ -44,13 +164,12 @@ public class TardinessRecordDAO {
                         tardinessRecord.setTardinessRecordId(generatedKeys.getInt(1));
                     }
                 }
+                if (hasPeriodTotals(conn)) {
+                    addToPeriodTotals(conn, tardinessRecord);
+                }
                 return true;
             }
             return false;
-            
-        } catch (SQLException e) {
-            System.err.println("Error creating tardiness record: " + e.getMessage());
-            return false;
         }
     }
     
@@ -60,14 +179,26 @@ public class TardinessRecordDAO {
     public boolean deleteTardinessRecordsByAttendance(int attendanceId) {
         String sql = "DELETE FROM tardinessrecord WHERE attendanceId = ?";
         
-        try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, attendanceId);
-            int deletedRows = stmt.executeUpdate();
-            
-            if (deletedRows > 0) {
-                System.out.println("Deleted " + deletedRows + " tardiness records for attendance ID: " + attendanceId);
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                AttendanceKey key = findAttendanceKey(conn, SELECT_ATTENDANCE_KEY, attendanceId);
+                
+                stmt.setInt(1, attendanceId);
+                int deletedRows = stmt.executeUpdate();
+                
+                if (deletedRows > 0 && key != null) {
+                    refreshPeriodTotals(conn, key.employeeId, key.date, key.date);
+                }
+                conn.commit();
+                
+                if (deletedRows > 0) {
+                    System.out.println("Deleted " + deletedRows + " tardiness records for attendance ID: " + attendanceId);
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
             }
             
             return true; // Return true even if no rows deleted (no existing records)
@@ -107,11 +238,26 @@ public class TardinessRecordDAO {
               )
             """;
         
-        try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, payPeriodId);
-            int insertedRows = stmt.executeUpdate();
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            int insertedRows;
+            
+            try (PreparedStatement stmt = conn.prepareStatement(sql);
+                 PreparedStatement period = conn.prepareStatement("SELECT startDate, endDate FROM payperiod WHERE payPeriodId = ?")) {
+                stmt.setInt(1, payPeriodId);
+                insertedRows = stmt.executeUpdate();
+                
+                period.setInt(1, payPeriodId);
+                try (ResultSet rs = period.executeQuery()) {
+                    if (insertedRows > 0 && rs.next()) {
+                        refreshPeriodTotals(conn, null, rs.getDate("startDate").toLocalDate(), rs.getDate("endDate").toLocalDate());
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
             
             System.out.println("Generated " + insertedRows + " tardiness records for pay period " + payPeriodId);
             return insertedRows;
@@ -122,6 +268,76 @@ public class TardinessRecordDAO {
         }
     }
     
+    /**
+     * Generate missing LATE and UNDERTIME records for every attendance row in
+     * a date range with two set-based statements (used after bulk imports,
+     * which delete the records of the days they overwrite). The period totals
+     * of the range are recounted either way.
+     * @param startDate First attendance date
+     * @param endDate Last attendance date
+     * @return Number of tardiness records created, or -1 on error
+     */
+    public int generateTardinessRecords(LocalDate startDate, LocalDate endDate) {
+        String lateSql = """
+            INSERT INTO tardinessrecord (attendanceId, tardinessHours, tardinessType, supervisorNotes, createdAt)
+            SELECT a.attendanceId,
+                   (TIME_TO_SEC(a.timeIn) - TIME_TO_SEC('08:00:00')) / 3600.0,
+                   'LATE',
+                   CONCAT('Late arrival at ', TIME_FORMAT(a.timeIn, '%H:%i'), ' - Imported attendance'),
+                   NOW()
+            FROM attendance a
+            WHERE a.date BETWEEN ? AND ?
+              AND a.timeIn > '08:10:00'
+              AND NOT EXISTS (
+                  SELECT 1 FROM tardinessrecord tr
+                  WHERE tr.attendanceId = a.attendanceId AND tr.tardinessType = 'LATE'
+              )
+            """;
+        String undertimeSql = """
+            INSERT INTO tardinessrecord (attendanceId, tardinessHours, tardinessType, supervisorNotes, createdAt)
+            SELECT a.attendanceId,
+                   (TIME_TO_SEC('17:00:00') - TIME_TO_SEC(a.timeOut)) / 3600.0,
+                   'UNDERTIME',
+                   CONCAT('Early departure at ', TIME_FORMAT(a.timeOut, '%H:%i'), ' - Imported attendance'),
+                   NOW()
+            FROM attendance a
+            WHERE a.date BETWEEN ? AND ?
+              AND a.timeOut IS NOT NULL
+              AND a.timeOut < '17:00:00'
+              AND NOT EXISTS (
+                  SELECT 1 FROM tardinessrecord tr
+                  WHERE tr.attendanceId = a.attendanceId AND tr.tardinessType = 'UNDERTIME'
+              )
+            """;
+        
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            int insertedRows = 0;
+            
+            try {
+                for (String sql : new String[] {lateSql, undertimeSql}) {
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        stmt.setDate(1, Date.valueOf(startDate));
+                        stmt.setDate(2, Date.valueOf(endDate));
+                        insertedRows += stmt.executeUpdate();
+                    }
+                }
+                refreshPeriodTotals(conn, null, startDate, endDate);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+            System.out.println("Generated " + insertedRows + " tardiness records for " + startDate + " to " + endDate);
+            return insertedRows;
+            
+        } catch (SQLException e) {
+            System.err.println("Error generating tardiness records: " + e.getMessage());
+            return -1;
+        }
+    }
+    
     /**
      * Delete tardiness records by pay period
      */
@@ -132,12 +348,32 @@ public class TardinessRecordDAO {
             JOIN payroll p ON a.employeeId = p.employeeId
             WHERE p.payPeriodId = ?
             """;
+        // Every record of these employees is removed above, so their totals go too
+        String totalsSql = """
+            DELETE t FROM tardiness_period_totals t
+            JOIN payroll p ON t.employeeId = p.employeeId
+            WHERE p.payPeriodId = ?
+            """;
         
-        try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, payPeriodId);
-            int deletedRows = stmt.executeUpdate();
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            int deletedRows;
+            
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, payPeriodId);
+                deletedRows = stmt.executeUpdate();
+                
+                if (hasPeriodTotals(conn)) {
+                    try (PreparedStatement totals = conn.prepareStatement(totalsSql)) {
+                        totals.setInt(1, payPeriodId);
+                        totals.executeUpdate();
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
             
             System.out.println("Deleted " + deletedRows + " tardiness records for pay period " + payPeriodId);
             return deletedRows;
@@ -302,16 +538,28 @@ public class TardinessRecordDAO {
             WHERE tardinessRecordId = ?
             """;
         
-        try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setBigDecimal(1, tardinessRecord.getTardinessHours());
-            stmt.setString(2, tardinessRecord.getTardinessType().toString());
-            stmt.setString(3, tardinessRecord.getSupervisorNotes());
-            stmt.setInt(4, tardinessRecord.getTardinessRecordId());
-            
-            int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setBigDecimal(1, tardinessRecord.getTardinessHours());
+                stmt.setString(2, tardinessRecord.getTardinessType().toString());
+                stmt.setString(3, tardinessRecord.getSupervisorNotes());
+                stmt.setInt(4, tardinessRecord.getTardinessRecordId());
+                
+                int rowsAffected = stmt.executeUpdate();
+                if (rowsAffected > 0) {
+                    AttendanceKey key = findAttendanceKey(conn, SELECT_RECORD_KEY, tardinessRecord.getTardinessRecordId());
+                    if (key != null) {
+                        refreshPeriodTotals(conn, key.employeeId, key.date, key.date);
+                    }
+                }
+                conn.commit();
+                return rowsAffected > 0;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
             
         } catch (SQLException e) {
             System.err.println("Error updating tardiness record: " + e.getMessage());
@@ -325,13 +573,24 @@ public class TardinessRecordDAO {
     public boolean deleteTardinessRecord(int tardinessRecordId) {
         String sql = "DELETE FROM tardinessrecord WHERE tardinessRecordId = ?";
         
-        try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, tardinessRecordId);
-            int deletedRows = stmt.executeUpdate();
-            
-            return deletedRows > 0;
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                AttendanceKey key = findAttendanceKey(conn, SELECT_RECORD_KEY, tardinessRecordId);
+                
+                stmt.setInt(1, tardinessRecordId);
+                int deletedRows = stmt.executeUpdate();
+                
+                if (deletedRows > 0 && key != null) {
+                    refreshPeriodTotals(conn, key.employeeId, key.date, key.date);
+                }
+                conn.commit();
+                return deletedRows > 0;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
             
         } catch (SQLException e) {
             System.err.println("Error deleting tardiness record: " + e.getMessage());
@@ -340,9 +599,16 @@ public class TardinessRecordDAO {
     }
     
     /**
-     * Get tardiness statistics for an employee
+     * Get tardiness statistics for an employee. Whole-month ranges (pay
+     * periods) are read from the period totals once they exist; other ranges
+     * are aggregated from the tardiness records.
      */
     public TardinessStatistics getTardinessStatistics(int employeeId, LocalDate startDate, LocalDate endDate) {
+        if (startDate.getDayOfMonth() == 1 && endDate.equals(endDate.withDayOfMonth(endDate.lengthOfMonth()))
+                && SchemaMigrations.isApplied(databaseConnection, SchemaMigrations.TARDINESS_PERIOD_TOTALS)) {
+            return getPeriodTotals(employeeId, startDate, endDate);
+        }
+        
         String sql = """
             SELECT 
                 COUNT(*) as totalInstances,
@@ -357,7 +623,7 @@ public class TardinessRecordDAO {
               AND a.date BETWEEN ? AND ?
             """;
         
-        try (Connection conn = databaseConnection.createConnection();
+        try (Connection conn = openConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, employeeId);
@@ -388,56 +654,156 @@ public class TardinessRecordDAO {
     }
     
     /**
-     * Get monthly tardiness summary for all employees
+     * Get monthly tardiness summary for all employees (one point read per employee)
      */
     public List<TardinessStatistics> getMonthlyTardinessSummary(int year, int month) {
         List<TardinessStatistics> summaryList = new ArrayList<>();
-        String sql = """
-            SELECT 
-                a.employeeId,
-                COUNT(*) as totalInstances,
-                SUM(tr.tardinessHours) as totalHours,
-                AVG(tr.tardinessHours) as averageHours,
-                MAX(tr.tardinessHours) as maxHours,
-                COUNT(CASE WHEN tr.tardinessType = 'LATE' THEN 1 END) as lateInstances,
-                COUNT(CASE WHEN tr.tardinessType = 'UNDERTIME' THEN 1 END) as undertimeInstances
-            FROM tardinessrecord tr
-            JOIN attendance a ON tr.attendanceId = a.attendanceId
-            WHERE YEAR(a.date) = ? AND MONTH(a.date) = ?
-            GROUP BY a.employeeId
-            ORDER BY totalHours DESC
-            """;
         
-        try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        LocalDate startDate = LocalDate.of(year, month, 1);
+        LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
+        
+        try (Connection conn = openConnection()) {
+            boolean totals = hasPeriodTotals(conn);
             
-            stmt.setInt(1, year);
-            stmt.setInt(2, month);
+            try (PreparedStatement stmt = conn.prepareStatement(totals ? SELECT_MONTH_TOTALS : AGGREGATE_MONTH_TOTALS)) {
+                stmt.setDate(1, Date.valueOf(startDate));
+                if (!totals) {
+                    stmt.setDate(2, Date.valueOf(startDate.plusMonths(1)));
+                }
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        TardinessStatistics stats = new TardinessStatistics();
+                        stats.setEmployeeId(rs.getInt("employeeId"));
+                        stats.setStartDate(startDate);
+                        stats.setEndDate(endDate);
+                        mapTotals(rs, stats);
+                        summaryList.add(stats);
+                    }
+                }
+            }
             
-            ResultSet rs = stmt.executeQuery();
+        } catch (SQLException e) {
+            System.err.println("Error getting monthly tardiness summary: " + e.getMessage());
+        }
+        
+        return summaryList;
+    }
+    
+    /**
+     * Sum the period totals of the months in a range
+     */
+    private TardinessStatistics getPeriodTotals(int employeeId, LocalDate startDate, LocalDate endDate) {
+        TardinessStatistics stats = new TardinessStatistics();
+        stats.setEmployeeId(employeeId);
+        stats.setStartDate(startDate);
+        stats.setEndDate(endDate);
+        
+        try (Connection conn = openConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_PERIOD_TOTALS)) {
             
-            LocalDate startDate = LocalDate.of(year, month, 1);
-            LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
+            stmt.setInt(1, employeeId);
+            stmt.setDate(2, Date.valueOf(startDate.withDayOfMonth(1)));
+            stmt.setDate(3, Date.valueOf(endDate.withDayOfMonth(1).plusMonths(1)));
             
-            while (rs.next()) {
-                TardinessStatistics stats = new TardinessStatistics();
-                stats.setEmployeeId(rs.getInt("employeeId"));
-                stats.setStartDate(startDate);
-                stats.setEndDate(endDate);
-                stats.setTotalInstances(rs.getInt("totalInstances"));
-                stats.setTotalHours(rs.getBigDecimal("totalHours"));
-                stats.setAverageHours(rs.getBigDecimal("averageHours"));
-                stats.setMaxHours(rs.getBigDecimal("maxHours"));
-                stats.setLateInstances(rs.getInt("lateInstances"));
-                stats.setUndertimeInstances(rs.getInt("undertimeInstances"));
-                summaryList.add(stats);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    mapTotals(rs, stats);
+                }
             }
             
         } catch (SQLException e) {
-            System.err.println("Error getting monthly tardiness summary: " + e.getMessage());
+            System.err.println("Error getting tardiness statistics: " + e.getMessage());
         }
         
-        return summaryList;
+        return stats;
+    }
+    
+    private static void mapTotals(ResultSet rs, TardinessStatistics stats) throws SQLException {
+        int instances = rs.getInt("totalInstances");
+        BigDecimal totalHours = rs.getBigDecimal("totalHours");
+        stats.setTotalInstances(instances);
+        stats.setTotalHours(totalHours);
+        stats.setMaxHours(rs.getBigDecimal("maxHours"));
+        stats.setLateInstances(rs.getInt("lateInstances"));
+        stats.setUndertimeInstances(rs.getInt("undertimeInstances"));
+        if (instances > 0 && totalHours != null) {
+            stats.setAverageHours(totalHours.divide(BigDecimal.valueOf(instances), 4, RoundingMode.HALF_UP));
+        }
+    }
+    
+    // PERIOD TOTALS
+    
+    /**
+     * Check if the period totals table has been created and filled (SchemaMigrations)
+     */
+    static boolean hasPeriodTotals(Connection conn) {
+        return SchemaMigrations.isApplied(conn, SchemaMigrations.TARDINESS_PERIOD_TOTALS);
+    }
+    
+    /**
+     * Recompute the period totals of the months touching a date range.
+     * Does nothing before the period totals migration.
+     * @param conn Connection (inside the caller's transaction)
+     * @param employeeId Employee, or null for everyone
+     * @param startDate First date, or null for no lower bound
+     * @param endDate Last date, or null for no upper bound
+     */
+    static void refreshPeriodTotals(Connection conn, Integer employeeId, LocalDate startDate, LocalDate endDate) throws SQLException {
+        if (!hasPeriodTotals(conn)) {
+            return;
+        }
+        Date from = Date.valueOf(startDate != null ? startDate.withDayOfMonth(1) : FIRST_PERIOD);
+        Date to = Date.valueOf(endDate != null ? endDate.withDayOfMonth(1).plusMonths(1) : LAST_PERIOD);
+        
+        for (String sql : new String[] {DELETE_PERIOD_TOTALS, REBUILD_PERIOD_TOTALS}) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setDate(1, from);
+                stmt.setDate(2, to);
+                stmt.setObject(3, employeeId, Types.INTEGER);
+                stmt.setObject(4, employeeId, Types.INTEGER);
+                stmt.executeUpdate();
+            }
+        }
+    }
+    
+    private static void addToPeriodTotals(Connection conn, TardinessRecordModel tardinessRecord) throws SQLException {
+        BigDecimal hours = tardinessRecord.getTardinessHours() != null ? tardinessRecord.getTardinessHours() : BigDecimal.ZERO;
+        TardinessRecordModel.TardinessType type = tardinessRecord.getTardinessType();
+        try (PreparedStatement stmt = conn.prepareStatement(ADD_TO_PERIOD_TOTALS)) {
+            stmt.setInt(1, type == TardinessRecordModel.TardinessType.LATE ? 1 : 0);
+            stmt.setInt(2, type == TardinessRecordModel.TardinessType.UNDERTIME ? 1 : 0);
+            stmt.setBigDecimal(3, hours);
+            stmt.setBigDecimal(4, hours);
+            stmt.setInt(5, tardinessRecord.getAttendanceId());
+            stmt.executeUpdate();
+        }
+    }
+    
+    private static AttendanceKey findAttendanceKey(Connection conn, String sql, int id) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? new AttendanceKey(rs.getInt("employeeId"), rs.getDate("date").toLocalDate()) : null;
+            }
+        }
+    }
+    
+    private Connection openConnection() throws SQLException {
+        return databaseConnection.createConnection();
+    }
+    
+    /**
+     * Employee and date a tardiness record belongs to
+     */
+    private static final class AttendanceKey {
+        private final int employeeId;
+        private final LocalDate date;
+        
+        private AttendanceKey(int employeeId, LocalDate date) {
+            this.employeeId = employeeId;
+            this.date = date;
+        }
     }
     
     /**
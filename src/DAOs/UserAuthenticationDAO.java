@@ -1,6 +1,7 @@
 package DAOs;
 
 import Models.UserAuthenticationModel;
+import Utility.PasswordHasher;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -11,7 +12,6 @@ import java.util.Map;
 import java.util.HashMap;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
 import java.util.Base64;
 
 /**
@@ -70,70 +70,90 @@ public class UserAuthenticationDAO {
         return Timestamp.valueOf(getManilaTime());
     }
     
-    // PASSWORD HASHING UTILITIES (since PasswordHasher is not available)
+    // PASSWORD HASHING UTILITIES
     
     /**
-     * Hash password with salt using SHA-256
+     * Hash password in the current PasswordHasher format
      */
     private String hashPassword(String password) {
         try {
-            String salt = generateSalt();
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            digest.update(salt.getBytes());
-            byte[] hash = digest.digest(password.getBytes());
-            String hashedPassword = Base64.getEncoder().encodeToString(hash);
-            return salt + ":" + hashedPassword; // Store salt:hash format
-        } catch (NoSuchAlgorithmException e) {
+            return PasswordHasher.hashPassword(password);
+        } catch (RuntimeException e) {
             System.err.println("Error hashing password: " + e.getMessage());
             return null;
         }
     }
     
-        /**
-         * Verify password against stored hash - handles plain text passwords
-         */
-        private boolean verifyPassword(String plainPassword, String storedHash) {
-            try {
-                if (storedHash == null || plainPassword == null) {
-                    return false;
-                }
-
-                // Check if stored hash is in new salt:hash format
-                if (storedHash.contains(":")) {
-                    // New format - use existing salt:hash verification
-                    String[] parts = storedHash.split(":");
-                    if (parts.length != 2) {
-                        return false;
-                    }
-
-                    String salt = parts[0];
-                    String hash = parts[1];
-
-                    MessageDigest digest = MessageDigest.getInstance("SHA-256");
-                    digest.update(salt.getBytes());
-                    byte[] newHash = digest.digest(plainPassword.getBytes());
-                    String newHashString = Base64.getEncoder().encodeToString(newHash);
-
-                    return hash.equals(newHashString);
-                } else {
-                    // Legacy format - check if it's plain text (for your current data)
-                    return plainPassword.equals(storedHash);
-                }
-
-            } catch (NoSuchAlgorithmException e) {
-                System.err.println("Error verifying password: " + e.getMessage());
+    /**
+     * Verify password against stored hash. Accepts every format found in the
+     * employee table: versioned PBKDF2, PBKDF2 salt:hash (UserManagement),
+     * SHA-256 salt:hash (older versions of this DAO) and plain text.
+     */
+    private boolean verifyPassword(String plainPassword, String storedHash) {
+        if (storedHash == null || plainPassword == null) {
+            return false;
+        }
+        
+        if (PasswordHasher.isVersionedHash(storedHash)) {
+            return PasswordHasher.verifyPassword(plainPassword, storedHash);
+        }
+        
+        if (storedHash.contains(":")) {
+            return PasswordHasher.verifyPassword(plainPassword, storedHash)
+                || verifySha256Password(plainPassword, storedHash);
+        }
+        
+        // Legacy format - plain text
+        return plainPassword.equals(storedHash);
+    }
+    
+    /**
+     * Salted SHA-256 salt:hash, as written by older versions of this DAO
+     */
+    private boolean verifySha256Password(String plainPassword, String storedHash) {
+        try {
+            String[] parts = storedHash.split(":");
+            if (parts.length != 2) {
                 return false;
             }
+            
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(parts[0].getBytes());
+            byte[] newHash = digest.digest(plainPassword.getBytes());
+            
+            return MessageDigest.isEqual(Base64.getDecoder().decode(parts[1]), newHash);
+        } catch (NoSuchAlgorithmException | IllegalArgumentException e) {
+            return false;
         }
+    }
     
     /**
-     * Generate salt for password hashing
+     * Replace a stored hash with the current format and cost after the user
+     * proved the password. Only writes if nobody changed the password meanwhile.
      */
-    private String generateSalt() {
-        SecureRandom random = new SecureRandom();
-        byte[] saltBytes = new byte[16];
-        random.nextBytes(saltBytes);
-        return Base64.getEncoder().encodeToString(saltBytes);
+    private void upgradePasswordHash(int employeeId, String storedHash, String plainPassword) {
+        String newHash = hashPassword(plainPassword);
+        if (newHash == null) {
+            return;
+        }
+        
+        String sql = "UPDATE employee SET passwordHash = ? WHERE employeeId = ? AND passwordHash = ?";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, newHash);
+            pstmt.setInt(2, employeeId);
+            pstmt.setString(3, storedHash);
+            
+            if (pstmt.executeUpdate() > 0) {
+                EmployeeDirectoryIndex.getInstance().reload(employeeId);
+            }
+            
+        } catch (SQLException e) {
+            // The old hash still works, so login goes ahead
+            System.err.println("Error upgrading password hash: " + e.getMessage());
+        }
     }
     
     /**
@@ -192,6 +212,11 @@ public class UserAuthenticationDAO {
                         // Reset login attempts on successful login
                         resetLoginAttempts(user.getEmployeeId());
                         
+                        // Bring old or cheaper hashes up to the current format and cost
+                        if (PasswordHasher.needsRehash(storedHash)) {
+                            upgradePasswordHash(user.getEmployeeId(), storedHash, password);
+                        }
+                        
                         // Log successful authentication
                         logAuthenticationAttempt(email, true, "Successful login");
                         
@@ -450,6 +475,7 @@ public class UserAuthenticationDAO {
             boolean success = pstmt.executeUpdate() > 0;
             
             if (success) {
+                EmployeeDirectoryIndex.getInstance().reload(employeeId);
                 logAuthenticationAttempt(
                     getUserById(employeeId) != null ? getUserById(employeeId).getEmail() : "Unknown",
                     true,
@@ -497,14 +523,15 @@ public class UserAuthenticationDAO {
         
         String sql = """
             INSERT INTO employee (firstName, lastName, email, passwordHash, userRole, positionId, 
-                                 birthDate, basicSalary, hourlyRate, status, createdAt, updatedAt) 
-            VALUES (?, ?, ?, ?, ?, ?, '1990-01-01', 25000.00, 120.00, 'Probationary', ?, ?)
+                                 birthDate, basicSalary, hourlyRate, status, createdAt, updatedAt, employeeId) 
+            VALUES (?, ?, ?, ?, ?, ?, '1990-01-01', 25000.00, 120.00, 'Probationary', ?, ?, ?)
             """;
         
         try (Connection conn = getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             Timestamp manilaTime = getManilaTimestamp();
+            int employeeId = EmployeeIdAllocator.getInstance().nextId();
             
             pstmt.setString(1, firstName);
             pstmt.setString(2, lastName);
@@ -514,10 +541,12 @@ public class UserAuthenticationDAO {
             pstmt.setInt(6, positionId);
             pstmt.setTimestamp(7, manilaTime);
             pstmt.setTimestamp(8, manilaTime);
+            pstmt.setInt(9, employeeId);
             
             boolean success = pstmt.executeUpdate() > 0;
             
             if (success) {
+                EmployeeDirectoryIndex.getInstance().reload(employeeId);
                 logAuthenticationAttempt(email, true, "User account created");
             }
             
@@ -546,6 +575,7 @@ public class UserAuthenticationDAO {
             boolean success = pstmt.executeUpdate() > 0;
             
             if (success) {
+                EmployeeDirectoryIndex.getInstance().remove(employeeId);
                 UserAuthenticationModel user = getUserById(employeeId);
                 logAuthenticationAttempt(
                     user != null ? user.getEmail() : "Unknown",
@@ -584,6 +614,7 @@ public class UserAuthenticationDAO {
             boolean success = pstmt.executeUpdate() > 0;
             
             if (success) {
+                EmployeeDirectoryIndex.getInstance().reload(employeeId);
                 UserAuthenticationModel user = getUserById(employeeId);
                 logAuthenticationAttempt(
                     user != null ? user.getEmail() : "Unknown",
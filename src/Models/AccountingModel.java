@@ -7,13 +7,13 @@ import java.time.YearMonth;
 import java.util.List;
 import java.util.ArrayList;
 
+import Services.AppContext;
 import Services.PayrollService;
 import Services.ReportService;
 import Services.AttendanceService;
 import DAOs.EmployeeDAO;
 import DAOs.PayrollDAO;
 import DAOs.PayPeriodDAO;
-import DAOs.DatabaseConnection;
 import DAOs.PayrollAttendanceDAO;
 import DAOs.PayrollBenefitDAO;
 import DAOs.PayrollOvertimeDAO;
@@ -50,24 +50,20 @@ public class AccountingModel extends EmployeeModel {
         super(firstName, lastName, email, userRole);
         this.setEmployeeId(employeeId);
         
-        // Create single database connection for all components
-        DatabaseConnection dbConnection = new DatabaseConnection();
+        // Shared services and DAOs from AppContext
+        this.payrollService = AppContext.get(PayrollService.class);
+        this.reportService = AppContext.get(ReportService.class);
+        this.attendanceService = AppContext.get(AttendanceService.class);
         
-        // Initialize services with database connection 
-        this.payrollService = new PayrollService(dbConnection);
-        this.reportService = new ReportService(dbConnection);
-        this.attendanceService = new AttendanceService();
+        this.employeeDAO = AppContext.get(EmployeeDAO.class);
+        this.payrollDAO = AppContext.get(PayrollDAO.class);
+        this.payPeriodDAO = AppContext.get(PayPeriodDAO.class);
         
-        // Initialize DAOs with database connection
-        this.employeeDAO = new EmployeeDAO(dbConnection);
-        this.payrollDAO = new PayrollDAO(dbConnection);
-        this.payPeriodDAO = new PayPeriodDAO();
-        
-        // Initialize detail DAOs
-        this.payrollAttendanceDAO = new PayrollAttendanceDAO(dbConnection);
-        this.payrollBenefitDAO = new PayrollBenefitDAO(dbConnection);
-        this.payrollOvertimeDAO = new PayrollOvertimeDAO(dbConnection);
-        this.tardinessRecordDAO = new TardinessRecordDAO(dbConnection); // NEW
+        // Detail DAOs
+        this.payrollAttendanceDAO = AppContext.get(PayrollAttendanceDAO.class);
+        this.payrollBenefitDAO = AppContext.get(PayrollBenefitDAO.class);
+        this.payrollOvertimeDAO = AppContext.get(PayrollOvertimeDAO.class);
+        this.tardinessRecordDAO = AppContext.get(TardinessRecordDAO.class);
         
         System.out.println("Accounting user initialized: " + getFullName());
     }
@@ -81,23 +77,20 @@ public class AccountingModel extends EmployeeModel {
         
         this.copyFromEmployeeModel(employee);
         
-        // Create single database connection for all components
-        DatabaseConnection dbConnection = new DatabaseConnection();
-        
-        // Initialize Accounting-specific components with database connection
-        this.payrollService = new PayrollService(dbConnection);
-        this.reportService = new ReportService(dbConnection);
-        this.attendanceService = new AttendanceService();
+        // Shared services and DAOs from AppContext
+        this.payrollService = AppContext.get(PayrollService.class);
+        this.reportService = AppContext.get(ReportService.class);
+        this.attendanceService = AppContext.get(AttendanceService.class);
         
-        this.employeeDAO = new EmployeeDAO(dbConnection);
-        this.payrollDAO = new PayrollDAO(dbConnection);
-        this.payPeriodDAO = new PayPeriodDAO();
+        this.employeeDAO = AppContext.get(EmployeeDAO.class);
+        this.payrollDAO = AppContext.get(PayrollDAO.class);
+        this.payPeriodDAO = AppContext.get(PayPeriodDAO.class);
         
-        // Initialize detail DAOs
-        this.payrollAttendanceDAO = new PayrollAttendanceDAO(dbConnection);
-        this.payrollBenefitDAO = new PayrollBenefitDAO(dbConnection);
-        this.payrollOvertimeDAO = new PayrollOvertimeDAO(dbConnection);
-        this.tardinessRecordDAO = new TardinessRecordDAO(dbConnection); // NEW
+        // Detail DAOs
+        this.payrollAttendanceDAO = AppContext.get(PayrollAttendanceDAO.class);
+        this.payrollBenefitDAO = AppContext.get(PayrollBenefitDAO.class);
+        this.payrollOvertimeDAO = AppContext.get(PayrollOvertimeDAO.class);
+        this.tardinessRecordDAO = AppContext.get(TardinessRecordDAO.class);
         
         System.out.println("Accounting user initialized from EmployeeModel: " + getFullName());
     }
@@ -1,5 +1,6 @@
 package Models;
 
+import Utility.AttendanceRules;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.sql.Date;
@@ -9,14 +10,14 @@ import java.math.RoundingMode;
 
 public class AttendanceModel {
     private static final ZoneId MANILA_TIMEZONE = ZoneId.of("Asia/Manila");
-    private static final LocalTime GRACE_PERIOD_CUTOFF = LocalTime.of(8, 10); // 8:10 AM grace period
-    private static final LocalTime STANDARD_START_TIME = LocalTime.of(8, 0);  // 8:00 AM standard start
-    private static final LocalTime STANDARD_END_TIME = LocalTime.of(17, 0);   // 5:00 PM standard end
     
     private Integer attendanceId; // Changed to Integer to allow null
     private Date date;
     private Time timeIn;
     private Time timeOut;
+    // Seconds of the day of timeIn/timeOut (AttendanceRules.NO_TIME if not set), converted once per change
+    private int timeInSecond = AttendanceRules.NO_TIME;
+    private int timeOutSecond = AttendanceRules.NO_TIME;
     private int employeeId;
     private double computedHours;
     private double computedAmount;
@@ -31,6 +32,8 @@ public class AttendanceModel {
         this.date = date;
         this.timeIn = timeIn;
         this.timeOut = timeOut;
+        this.timeInSecond = AttendanceRules.toSecondOfDay(timeIn);
+        this.timeOutSecond = AttendanceRules.toSecondOfDay(timeOut);
         this.employeeId = employeeId;
         calculateAttendanceMetrics();
     }
@@ -64,47 +67,38 @@ public class AttendanceModel {
         return Time.valueOf(LocalTime.now(MANILA_TIMEZONE));
     }
     
+    /**
+     * Time in as seconds of the day (AttendanceRules.NO_TIME if not set)
+     */
+    public int getTimeInSecondOfDay() { return timeInSecond; }
+    
+    /**
+     * Time out as seconds of the day (AttendanceRules.NO_TIME if not set)
+     */
+    public int getTimeOutSecondOfDay() { return timeOutSecond; }
+    
     // Grace period logic
     public boolean isWithinGracePeriod() {
-        if (timeIn == null) return false;
-        LocalTime actualTimeIn = timeIn.toLocalTime();
-        return actualTimeIn.isAfter(STANDARD_START_TIME) && 
-               !actualTimeIn.isAfter(GRACE_PERIOD_CUTOFF);
+        return AttendanceRules.isWithinGracePeriod(timeInSecond);
     }
     
     public boolean isLateAttendance() {
-        if (timeIn == null) return false;
-        return timeIn.toLocalTime().isAfter(GRACE_PERIOD_CUTOFF);
+        return AttendanceRules.isLate(timeInSecond);
     }
     
     public boolean isEarlyOut() {
-        if (timeOut == null) return false;
-        return timeOut.toLocalTime().isBefore(STANDARD_END_TIME);
+        return AttendanceRules.isEarlyOut(timeOutSecond);
     }
     
     // Calculate attendance metrics based on database view logic
     public final void calculateAttendanceMetrics() {
-        if (timeIn != null && timeOut != null) {
-            LocalTime in = timeIn.toLocalTime();
-            LocalTime out = timeOut.toLocalTime();
-            
-            // Calculate total hours worked (minus 1 hour lunch break)
-            Duration workDuration = Duration.between(in, out);
-            double totalHours = workDuration.toMinutes() / 60.0;
-            this.computedHours = Math.max(0, totalHours - 1.0); // Subtract lunch break
-            
-            // Calculate late hours
-            if (isLateAttendance()) {
-                this.isLate = true;
-                Duration lateDuration = Duration.between(STANDARD_START_TIME, in);
-                this.lateHours = lateDuration.toMinutes() / 60.0;
-            } else {
-                this.isLate = false;
-                this.lateHours = 0.0;
-            }
-            
-            // Calculate overtime hours (beyond 8 hours of work)
-            this.overtimeHours = Math.max(0, this.computedHours - 8.0);
+        if (timeInSecond != AttendanceRules.NO_TIME && timeOutSecond != AttendanceRules.NO_TIME) {
+            // Total hours worked (minus 1 hour lunch break), late hours past the grace period,
+            // overtime beyond 8 hours of work; all in whole minutes
+            this.computedHours = AttendanceRules.workedMinutes(timeInSecond, timeOutSecond) / 60.0;
+            this.isLate = AttendanceRules.isLate(timeInSecond);
+            this.lateHours = AttendanceRules.lateMinutes(timeInSecond) / 60.0;
+            this.overtimeHours = AttendanceRules.overtimeMinutes(timeInSecond, timeOutSecond) / 60.0;
         }
     }
     
@@ -140,18 +134,12 @@ public class AttendanceModel {
      * Calculate undertime hours as BigDecimal
      */
     public BigDecimal getUndertimeHoursBigDecimal() {
-        if (timeOut == null) {
+        if (!AttendanceRules.isEarlyOut(timeOutSecond)) {
             return BigDecimal.ZERO;
         }
         
-        LocalTime actualTimeOut = timeOut.toLocalTime();
-        if (actualTimeOut.isBefore(STANDARD_END_TIME)) {
-            long minutesEarly = Duration.between(actualTimeOut, STANDARD_END_TIME).toMinutes();
-            return BigDecimal.valueOf(minutesEarly)
-                             .divide(BigDecimal.valueOf(60), 4, RoundingMode.HALF_UP);
-        }
-        
-        return BigDecimal.ZERO;
+        return BigDecimal.valueOf(AttendanceRules.undertimeMinutes(timeOutSecond))
+                         .divide(BigDecimal.valueOf(60), 4, RoundingMode.HALF_UP);
     }
     
     // Validation methods
@@ -225,6 +213,8 @@ public class AttendanceModel {
         this.date = date;
         this.timeIn = timeIn;
         this.timeOut = timeOut;
+        this.timeInSecond = AttendanceRules.toSecondOfDay(timeIn);
+        this.timeOutSecond = AttendanceRules.toSecondOfDay(timeOut);
         this.computedHours = computedHours;
         this.lateHours = lateHours;
         this.overtimeHours = overtimeHours;
@@ -245,12 +235,14 @@ public class AttendanceModel {
     public Time getTimeIn() { return timeIn; }
     public void setTimeIn(Time timeIn) { 
         this.timeIn = timeIn; 
+        this.timeInSecond = AttendanceRules.toSecondOfDay(timeIn);
         calculateAttendanceMetrics();
     }
     
     public Time getTimeOut() { return timeOut; }
     public void setTimeOut(Time timeOut) { 
         this.timeOut = timeOut; 
+        this.timeOutSecond = AttendanceRules.toSecondOfDay(timeOut);
         calculateAttendanceMetrics();
     }
     
@@ -1,5 +1,11 @@
 package Models;
 
+import DAOs.LeaveBalanceDAO;
+import DAOs.LeaveRequestDAO;
+import Services.AppContext;
+import Services.AttendanceImportService;
+import Services.LeaveService;
+import java.io.File;
 import java.time.*;
 import java.sql.Date;
 import java.sql.Timestamp;
@@ -360,14 +366,46 @@ public class HRModel {
         }
         
         try {
-            updateActivity("Bulk approving " + requestIds.size() + " leave requests");
-            return true;
+            List<LeaveRequestDAO.BulkApprovalOutcome> outcomes = AppContext.get(LeaveService.class)
+                    .bulkApproveLeaveRequests(requestIds, approvalNotes, hrId);
+            int approved = 0;
+            for (LeaveRequestDAO.BulkApprovalOutcome outcome : outcomes) {
+                if (outcome.isApproved()) {
+                    approved++;
+                } else {
+                    System.err.println("Leave request " + outcome.getLeaveRequestId() + " not approved: " + outcome.getMessage());
+                }
+            }
+            updateActivity("Bulk approved " + approved + " of " + requestIds.size() + " leave requests");
+            return approved == outcomes.size();
         } catch (Exception e) {
             System.err.println("Error bulk approving leave requests: " + e.getMessage());
             return false;
         }
     }
-    
+
+    /**
+     * Resolve leave-attendance conflicts for every employee in a period
+     * (days worked during approved leave are credited back to the balance)
+     * @param startDate
+     * @param endDate
+     * @return Processing results
+     */
+    public Map<String, Object> resolveLeaveConflicts(Date startDate, Date endDate) {
+        if (!canManageLeaves) {
+            Map<String, Object> denied = new HashMap<>();
+            denied.put("success", false);
+            denied.put("error", "Not allowed to manage leaves");
+            return denied;
+        }
+
+        Map<String, Object> results = AppContext.get(LeaveService.class)
+                .batchProcessConflictResolution((List<Integer>) null, startDate, endDate);
+        updateActivity("Resolved leave conflicts for " + startDate + " to " + endDate + ": "
+                       + results.get("conflictsResolved") + " requests");
+        return results;
+    }
+
     /**
      * Initialize leave balances for all employees
      * @param year
@@ -379,7 +417,12 @@ public class HRModel {
         }
         
         try {
-            updateActivity("Initializing leave balances for year: " + year);
+            int created = AppContext.get(LeaveBalanceDAO.class)
+                    .initializeYearlyBalances(Year.of(year), LeaveBalanceDAO.DEFAULT_MAX_CARRY_OVER_DAYS);
+            if (created < 0) {
+                return false;
+            }
+            updateActivity("Initialized " + created + " leave balances for year: " + year);
             return true;
         } catch (Exception e) {
             System.err.println("Error initializing leave balances: " + e.getMessage());
@@ -413,22 +456,41 @@ public class HRModel {
     /**
      * Bulk import attendance records
      * @param attendanceRecords
-     * @return 
+     * @return true if every record was imported
      */
     public boolean bulkImportAttendance(List<AttendanceModel> attendanceRecords) {
-        if (!canManageAttendance) {
+        if (!canManageAttendance || attendanceRecords == null) {
             return false;
         }
         
         try {
-            updateActivity("Bulk importing " + attendanceRecords.size() + " attendance records");
-            return true;
+            AttendanceImportService.ImportReport report =
+                    AppContext.get(AttendanceImportService.class).importRecords(attendanceRecords);
+            updateActivity("Bulk imported " + report.getRowsImported() + " of " + attendanceRecords.size() + " attendance records");
+            return !report.hasErrors();
         } catch (Exception e) {
             System.err.println("Error bulk importing attendance: " + e.getMessage());
             return false;
         }
     }
     
+    /**
+     * Bulk import a biometric attendance export (CSV: employeeId,date,timeIn,timeOut)
+     * @param csvFile
+     * @return Import report with per-row errors, or null if not permitted
+     */
+    public AttendanceImportService.ImportReport bulkImportAttendance(File csvFile) {
+        if (!canManageAttendance || csvFile == null) {
+            return null;
+        }
+        
+        AttendanceImportService.ImportReport report =
+                AppContext.get(AttendanceImportService.class).importCsv(csvFile);
+        updateActivity("Bulk imported " + report.getRowsImported() + " attendance records from " + csvFile.getName()
+                + " (" + report.getRowsRejected() + " rejected)");
+        return report;
+    }
+    
     // Reporting Operations
     
     /**
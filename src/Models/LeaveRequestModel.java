@@ -1,5 +1,6 @@
 package Models;
 
+import Utility.WorkdayCalendar;
 import java.time.*;
 import java.sql.Date;
 import java.sql.Timestamp;
@@ -118,20 +119,13 @@ public class LeaveRequestModel {
         return leaveDates;
     }
     
-    // Get only working day leave dates (Monday-Friday)
+    // Get only working day leave dates (Monday-Friday, excluding holidays)
     public List<Date> getWorkingDayLeaveDates() {
         List<Date> workingDayDates = new ArrayList<>();
         if (leaveStart == null || leaveEnd == null) return workingDayDates;
         
-        LocalDate current = leaveStart.toLocalDate();
-        LocalDate end = leaveEnd.toLocalDate();
-        
-        while (!current.isAfter(end)) {
-            DayOfWeek dayOfWeek = current.getDayOfWeek();
-            if (dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY) {
-                workingDayDates.add(Date.valueOf(current));
-            }
-            current = current.plusDays(1);
+        for (LocalDate workday : WorkdayCalendar.getInstance().getWorkdays(leaveStart.toLocalDate(), leaveEnd.toLocalDate())) {
+            workingDayDates.add(Date.valueOf(workday));
         }
         
         return workingDayDates;
@@ -163,8 +157,7 @@ public class LeaveRequestModel {
     
     private boolean isWorkingDay(Date date) {
         if (date == null) return false;
-        DayOfWeek dayOfWeek = date.toLocalDate().getDayOfWeek();
-        return dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY;
+        return WorkdayCalendar.getInstance().isWorkday(date.toLocalDate());
     }
     
     public boolean hasWorkingDays() {
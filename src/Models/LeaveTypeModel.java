@@ -1,5 +1,6 @@
 package Models;
 
+import Utility.WorkdayCalendar;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -105,7 +106,7 @@ public class LeaveTypeModel {
     
     /**
      * Calculate number of weekdays in a leave period
-     * Only Monday-Friday count as leave days
+     * Only Monday-Friday count as leave days; holidays are not charged
      * @param leaveStartDate
      * @param leaveEndDate
      * @return 
@@ -119,18 +120,7 @@ public class LeaveTypeModel {
             return 0;
         }
         
-        int weekdays = 0;
-        LocalDate current = leaveStartDate;
-        
-        while (!current.isAfter(leaveEndDate)) {
-            // Monday = 1, Sunday = 7 (count only Monday to Friday)
-            if (current.getDayOfWeek().getValue() <= 5) {
-                weekdays++;
-            }
-            current = current.plusDays(1);
-        }
-        
-        return weekdays;
+        return WorkdayCalendar.getInstance().countWorkdays(leaveStartDate, leaveEndDate);
     }
     
     /**
@@ -1,5 +1,6 @@
 package Models;
 
+import Utility.WorkdayCalendar;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -89,7 +90,7 @@ public class PayPeriodModel {
     
     /**
      * Calculate the number of working days in the pay period (Monday to Friday only)
-     * Excludes weekends as per business rules
+     * Excludes weekends and holidays as per business rules
      * @return 
      */
     public int getWorkingDays() {
@@ -97,18 +98,7 @@ public class PayPeriodModel {
             return 0;
         }
         
-        int workingDays = 0;
-        LocalDate current = startDate;
-        
-        while (!current.isAfter(endDate)) {
-            // Monday = 1, Sunday = 7 (only count Monday to Friday)
-            if (current.getDayOfWeek().getValue() <= 5) {
-                workingDays++;
-            }
-            current = current.plusDays(1);
-        }
-        
-        return workingDays;
+        return WorkdayCalendar.getInstance().countWorkdays(startDate, endDate);
     }
     
     /**
@@ -129,7 +119,7 @@ public class PayPeriodModel {
      * @return 
      */
     public int getTotalWeekdays() {
-        return getWorkingDays(); // Same as working days since we exclude weekends
+        return getWorkingDays(); // Same as working days (weekends and holidays excluded)
     }
     
     /**
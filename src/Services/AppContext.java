@@ -0,0 +1,176 @@
+package Services;
+
+import DAOs.*;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Application-wide registry of shared DAOs and services.
+ *
+ * Screens used to build their own DatabaseConnection (which reads the config
+ * file) plus ten or more DAOs and services in their constructors. AppContext
+ * creates each of these once, on first request, and hands the same instance
+ * to every screen. All registered classes open a fresh JDBC connection per
+ * call and keep no per-user state, so sharing them is safe.
+ *
+ * warmUpAsync() is called right after login to load the JDBC driver, open a
+ * first connection and fill the reference caches off the Swing event thread.
+ */
+public final class AppContext {
+
+    private static final Map<Class<?>, Function<DatabaseConnection, ?>> FACTORIES = new HashMap<>();
+    private static final Map<Class<?>, Object> INSTANCES = new HashMap<>();
+
+    private static volatile DatabaseConnection databaseConnection;
+
+    static {
+        // DAOs
+        register(EmployeeDAO.class, EmployeeDAO::new);
+        register(PositionDAO.class, PositionDAO::new);
+        register(AttendanceDAO.class, AttendanceDAO::new);
+        register(AttendanceRollupDAO.class, AttendanceRollupDAO::new);
+        register(ApprovalInboxDAO.class, ApprovalInboxDAO::new);
+        register(TardinessRecordDAO.class, TardinessRecordDAO::new);
+        register(LeaveDAO.class, LeaveDAO::new);
+        register(OvertimeRequestDAO.class, OvertimeRequestDAO::new);
+        register(PayrollDAO.class, PayrollDAO::new);
+        register(PayslipDAO.class, PayslipDAO::new);
+        register(PositionBenefitDAO.class, PositionBenefitDAO::new);
+        register(PayrollAttendanceDAO.class, PayrollAttendanceDAO::new);
+        register(PayrollBenefitDAO.class, PayrollBenefitDAO::new);
+        register(PayrollOvertimeDAO.class, PayrollOvertimeDAO::new);
+        register(ReferenceDataDAO.class, ReferenceDataDAO::new);
+        register(AddressDAO.class, AddressDAO::new);
+        register(DeductionDAO.class, DeductionDAO::new);
+        register(PayPeriodDAO.class, db -> new PayPeriodDAO());
+        register(LeaveRequestDAO.class, db -> new LeaveRequestDAO());
+        register(LeaveBalanceDAO.class, db -> new LeaveBalanceDAO());
+        register(LeaveTypeDAO.class, db -> new LeaveTypeDAO());
+        register(BenefitTypeDAO.class, db -> new BenefitTypeDAO());
+        register(UserAuthenticationDAO.class, db -> new UserAuthenticationDAO());
+
+        // Services
+        register(AttendanceService.class, db -> {
+            AttendanceService service = new AttendanceService(db);
+            service.enableWriteBehindIfConfigured();
+            return service;
+        });
+        register(AttendanceImportService.class, AttendanceImportService::new);
+        register(LeaveService.class, LeaveService::new);
+        register(OvertimeService.class, OvertimeService::new);
+        register(PayrollService.class, PayrollService::new);
+        register(PayrollBenefitService.class, PayrollBenefitService::new);
+        register(PositionBenefitService.class, PositionBenefitService::new);
+        register(ReportService.class, ReportService::new);
+        register(TeamLeaveCalendarService.class, db -> new TeamLeaveCalendarService());
+        register(ApprovalInboxService.class, ApprovalInboxService::new);
+    }
+
+    private AppContext() {
+    }
+
+    private static <T> void register(Class<T> type, Function<DatabaseConnection, ? extends T> factory) {
+        FACTORIES.put(type, factory);
+    }
+
+    /**
+     * Get the shared database connection settings (config file is read once)
+     * @return shared DatabaseConnection
+     */
+    public static DatabaseConnection getDatabaseConnection() {
+        DatabaseConnection connection = databaseConnection;
+        if (connection == null) {
+            synchronized (AppContext.class) {
+                if (databaseConnection == null) {
+                    databaseConnection = new DatabaseConnection();
+                }
+                connection = databaseConnection;
+            }
+        }
+        return connection;
+    }
+
+    /**
+     * Get the shared instance of a DAO or service, creating it on first use
+     * @param type Registered DAO or service class
+     * @return shared instance
+     * @throws IllegalArgumentException if the class is not registered
+     */
+    public static synchronized <T> T get(Class<T> type) {
+        Object instance = INSTANCES.get(type);
+        if (instance == null) {
+            Function<DatabaseConnection, ?> factory = FACTORIES.get(type);
+            if (factory == null) {
+                throw new IllegalArgumentException("No shared instance registered for " + type.getName());
+            }
+            instance = factory.apply(getDatabaseConnection());
+            INSTANCES.put(type, instance);
+        }
+        return type.cast(instance);
+    }
+
+    // WARM-UP
+
+    /**
+     * Load the JDBC driver and open one connection, so the first real query
+     * does not pay for driver loading and the server handshake
+     * @return true if the database is reachable
+     */
+    public static boolean warmUpConnection() {
+        try (Connection conn = getDatabaseConnection().createConnection()) {
+            return conn.isValid(5);
+        } catch (SQLException e) {
+            System.err.println("Database warm-up failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Warm the connection, the reference data cache and the DAOs/services the
+     * user's landing screens need, on a background thread
+     * @param userRole Role of the user who just logged in
+     */
+    public static void warmUpAsync(String userRole) {
+        Thread warmer = new Thread(() -> {
+            long start = System.nanoTime();
+            try {
+                if (!warmUpConnection()) {
+                    return;
+                }
+                ReferenceDataCache.getInstance().preload();
+
+                // Same role precedence as Login.redirectUserBasedOnRole
+                String role = userRole != null ? userRole.toUpperCase() : "";
+                if (role.contains("HR") || role.contains("IT")) {
+                    get(EmployeeDAO.class);
+                    get(UserAuthenticationDAO.class);
+                    EmployeeDirectoryIndex.getInstance().ensureLoaded();
+                } else if (role.contains("ACCOUNTING")) {
+                    get(PayrollDAO.class);
+                    get(PayslipDAO.class);
+                    get(ReportService.class);
+                    EmployeeDirectoryIndex.getInstance().ensureLoaded();
+                } else {
+                    get(AttendanceService.class);
+                    get(LeaveRequestDAO.class);
+                    get(LeaveBalanceDAO.class);
+                    if (role.contains("SUPERVISOR") || role.contains("MANAGER")) {
+                        // Team leave calendar
+                        EmployeeDirectoryIndex.getInstance().ensureLoaded();
+                        LeaveOccupancyIndex.getInstance().ensureLoaded();
+                        get(ApprovalInboxService.class);
+                    }
+                }
+                System.out.println("Background warm-up finished in "
+                        + (System.nanoTime() - start) / 1_000_000 + " ms");
+            } catch (Exception e) {
+                System.err.println("Error during background warm-up: " + e.getMessage());
+            }
+        }, "app-warm-up");
+        warmer.setDaemon(true);
+        warmer.start();
+    }
+}
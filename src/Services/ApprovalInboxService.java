@@ -0,0 +1,298 @@
+package Services;
+
+import DAOs.ApprovalInboxDAO;
+import DAOs.ApprovalInboxDAO.InboxCursor;
+import DAOs.ApprovalInboxDAO.InboxItem;
+import DAOs.DatabaseConnection;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Unified approval inbox for supervisors: pending leave and overtime requests
+ * in one list, read a page at a time.
+ *
+ * A screen loads the first page (which also returns a high water mark), then
+ * either calls getChanges() with that mark (and afterwards with the previous
+ * delta) or subscribes and is sent only the items added, edited or decided
+ * since its last refresh. Refreshing never
+ * reloads the whole list, so it stays fast for supervisors with large teams.
+ */
+public class ApprovalInboxService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final long POLL_INTERVAL_SECONDS = 5;
+
+    // Re-read a little before the mark: a transaction that commits late can carry
+    // a lastModified slightly older than rows already seen. Rows re-read in the
+    // window that were already sent (same key and lastModified) are skipped.
+    private static final long OVERLAP_MILLIS = 2000;
+
+    private final ApprovalInboxDAO inboxDAO;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService poller;
+
+    public ApprovalInboxService(DatabaseConnection databaseConnection) {
+        this.inboxDAO = new ApprovalInboxDAO(databaseConnection);
+    }
+
+    public ApprovalInboxService() {
+        this(new DatabaseConnection());
+    }
+
+    /**
+     * One page of the inbox, oldest request first
+     * @param supervisorId Only this supervisor's direct reports (null for every pending request)
+     * @param afterToken nextToken of the previous page (null for the first page)
+     * @param pageSize Items per page
+     * @return The page; the first page also carries the high water mark for getChanges()
+     */
+    public InboxPage getPage(Integer supervisorId, String afterToken, int pageSize) {
+        int size = pageSize > 0 ? pageSize : DEFAULT_PAGE_SIZE;
+        InboxCursor after = InboxCursor.fromToken(afterToken);
+
+        // Taken before reading, so anything that changes while the page loads is picked up later
+        Timestamp highWaterMark = after == null ? inboxDAO.getServerTime() : null;
+
+        List<InboxItem> items = inboxDAO.findPendingPage(supervisorId, after, size + 1);
+        boolean hasMore = items.size() > size;
+        if (hasMore) {
+            items = new ArrayList<>(items.subList(0, size));
+        }
+        String nextToken = hasMore ? items.get(items.size() - 1).toCursor().toToken() : null;
+
+        return new InboxPage(items, nextToken, highWaterMark);
+    }
+
+    /**
+     * Items added, edited or decided since a high water mark
+     * @param supervisorId Same scope as the pages already loaded
+     * @param highWaterMark Mark from the first page
+     * @return The changes and the next mark, or null if the database could not be read
+     */
+    public InboxDelta getChanges(Integer supervisorId, Timestamp highWaterMark) {
+        return getChanges(supervisorId, highWaterMark, Collections.emptySet());
+    }
+
+    /**
+     * Items added, edited or decided since the previous delta, without the
+     * ones that delta already carried
+     * @param supervisorId Same scope as the pages already loaded
+     * @param previous The previous delta
+     * @return The changes and the next mark, or null if the database could not be read
+     */
+    public InboxDelta getChanges(Integer supervisorId, InboxDelta previous) {
+        return getChanges(supervisorId, previous.getHighWaterMark(), previous.getSentVersions());
+    }
+
+    private InboxDelta getChanges(Integer supervisorId, Timestamp highWaterMark, Set<String> sentVersions) {
+        Timestamp since = highWaterMark != null
+                ? new Timestamp(highWaterMark.getTime() - OVERLAP_MILLIS)
+                : new Timestamp(0);
+        List<InboxItem> changes = inboxDAO.findChangedSince(supervisorId, since);
+        return changes != null ? InboxDelta.of(changes, highWaterMark, sentVersions) : null;
+    }
+
+    // PUSH UPDATES
+
+    /**
+     * Send inbox changes to a listener as they happen. The listener is called on
+     * a background thread (Swing screens should hand off with SwingUtilities.invokeLater)
+     * and only when something changed.
+     * @param supervisorId Same scope as the pages already loaded
+     * @param highWaterMark Mark from the first page
+     * @param listener Receives each non-empty delta
+     * @return Subscription to cancel when the screen closes
+     */
+    public Subscription subscribe(Integer supervisorId, Timestamp highWaterMark, Consumer<InboxDelta> listener) {
+        Subscription subscription = new Subscription(supervisorId, highWaterMark, listener);
+        subscriptions.add(subscription);
+        startPolling();
+        return subscription;
+    }
+
+    /**
+     * Check all subscriptions now instead of waiting for the next poll,
+     * e.g. right after this client approved or rejected a request
+     */
+    public void refreshNow() {
+        ScheduledExecutorService executor = poller;
+        if (executor != null) {
+            executor.execute(this::pollSubscriptions);
+        }
+    }
+
+    private synchronized void startPolling() {
+        if (poller != null) {
+            return;
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "approval-inbox-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::pollSubscriptions,
+                POLL_INTERVAL_SECONDS, POLL_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private synchronized void stopPollingIfIdle() {
+        if (poller != null && subscriptions.isEmpty()) {
+            poller.shutdown();
+            poller = null;
+        }
+    }
+
+    private void pollSubscriptions() {
+        for (Subscription subscription : subscriptions) {
+            try {
+                InboxDelta previous = subscription.lastDelta;
+                InboxDelta delta = previous != null
+                        ? getChanges(subscription.supervisorId, previous)
+                        : getChanges(subscription.supervisorId, subscription.highWaterMark);
+                if (delta == null) {
+                    continue;
+                }
+                subscription.lastDelta = delta;
+                if (!delta.isEmpty()) {
+                    subscription.listener.accept(delta);
+                }
+            } catch (Exception e) {
+                System.err.println("Error refreshing approval inbox: " + e.getMessage());
+            }
+        }
+    }
+
+    // INNER CLASSES
+
+    /**
+     * A page of pending requests
+     */
+    public static class InboxPage {
+        private final List<InboxItem> items;
+        private final String nextToken;
+        private final Timestamp highWaterMark;
+
+        public InboxPage(List<InboxItem> items, String nextToken, Timestamp highWaterMark) {
+            this.items = Collections.unmodifiableList(items);
+            this.nextToken = nextToken;
+            this.highWaterMark = highWaterMark;
+        }
+
+        public List<InboxItem> getItems() { return items; }
+        /** Token for the next page, null on the last page */
+        public String getNextToken() { return nextToken; }
+        public boolean hasMore() { return nextToken != null; }
+        /** Set on the first page only */
+        public Timestamp getHighWaterMark() { return highWaterMark; }
+    }
+
+    /**
+     * Changes since a high water mark: pending items to add or replace,
+     * and keys (see InboxItem.getKey) of decided items to remove
+     */
+    public static class InboxDelta {
+        private final List<InboxItem> upserts;
+        private final List<String> removedKeys;
+        private final Timestamp highWaterMark;
+        private final Set<String> sentVersions;
+
+        public InboxDelta(List<InboxItem> upserts, List<String> removedKeys, Timestamp highWaterMark) {
+            this(upserts, removedKeys, highWaterMark, Collections.emptySet());
+        }
+
+        private InboxDelta(List<InboxItem> upserts, List<String> removedKeys, Timestamp highWaterMark,
+                           Set<String> sentVersions) {
+            this.upserts = Collections.unmodifiableList(upserts);
+            this.removedKeys = Collections.unmodifiableList(removedKeys);
+            this.highWaterMark = highWaterMark;
+            this.sentVersions = Collections.unmodifiableSet(sentVersions);
+        }
+
+        /**
+         * Split changed rows into upserts and removals and advance the mark
+         * @param changes Changed rows ordered by lastModified
+         * @param previousMark Mark the changes were read from
+         * @return The delta
+         */
+        public static InboxDelta of(List<InboxItem> changes, Timestamp previousMark) {
+            return of(changes, previousMark, Collections.emptySet());
+        }
+
+        /**
+         * Same as of(changes, previousMark), skipping rows already sent
+         * @param changes Changed rows ordered by lastModified, re-read from before the mark
+         * @param previousMark Mark the changes were read from
+         * @param previouslySent getSentVersions() of the previous delta
+         * @return The delta
+         */
+        public static InboxDelta of(List<InboxItem> changes, Timestamp previousMark, Set<String> previouslySent) {
+            List<InboxItem> upserts = new ArrayList<>();
+            List<String> removedKeys = new ArrayList<>();
+            Timestamp mark = previousMark;
+            for (InboxItem item : changes) {
+                if (item.getLastModified() != null && (mark == null || item.getLastModified().after(mark))) {
+                    mark = item.getLastModified();
+                }
+                if (previouslySent.contains(versionOf(item))) {
+                    continue;
+                }
+                if (item.isPending()) {
+                    upserts.add(item);
+                } else {
+                    removedKeys.add(item.getKey());
+                }
+            }
+            
+            // Only rows inside the next overlap window can be read again
+            Set<String> sent = new HashSet<>();
+            for (InboxItem item : changes) {
+                if (mark != null && item.getLastModified() != null
+                        && item.getLastModified().getTime() >= mark.getTime() - OVERLAP_MILLIS) {
+                    sent.add(versionOf(item));
+                }
+            }
+            return new InboxDelta(upserts, removedKeys, mark, sent);
+        }
+
+        // A row is sent again only once its lastModified changes
+        private static String versionOf(InboxItem item) {
+            return item.getKey() + "@" + (item.getLastModified() != null ? item.getLastModified().getTime() : 0);
+        }
+
+        public List<InboxItem> getUpserts() { return upserts; }
+        public List<String> getRemovedKeys() { return removedKeys; }
+        public Timestamp getHighWaterMark() { return highWaterMark; }
+        /** Rows near the mark that this or an earlier delta already carried */
+        public Set<String> getSentVersions() { return sentVersions; }
+        public boolean isEmpty() { return upserts.isEmpty() && removedKeys.isEmpty(); }
+    }
+
+    /**
+     * A listener registered with subscribe()
+     */
+    public class Subscription {
+        private final Integer supervisorId;
+        private final Consumer<InboxDelta> listener;
+        private final Timestamp highWaterMark;
+        private volatile InboxDelta lastDelta;
+
+        private Subscription(Integer supervisorId, Timestamp highWaterMark, Consumer<InboxDelta> listener) {
+            this.supervisorId = supervisorId;
+            this.highWaterMark = highWaterMark;
+            this.listener = listener;
+        }
+
+        public void cancel() {
+            subscriptions.remove(this);
+            stopPollingIfIdle();
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package Services;
+
+import DAOs.AttendanceDAO;
+import DAOs.AttendanceRollupDAO;
+import DAOs.DatabaseConnection;
+import DAOs.EmployeeDAO;
+import DAOs.TardinessRecordDAO;
+import Models.AttendanceModel;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming bulk importer for biometric attendance exports.
+ *
+ * The CSV file (employeeId,date,timeIn,timeOut - header row optional, dates
+ * as yyyy-MM-dd, times as HH:mm or HH:mm:ss, timeOut may be blank) is read in
+ * chunks, so memory use does not grow with the file. Each chunk is parsed and
+ * validated in parallel while the previous chunk is being written, employees
+ * are checked against every employee ID (terminated employees included, since
+ * exports can be historical), loaded once per import, and valid rows are
+ * upserted one chunk per transaction. A chunk the database rejects is retried
+ * row by row so one bad row does not drop its neighbours. Re-imported days
+ * lose their old LATE/UNDERTIME records in the same transaction; tardiness
+ * records and the daily attendance rollup for the imported date range are
+ * then generated set-wise at the end.
+ *
+ * Invalid rows are collected in the ImportReport instead of aborting the file,
+ * including rows dated on or before the attendance archive boundary (those
+ * days are read from the archive, see AttendanceArchiveDAO).
+ */
+public class AttendanceImportService {
+
+    public static final int CHUNK_SIZE = 1000;
+
+    private static final ZoneId MANILA_TIMEZONE = ZoneId.of("Asia/Manila");
+
+    private final AttendanceDAO attendanceDAO;
+    private final TardinessRecordDAO tardinessRecordDAO;
+    private final AttendanceRollupDAO rollupDAO;
+    private final EmployeeDAO employeeDAO;
+
+    public AttendanceImportService(DatabaseConnection databaseConnection) {
+        this.attendanceDAO = new AttendanceDAO(databaseConnection);
+        this.tardinessRecordDAO = new TardinessRecordDAO(databaseConnection);
+        this.rollupDAO = new AttendanceRollupDAO(databaseConnection);
+        this.employeeDAO = new EmployeeDAO(databaseConnection);
+    }
+
+    // IMPORT
+
+    /**
+     * Import a biometric CSV export
+     * @param csvFile Export file
+     * @return Import report (row counts and per-row errors)
+     */
+    public ImportReport importCsv(File csvFile) {
+        ImportReport report = new ImportReport();
+        Set<Integer> employeeIds = employeeDAO.getAllEmployeeIds();
+        if (employeeIds == null) {
+            report.addError(0, "Could not load employee IDs to validate against");
+            return report;
+        }
+
+        try (Reader fileReader = Files.newBufferedReader(csvFile.toPath(), StandardCharsets.UTF_8);
+             CSVReader reader = new CSVReader(fileReader)) {
+
+            int lineNumber = 0;
+            CompletableFuture<List<ParsedRow>> parsing = null;
+            List<String[]> chunk = new ArrayList<>(CHUNK_SIZE);
+            int chunkStartLine = 1;
+            String[] line;
+
+            while ((line = reader.readNext()) != null) {
+                lineNumber++;
+                if (lineNumber == 1 && isHeader(line)) {
+                    chunkStartLine = 2;
+                    continue;
+                }
+                chunk.add(line);
+
+                if (chunk.size() == CHUNK_SIZE) {
+                    // Parse this chunk while the previous one is written
+                    CompletableFuture<List<ParsedRow>> next = parseAsync(chunk, chunkStartLine, employeeIds);
+                    if (parsing != null) {
+                        writeChunk(parsing.join(), report);
+                    }
+                    parsing = next;
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                    chunkStartLine = lineNumber + 1;
+                }
+            }
+
+            if (parsing != null) {
+                writeChunk(parsing.join(), report);
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(parseAsync(chunk, chunkStartLine, employeeIds).join(), report);
+            }
+
+        } catch (IOException e) {
+            System.err.println("Error reading attendance import file: " + e.getMessage());
+            report.addError(0, "Could not read file: " + e.getMessage());
+        }
+
+        generateDerivedRecords(report);
+        System.out.println("Attendance import finished: " + report);
+        return report;
+    }
+
+    /**
+     * Import attendance rows that are already in memory, with the same
+     * validation, chunking and tardiness generation as importCsv()
+     * @param attendanceRecords Rows to import
+     * @return Import report; line numbers are 1-based list positions
+     */
+    public ImportReport importRecords(List<AttendanceModel> attendanceRecords) {
+        ImportReport report = new ImportReport();
+        if (attendanceRecords == null || attendanceRecords.isEmpty()) {
+            return report;
+        }
+        Set<Integer> employeeIds = employeeDAO.getAllEmployeeIds();
+        if (employeeIds == null) {
+            report.addError(0, "Could not load employee IDs to validate against");
+            return report;
+        }
+
+        for (int start = 0; start < attendanceRecords.size(); start += CHUNK_SIZE) {
+            int end = Math.min(start + CHUNK_SIZE, attendanceRecords.size());
+            int firstLine = start + 1;
+            List<ParsedRow> parsed = attendanceRecords.subList(start, end).parallelStream()
+                    .map(record -> validate(record, employeeIds))
+                    .collect(Collectors.toList());
+            for (int i = 0; i < parsed.size(); i++) {
+                parsed.get(i).lineNumber = firstLine + i;
+            }
+            writeChunk(parsed, report);
+        }
+
+        generateDerivedRecords(report);
+        return report;
+    }
+
+    // PARSING AND VALIDATION
+
+    private CompletableFuture<List<ParsedRow>> parseAsync(List<String[]> lines, int firstLine, Set<Integer> employeeIds) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<ParsedRow> parsed = lines.parallelStream()
+                    .map(fields -> parse(fields, employeeIds))
+                    .collect(Collectors.toList());
+            for (int i = 0; i < parsed.size(); i++) {
+                if (parsed.get(i) != ParsedRow.BLANK) {
+                    parsed.get(i).lineNumber = firstLine + i;
+                }
+            }
+            return parsed;
+        });
+    }
+
+    private ParsedRow parse(String[] fields, Set<Integer> employeeIds) {
+        if (fields.length == 1 && fields[0].trim().isEmpty()) {
+            return ParsedRow.BLANK;
+        }
+        if (fields.length < 3) {
+            return ParsedRow.error("Expected employeeId,date,timeIn[,timeOut] but found " + fields.length + " column(s)");
+        }
+        int employeeId;
+        try {
+            employeeId = Integer.parseInt(fields[0].trim());
+        } catch (NumberFormatException e) {
+            return ParsedRow.error("Invalid employee ID: " + fields[0]);
+        }
+
+        Date date;
+        try {
+            date = Date.valueOf(LocalDate.parse(fields[1].trim()));
+        } catch (DateTimeParseException e) {
+            return ParsedRow.error("Invalid date (expected yyyy-MM-dd): " + fields[1]);
+        }
+
+        Time timeIn;
+        Time timeOut = null;
+        try {
+            timeIn = parseTime(fields[2]);
+            if (fields.length > 3 && !fields[3].trim().isEmpty()) {
+                timeOut = parseTime(fields[3]);
+            }
+        } catch (DateTimeParseException e) {
+            return ParsedRow.error("Invalid time (expected HH:mm or HH:mm:ss): " + e.getParsedString());
+        }
+
+        return validate(new AttendanceModel(date, timeIn, timeOut, employeeId), employeeIds);
+    }
+
+    private ParsedRow validate(AttendanceModel record, Set<Integer> employeeIds) {
+        if (record.getDate() == null || record.getTimeIn() == null) {
+            return ParsedRow.error("Date and time in are required");
+        }
+        if (!employeeIds.contains(record.getEmployeeId())) {
+            return ParsedRow.error("Unknown employee ID: " + record.getEmployeeId());
+        }
+        if (record.getDate().toLocalDate().isAfter(LocalDate.now(MANILA_TIMEZONE))) {
+            return ParsedRow.error("Attendance date is in the future: " + record.getDate());
+        }
+        if (record.getTimeOut() != null && !record.getTimeOut().after(record.getTimeIn())) {
+            return ParsedRow.error("Time out " + record.getTimeOut() + " is not after time in " + record.getTimeIn());
+        }
+        return ParsedRow.valid(record);
+    }
+
+    private static Time parseTime(String value) {
+        return Time.valueOf(LocalTime.parse(value.trim()));
+    }
+
+    private static boolean isHeader(String[] line) {
+        return line.length > 0 && !line[0].trim().isEmpty() && !Character.isDigit(line[0].trim().charAt(0));
+    }
+
+    // WRITING
+
+    private void writeChunk(List<ParsedRow> rows, ImportReport report) {
+        List<AttendanceModel> valid = new ArrayList<>(rows.size());
+        List<ParsedRow> validRows = new ArrayList<>(rows.size());
+        LocalDate archivedThrough = attendanceDAO.getArchivedThrough();
+        for (ParsedRow row : rows) {
+            if (row == ParsedRow.BLANK) {
+                continue;
+            }
+            report.rowsRead++;
+            if (row.error != null) {
+                report.addError(row.lineNumber, row.error);
+            } else if (archivedThrough != null && !row.record.getDate().toLocalDate().isAfter(archivedThrough)) {
+                report.addError(row.lineNumber, "Attendance for " + row.record.getDate()
+                        + " has been archived and cannot be imported");
+            } else {
+                valid.add(row.record);
+                validRows.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        if (attendanceDAO.bulkUpsertAttendance(valid)) {
+            report.recordImported(valid);
+            return;
+        }
+
+        // Isolate the rows the database rejects
+        for (ParsedRow row : validRows) {
+            if (attendanceDAO.bulkUpsertAttendance(Collections.singletonList(row.record))) {
+                report.recordImported(Collections.singletonList(row.record));
+            } else {
+                report.addError(row.lineNumber, "Database rejected row for employee "
+                        + row.record.getEmployeeId() + " on " + row.record.getDate());
+            }
+        }
+    }
+
+    private void generateDerivedRecords(ImportReport report) {
+        if (report.firstDate != null) {
+            report.tardinessRecordsCreated = tardinessRecordDAO.generateTardinessRecords(report.firstDate, report.lastDate);
+            rollupDAO.refreshRange(report.firstDate, report.lastDate);
+        }
+    }
+
+    // RESULT TYPES
+
+    private static final class ParsedRow {
+        static final ParsedRow BLANK = new ParsedRow(null, null);
+
+        private int lineNumber;
+        private final AttendanceModel record;
+        private final String error;
+
+        private ParsedRow(AttendanceModel record, String error) {
+            this.record = record;
+            this.error = error;
+        }
+
+        static ParsedRow valid(AttendanceModel record) {
+            return new ParsedRow(record, null);
+        }
+
+        static ParsedRow error(String error) {
+            return new ParsedRow(null, error);
+        }
+    }
+
+    /**
+     * One rejected row
+     */
+    public static class ImportError {
+        private final int lineNumber;
+        private final String message;
+
+        public ImportError(int lineNumber, String message) {
+            this.lineNumber = lineNumber;
+            this.message = message;
+        }
+
+        public int getLineNumber() { return lineNumber; }
+        public String getMessage() { return message; }
+    }
+
+    /**
+     * Outcome of an import
+     */
+    public static class ImportReport {
+        private int rowsRead;
+        private int rowsImported;
+        private int tardinessRecordsCreated;
+        private LocalDate firstDate;
+        private LocalDate lastDate;
+        private final List<ImportError> errors = new ArrayList<>();
+
+        private void addError(int lineNumber, String message) {
+            errors.add(new ImportError(lineNumber, message));
+        }
+
+        private void recordImported(List<AttendanceModel> records) {
+            rowsImported += records.size();
+            for (AttendanceModel record : records) {
+                LocalDate date = record.getDate().toLocalDate();
+                if (firstDate == null || date.isBefore(firstDate)) {
+                    firstDate = date;
+                }
+                if (lastDate == null || date.isAfter(lastDate)) {
+                    lastDate = date;
+                }
+            }
+        }
+
+        public int getRowsRead() { return rowsRead; }
+        public int getRowsImported() { return rowsImported; }
+        public int getRowsRejected() { return errors.size(); }
+        public int getTardinessRecordsCreated() { return tardinessRecordsCreated; }
+        public LocalDate getFirstDate() { return firstDate; }
+        public LocalDate getLastDate() { return lastDate; }
+        public List<ImportError> getErrors() { return Collections.unmodifiableList(errors); }
+        public boolean hasErrors() { return !errors.isEmpty(); }
+
+        /**
+         * Write the rejected rows as a CSV error report (line,error)
+         * @param reportFile Destination file
+         * @return true if the report was written
+         */
+        public boolean writeErrorReport(File reportFile) {
+            try (Writer fileWriter = Files.newBufferedWriter(reportFile.toPath(), StandardCharsets.UTF_8);
+                 CSVWriter writer = new CSVWriter(fileWriter)) {
+                writer.writeNext(new String[] {"line", "error"});
+                for (ImportError error : errors) {
+                    writer.writeNext(new String[] {String.valueOf(error.getLineNumber()), error.getMessage()});
+                }
+                return true;
+            } catch (IOException e) {
+                System.err.println("Error writing import error report: " + e.getMessage());
+                return false;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ImportReport{rowsRead=%d, imported=%d, rejected=%d, tardinessCreated=%d}",
+                    rowsRead, rowsImported, errors.size(), tardinessRecordsCreated);
+        }
+    }
+}
@@ -2,12 +2,19 @@ package Services;
 
 import Models.AttendanceModel;
 import Models.TardinessRecordModel;
+import DAOs.AttendanceArchiveDAO;
 import DAOs.AttendanceDAO;
+import DAOs.AttendanceRollupDAO;
+import DAOs.ClockEventJournal;
 import DAOs.TardinessRecordDAO;
 import DAOs.EmployeeDAO;
 import DAOs.DatabaseConnection;
+import Utility.AttendanceRules;
+import Utility.WorkdayCalendar;
 import java.time.YearMonth;
 import java.math.BigDecimal;
+import java.io.File;
+import java.io.IOException;
 
 import java.sql.*;
 import java.time.*;
@@ -15,6 +22,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * AttendanceService with TardinessRecordDAO integration
@@ -29,14 +39,23 @@ public class AttendanceService {
     private AttendanceDAO attendanceDAO;
     private TardinessRecordDAO tardinessRecordDAO;
     private EmployeeDAO employeeDAO;
+    private AttendanceRollupDAO rollupDAO;
     private DatabaseConnection databaseConnection;
     
+    // Journal file for write-behind clocking, e.g. -Dpayroll.clock.journal=C:/payroll/clock-events.journal
+    public static final String CLOCK_JOURNAL_PROPERTY = "payroll.clock.journal";
+    
+    // Set by enableWriteBehind(); null means punches go straight to the database
+    private volatile ClockEventJournal clockJournal;
+    private boolean shutdownHookAdded = false;
+    
     // Constructors
     public AttendanceService() {
         this.databaseConnection = new DatabaseConnection();
         this.attendanceDAO = new AttendanceDAO();
         this.tardinessRecordDAO = new TardinessRecordDAO(this.databaseConnection);
         this.employeeDAO = new EmployeeDAO(this.databaseConnection);
+        this.rollupDAO = new AttendanceRollupDAO(this.databaseConnection);
     }
     
     /**
@@ -48,6 +67,7 @@ public class AttendanceService {
         this.attendanceDAO = new AttendanceDAO(databaseConnection);
         this.tardinessRecordDAO = new TardinessRecordDAO(databaseConnection);
         this.employeeDAO = new EmployeeDAO(databaseConnection);
+        this.rollupDAO = new AttendanceRollupDAO(databaseConnection);
     }
     
     public AttendanceService(AttendanceDAO attendanceDAO, TardinessRecordDAO tardinessRecordDAO) {
@@ -55,6 +75,108 @@ public class AttendanceService {
         this.tardinessRecordDAO = tardinessRecordDAO;
         this.databaseConnection = new DatabaseConnection();
         this.employeeDAO = new EmployeeDAO(this.databaseConnection);
+        this.rollupDAO = new AttendanceRollupDAO(this.databaseConnection);
+    }
+    
+    // Write-behind clocking
+    
+    /**
+     * Switch clock-in/clock-out to write-behind mode: punches are appended to
+     * a local journal and acknowledged at once, and a background flusher
+     * writes them to the attendance table in batches. Events left in the
+     * journal by a previous run are replayed first.
+     * @param journalFile Local journal file
+     * @return true if the journal was opened
+     */
+    public synchronized boolean enableWriteBehind(File journalFile) {
+        if (clockJournal != null) {
+            return true;
+        }
+        try {
+            ClockEventJournal journal = new ClockEventJournal(journalFile);
+            journal.startFlusher(this::writeJournaledEvents, ClockEventJournal.DEFAULT_FLUSH_INTERVAL_MILLIS);
+            clockJournal = journal;
+            if (!shutdownHookAdded) {
+                // Last flush on exit; whatever the database does not take is replayed next start
+                Runtime.getRuntime().addShutdownHook(new Thread(this::disableWriteBehind, "clock-journal-close"));
+                shutdownHookAdded = true;
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Could not open clock event journal, clocking directly: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Enable write-behind if a journal file is configured with the
+     * payroll.clock.journal system property (clock terminals)
+     * @return true if write-behind is on
+     */
+    public boolean enableWriteBehindIfConfigured() {
+        String journalPath = System.getProperty(CLOCK_JOURNAL_PROPERTY);
+        if (journalPath == null || journalPath.trim().isEmpty()) {
+            return false;
+        }
+        return enableWriteBehind(new File(journalPath.trim()));
+    }
+    
+    /**
+     * Flush what the database accepts and close the journal; later punches
+     * are written directly again
+     */
+    public synchronized void disableWriteBehind() {
+        if (clockJournal != null) {
+            clockJournal.close(this::writeJournaledEvents);
+            clockJournal = null;
+        }
+    }
+    
+    /**
+     * Number of journaled punches not yet in the database (0 when write-behind is off)
+     */
+    public int getPendingClockEventCount() {
+        ClockEventJournal journal = clockJournal;
+        return journal != null ? journal.getPendingCount() : 0;
+    }
+    
+    private ClockEventJournal.WriteResult writeJournaledEvents(List<ClockEventJournal.ClockEvent> events) {
+        ClockEventJournal.WriteResult result = attendanceDAO.writeClockEvents(events);
+        if (result != ClockEventJournal.WriteResult.STORED) {
+            return result;
+        }
+        Set<LocalDate> dates = new HashSet<>();
+        for (ClockEventJournal.ClockEvent event : events) {
+            dates.add(event.getDate().toLocalDate());
+        }
+        rollupDAO.refreshDays(dates);
+        return result;
+    }
+    
+    private boolean journalPunch(ClockEventJournal journal, ClockEventJournal.EventType type, int employeeId) {
+        Date currentDate = AttendanceModel.getCurrentDateInManila();
+        Time currentTime = AttendanceModel.getCurrentTimeInManila();
+        
+        if (type == ClockEventJournal.EventType.OUT
+                && !journal.hasPunch(ClockEventJournal.EventType.IN, employeeId, currentDate)) {
+            // Time in was not journaled here (e.g. before write-behind was enabled)
+            AttendanceModel attendance = attendanceDAO.getAttendanceByEmployeeAndDate(employeeId, currentDate);
+            if (attendance == null || !attendance.hasTimeIn()) {
+                System.out.println("No time in record found for employee " + employeeId + " today");
+                return false;
+            }
+        }
+        
+        try {
+            if (journal.append(type, employeeId, currentDate, currentTime) == null) {
+                System.out.println("Employee " + employeeId + " already timed " + (type == ClockEventJournal.EventType.IN ? "in" : "out") + " today");
+                return false;
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error journaling clock event: " + e.getMessage());
+            return false;
+        }
     }
     
     // Core attendance operations with enhanced grace period logic
@@ -66,56 +188,42 @@ public class AttendanceService {
      * @return 
      */
     public boolean recordTimeIn(int employeeId) {
+        ClockEventJournal journal = clockJournal;
+        if (journal != null) {
+            return journalPunch(journal, ClockEventJournal.EventType.IN, employeeId);
+        }
         try {
             Date currentDate = AttendanceModel.getCurrentDateInManila();
             Time currentTime = AttendanceModel.getCurrentTimeInManila();
             
-            // Check if employee already has attendance for today
-            AttendanceModel existing = attendanceDAO.getAttendanceByEmployeeAndDate(employeeId, currentDate);
-            if (existing != null && existing.hasTimeIn()) {
-                System.out.println("Employee " + employeeId + " already timed in today");
-                return false; // Already timed in
-            }
+            AttendanceModel attendance = new AttendanceModel(currentDate, currentTime, null, employeeId);
             
-            AttendanceModel attendance;
-            if (existing != null) {
-                // Update existing record with time in
-                existing.setTimeIn(currentTime);
-                attendance = existing;
-            } else {
-                // Create new attendance record
-                attendance = new AttendanceModel(currentDate, currentTime, null, employeeId);
+            // Late record (beyond the 8:10 AM grace period) is written in the same transaction
+            TardinessRecordModel lateRecord = null;
+            if (attendance.isLateAttendance()) {
+                BigDecimal lateHours = BigDecimal.valueOf(
+                        AttendanceRules.lateMinutes(attendance.getTimeInSecondOfDay()) / 60.0);
+                lateRecord = new TardinessRecordModel(null, lateHours, TardinessRecordModel.TardinessType.LATE,
+                        "Late arrival at " + attendance.getFormattedTimeIn() + " - " + lateHours.setScale(2, java.math.RoundingMode.HALF_UP) + " hours late");
             }
             
-            // Save attendance
-            boolean success = existing != null ? 
-                attendanceDAO.updateAttendance(attendance) : 
-                attendanceDAO.createAttendance(attendance);
+            // One connection, one transaction, no read-before-write
+            Integer attendanceId = attendanceDAO.recordClockIn(employeeId, currentDate, currentTime, lateRecord);
+            boolean success = attendanceId != null;
             
             if (success) {
-                // Ensure attendance ID is set for tardiness record creation
-                if (attendance.getAttendanceId() == null && existing == null) {
-                    // Fetch the created attendance to get the ID
-                    AttendanceModel created = attendanceDAO.getAttendanceByEmployeeAndDate(employeeId, currentDate);
-                    if (created != null) {
-                        attendance.setAttendanceId(created.getAttendanceId());
-                    }
-                }
-                
-                // Create tardiness record only if beyond grace period (8:10 AM)
-                if (attendance.isLateAttendance() && attendance.getAttendanceId() != null) {
-                    boolean tardinessCreated = createTardinessRecord(attendance, TardinessRecordModel.TardinessType.LATE);
-                    if (tardinessCreated) {
-                        System.out.println("Late attendance recorded for employee " + employeeId + 
-                                         " at " + currentTime + " (beyond 8:10 AM grace period)");
-                    } else {
-                        System.err.println("Failed to create tardiness record for employee " + employeeId);
-                    }
-                } else if (attendance.isWithinGracePeriod()) {
-                    System.out.println("Employee " + employeeId + " timed in within grace period at " + currentTime);
-                } else {
-                    System.out.println("Employee " + employeeId + " timed in on time at " + currentTime);
-                }
+                rollupDAO.recordClockIn(employeeId, currentDate, lateRecord != null);
+            }
+            
+            if (!success) {
+                System.out.println("Employee " + employeeId + " already timed in today");
+            } else if (lateRecord != null) {
+                System.out.println("Late attendance recorded for employee " + employeeId + 
+                                 " at " + currentTime + " (beyond 8:10 AM grace period)");
+            } else if (attendance.isWithinGracePeriod()) {
+                System.out.println("Employee " + employeeId + " timed in within grace period at " + currentTime);
+            } else {
+                System.out.println("Employee " + employeeId + " timed in on time at " + currentTime);
             }
             
             return success;
@@ -131,6 +239,10 @@ public class AttendanceService {
      * UPDATED: Enhanced tardiness record creation with proper error handling
      */
     public boolean recordTimeOut(int employeeId) {
+        ClockEventJournal journal = clockJournal;
+        if (journal != null) {
+            return journalPunch(journal, ClockEventJournal.EventType.OUT, employeeId);
+        }
         try {
             Date currentDate = AttendanceModel.getCurrentDateInManila();
             Time currentTime = AttendanceModel.getCurrentTimeInManila();
@@ -153,6 +265,10 @@ public class AttendanceService {
             boolean success = attendanceDAO.updateAttendance(attendance);
             
             if (success) {
+                if (attendance.isEarlyOut()) {
+                    rollupDAO.recordUndertime(employeeId, currentDate);
+                }
+                
                 // Create tardiness record for early departure (undertime)
                 if (attendance.isEarlyOut() && attendance.getAttendanceId() != null) {
                     boolean tardinessCreated = createTardinessRecord(attendance, TardinessRecordModel.TardinessType.UNDERTIME);
@@ -218,6 +334,7 @@ public class AttendanceService {
                     }
                 }
                 
+                rollupDAO.refreshDays(Collections.singleton(date.toLocalDate()));
                 System.out.println("Manual attendance created for employee " + employeeId + 
                                  " on " + date + " - Reason: " + reason);
             }
@@ -246,6 +363,7 @@ public class AttendanceService {
             if (success) {
                 // Update tardiness records
                 updateTardinessRecords(attendance);
+                rollupDAO.refreshDays(Collections.singleton(attendance.getDate().toLocalDate()));
                 System.out.println("Attendance updated for employee " + attendance.getEmployeeId() + 
                                  " on " + attendance.getDate());
             }
@@ -260,7 +378,13 @@ public class AttendanceService {
     
     /**
      * Get attendance records with calculated hours from payslip view logic.
-     * Applies business rules for rank-and-file vs salaried employees
+     * Applies business rules for rank-and-file vs salaried employees.
+     * Hours are read from the stored columns maintained by MySQL on write
+     * (see AttendanceDAO.withComputedHours), and the date filter is a
+     * plain range on a.date so the (employeeId, date) key is used.
+     * @param employeeId
+     * @param dateFilter "yyyy", "yyyy-MM", or null/"All" for the last 90 days
+     * @return 
      */
     public List<AttendanceModel> getAttendanceRecordsWithCalculatedHours(int employeeId, String dateFilter) {
         List<AttendanceModel> records = new ArrayList<>();
@@ -273,101 +397,82 @@ public class AttendanceService {
             System.err.println("Error checking employee rank: " + e.getMessage());
         }
         
-        String sql = """
-            SELECT 
-                a.attendanceId,
-                a.employeeId,
-                a.date,
-                a.timeIn,
-                a.timeOut,
-                -- Hours worked based on employee type
-                CASE 
-                    WHEN ? = 1 THEN  -- Rank-and-file employee
-                        CASE 
-                            WHEN a.timeIn IS NOT NULL AND a.timeOut IS NOT NULL THEN
-                                GREATEST(0, 
-                                    (TIME_TO_SEC(LEAST(a.timeOut, '17:00:00')) - TIME_TO_SEC(GREATEST(a.timeIn, '08:00:00'))) / 3600.0
-                                    - CASE 
-                                        WHEN GREATEST(a.timeIn, '08:00:00') <= '12:00:00' AND LEAST(a.timeOut, '17:00:00') >= '13:00:00' 
-                                        THEN 1.0 
-                                        ELSE 0.0 
-                                      END
-                                )
-                            ELSE 0.00 
-                        END
-                    ELSE  -- Non rank-and-file employee: always 8 hours if present
-                        CASE WHEN a.timeIn IS NOT NULL THEN 8.00 ELSE 0.00 END
-                END AS hours_worked,
-                -- Late hours: only for rank-and-file employees
-                CASE 
-                    WHEN ? = 1 AND a.timeIn > '08:10:00'
-                    THEN (TIME_TO_SEC(a.timeIn) - TIME_TO_SEC('08:00:00')) / 3600.0
-                    ELSE 0.00 
-                END AS late_hours,
-                -- Overtime hours: only for rank-and-file employees
-                CASE 
-                    WHEN ? = 1 AND a.timeIn IS NOT NULL AND a.timeOut IS NOT NULL THEN
-                        CASE WHEN a.timeIn < '08:00:00' 
-                             THEN (TIME_TO_SEC('08:00:00') - TIME_TO_SEC(a.timeIn)) / 3600.0 
-                             ELSE 0 END
-                        +
-                        CASE WHEN a.timeOut > '17:00:00' 
-                             THEN (TIME_TO_SEC(a.timeOut) - TIME_TO_SEC('17:00:00')) / 3600.0 
-                             ELSE 0 END
-                    ELSE 0.00 
-                END AS overtime_hours
-            FROM attendance a
-            WHERE a.employeeId = ?
-        """;
-        
-        // Apply date filtering
-        if (dateFilter != null && !dateFilter.equals("All")) {
-            if (dateFilter.length() == 4) { // Year format
-                sql += " AND YEAR(a.date) = ?";
-            } else { // Month format
-                sql += " AND DATE_FORMAT(a.date, '%Y-%m') = ?";
+        // Date range [startDate, endDate)
+        LocalDate startDate;
+        LocalDate endDate;
+        try {
+            if (dateFilter != null && !dateFilter.equals("All")) {
+                if (dateFilter.length() == 4) { // Year format
+                    startDate = LocalDate.of(Integer.parseInt(dateFilter), 1, 1);
+                    endDate = startDate.plusYears(1);
+                } else { // Month format
+                    startDate = YearMonth.parse(dateFilter).atDay(1);
+                    endDate = startDate.plusMonths(1);
+                }
+            } else {
+                // Default to last 3 months if no filter
+                LocalDate today = LocalDate.now(MANILA_TIMEZONE);
+                startDate = today.minusDays(90);
+                endDate = today.plusDays(1);
             }
-        } else {
-            // Default to last 3 months if no filter
-            sql += " AND a.date >= DATE_SUB(CURDATE(), INTERVAL 90 DAY)";
+        } catch (RuntimeException e) {
+            System.err.println("Invalid attendance date filter: " + dateFilter);
+            return records;
         }
         
-        sql += " ORDER BY a.date DESC LIMIT 1000";
+        String sql = """
+            SELECT a.attendanceId, a.employeeId, a.date, a.timeIn, a.timeOut,
+                   a.regularHours, a.lateHours, a.overtimeHours
+            FROM attendance a
+            WHERE a.employeeId = ? AND a.date >= ? AND a.date < ?
+            ORDER BY a.date DESC LIMIT 1000
+            """;
         
-        try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, isRankAndFile ? 1 : 0);  // hours_worked logic
-            stmt.setInt(2, isRankAndFile ? 1 : 0);  // late_hours logic
-            stmt.setInt(3, isRankAndFile ? 1 : 0);  // overtime_hours logic
-            stmt.setInt(4, employeeId);
-            
-            if (dateFilter != null && !dateFilter.equals("All")) {
-                if (dateFilter.length() == 4) {
-                    stmt.setInt(5, Integer.parseInt(dateFilter));
-                } else {
-                    stmt.setString(5, dateFilter);
-                }
+        try (Connection conn = databaseConnection.createConnection()) {
+            List<String> queries = new ArrayList<>();
+            queries.add(AttendanceDAO.withComputedHours(conn, sql, "a"));
+            if (AttendanceArchiveDAO.reachesArchive(conn, startDate)) {
+                // Archived days are all older than live ones, so appending keeps newest-first order
+                queries.add(AttendanceDAO.archiveWithComputedHours(sql, "a"));
             }
             
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    AttendanceModel attendance = new AttendanceModel();
-                    attendance.setAttendanceId(rs.getInt("attendanceId"));
-                    attendance.setEmployeeId(rs.getInt("employeeId"));
+            for (String query : queries) {
+                try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                    stmt.setInt(1, employeeId);
+                    stmt.setDate(2, Date.valueOf(startDate));
+                    stmt.setDate(3, Date.valueOf(endDate));
+            
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            AttendanceModel attendance = new AttendanceModel();
+                            attendance.setAttendanceId(rs.getInt("attendanceId"));
+                            attendance.setEmployeeId(rs.getInt("employeeId"));
+                    
+                            Date sqlDate = rs.getDate("date");
+                            Time sqlTimeIn = rs.getTime("timeIn");
+                            Time sqlTimeOut = rs.getTime("timeOut");
                     
-                    Date sqlDate = rs.getDate("date");
-                    Time sqlTimeIn = rs.getTime("timeIn");
-                    Time sqlTimeOut = rs.getTime("timeOut");
-                    double hoursWorked = rs.getDouble("hours_worked");
-                    double lateHours = rs.getDouble("late_hours");
-                    double overtimeHours = rs.getDouble("overtime_hours");
+                            double hoursWorked;
+                            double lateHours;
+                            double overtimeHours;
+                            if (isRankAndFile) {
+                                hoursWorked = rs.getDouble("regularHours");
+                                lateHours = rs.getDouble("lateHours");
+                                overtimeHours = rs.getDouble("overtimeHours");
+                            } else {
+                                // Non rank-and-file employee: always 8 hours if present
+                                hoursWorked = sqlTimeIn != null ? 8.0 : 0.0;
+                                lateHours = 0.0;
+                                overtimeHours = 0.0;
+                            }
                     
-                    // Set attendance data with database-calculated values
-                    attendance.setAttendanceDataWithCalculatedValues(
-                        sqlDate, sqlTimeIn, sqlTimeOut, hoursWorked, lateHours, overtimeHours);
+                            // Set attendance data with database-calculated values
+                            attendance.setAttendanceDataWithCalculatedValues(
+                                sqlDate, sqlTimeIn, sqlTimeOut, hoursWorked, lateHours, overtimeHours);
                     
-                    records.add(attendance);
+                            records.add(attendance);
+                        }
+                    }
                 }
             }
             
@@ -405,11 +510,7 @@ public class AttendanceService {
      * Check if employee is within 8:10 AM grace period
      */
     public boolean isWithinGracePeriod(Time timeIn) {
-        if (timeIn == null) return false;
-        
-        LocalTime actualTimeIn = timeIn.toLocalTime();
-        return actualTimeIn.isAfter(STANDARD_START_TIME) && 
-               !actualTimeIn.isAfter(GRACE_PERIOD_CUTOFF);
+        return AttendanceRules.isWithinGracePeriod(AttendanceRules.toSecondOfDay(timeIn));
     }
     
     /**
@@ -712,26 +813,13 @@ public class AttendanceService {
     }
     
     public boolean isWithinWorkHours() {
-        LocalTime currentTime = LocalTime.now(MANILA_TIMEZONE);
-        return !currentTime.isBefore(STANDARD_START_TIME) && !currentTime.isAfter(STANDARD_END_TIME);
+        return AttendanceRules.isWithinWorkHours(LocalTime.now(MANILA_TIMEZONE).toSecondOfDay());
     }
     
     public int getWorkingDaysInMonth(int month, int year) {
         LocalDate startDate = LocalDate.of(year, month, 1);
         LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-        
-        int workingDays = 0;
-        LocalDate current = startDate;
-        
-        while (!current.isAfter(endDate)) {
-            DayOfWeek dayOfWeek = current.getDayOfWeek();
-            if (dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY) {
-                workingDays++;
-            }
-            current = current.plusDays(1);
-        }
-        
-        return workingDays;
+        return WorkdayCalendar.getInstance().countWorkdays(startDate, endDate);
     }
     
     public Map<String, Object> getGracePeriodInfo() {
@@ -745,18 +833,12 @@ public class AttendanceService {
     
     public double calculateAttendanceComplianceRate(int employeeId, Date startDate, Date endDate) {
         try {
-            List<AttendanceModel> attendanceList = getAttendanceByEmployeeAndDateRange(employeeId, startDate, endDate);
             int workingDays = attendanceDAO.getWorkingDaysCount(startDate, endDate);
             
             if (workingDays == 0) return 100.0;
             
-            int compliantDays = 0;
-            for (AttendanceModel attendance : attendanceList) {
-                if (attendance.isCompleteAttendance() && 
-                    (!attendance.isLateAttendance() || attendance.isWithinGracePeriod())) {
-                    compliantDays++;
-                }
-            }
+            // Complete days with time in by the 8:10 AM cutoff, counted in the database
+            int compliantDays = attendanceDAO.countCompliantDays(employeeId, startDate, endDate);
             
             return (double) compliantDays / workingDays * 100.0;
         } catch (Exception e) {
@@ -765,6 +847,24 @@ public class AttendanceService {
         }
     }
     
+    /**
+     * Get per-department attendance counts for a day from the daily rollup
+     * @param date Report date
+     * @return One row per department
+     */
+    public List<AttendanceRollupDAO.DepartmentDay> getDailyAttendanceSummary(LocalDate date) {
+        return rollupDAO.getDay(date);
+    }
+    
+    /**
+     * Get company-wide attendance counts for each day of a month from the daily rollup
+     * @param yearMonth Report month
+     * @return One row per day
+     */
+    public List<AttendanceRollupDAO.DepartmentDay> getMonthlyAttendanceTotals(YearMonth yearMonth) {
+        return rollupDAO.getDailyTotals(yearMonth);
+    }
+    
     /**
      * Get daily attendance report for all employees on a specific date
      */
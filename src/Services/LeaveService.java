@@ -6,16 +6,22 @@ import Models.AttendanceModel;
 import DAOs.LeaveRequestDAO;
 import DAOs.LeaveBalanceDAO;
 import DAOs.AttendanceDAO;
+import DAOs.AttendanceRollupDAO;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import DAOs.DatabaseConnection;
 
 import java.sql.Date;
 import java.time.*;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public class LeaveService {
     private static final ZoneId MANILA_TIMEZONE = ZoneId.of("Asia/Manila");
@@ -23,12 +29,14 @@ public class LeaveService {
     private LeaveRequestDAO leaveRequestDAO;
     private LeaveBalanceDAO leaveBalanceDAO;
     private AttendanceDAO attendanceDAO;
+    private AttendanceRollupDAO rollupDAO;
     
     // Constructors - Fixed to avoid EmployeeDAO dependency issues
     public LeaveService() {
         this.leaveRequestDAO = new LeaveRequestDAO();
         this.leaveBalanceDAO = new LeaveBalanceDAO();
         this.attendanceDAO = new AttendanceDAO();
+        this.rollupDAO = new AttendanceRollupDAO();
     }
    
    
@@ -36,6 +44,7 @@ public LeaveService(DatabaseConnection databaseConnection) {
     this.leaveRequestDAO = new LeaveRequestDAO();
     this.leaveBalanceDAO = new LeaveBalanceDAO();
     this.attendanceDAO = new AttendanceDAO();
+    this.rollupDAO = new AttendanceRollupDAO(databaseConnection);
 }
     
     public LeaveService(LeaveRequestDAO leaveRequestDAO, LeaveBalanceDAO leaveBalanceDAO, 
@@ -43,6 +52,7 @@ public LeaveService(DatabaseConnection databaseConnection) {
         this.leaveRequestDAO = leaveRequestDAO;
         this.leaveBalanceDAO = leaveBalanceDAO;
         this.attendanceDAO = attendanceDAO;
+        this.rollupDAO = new AttendanceRollupDAO();
     }
     
     // Core leave operations with enhanced conflict resolution
@@ -60,26 +70,19 @@ public LeaveService(DatabaseConnection databaseConnection) {
                 return false;
             }
             
-            // Check leave balance
-            if (!hasSufficientLeaveBalance(request.getEmployeeId(), request.getLeaveTypeId(), request.getWorkingDaysCount())) {
-                System.err.println("Insufficient leave balance for request");
+            // Balance and attendance conflicts in one query, overlaps from the interval index
+            LeaveRequestDAO.SubmissionCheck check = validateLeaveSubmission(request);
+            if (!check.isAccepted()) {
+                System.err.println("Leave request rejected: " + check.getRejectionReason());
                 return false;
             }
             
-            // Check for conflicts with existing attendance
-            Map<String, Object> conflictAnalysis = analyzeAttendanceConflicts(request);
-            if ((Boolean) conflictAnalysis.get("hasConflicts")) {
+            if (check.hasAttendanceConflicts()) {
                 request.setHasAttendanceConflict(true);
                 System.out.println("Leave request has attendance conflicts but will be allowed with conflict flag");
                 // Still allow submission but mark the conflict for HR review
             }
             
-            // Check for overlapping leave requests
-            if (hasOverlappingLeaveRequests(request)) {
-                System.err.println("Overlapping leave requests found");
-                return false;
-            }
-            
             // Submit the request
             boolean success = leaveRequestDAO.createLeaveRequest(request);
             
@@ -99,6 +102,16 @@ public LeaveService(DatabaseConnection databaseConnection) {
             return false;
         }
     }
+    
+    /**
+     * Check a leave request against the current year's balance, attendance and
+     * existing requests without submitting it
+     * @param request Leave request to check
+     * @return Verdict with the balance, conflict dates and overlapping request IDs
+     */
+    public LeaveRequestDAO.SubmissionCheck validateLeaveSubmission(LeaveRequestModel request) {
+        return leaveRequestDAO.checkLeaveSubmission(request, Year.now(MANILA_TIMEZONE));
+    }
     /**
  * Get employee leave summary for a specific year
  * @param employeeId Employee ID
@@ -183,17 +196,17 @@ public static class LeaveSummary {
      */
     public boolean approveLeaveRequest(int requestId, String supervisorNotes, int approverId) {
         try {
-            LeaveRequestModel request = leaveRequestDAO.getLeaveRequestById(requestId);
-            if (request == null || !request.isPending()) {
-                System.err.println("Leave request not found or not pending approval");
-                return false;
-            }
-            
-            // Re-check leave balance before approval
-            if (!hasSufficientLeaveBalance(request.getEmployeeId(), request.getLeaveTypeId(), request.getWorkingDaysCount())) {
-                System.err.println("Insufficient leave balance at approval time");
+            // Status, balance and ledger entry are written in one transaction (a batch
+            // of one), with the request and balance rows locked, so concurrent
+            // approvals cannot oversubscribe the balance and a failed status update
+            // never leaves a deduction behind
+            LeaveRequestDAO.BulkApprovalOutcome outcome = leaveRequestDAO.bulkApproveLeaveRequests(
+                    Collections.singletonList(requestId), supervisorNotes, Year.now(MANILA_TIMEZONE)).get(0);
+            if (!outcome.isApproved()) {
+                System.err.println("Leave request " + requestId + " not approved: " + outcome.getMessage());
                 return false;
             }
+            LeaveRequestModel request = outcome.getRequest();
             
             // Analyze and resolve attendance conflicts during approval
             Map<String, Object> conflictAnalysis = analyzeAttendanceConflicts(request);
@@ -202,23 +215,46 @@ public static class LeaveSummary {
                 resolveAttendanceConflictsForApprovedLeave(request);
             }
             
-            // Approve the request
-            request.approve(supervisorNotes);
-            boolean success = leaveRequestDAO.updateLeaveRequest(request);
-            
-            if (success) {
-                // Update leave balance
-                updateLeaveBalanceForApproval(request);
-                System.out.println("Leave request approved and balance updated for employee " + request.getEmployeeId());
-            }
-            
-            return success;
+            refreshAttendanceRollup(request);
+            System.out.println("Leave request approved and balance updated for employee " + request.getEmployeeId());
+            return true;
         } catch (Exception e) {
             System.err.println("Error approving leave request: " + e.getMessage());
             return false;
         }
     }
     
+    /**
+     * Approve a backlog of leave requests in one transaction
+     * @param requestIds Leave request IDs
+     * @param supervisorNotes Approval notes
+     * @param approverId Approver ID
+     * @return One outcome per request, in the given order
+     */
+    public List<LeaveRequestDAO.BulkApprovalOutcome> bulkApproveLeaveRequests(List<Integer> requestIds,
+                                                                             String supervisorNotes, int approverId) {
+        List<LeaveRequestDAO.BulkApprovalOutcome> outcomes =
+            leaveRequestDAO.bulkApproveLeaveRequests(requestIds, supervisorNotes, Year.now(MANILA_TIMEZONE));
+        
+        // Recompute the rollup once for every day touched by an approved leave
+        Set<LocalDate> leaveDays = new HashSet<>();
+        int approvedCount = 0;
+        for (LeaveRequestDAO.BulkApprovalOutcome outcome : outcomes) {
+            if (outcome.isApproved()) {
+                approvedCount++;
+                LeaveRequestModel request = outcome.getRequest();
+                for (LocalDate day = request.getLeaveStart().toLocalDate();
+                     !day.isAfter(request.getLeaveEnd().toLocalDate()); day = day.plusDays(1)) {
+                    leaveDays.add(day);
+                }
+            }
+        }
+        rollupDAO.refreshDays(leaveDays);
+        
+        System.out.println("Bulk approval by " + approverId + ": " + approvedCount + " of " + outcomes.size() + " leave requests approved");
+        return outcomes;
+    }
+    
     /**
      * Reject leave request
      * @param requestId Leave request ID
@@ -273,6 +309,9 @@ public static class LeaveSummary {
             boolean success = leaveRequestDAO.deleteLeaveRequest(requestId);
             
             if (success) {
+                if (request.isApproved()) {
+                    refreshAttendanceRollup(request);
+                }
                 System.out.println("Leave request cancelled successfully for employee " + employeeId);
             }
             
@@ -283,6 +322,15 @@ public static class LeaveSummary {
         }
     }
     
+    /**
+     * Recompute the daily attendance rollup (on-leave counts) for the days of a leave
+     */
+    private void refreshAttendanceRollup(LeaveRequestModel request) {
+        if (request.getLeaveStart() != null && request.getLeaveEnd() != null) {
+            rollupDAO.refreshRange(request.getLeaveStart().toLocalDate(), request.getLeaveEnd().toLocalDate());
+        }
+    }
+    
     // Enhanced conflict resolution methods
     
     /**
@@ -388,31 +436,6 @@ public static class LeaveSummary {
         }
     }
     
-    /**
-     * Check for overlapping leave requests
-     * @param request Leave request to check
-     * @return true if overlapping requests exist
-     */
-    private boolean hasOverlappingLeaveRequests(LeaveRequestModel request) {
-        try {
-            List<LeaveRequestModel> existingRequests = leaveRequestDAO.getLeaveRequestsByEmployeeAndDateRange(
-                request.getEmployeeId(), request.getLeaveStart(), request.getLeaveEnd());
-            
-            for (LeaveRequestModel existing : existingRequests) {
-                if (existing.getLeaveRequestId() != request.getLeaveRequestId() && 
-                    (existing.isPending() || existing.isApproved())) {
-                    System.out.println("Overlapping leave request found: " + existing.getLeaveRequestId());
-                    return true; // Overlapping request found
-                }
-            }
-            
-            return false;
-        } catch (Exception e) {
-            System.err.println("Error checking overlapping requests: " + e.getMessage());
-            return false;
-        }
-    }
-    
     // Enhanced leave balance management with conflict consideration
     
     /**
@@ -447,30 +470,29 @@ public static class LeaveSummary {
      * Only deduct effective leave days (excluding attendance conflicts)
      * @param request Approved leave request
      */
-    private void updateLeaveBalanceForApproval(LeaveRequestModel request) {
+    private boolean updateLeaveBalanceForApproval(LeaveRequestModel request) {
         try {
             // Analyze conflicts to get effective leave days
             Map<String, Object> analysis = analyzeAttendanceConflicts(request);
             int effectiveLeaveDays = (Integer) analysis.get("effectiveLeaveDays");
             
-            Year currentYear = Year.now(MANILA_TIMEZONE);
-            LeaveBalance balance = leaveBalanceDAO.getLeaveBalance(
-                request.getEmployeeId(), request.getLeaveTypeId(), currentYear);
-            
-            if (balance != null && effectiveLeaveDays > 0) {
-                if (balance.deductLeave(effectiveLeaveDays)) {
-                    leaveBalanceDAO.updateLeaveBalance(balance);
-                    System.out.println("Leave balance updated - Deducted: " + effectiveLeaveDays + 
-                                     " days (after conflict resolution)");
-                } else {
-                    System.err.println("Failed to deduct leave from balance");
-                }
-            } else if (effectiveLeaveDays == 0) {
+            if (effectiveLeaveDays == 0) {
                 System.out.println("No leave balance deduction needed - all leave dates had attendance conflicts");
+                return true;
+            }
+            
+            Year currentYear = Year.now(MANILA_TIMEZONE);
+            if (leaveBalanceDAO.deductLeaveFromBalance(request.getEmployeeId(), request.getLeaveTypeId(),
+                    currentYear, effectiveLeaveDays, request.getLeaveRequestId())) {
+                System.out.println("Leave balance updated - Deducted: " + effectiveLeaveDays + 
+                                 " days (after conflict resolution)");
+                return true;
             }
+            System.err.println("Failed to deduct leave from balance");
         } catch (Exception e) {
             System.err.println("Error updating leave balance: " + e.getMessage());
         }
+        return false;
     }
     
     /**
@@ -479,17 +501,22 @@ public static class LeaveSummary {
      */
     private void restoreLeaveBalance(LeaveRequestModel request) {
         try {
-            // Calculate how much was actually deducted (considering past conflicts)
+            // The ledger records exactly what the approval deducted
+            int restoredDays = leaveBalanceDAO.restoreLeaveForRequest(request.getLeaveRequestId());
+            if (restoredDays != 0) {
+                if (restoredDays > 0) {
+                    System.out.println("Leave balance restored - Added back: " + restoredDays + " days");
+                }
+                return;
+            }
+            
+            // Approved before the ledger existed: recalculate (considering past conflicts)
             Map<String, Object> analysis = analyzeAttendanceConflicts(request);
             int effectiveLeaveDays = (Integer) analysis.get("effectiveLeaveDays");
             
             Year currentYear = Year.now(MANILA_TIMEZONE);
-            LeaveBalance balance = leaveBalanceDAO.getLeaveBalance(
-                request.getEmployeeId(), request.getLeaveTypeId(), currentYear);
-            
-            if (balance != null && effectiveLeaveDays > 0) {
-                balance.addLeave(effectiveLeaveDays);
-                leaveBalanceDAO.updateLeaveBalance(balance);
+            if (effectiveLeaveDays > 0 && leaveBalanceDAO.addLeaveToBalance(request.getEmployeeId(),
+                    request.getLeaveTypeId(), currentYear, effectiveLeaveDays, request.getLeaveRequestId())) {
                 System.out.println("Leave balance restored - Added back: " + effectiveLeaveDays + " days");
             }
         } catch (Exception e) {
@@ -553,11 +580,17 @@ public static class LeaveSummary {
      */
     public List<LeaveRequestModel> getLeaveRequestsWithConflicts(int employeeId, Date startDate, Date endDate) {
         try {
-            List<LeaveRequestModel> allRequests = getLeaveRequestsByDateRange(employeeId, startDate, endDate);
+            LeaveRequestDAO.ConflictWindow window = leaveRequestDAO.loadConflictWindow(
+                Collections.singletonList(employeeId), startDate, endDate, false);
+            if (window == null) {
+                return new ArrayList<>();
+            }
+            
+            Map<Integer, List<Date>> conflicts = findConflictDates(window);
             List<LeaveRequestModel> conflictRequests = new ArrayList<>();
             
-            for (LeaveRequestModel request : allRequests) {
-                if (hasAttendanceConflicts(request)) {
+            for (LeaveRequestModel request : window.getRequests(employeeId)) {
+                if (conflicts.containsKey(request.getLeaveRequestId())) {
                     conflictRequests.add(request);
                 }
             }
@@ -868,38 +901,64 @@ public static class LeaveSummary {
      * @return Processing results
      */
     public Map<String, Object> batchProcessConflictResolution(int employeeId, Date startDate, Date endDate) {
+        return batchProcessConflictResolution(Collections.singletonList(employeeId), startDate, endDate);
+    }
+    
+    /**
+     * Batch process conflict resolution across many employees
+     * Approved leave and attendance for the window are loaded in bulk, conflicts are
+     * worked out per employee in parallel, and days that were charged as leave but
+     * worked are credited back to the balances in one batched transaction
+     * @param employeeIds Employees to process (null for everyone)
+     * @param startDate Start date for processing
+     * @param endDate End date for processing
+     * @return Processing results
+     */
+    public Map<String, Object> batchProcessConflictResolution(Collection<Integer> employeeIds, Date startDate, Date endDate) {
         Map<String, Object> results = new HashMap<>();
         List<String> processedRequests = new ArrayList<>();
         List<String> errors = new ArrayList<>();
         
         try {
-            List<LeaveRequestModel> approvedLeaves = getLeaveRequestsByDateRange(employeeId, startDate, endDate)
-                .stream()
-                .filter(LeaveRequestModel::isApproved)
-                .collect(java.util.stream.Collectors.toList());
+            LeaveRequestDAO.ConflictWindow window = leaveRequestDAO.loadConflictWindow(employeeIds, startDate, endDate, true);
+            if (window == null) {
+                results.put("success", false);
+                results.put("error", "Could not load approved leave and attendance for the period");
+                return results;
+            }
             
-            int totalProcessed = 0;
-            int conflictsResolved = 0;
+            Map<Integer, List<Date>> conflicts = findConflictDates(window);
             
-            for (LeaveRequestModel request : approvedLeaves) {
-                try {
-                    Map<String, Object> analysis = analyzeAttendanceConflicts(request);
-                    
-                    if ((Boolean) analysis.get("hasConflicts")) {
-                        resolveAttendanceConflictsForApprovedLeave(request);
-                        conflictsResolved++;
-                        processedRequests.add("Request " + request.getLeaveRequestId() + 
-                                            " - Resolved " + analysis.get("conflictingDays") + " conflicts");
+            // What each conflicting request should cost now that the worked days are known
+            Map<Integer, Integer> effectiveDays = new HashMap<>();
+            for (Integer employeeId : window.getEmployeeIds()) {
+                for (LeaveRequestModel request : window.getRequests(employeeId)) {
+                    List<Date> conflictDates = conflicts.get(request.getLeaveRequestId());
+                    if (conflictDates != null) {
+                        effectiveDays.put(request.getLeaveRequestId(),
+                                          request.getWorkingDaysCount() - conflictDates.size());
                     }
-                    
-                    totalProcessed++;
-                } catch (Exception e) {
-                    errors.add("Error processing request " + request.getLeaveRequestId() + ": " + e.getMessage());
                 }
             }
             
-            results.put("totalProcessed", totalProcessed);
-            results.put("conflictsResolved", conflictsResolved);
+            Map<Integer, Integer> credited = leaveBalanceDAO.creditConflictDays(effectiveDays);
+            if (credited == null) {
+                errors.add("Could not credit worked days back to leave balances");
+                credited = new HashMap<>();
+            }
+            
+            int daysCredited = 0;
+            for (Map.Entry<Integer, Integer> effective : effectiveDays.entrySet()) {
+                int requestId = effective.getKey();
+                Integer credit = credited.get(requestId);
+                daysCredited += credit != null ? credit : 0;
+                processedRequests.add("Request " + requestId + " - Resolved " + conflicts.get(requestId).size()
+                                      + " conflicts" + (credit != null ? ", credited " + credit + " days" : ""));
+            }
+            
+            results.put("totalProcessed", window.getRequestCount());
+            results.put("conflictsResolved", effectiveDays.size());
+            results.put("daysCredited", daysCredited);
             results.put("processedRequests", processedRequests);
             results.put("errors", errors);
             results.put("success", errors.isEmpty());
@@ -912,6 +971,35 @@ public static class LeaveSummary {
         return results;
     }
     
+    /**
+     * Working leave days that have complete attendance, per request (requests
+     * without conflicts are left out). Employees are independent, so each one's
+     * requests are checked on its own thread against its own attendance days.
+     */
+    private static Map<Integer, List<Date>> findConflictDates(LeaveRequestDAO.ConflictWindow window) {
+        return window.getEmployeeIds().parallelStream()
+            .flatMap(employeeId -> {
+                Set<LocalDate> workedDays = window.getWorkedDays(employeeId);
+                Map<Integer, List<Date>> employeeConflicts = new HashMap<>();
+                if (workedDays.isEmpty()) {
+                    return employeeConflicts.entrySet().stream();
+                }
+                for (LeaveRequestModel request : window.getRequests(employeeId)) {
+                    List<Date> conflictDates = new ArrayList<>();
+                    for (Date leaveDate : request.getWorkingDayLeaveDates()) {
+                        if (workedDays.contains(leaveDate.toLocalDate())) {
+                            conflictDates.add(leaveDate);
+                        }
+                    }
+                    if (!conflictDates.isEmpty()) {
+                        employeeConflicts.put(request.getLeaveRequestId(), conflictDates);
+                    }
+                }
+                return employeeConflicts.entrySet().stream();
+            })
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+    
     /**
      * Generate leave audit report with conflict analysis
      * @param employeeId Employee ID
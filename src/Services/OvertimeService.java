@@ -337,12 +337,12 @@ public class OvertimeService {
             }
 
             EmployeeModel employee = employeeDAO.findById(employeeId);
-            if (employee == null || employee.getHourlyRate() == null) {
+            if (employee == null) {
                 return BigDecimal.ZERO;
             }
 
-            return overtimeDAO.getTotalOvertimePay(employeeId, yearMonth.getYear(),
-                    yearMonth.getMonthValue(), RANK_AND_FILE_OVERTIME_MULTIPLIER);
+            BigDecimal approvedHours = overtimeDAO.getMonthlyTotals(employeeId, yearMonth).getApprovedHours();
+            return calculateBaseOvertimePay(approvedHours, employee.getHourlyRate());
 
         } catch (Exception e) {
             System.err.println("Error calculating monthly overtime pay: " + e.getMessage());
@@ -350,6 +350,16 @@ public class OvertimeService {
         }
     }
 
+    /**
+     * Hours x hourly rate x rank-and-file multiplier, without night or weekend premiums
+     */
+    private BigDecimal calculateBaseOvertimePay(BigDecimal hours, BigDecimal hourlyRate) {
+        if (hourlyRate == null) {
+            return BigDecimal.ZERO;
+        }
+        return hours.multiply(hourlyRate).multiply(RANK_AND_FILE_OVERTIME_MULTIPLIER).setScale(2, RoundingMode.HALF_UP);
+    }
+
     // VALIDATION AND BUSINESS RULES
 
     /**
@@ -410,15 +420,10 @@ public class OvertimeService {
             return result;
         }
 
-        List<OvertimeRequestModel> existingRequests = overtimeDAO.findByEmployee(employeeId);
-        for (OvertimeRequestModel existing : existingRequests) {
-            if (existing.getApprovalStatus() == ApprovalStatus.APPROVED || existing.getApprovalStatus() == ApprovalStatus.PENDING) {
-                if (timesOverlap(overtimeStart, overtimeEnd, existing.getOvertimeStart(), existing.getOvertimeEnd())) {
-                    result.setValid(false);
-                    result.setErrorMessage("Overtime request overlaps with existing request");
-                    return result;
-                }
-            }
+        if (RequestIntervalIndex.getInstance().hasOverlappingOvertime(employeeId, overtimeStart, overtimeEnd, -1)) {
+            result.setValid(false);
+            result.setErrorMessage("Overtime request overlaps with existing request");
+            return result;
         }
 
         result.setValid(true);
@@ -426,19 +431,10 @@ public class OvertimeService {
     }
 
     /**
-     * Check if two time ranges overlap
-     */
-    private boolean timesOverlap(LocalDateTime start1, LocalDateTime end1, LocalDateTime start2, LocalDateTime end2) {
-        return !(end1.isBefore(start2) || start1.isAfter(end2));
-    }
-
-    /**
-     * Calculate weekly overtime hours for an employee
+     * Approved overtime hours in the employee's ISO week, from the weekly counter
      */
     private BigDecimal calculateWeeklyOvertimeHours(Integer employeeId, LocalDate date) {
-        LocalDate startOfWeek = date.minusDays(date.getDayOfWeek().getValue() - 1);
-        LocalDate endOfWeek = startOfWeek.plusDays(6);
-        return calculateTotalOvertimeHours(employeeId, startOfWeek, endOfWeek);
+        return overtimeDAO.getWeeklyApprovedHours(employeeId, date);
     }
 
     /**
@@ -480,7 +476,9 @@ public class OvertimeService {
     }
 
     /**
-     * Get overtime summary for rank-and-file employee
+     * Get overtime summary for rank-and-file employee.
+     * Counts, hours and pay come from the monthly counter; the individual
+     * requests are available from getEmployeeOvertimeRequests.
      */
     public OvertimeSummary getEmployeeOvertimeSummary(Integer employeeId, YearMonth yearMonth) {
         OvertimeSummary summary = new OvertimeSummary();
@@ -488,44 +486,30 @@ public class OvertimeService {
         summary.setYearMonth(yearMonth);
 
         try {
+            boolean eligible = isEligibleForOvertime(employeeId);
             EmployeeModel employee = employeeDAO.findById(employeeId);
             if (employee != null) {
                 summary.setEmployeeName(employee.getFullName());
                 summary.setHourlyRate(employee.getHourlyRate());
-                summary.setIsRankAndFile(isEligibleForOvertime(employeeId));
+                summary.setIsRankAndFile(eligible);
             }
 
-            if (!isEligibleForOvertime(employeeId)) {
+            if (!eligible) {
                 summary.setTotalOvertimeHours(BigDecimal.ZERO);
                 summary.setTotalOvertimePay(BigDecimal.ZERO);
                 return summary;
             }
 
-            LocalDateTime startOfMonth = yearMonth.atDay(1).atStartOfDay();
-            LocalDateTime endOfMonth = yearMonth.atEndOfMonth().atTime(23, 59, 59);
-
-            List<OvertimeRequestModel> monthlyRequests = overtimeDAO.findByDateRange(startOfMonth, endOfMonth)
-                    .stream()
-                    .filter(req -> Objects.equals(req.getEmployeeId(), employeeId))
-                    .toList();
-
-            summary.setOvertimeRequests(monthlyRequests);
+            OvertimeRequestDAO.OvertimePeriodTotals totals = overtimeDAO.getMonthlyTotals(employeeId, yearMonth);
 
-            BigDecimal totalHours = monthlyRequests.stream()
-                    .filter(OvertimeRequestModel::isApproved)
-                    .map(req -> BigDecimal.valueOf(req.getOvertimeHours()))
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            summary.setTotalOvertimeHours(totals.getApprovedHours());
+            summary.setTotalOvertimePay(employee != null
+                    ? calculateBaseOvertimePay(totals.getApprovedHours(), employee.getHourlyRate())
+                    : BigDecimal.ZERO);
 
-            summary.setTotalOvertimeHours(totalHours);
-            summary.setTotalOvertimePay(calculateMonthlyOvertimePay(employeeId, yearMonth));
-
-            long approvedCount = monthlyRequests.stream().filter(OvertimeRequestModel::isApproved).count();
-            long pendingCount = monthlyRequests.stream().filter(OvertimeRequestModel::isPending).count();
-            long rejectedCount = monthlyRequests.stream().filter(OvertimeRequestModel::isRejected).count();
-
-            summary.setApprovedCount((int)approvedCount);
-            summary.setPendingCount((int)pendingCount);
-            summary.setRejectedCount((int)rejectedCount);
+            summary.setApprovedCount(totals.getApprovedCount());
+            summary.setPendingCount(totals.getPendingCount());
+            summary.setRejectedCount(totals.getRejectedCount());
 
         } catch (Exception e) {
             System.err.println("Error generating overtime summary: " + e.getMessage());
@@ -538,33 +522,34 @@ public class OvertimeService {
      * Get rank-and-file employees with most overtime hours
      */
     public List<OvertimeRanking> getTopOvertimeEmployees(LocalDate startDate, LocalDate endDate, int limit) {
+        return getTopOvertimeEmployees(startDate, endDate, null, limit);
+    }
+
+    /**
+     * Get rank-and-file employees with most overtime hours, optionally within one department.
+     * Totals come from a single grouped query; only the top entries are kept.
+     * @param department Department to rank (null for all)
+     * @param limit Number of employees (0 or less for all)
+     */
+    public List<OvertimeRanking> getTopOvertimeEmployees(LocalDate startDate, LocalDate endDate, String department, int limit) {
         List<OvertimeRanking> rankings = new ArrayList<>();
 
         try {
-            List<EmployeeModel> rankAndFileEmployees = employeeDAO.getRankAndFileEmployees();
-
-            for (EmployeeModel employee : rankAndFileEmployees) {
-                BigDecimal totalHours = calculateTotalOvertimeHours(employee.getEmployeeId(), startDate, endDate);
-
-                if (totalHours.compareTo(BigDecimal.ZERO) > 0) {
-                    OvertimeRanking ranking = new OvertimeRanking();
-                    ranking.setEmployeeId(employee.getEmployeeId());
-                    ranking.setEmployeeName(employee.getFullName());
-                    ranking.setTotalOvertimeHours(totalHours);
-
-                    if (employee.getHourlyRate() != null) {
-                        BigDecimal totalPay = totalHours.multiply(employee.getHourlyRate()).multiply(RANK_AND_FILE_OVERTIME_MULTIPLIER);
-                        ranking.setTotalOvertimePay(totalPay);
-                    }
-
-                    rankings.add(ranking);
+            List<OvertimeRequestDAO.EmployeeOvertimeTotal> totals = overtimeDAO.findTopOvertimeTotals(
+                    startDate.atStartOfDay(), endDate.atTime(23, 59, 59), department, limit);
+
+            for (OvertimeRequestDAO.EmployeeOvertimeTotal total : totals) {
+                OvertimeRanking ranking = new OvertimeRanking();
+                ranking.setEmployeeId(total.getEmployeeId());
+                ranking.setEmployeeName(total.getEmployeeName());
+                ranking.setTotalOvertimeHours(total.getTotalHours());
+
+                if (total.getHourlyRate() != null) {
+                    BigDecimal totalPay = total.getTotalHours().multiply(total.getHourlyRate()).multiply(RANK_AND_FILE_OVERTIME_MULTIPLIER);
+                    ranking.setTotalOvertimePay(totalPay);
                 }
-            }
-
-            rankings.sort((a, b) -> b.getTotalOvertimeHours().compareTo(a.getTotalOvertimeHours()));
 
-            if (limit > 0 && rankings.size() > limit) {
-                rankings = rankings.subList(0, limit);
+                rankings.add(ranking);
             }
 
         } catch (Exception e) {
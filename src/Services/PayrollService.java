@@ -3,6 +3,7 @@ package Services;
 
 import Models.*;
 import DAOs.*;
+import Utility.AttendanceRules;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.sql.*;
@@ -294,10 +295,8 @@ public class PayrollService {
      * @return true if within grace period
      */
     public boolean isWithinGracePeriod(String timeIn) {
-        if (timeIn == null || timeIn.isEmpty()) {
-            return false;
-        }
-        return timeIn.compareTo("08:00:00") >= 0 && timeIn.compareTo("08:10:00") <= 0;
+        int seconds = AttendanceRules.parseSecondOfDay(timeIn);
+        return seconds == AttendanceRules.STANDARD_START || AttendanceRules.isWithinGracePeriod(seconds);
     }
     
     /**
@@ -306,10 +305,7 @@ public class PayrollService {
      * @return true if late
      */
     public boolean isLateArrival(String timeIn) {
-        if (timeIn == null || timeIn.isEmpty()) {
-            return false;
-        }
-        return timeIn.compareTo("08:10:00") > 0;
+        return AttendanceRules.isLate(AttendanceRules.parseSecondOfDay(timeIn));
     }
     
     // REPORTING METHODS
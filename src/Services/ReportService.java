@@ -1,6 +1,7 @@
 package Services;
 
 import DAOs.*;
+import Utility.WorkdayCalendar;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
@@ -50,7 +51,7 @@ public class ReportService {
         this.payPeriodDAO = new PayPeriodDAO();
         
         // Initialize services
-        this.attendanceService = new AttendanceService(databaseConnection);
+        this.attendanceService = AppContext.get(AttendanceService.class);
         this.payrollService = new PayrollService(databaseConnection);
         this.leaveService = new LeaveService(databaseConnection);
         this.overtimeService = new OvertimeService(databaseConnection);
@@ -69,7 +70,7 @@ public class ReportService {
         this.overtimeDAO = new OvertimeRequestDAO(databaseConnection);
         this.payPeriodDAO = new PayPeriodDAO();
         
-        this.attendanceService = new AttendanceService(databaseConnection);
+        this.attendanceService = AppContext.get(AttendanceService.class);
         this.payrollService = new PayrollService(databaseConnection);
         this.leaveService = new LeaveService(databaseConnection);
         this.overtimeService = new OvertimeService(databaseConnection);
@@ -394,7 +395,10 @@ public class ReportService {
     // ================================
     
     /**
-     * Generates daily attendance report
+     * Generates daily attendance report. Counts come from the per-department
+     * daily rollup (a handful of aggregate rows instead of the day's punches),
+     * headcounts from the employee directory. Per-employee records are not
+     * loaded; use AttendanceService.getDailyAttendanceReport for those.
      */
     public AttendanceReport generateDailyAttendanceReport(LocalDate date) {
         AttendanceReport report = new AttendanceReport();
@@ -403,38 +407,120 @@ public class ReportService {
         report.setReportType("Daily Attendance");
         
         try {
-            List<AttendanceService.DailyAttendanceRecord> attendanceRecords = 
-                    attendanceService.getDailyAttendanceReport(date);
+            Map<String, Integer> headcounts = getDepartmentHeadcounts();
+            Map<String, AttendanceRollupDAO.DepartmentDay> rollup = new HashMap<>();
+            for (AttendanceRollupDAO.DepartmentDay row : attendanceService.getDailyAttendanceSummary(date)) {
+                rollup.put(row.getDepartment(), row);
+            }
             
-            report.setAttendanceRecords(attendanceRecords);
+            // Every department in the directory, even with nobody clocked in
+            List<AttendanceRollupDAO.DepartmentDay> departments = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : headcounts.entrySet()) {
+                AttendanceRollupDAO.DepartmentDay row = rollup.remove(entry.getKey());
+                if (row == null) {
+                    row = AttendanceRollupDAO.DepartmentDay.empty(date, entry.getKey());
+                }
+                departments.add(row.withHeadcount(entry.getValue()));
+            }
+            // Departments with attendance but no active employees left
+            for (AttendanceRollupDAO.DepartmentDay row : rollup.values()) {
+                departments.add(row.withHeadcount(0));
+            }
             
-            // Calculate statistics
-            long presentCount = attendanceRecords.stream().filter(r -> "Present".equals(r.getStatus())).count();
-            long lateCount = attendanceRecords.stream().filter(r -> "Late".equals(r.getStatus())).count();
-            long absentCount = attendanceRecords.stream().filter(r -> "Absent".equals(r.getStatus())).count();
+            report.setDepartmentBreakdown(departments);
+            applyRollupTotals(report, departments, EmployeeDirectoryIndex.getInstance().size());
+            report.setSuccess(true);
             
-            report.setPresentCount((int)presentCount);
-            report.setLateCount((int)lateCount);
-            report.setAbsentCount((int)absentCount);
-            report.setTotalEmployees(attendanceRecords.size());
+        } catch (Exception e) {
+            report.setSuccess(false);
+            report.setErrorMessage("Error generating attendance report: " + e.getMessage());
+        }
+        
+        return report;
+    }
+    
+    /**
+     * Generates monthly attendance report: company-wide totals for the month
+     * plus one rollup row per day
+     */
+    public AttendanceReport generateMonthlyAttendanceReport(YearMonth yearMonth) {
+        AttendanceReport report = new AttendanceReport();
+        report.setReportDate(yearMonth.atDay(1));
+        report.setGeneratedDate(LocalDate.now(MANILA_TIMEZONE));
+        report.setReportType("Monthly Attendance");
+        
+        try {
+            EmployeeDirectoryIndex directory = EmployeeDirectoryIndex.getInstance();
+            directory.ensureLoaded();
+            int headcount = directory.size();
             
-            if (attendanceRecords.size() > 0) {
-                BigDecimal attendanceRate = new BigDecimal(presentCount + lateCount)
-                        .divide(new BigDecimal(attendanceRecords.size()), 4, RoundingMode.HALF_UP)
-                        .multiply(new BigDecimal(100));
-                report.setAttendanceRate(attendanceRate);
+            // Each day against today's headcount; nobody is absent on a non-workday
+            List<AttendanceRollupDAO.DepartmentDay> days = new ArrayList<>();
+            for (AttendanceRollupDAO.DepartmentDay day : attendanceService.getMonthlyAttendanceTotals(yearMonth)) {
+                days.add(day.withHeadcount(WorkdayCalendar.getInstance().isWorkday(day.getDate()) ? headcount : 0));
             }
-            
+            report.setDailyTotals(days);
+            applyRollupTotals(report, days, headcount);
             report.setSuccess(true);
             
         } catch (Exception e) {
             report.setSuccess(false);
-            report.setErrorMessage("Error generating attendance report: " + e.getMessage());
+            report.setErrorMessage("Error generating monthly attendance report: " + e.getMessage());
         }
         
         return report;
     }
     
+    /**
+     * Sum rollup rows into the report counts. Present excludes late arrivals,
+     * matching the Present/Late split of the per-employee report.
+     * @param totalEmployees Active employees in the directory
+     */
+    private void applyRollupTotals(AttendanceReport report, List<AttendanceRollupDAO.DepartmentDay> rows,
+            int totalEmployees) {
+        int headcount = 0;
+        int present = 0;
+        int late = 0;
+        int undertime = 0;
+        int onLeave = 0;
+        int absent = 0;
+        for (AttendanceRollupDAO.DepartmentDay row : rows) {
+            headcount += row.getHeadcount();
+            present += row.getPresentCount();
+            late += row.getLateCount();
+            undertime += row.getUndertimeCount();
+            onLeave += row.getOnLeaveCount();
+            absent += row.getAbsentCount();
+        }
+        
+        report.setTotalEmployees(totalEmployees);
+        report.setPresentCount(present - late);
+        report.setLateCount(late);
+        report.setUndertimeCount(undertime);
+        report.setOnLeaveCount(onLeave);
+        report.setAbsentCount(absent);
+        
+        if (headcount > 0) {
+            report.setAttendanceRate(new BigDecimal(present)
+                    .divide(new BigDecimal(headcount), 4, RoundingMode.HALF_UP)
+                    .multiply(new BigDecimal(100)));
+        }
+    }
+    
+    /**
+     * Active employees per department, from the employee directory
+     */
+    private Map<String, Integer> getDepartmentHeadcounts() {
+        Map<String, Integer> headcounts = new TreeMap<>();
+        for (String department : ReferenceDataCache.getInstance().getDepartments()) {
+            int count = EmployeeDirectoryIndex.getInstance().findByDepartment(department).size();
+            if (count > 0) {
+                headcounts.put(department, count);
+            }
+        }
+        return headcounts;
+    }
+    
     // ================================
     // HELPER METHODS
     // ================================
@@ -886,6 +972,10 @@ public class ReportService {
         private int absentCount = 0;
         private BigDecimal attendanceRate = BigDecimal.ZERO;
         private List<AttendanceService.DailyAttendanceRecord> attendanceRecords = new ArrayList<>();
+        private int undertimeCount = 0;
+        private int onLeaveCount = 0;
+        private List<AttendanceRollupDAO.DepartmentDay> departmentBreakdown = new ArrayList<>();
+        private List<AttendanceRollupDAO.DepartmentDay> dailyTotals = new ArrayList<>();
         
         // Getters and setters
         public boolean isSuccess() { return success; }
@@ -910,5 +1000,13 @@ public class ReportService {
         public void setAttendanceRate(BigDecimal attendanceRate) { this.attendanceRate = attendanceRate; }
         public List<AttendanceService.DailyAttendanceRecord> getAttendanceRecords() { return attendanceRecords; }
         public void setAttendanceRecords(List<AttendanceService.DailyAttendanceRecord> attendanceRecords) { this.attendanceRecords = attendanceRecords; }
+        public int getUndertimeCount() { return undertimeCount; }
+        public void setUndertimeCount(int undertimeCount) { this.undertimeCount = undertimeCount; }
+        public int getOnLeaveCount() { return onLeaveCount; }
+        public void setOnLeaveCount(int onLeaveCount) { this.onLeaveCount = onLeaveCount; }
+        public List<AttendanceRollupDAO.DepartmentDay> getDepartmentBreakdown() { return departmentBreakdown; }
+        public void setDepartmentBreakdown(List<AttendanceRollupDAO.DepartmentDay> departmentBreakdown) { this.departmentBreakdown = departmentBreakdown; }
+        public List<AttendanceRollupDAO.DepartmentDay> getDailyTotals() { return dailyTotals; }
+        public void setDailyTotals(List<AttendanceRollupDAO.DepartmentDay> dailyTotals) { this.dailyTotals = dailyTotals; }
     }
 }
@@ -0,0 +1,107 @@
+package Services;
+
+import DAOs.EmployeeDirectoryIndex;
+import DAOs.LeaveOccupancyIndex;
+import DAOs.ReferenceDataCache;
+import Models.EmployeeModel;
+import Models.PositionModel;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Team and department leave calendar for supervisors.
+ * Team membership comes from EmployeeDirectoryIndex (direct reports, or everyone
+ * in the supervisor's department) and who is out from LeaveOccupancyIndex, so
+ * browsing quarters does not touch the database once both are loaded.
+ */
+public class TeamLeaveCalendarService {
+
+    public static final ZoneId MANILA_TIMEZONE = ZoneId.of("Asia/Manila");
+
+    private final LeaveOccupancyIndex occupancyIndex;
+    private final EmployeeDirectoryIndex directoryIndex;
+
+    public TeamLeaveCalendarService() {
+        this.occupancyIndex = LeaveOccupancyIndex.getInstance();
+        this.directoryIndex = EmployeeDirectoryIndex.getInstance();
+    }
+
+    /**
+     * Active employees reporting directly to a supervisor
+     * @param supervisorId Supervisor's employee ID
+     * @return Direct reports ordered by employee ID
+     */
+    public List<EmployeeModel> getDirectReports(int supervisorId) {
+        List<EmployeeModel> team = new ArrayList<>();
+        for (EmployeeModel employee : directoryIndex.getAll()) {
+            if (Objects.equals(employee.getSupervisorId(), supervisorId)) {
+                team.add(employee);
+            }
+        }
+        return team;
+    }
+
+    /**
+     * Department of an employee, through their position
+     * @param employeeId Employee ID
+     * @return Department name, or null if unknown
+     */
+    public String getDepartmentOf(int employeeId) {
+        EmployeeModel employee = directoryIndex.findById(employeeId);
+        if (employee == null) {
+            return null;
+        }
+        PositionModel position = ReferenceDataCache.getInstance().getPosition(employee.getPositionId());
+        return position != null ? position.getDepartment() : null;
+    }
+
+    /**
+     * Active employees of a department
+     * @param department Department name
+     * @return Employees ordered by employee ID
+     */
+    public List<EmployeeModel> getDepartmentMembers(String department) {
+        return directoryIndex.findByDepartment(department);
+    }
+
+    /**
+     * Who on the team is out on each day of a range
+     * @param team Team members
+     * @param from First day
+     * @param to Last day (inclusive)
+     * @return One entry per day
+     */
+    public List<LeaveOccupancyIndex.DayOccupancy> getCalendar(List<EmployeeModel> team, LocalDate from, LocalDate to) {
+        return occupancyIndex.getTeamCalendar(employeeIds(team), from, to);
+    }
+
+    /**
+     * First day of the quarter containing the date
+     * @param date Any day
+     * @return First day of its quarter
+     */
+    public static LocalDate quarterStart(LocalDate date) {
+        int firstMonth = ((date.getMonthValue() - 1) / 3) * 3 + 1;
+        return LocalDate.of(date.getYear(), firstMonth, 1);
+    }
+
+    /**
+     * Last day of the quarter starting on the given day
+     * @param quarterStart First day of a quarter
+     * @return Last day of the quarter
+     */
+    public static LocalDate quarterEnd(LocalDate quarterStart) {
+        return quarterStart.plusMonths(3).minusDays(1);
+    }
+
+    private static List<Integer> employeeIds(List<EmployeeModel> team) {
+        List<Integer> ids = new ArrayList<>(team.size());
+        for (EmployeeModel employee : team) {
+            ids.add(employee.getEmployeeId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,201 @@
+package Utility;
+
+import java.sql.Time;
+
+/**
+ * Attendance rules evaluated on seconds of the day (0 - 86399).
+ *
+ * Times are plain ints, so checking a whole month or a payroll batch of
+ * punches does no parsing and creates no objects. Convert a java.sql.Time or
+ * an "HH:mm:ss" string once with toSecondOfDay()/parseSecondOfDay(), keep the
+ * int, and pass it to the rule methods. NO_TIME stands for a missing punch.
+ *
+ * Schedule: 8:00 AM - 5:00 PM, grace period until 8:10 AM, one-hour lunch
+ * break (12:00 - 1:00 PM), 8 regular hours per day.
+ */
+public final class AttendanceRules {
+
+    public static final int NO_TIME = -1;
+
+    public static final int STANDARD_START = 8 * 3600;             // 08:00:00
+    public static final int GRACE_PERIOD_CUTOFF = 8 * 3600 + 600;  // 08:10:00
+    public static final int STANDARD_END = 17 * 3600;              // 17:00:00
+    public static final int LUNCH_START = 12 * 3600;               // 12:00:00
+    public static final int LUNCH_END = 13 * 3600;                 // 13:00:00
+    public static final int LUNCH_BREAK_SECONDS = LUNCH_END - LUNCH_START;
+    public static final int STANDARD_WORK_SECONDS = 8 * 3600;
+
+    private AttendanceRules() {}
+
+    // CONVERSION
+
+    /**
+     * Seconds of the day of a time, or NO_TIME if null
+     */
+    public static int toSecondOfDay(Time time) {
+        return time == null ? NO_TIME : time.toLocalTime().toSecondOfDay();
+    }
+
+    /**
+     * Parse "H:mm", "HH:mm" or "HH:mm:ss" (anything after the seconds is ignored)
+     * without splitting or creating objects
+     * @param text Time text
+     * @return Seconds of the day, or NO_TIME if the text is not a valid time
+     */
+    public static int parseSecondOfDay(CharSequence text) {
+        if (text == null) {
+            return NO_TIME;
+        }
+        int length = text.length();
+        int pos = 0;
+        int hours = 0;
+        int digits = 0;
+        while (pos < length && Character.isDigit(text.charAt(pos)) && digits < 2) {
+            hours = hours * 10 + (text.charAt(pos++) - '0');
+            digits++;
+        }
+        if (digits == 0 || pos >= length || text.charAt(pos++) != ':') {
+            return NO_TIME;
+        }
+        int minutes = twoDigits(text, pos);
+        if (minutes < 0) {
+            return NO_TIME;
+        }
+        pos += 2;
+        int seconds = 0;
+        if (pos < length && text.charAt(pos) == ':') {
+            seconds = twoDigits(text, pos + 1);
+            if (seconds < 0) {
+                return NO_TIME;
+            }
+        }
+        if (hours > 23 || minutes > 59 || seconds > 59) {
+            return NO_TIME;
+        }
+        return hours * 3600 + minutes * 60 + seconds;
+    }
+
+    // RULES
+
+    /**
+     * Arrived after 8:00 AM but not after the 8:10 AM cutoff
+     */
+    public static boolean isWithinGracePeriod(int timeIn) {
+        return timeIn > STANDARD_START && timeIn <= GRACE_PERIOD_CUTOFF;
+    }
+
+    /**
+     * Arrived after the 8:10 AM grace period
+     */
+    public static boolean isLate(int timeIn) {
+        return timeIn > GRACE_PERIOD_CUTOFF;
+    }
+
+    /**
+     * Left before 5:00 PM
+     */
+    public static boolean isEarlyOut(int timeOut) {
+        return timeOut != NO_TIME && timeOut < STANDARD_END;
+    }
+
+    /**
+     * Between 8:00 AM and 5:00 PM (inclusive)
+     */
+    public static boolean isWithinWorkHours(int time) {
+        return time >= STANDARD_START && time <= STANDARD_END;
+    }
+
+    /**
+     * Time worked minus the lunch break
+     * @return Seconds worked, 0 if either punch is missing
+     */
+    public static int workedSeconds(int timeIn, int timeOut) {
+        if (timeIn == NO_TIME || timeOut == NO_TIME) {
+            return 0;
+        }
+        return Math.max(0, timeOut - timeIn - LUNCH_BREAK_SECONDS);
+    }
+
+    /**
+     * Whole minutes worked minus the lunch break (partial minutes are dropped)
+     */
+    public static int workedMinutes(int timeIn, int timeOut) {
+        if (timeIn == NO_TIME || timeOut == NO_TIME) {
+            return 0;
+        }
+        return Math.max(0, (timeOut - timeIn) / 60 - LUNCH_BREAK_SECONDS / 60);
+    }
+
+    /**
+     * Time worked inside 8:00 AM - 5:00 PM, minus the lunch break when the
+     * worked span covers all of it (same rule as attendance.regularHours)
+     */
+    public static int regularSeconds(int timeIn, int timeOut) {
+        if (timeIn == NO_TIME || timeOut == NO_TIME) {
+            return 0;
+        }
+        int start = Math.max(timeIn, STANDARD_START);
+        int end = Math.min(timeOut, STANDARD_END);
+        int lunch = start <= LUNCH_START && end >= LUNCH_END ? LUNCH_BREAK_SECONDS : 0;
+        return Math.max(0, end - start - lunch);
+    }
+
+    /**
+     * Time worked outside 8:00 AM - 5:00 PM (before start plus after end)
+     */
+    public static int overtimeWindowSeconds(int timeIn, int timeOut) {
+        if (timeIn == NO_TIME || timeOut == NO_TIME) {
+            return 0;
+        }
+        return Math.max(0, STANDARD_START - timeIn) + Math.max(0, timeOut - STANDARD_END);
+    }
+
+    /**
+     * Time from 8:00 AM to arrival, counted only past the grace period
+     */
+    public static int lateSeconds(int timeIn) {
+        return isLate(timeIn) ? timeIn - STANDARD_START : 0;
+    }
+
+    /**
+     * Whole minutes from 8:00 AM to arrival, counted only past the grace period
+     */
+    public static int lateMinutes(int timeIn) {
+        return lateSeconds(timeIn) / 60;
+    }
+
+    /**
+     * Whole minutes between an early clock-out and 5:00 PM
+     */
+    public static int undertimeMinutes(int timeOut) {
+        return isEarlyOut(timeOut) ? (STANDARD_END - timeOut) / 60 : 0;
+    }
+
+    /**
+     * Whole minutes worked beyond the 8-hour day
+     */
+    public static int overtimeMinutes(int timeIn, int timeOut) {
+        return Math.max(0, workedMinutes(timeIn, timeOut) - STANDARD_WORK_SECONDS / 60);
+    }
+
+    /**
+     * Convert seconds to hours
+     */
+    public static double toHours(int seconds) {
+        return seconds / 3600.0;
+    }
+
+    // HELPER METHODS
+
+    private static int twoDigits(CharSequence text, int pos) {
+        if (pos + 1 >= text.length()) {
+            return -1;
+        }
+        char tens = text.charAt(pos);
+        char ones = text.charAt(pos + 1);
+        if (!Character.isDigit(tens) || !Character.isDigit(ones)) {
+            return -1;
+        }
+        return (tens - '0') * 10 + (ones - '0');
+    }
+}
@@ -5,11 +5,8 @@ package Utility;
  * Uses PBKDF2 with SHA-256 for secure password storage with multiple validation levels
  * @author USER
  */
-import java.security.NoSuchAlgorithmException;
+import java.security.MessageDigest;
 import java.security.SecureRandom;
-import java.security.spec.InvalidKeySpecException;
-import javax.crypto.SecretKeyFactory;
-import javax.crypto.spec.PBEKeySpec;
 import java.util.Base64;
 import java.util.List;
 import java.util.ArrayList;
@@ -24,8 +21,26 @@ public class PasswordHasher {
     // Security constants for password hashing
     private static final int SALT_LENGTH = 16;
     private static final int HASH_LENGTH = 32;
-    private static final int ITERATIONS = 10000;
-    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    
+    // Stored format: pbkdf2_sha256$<iterations>$<salt>$<hash>. Hashes written before
+    // the format was versioned are plain salt:hash at LEGACY_ITERATIONS.
+    public static final String HASH_SCHEME = "pbkdf2_sha256";
+    private static final String FIELD_SEPARATOR = "$";
+    public static final int LEGACY_ITERATIONS = 10000;
+    public static final int DEFAULT_ITERATIONS = 210000;
+    private static final int MAX_ITERATIONS = 5000000;
+    
+    // Cost of new hashes. Stored hashes below it are upgraded at login. To tune it
+    // for the login machines, run java Utility.PasswordHasher on one of them and
+    // start the application with the -Dpayroll.password.iterations=<n> it prints
+    // (the same n on every workstation, or hashes keep being upgraded back and forth).
+    private static final String ITERATIONS_PROPERTY = "payroll.password.iterations";
+    private static volatile int iterations = configuredIterations();
+    
+    // Target time for one hash at login, used by calibrateIterations
+    public static final long LOGIN_HASH_BUDGET_MILLIS = 250;
+    
+    private static final SecureRandom RANDOM = new SecureRandom();
     
     // Password validation constants
     private static final int MIN_LENGTH = 8;
@@ -121,64 +136,199 @@ public class PasswordHasher {
      * @return Base64 encoded salt string
      */
     public static String generateSalt() {
-        SecureRandom random = new SecureRandom();
         byte[] salt = new byte[SALT_LENGTH];
-        random.nextBytes(salt);
+        RANDOM.nextBytes(salt);
         return Base64.getEncoder().encodeToString(salt);
     }
     
     /**
-     * Hashes a password with a given salt
+     * Hashes a password with a given salt at the legacy cost (salt:hash format)
      * @param password The plain text password
      * @param salt The salt to use for hashing
      * @return Base64 encoded hash string
      */
     public static String hashPassword(String password, String salt) {
-        try {
-            byte[] saltBytes = Base64.getDecoder().decode(salt);
-            PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), saltBytes, ITERATIONS, HASH_LENGTH * 8);
-            SecretKeyFactory factory = SecretKeyFactory.getInstance(ALGORITHM);
-            byte[] hash = factory.generateSecret(spec).getEncoded();
-            return Base64.getEncoder().encodeToString(hash);
-        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
-            throw new RuntimeException("Error hashing password", e);
-        }
+        return hashPassword(password, salt, LEGACY_ITERATIONS);
+    }
+    
+    /**
+     * Hashes a password with a given salt and iteration count
+     * @param password The plain text password
+     * @param salt Base64 encoded salt
+     * @param iterationCount PBKDF2 iterations
+     * @return Base64 encoded hash string
+     */
+    public static String hashPassword(String password, String salt, int iterationCount) {
+        byte[] saltBytes = Base64.getDecoder().decode(salt);
+        byte[] hash = Pbkdf2Engine.derive(password.toCharArray(), saltBytes, iterationCount, HASH_LENGTH);
+        return Base64.getEncoder().encodeToString(hash);
     }
     
     /**
-     * Generates a salt and hashes the password
+     * Generates a salt and hashes the password at the current cost
      * @param password The plain text password
-     * @return A string containing salt:hash format
+     * @return pbkdf2_sha256$iterations$salt$hash
      */
     public static String hashPassword(String password) {
+        int cost = iterations;
         String salt = generateSalt();
-        String hash = hashPassword(password, salt);
-        return salt + ":" + hash;
+        String hash = hashPassword(password, salt, cost);
+        return HASH_SCHEME + FIELD_SEPARATOR + cost + FIELD_SEPARATOR + salt + FIELD_SEPARATOR + hash;
     }
     
     /**
      * Verifies a password against a stored hash
      * @param password The plain text password to verify
-     * @param storedHash The stored hash in salt:hash format
+     * @param storedHash pbkdf2_sha256$iterations$salt$hash, or legacy salt:hash
      * @return true if password matches, false otherwise
      */
     public static boolean verifyPassword(String password, String storedHash) {
         try {
-            String[] parts = storedHash.split(":");
-            if (parts.length != 2) {
-                return false;
-            }
+            String salt;
+            String hash;
+            int cost;
             
-            String salt = parts[0];
-            String hash = parts[1];
+            if (isVersionedHash(storedHash)) {
+                String[] parts = storedHash.split("\\$");
+                if (parts.length != 4) {
+                    return false;
+                }
+                cost = Integer.parseInt(parts[1]);
+                if (cost < 1 || cost > MAX_ITERATIONS) {
+                    return false;
+                }
+                salt = parts[2];
+                hash = parts[3];
+            } else {
+                String[] parts = storedHash.split(":");
+                if (parts.length != 2) {
+                    return false;
+                }
+                cost = LEGACY_ITERATIONS;
+                salt = parts[0];
+                hash = parts[1];
+            }
             
-            String newHash = hashPassword(password, salt);
-            return hash.equals(newHash);
+            byte[] expected = Base64.getDecoder().decode(hash);
+            byte[] actual = Base64.getDecoder().decode(hashPassword(password, salt, cost));
+            return MessageDigest.isEqual(expected, actual);
         } catch (Exception e) {
             return false;
         }
     }
     
+    /**
+     * Whether a stored hash should be replaced with hashPassword() output after
+     * a successful login: legacy or foreign formats, or fewer iterations than
+     * the current cost
+     * @param storedHash The stored hash
+     * @return true if the hash is below the current format or cost
+     */
+    public static boolean needsRehash(String storedHash) {
+        if (!isVersionedHash(storedHash)) {
+            return true;
+        }
+        try {
+            return Integer.parseInt(storedHash.split("\\$")[1]) < iterations;
+        } catch (RuntimeException e) {
+            return true;
+        }
+    }
+    
+    /**
+     * Whether a stored hash uses the versioned PBKDF2 format
+     * @param storedHash The stored hash
+     * @return true for pbkdf2_sha256$... hashes
+     */
+    public static boolean isVersionedHash(String storedHash) {
+        return storedHash != null && storedHash.startsWith(HASH_SCHEME + FIELD_SEPARATOR);
+    }
+    
+    /**
+     * Iteration count used for new hashes
+     * @return Current cost
+     */
+    public static int getIterations() {
+        return iterations;
+    }
+    
+    /**
+     * Change the iteration count used for new hashes
+     * @param iterationCount New cost (LEGACY_ITERATIONS or more)
+     */
+    public static void setIterations(int iterationCount) {
+        if (iterationCount < LEGACY_ITERATIONS || iterationCount > MAX_ITERATIONS) {
+            throw new IllegalArgumentException("Iterations must be between " + LEGACY_ITERATIONS
+                    + " and " + MAX_ITERATIONS);
+        }
+        iterations = iterationCount;
+    }
+    
+    /**
+     * Print the iteration count recommended for this machine and the option
+     * that applies it
+     * @param args none
+     */
+    public static void main(String[] args) {
+        int recommended = calibrateIterations(LOGIN_HASH_BUDGET_MILLIS);
+        System.out.println("Recommended iterations for a " + LOGIN_HASH_BUDGET_MILLIS + " ms login hash: "
+                + recommended + " (current: " + iterations + ")");
+        System.out.println("Start the application with -D" + ITERATIONS_PROPERTY + "=" + recommended);
+    }
+    
+    /**
+     * Benchmark this machine and return the highest iteration count whose hash
+     * still fits in the time budget (rounded down to a thousand, never below
+     * LEGACY_ITERATIONS). Takes roughly a second.
+     * @param budgetMillis Time allowed for one hash, e.g. LOGIN_HASH_BUDGET_MILLIS
+     * @return Recommended iteration count for setIterations
+     */
+    public static int calibrateIterations(long budgetMillis) {
+        final int sampleIterations = 20000;
+        char[] password = "calibration-Password1!".toCharArray();
+        byte[] salt = new byte[SALT_LENGTH];
+        RANDOM.nextBytes(salt);
+        
+        // First runs include JIT compilation; keep the fastest of the rest
+        long bestNanos = Long.MAX_VALUE;
+        for (int run = 0; run < 8; run++) {
+            long start = System.nanoTime();
+            Pbkdf2Engine.derive(password, salt, sampleIterations, HASH_LENGTH);
+            long elapsed = System.nanoTime() - start;
+            if (run >= 3) {
+                bestNanos = Math.min(bestNanos, elapsed);
+            }
+        }
+        
+        double iterationsPerNano = (double) sampleIterations / Math.max(bestNanos, 1);
+        long affordable = (long) (iterationsPerNano * budgetMillis * 1_000_000L);
+        long rounded = affordable / 1000 * 1000;
+        return (int) Math.max(LEGACY_ITERATIONS, Math.min(MAX_ITERATIONS, rounded));
+    }
+    
+    
+    /**
+     * Iteration count from -Dpayroll.password.iterations, held to the same
+     * range as setIterations (DEFAULT_ITERATIONS if unset or invalid)
+     */
+    private static int configuredIterations() {
+        String configured = System.getProperty(ITERATIONS_PROPERTY);
+        if (configured == null) {
+            return DEFAULT_ITERATIONS;
+        }
+        try {
+            int iterationCount = Integer.parseInt(configured.trim());
+            if (iterationCount >= LEGACY_ITERATIONS && iterationCount <= MAX_ITERATIONS) {
+                return iterationCount;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        System.err.println("Ignoring " + ITERATIONS_PROPERTY + "=" + configured + ": must be between "
+                + LEGACY_ITERATIONS + " and " + MAX_ITERATIONS + "; using " + DEFAULT_ITERATIONS);
+        return DEFAULT_ITERATIONS;
+    }
+    
     
     // BASIC VALIDATION METHODS (LEGACY COMPATIBILITY)
     
@@ -0,0 +1,116 @@
+package Utility;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import javax.crypto.Mac;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * PBKDF2-HMAC-SHA256 (RFC 8018) with one Mac per thread.
+ *
+ * SecretKeyFactory.getInstance() walks the security providers and builds a new
+ * HMAC on every call. This engine keeps a Mac per thread, keys it once per
+ * password and runs the iterations into reused buffers. The output is the same
+ * as SecretKeyFactory "PBKDF2WithHmacSHA256" (password encoded as UTF-8).
+ */
+public final class Pbkdf2Engine {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String FACTORY_ALGORITHM = "PBKDF2WithHmacSHA256";
+
+    private static final ThreadLocal<Mac> MAC = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance(HMAC_ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("HmacSHA256 is not available", e);
+        }
+    });
+
+    // Only for empty passwords, which SecretKeySpec does not accept as an HMAC key
+    private static final ThreadLocal<SecretKeyFactory> FACTORY = ThreadLocal.withInitial(() -> {
+        try {
+            return SecretKeyFactory.getInstance(FACTORY_ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(FACTORY_ALGORITHM + " is not available", e);
+        }
+    });
+
+    private Pbkdf2Engine() {
+    }
+
+    /**
+     * Derive a key from a password
+     * @param password Plain text password
+     * @param salt Salt bytes
+     * @param iterations Iteration count (at least 1)
+     * @param keyLength Derived key length in bytes
+     * @return Derived key
+     */
+    public static byte[] derive(char[] password, byte[] salt, int iterations, int keyLength) {
+        if (iterations < 1 || keyLength < 1) {
+            throw new IllegalArgumentException("Iterations and key length must be positive");
+        }
+
+        byte[] passwordBytes = toUtf8(password);
+        try {
+            if (passwordBytes.length == 0) {
+                return deriveWithFactory(password, salt, iterations, keyLength);
+            }
+
+            Mac mac = MAC.get();
+            mac.init(new SecretKeySpec(passwordBytes, HMAC_ALGORITHM));
+            int macLength = mac.getMacLength();
+
+            byte[] derived = new byte[keyLength];
+            byte[] u = new byte[macLength];
+            byte[] block = new byte[macLength];
+
+            for (int blockIndex = 1, offset = 0; offset < keyLength; blockIndex++, offset += macLength) {
+                mac.update(salt);
+                mac.update(ByteBuffer.allocate(4).putInt(blockIndex).array());
+                mac.doFinal(u, 0);
+                System.arraycopy(u, 0, block, 0, macLength);
+
+                for (int i = 1; i < iterations; i++) {
+                    mac.update(u);
+                    mac.doFinal(u, 0);
+                    for (int j = 0; j < macLength; j++) {
+                        block[j] ^= u[j];
+                    }
+                }
+                System.arraycopy(block, 0, derived, offset, Math.min(macLength, keyLength - offset));
+            }
+            return derived;
+
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Error deriving password key", e);
+        } finally {
+            Arrays.fill(passwordBytes, (byte) 0);
+        }
+    }
+
+    private static byte[] deriveWithFactory(char[] password, byte[] salt, int iterations, int keyLength)
+            throws GeneralSecurityException {
+        PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, keyLength * 8);
+        try {
+            return FACTORY.get().generateSecret(spec).getEncoded();
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private static byte[] toUtf8(char[] password) {
+        ByteBuffer encoded = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+        byte[] bytes = new byte[encoded.remaining()];
+        encoded.get(bytes);
+        if (encoded.hasArray()) {
+            Arrays.fill(encoded.array(), (byte) 0);
+        }
+        return bytes;
+    }
+}
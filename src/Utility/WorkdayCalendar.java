@@ -0,0 +1,350 @@
+package Utility;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Workday calendar: Monday to Friday, minus Philippine regular holidays and
+ * special non-working days.
+ *
+ * Built-in holidays follow the fixed-date and Easter-based rules of RA 9492 and
+ * the yearly proclamations. Holidays declared each year by proclamation (Eid'l
+ * Fitr, Eid'l Adha, Chinese New Year, extra special days) and moved holidays
+ * are configured in src/config/holidays.properties, one date per line:
+ *
+ *   2025-03-31 = REGULAR, Eid'l Fitr
+ *   2025-01-29 = SPECIAL, Chinese New Year
+ *   2025-12-31 = WORKDAY
+ *
+ * WORKDAY removes a built-in holiday for that date.
+ *
+ * The calendar keeps a workday bitmap over a span of years plus a prefix sum
+ * of workdays, so countWorkdays() for any range is two array reads. The span
+ * grows automatically when a date outside it is requested.
+ */
+public final class WorkdayCalendar {
+
+    private static final String CONFIG_FILE = "src/config/holidays.properties";
+    private static final int YEARS_BEFORE = 5;
+    private static final int YEARS_AFTER = 5;
+
+    private static final WorkdayCalendar INSTANCE = new WorkdayCalendar(new File(CONFIG_FILE));
+
+    /**
+     * Holiday classification
+     */
+    public enum HolidayType {
+        REGULAR, SPECIAL_NON_WORKING
+    }
+
+    /**
+     * A holiday on a specific date
+     */
+    public static final class Holiday {
+        private final LocalDate date;
+        private final HolidayType type;
+        private final String name;
+
+        public Holiday(LocalDate date, HolidayType type, String name) {
+            this.date = date;
+            this.type = type;
+            this.name = name;
+        }
+
+        public LocalDate getDate() { return date; }
+        public HolidayType getType() { return type; }
+        public String getName() { return name; }
+
+        @Override
+        public String toString() {
+            return date + " " + name + " (" + type + ")";
+        }
+    }
+
+    /**
+     * Immutable bitmap and prefix sums for [firstDay, firstDay + days)
+     */
+    private static final class Span {
+        private final LocalDate firstDay;
+        private final int days;
+        private final BitSet workdays;
+        private final int[] workdaysBefore; // workdaysBefore[i] = workdays in [firstDay, firstDay + i)
+
+        private Span(LocalDate firstDay, int days, BitSet workdays, int[] workdaysBefore) {
+            this.firstDay = firstDay;
+            this.days = days;
+            this.workdays = workdays;
+            this.workdaysBefore = workdaysBefore;
+        }
+
+        private boolean covers(LocalDate date) {
+            long index = ChronoUnit.DAYS.between(firstDay, date);
+            return index >= 0 && index < days;
+        }
+
+        private int indexOf(LocalDate date) {
+            return (int) ChronoUnit.DAYS.between(firstDay, date);
+        }
+    }
+
+    // Configured additions and removals (null value = configured as workday)
+    private final Map<LocalDate, Holiday> overrides = new TreeMap<>();
+
+    private int firstYear;
+    private int lastYear;
+    private volatile Span span;
+    private volatile Map<LocalDate, Holiday> holidays = Collections.emptyMap();
+
+    public static WorkdayCalendar getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Calendar with overrides read from a properties file (if it exists)
+     * @param configFile Holiday configuration file
+     */
+    public WorkdayCalendar(File configFile) {
+        loadOverrides(configFile);
+        int currentYear = LocalDate.now().getYear();
+        this.firstYear = currentYear - YEARS_BEFORE;
+        this.lastYear = currentYear + YEARS_AFTER;
+        rebuild();
+    }
+
+    // QUERIES
+
+    /**
+     * Check if a date is a workday (weekday and not a holiday)
+     */
+    public boolean isWorkday(LocalDate date) {
+        Span current = spanCovering(date, date);
+        return current.workdays.get(current.indexOf(date));
+    }
+
+    /**
+     * Count workdays in a range in constant time
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (inclusive)
+     * @return Number of workdays, 0 if the range is empty
+     */
+    public int countWorkdays(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            return 0;
+        }
+        Span current = spanCovering(startDate, endDate);
+        return current.workdaysBefore[current.indexOf(endDate) + 1] - current.workdaysBefore[current.indexOf(startDate)];
+    }
+
+    /**
+     * List the workdays in a range
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (inclusive)
+     * @return Workdays in order
+     */
+    public List<LocalDate> getWorkdays(LocalDate startDate, LocalDate endDate) {
+        List<LocalDate> result = new ArrayList<>();
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            return result;
+        }
+        Span current = spanCovering(startDate, endDate);
+        int end = current.indexOf(endDate);
+        for (int i = current.workdays.nextSetBit(current.indexOf(startDate)); i >= 0 && i <= end;
+                i = current.workdays.nextSetBit(i + 1)) {
+            result.add(current.firstDay.plusDays(i));
+        }
+        return result;
+    }
+
+    /**
+     * Get the holiday on a date
+     * @return Holiday, or null if the date is not a holiday
+     */
+    public Holiday getHoliday(LocalDate date) {
+        spanCovering(date, date);
+        return holidays.get(date);
+    }
+
+    /**
+     * List holidays in a range
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (inclusive)
+     * @return Holidays in date order
+     */
+    public List<Holiday> getHolidays(LocalDate startDate, LocalDate endDate) {
+        List<Holiday> result = new ArrayList<>();
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            return result;
+        }
+        spanCovering(startDate, endDate);
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            Holiday holiday = holidays.get(date);
+            if (holiday != null) {
+                result.add(holiday);
+            }
+        }
+        return result;
+    }
+
+    // CONFIGURATION
+
+    /**
+     * Declare a holiday (e.g. a proclamation issued after startup)
+     */
+    public synchronized void addHoliday(LocalDate date, HolidayType type, String name) {
+        overrides.put(date, new Holiday(date, type, name));
+        rebuild();
+    }
+
+    /**
+     * Treat a date as a normal day even if a built-in rule makes it a holiday
+     */
+    public synchronized void removeHoliday(LocalDate date) {
+        overrides.put(date, null);
+        rebuild();
+    }
+
+    // HELPER METHODS
+
+    private Span spanCovering(LocalDate startDate, LocalDate endDate) {
+        Span current = span;
+        if (current.covers(startDate) && current.covers(endDate)) {
+            return current;
+        }
+        synchronized (this) {
+            firstYear = Math.min(firstYear, startDate.getYear());
+            lastYear = Math.max(lastYear, endDate.getYear());
+            if (!span.covers(startDate) || !span.covers(endDate)) {
+                rebuild();
+            }
+            return span;
+        }
+    }
+
+    private synchronized void rebuild() {
+        Map<LocalDate, Holiday> all = new TreeMap<>();
+        for (int year = firstYear; year <= lastYear; year++) {
+            addBuiltInHolidays(all, year);
+        }
+        for (Map.Entry<LocalDate, Holiday> override : overrides.entrySet()) {
+            if (override.getValue() == null) {
+                all.remove(override.getKey());
+            } else {
+                all.put(override.getKey(), override.getValue());
+            }
+        }
+
+        LocalDate firstDay = LocalDate.of(firstYear, 1, 1);
+        int days = (int) ChronoUnit.DAYS.between(firstDay, LocalDate.of(lastYear + 1, 1, 1));
+        BitSet workdays = new BitSet(days);
+        int[] workdaysBefore = new int[days + 1];
+        LocalDate date = firstDay;
+        for (int i = 0; i < days; i++, date = date.plusDays(1)) {
+            boolean workday = date.getDayOfWeek() != DayOfWeek.SATURDAY
+                    && date.getDayOfWeek() != DayOfWeek.SUNDAY
+                    && !all.containsKey(date);
+            if (workday) {
+                workdays.set(i);
+            }
+            workdaysBefore[i + 1] = workdaysBefore[i] + (workday ? 1 : 0);
+        }
+
+        holidays = Collections.unmodifiableMap(all);
+        span = new Span(firstDay, days, workdays, workdaysBefore);
+    }
+
+    private static void addBuiltInHolidays(Map<LocalDate, Holiday> all, int year) {
+        // Regular holidays
+        put(all, LocalDate.of(year, Month.JANUARY, 1), HolidayType.REGULAR, "New Year's Day");
+        put(all, LocalDate.of(year, Month.APRIL, 9), HolidayType.REGULAR, "Araw ng Kagitingan");
+        put(all, LocalDate.of(year, Month.MAY, 1), HolidayType.REGULAR, "Labor Day");
+        put(all, LocalDate.of(year, Month.JUNE, 12), HolidayType.REGULAR, "Independence Day");
+        put(all, LocalDate.of(year, Month.AUGUST, 1).with(TemporalAdjusters.lastInMonth(DayOfWeek.MONDAY)),
+                HolidayType.REGULAR, "National Heroes Day");
+        put(all, LocalDate.of(year, Month.NOVEMBER, 30), HolidayType.REGULAR, "Bonifacio Day");
+        put(all, LocalDate.of(year, Month.DECEMBER, 25), HolidayType.REGULAR, "Christmas Day");
+        put(all, LocalDate.of(year, Month.DECEMBER, 30), HolidayType.REGULAR, "Rizal Day");
+
+        LocalDate easter = easterSunday(year);
+        put(all, easter.minusDays(3), HolidayType.REGULAR, "Maundy Thursday");
+        put(all, easter.minusDays(2), HolidayType.REGULAR, "Good Friday");
+
+        // Special non-working days
+        put(all, easter.minusDays(1), HolidayType.SPECIAL_NON_WORKING, "Black Saturday");
+        put(all, LocalDate.of(year, Month.AUGUST, 21), HolidayType.SPECIAL_NON_WORKING, "Ninoy Aquino Day");
+        put(all, LocalDate.of(year, Month.NOVEMBER, 1), HolidayType.SPECIAL_NON_WORKING, "All Saints' Day");
+        put(all, LocalDate.of(year, Month.DECEMBER, 8), HolidayType.SPECIAL_NON_WORKING, "Feast of the Immaculate Conception");
+        put(all, LocalDate.of(year, Month.DECEMBER, 31), HolidayType.SPECIAL_NON_WORKING, "Last Day of the Year");
+    }
+
+    private static void put(Map<LocalDate, Holiday> all, LocalDate date, HolidayType type, String name) {
+        // A regular holiday wins if two rules fall on the same date
+        Holiday existing = all.get(date);
+        if (existing == null || existing.getType() != HolidayType.REGULAR) {
+            all.put(date, new Holiday(date, type, name));
+        }
+    }
+
+    /**
+     * Easter Sunday (anonymous Gregorian algorithm)
+     */
+    static LocalDate easterSunday(int year) {
+        int a = year % 19;
+        int b = year / 100;
+        int c = year % 100;
+        int d = b / 4;
+        int e = b % 4;
+        int f = (b + 8) / 25;
+        int g = (b - f + 1) / 3;
+        int h = (19 * a + b - d - g + 15) % 30;
+        int i = c / 4;
+        int k = c % 4;
+        int l = (32 + 2 * e + 2 * i - h - k) % 7;
+        int m = (a + 11 * h + 22 * l) / 451;
+        int month = (h + l - 7 * m + 114) / 31;
+        int day = (h + l - 7 * m + 114) % 31 + 1;
+        return LocalDate.of(year, month, day);
+    }
+
+    private void loadOverrides(File configFile) {
+        if (configFile == null || !configFile.exists()) {
+            return;
+        }
+        Properties props = new Properties();
+        try (FileInputStream fis = new FileInputStream(configFile)) {
+            props.load(fis);
+        } catch (IOException e) {
+            System.err.println("Could not load holiday configuration: " + e.getMessage());
+            return;
+        }
+
+        for (String key : props.stringPropertyNames()) {
+            try {
+                LocalDate date = LocalDate.parse(key.trim());
+                String[] parts = props.getProperty(key).split(",", 2);
+                String kind = parts[0].trim().toUpperCase();
+                String name = parts.length > 1 ? parts[1].trim() : "Holiday";
+                switch (kind) {
+                    case "REGULAR" -> overrides.put(date, new Holiday(date, HolidayType.REGULAR, name));
+                    case "SPECIAL" -> overrides.put(date, new Holiday(date, HolidayType.SPECIAL_NON_WORKING, name));
+                    case "WORKDAY" -> overrides.put(date, null);
+                    default -> System.err.println("Unknown holiday type '" + kind + "' for " + key);
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Invalid holiday configuration entry: " + key);
+            }
+        }
+    }
+}
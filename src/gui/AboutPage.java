@@ -134,7 +134,7 @@ public class AboutPage extends javax.swing.JFrame {
         aboutusheaderLBL.setForeground(new java.awt.Color(255, 255, 255));
         aboutusheaderLBL.setText("ABOUT MOTORPH");
 
-        aboutlogoLBL.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/OG Logo _ 100X124.png"))); // NOI18N
+        aboutlogoLBL.setIcon(ImageCache.getIcon("/media/OG Logo _ 100X124.png"));
 
         backtoemppagePB.setBackground(new java.awt.Color(204, 0, 0));
         backtoemppagePB.setFont(new java.awt.Font("Segoe UI", 1, 14)); // NOI18N
@@ -186,7 +186,7 @@ public class AboutPage extends javax.swing.JFrame {
         offersLP.setBackground(new java.awt.Color(204, 204, 204));
         offersLP.setBorder(new javax.swing.border.SoftBevelBorder(javax.swing.border.BevelBorder.RAISED));
 
-        offerspicLBL.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/OFFERS 400 X 252.jpg"))); // NOI18N
+        offerspicLBL.setIcon(ImageCache.getIcon("/media/OFFERS 400 X 252.jpg"));
 
         visitwebPB.setFont(new java.awt.Font("Helvetica", 0, 11)); // NOI18N
         visitwebPB.setText("Visit website");
@@ -225,7 +225,7 @@ public class AboutPage extends javax.swing.JFrame {
         offersLP1.setBackground(new java.awt.Color(204, 204, 204));
         offersLP1.setBorder(new javax.swing.border.SoftBevelBorder(javax.swing.border.BevelBorder.RAISED));
 
-        offerspicLBL1.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/DIRECTORY 300 X 165.png"))); // NOI18N
+        offerspicLBL1.setIcon(ImageCache.getIcon("/media/DIRECTORY 300 X 165.png"));
         offerspicLBL1.setHorizontalTextPosition(javax.swing.SwingConstants.CENTER);
 
         visitdirectoryPB1.setFont(new java.awt.Font("Helvetica", 0, 11)); // NOI18N
@@ -192,7 +192,7 @@ public class AdminAccounting extends JFrame {
         aboutPB.setBackground(new java.awt.Color(153, 0, 0));
         aboutPB.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
         aboutPB.setForeground(new java.awt.Color(255, 255, 255));
-        aboutPB.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/COMPANY 100 X 100.png"))); // NOI18N
+        aboutPB.setIcon(ImageCache.getIcon("/media/COMPANY 100 X 100.png"));
         aboutPB.setText("About");
         aboutPB.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
@@ -205,7 +205,7 @@ public class AdminAccounting extends JFrame {
         personaldetPB.setBackground(new java.awt.Color(153, 0, 0));
         personaldetPB.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
         personaldetPB.setForeground(new java.awt.Color(255, 255, 255));
-        personaldetPB.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/DETAILS 64 X 64.png"))); // NOI18N
+        personaldetPB.setIcon(ImageCache.getIcon("/media/DETAILS 64 X 64.png"));
         personaldetPB.setText("View Details");
         personaldetPB.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
@@ -218,7 +218,7 @@ public class AdminAccounting extends JFrame {
         attendanceemppgPB.setBackground(new java.awt.Color(153, 0, 0));
         attendanceemppgPB.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
         attendanceemppgPB.setForeground(new java.awt.Color(255, 255, 255));
-        attendanceemppgPB.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/availability.png"))); // NOI18N
+        attendanceemppgPB.setIcon(ImageCache.getIcon("/media/availability.png"));
         attendanceemppgPB.setText("View Attendance");
         attendanceemppgPB.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
@@ -231,7 +231,7 @@ public class AdminAccounting extends JFrame {
         payrollemppgPB.setBackground(new java.awt.Color(153, 0, 0));
         payrollemppgPB.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
         payrollemppgPB.setForeground(new java.awt.Color(255, 255, 255));
-        payrollemppgPB.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/PAYROLL 64 X 64.png"))); // NOI18N
+        payrollemppgPB.setIcon(ImageCache.getIcon("/media/PAYROLL 64 X 64.png"));
         payrollemppgPB.setText("View Payroll");
         payrollemppgPB.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
@@ -244,7 +244,7 @@ public class AdminAccounting extends JFrame {
         requestleaveemppgPB.setBackground(new java.awt.Color(153, 0, 0));
         requestleaveemppgPB.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
         requestleaveemppgPB.setForeground(new java.awt.Color(255, 255, 255));
-        requestleaveemppgPB.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/REQUEST LEAVE 64 X 64.png"))); // NOI18N
+        requestleaveemppgPB.setIcon(ImageCache.getIcon("/media/REQUEST LEAVE 64 X 64.png"));
         requestleaveemppgPB.setText("Request Leave");
         requestleaveemppgPB.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
@@ -254,7 +254,7 @@ public class AdminAccounting extends JFrame {
         emppagemainPNL.add(requestleaveemppgPB);
         requestleaveemppgPB.setBounds(410, 320, 200, 80);
 
-        redOrangeDesign.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/Red-Orange Design.png"))); // NOI18N
+        redOrangeDesign.setIcon(ImageCache.getIcon("/media/Red-Orange Design.png"));
         redOrangeDesign.setText("RedOrangeDesign");
         redOrangeDesign.setVerticalAlignment(javax.swing.SwingConstants.BOTTOM);
         redOrangeDesign.setPreferredSize(new java.awt.Dimension(725, 500));
@@ -273,14 +273,14 @@ public class AdminAccounting extends JFrame {
         lblWelcomeMessage.setBounds(210, 40, 600, 60);
         lblWelcomeMessage.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10)); // Top, Left, Bottom, Right padding
 
-        MotorPHLogo.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/OG Logo _ 100X124.png"))); // NOI18N
+        MotorPHLogo.setIcon(ImageCache.getIcon("/media/OG Logo _ 100X124.png"));
         emppagemainPNL.add(MotorPHLogo);
         MotorPHLogo.setBounds(766, 30, 124, 90);
 
         payrollManagement.setBackground(new java.awt.Color(153, 0, 0));
         payrollManagement.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
         payrollManagement.setForeground(new java.awt.Color(255, 255, 255));
-        payrollManagement.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/accounting.png"))); // NOI18N
+        payrollManagement.setIcon(ImageCache.getIcon("/media/accounting.png"));
         payrollManagement.setText("Payroll Management");
         payrollManagement.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
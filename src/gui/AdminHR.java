@@ -210,7 +210,7 @@ public class AdminHR extends JFrame {
         aboutPB.setBackground(new java.awt.Color(153, 0, 0));
         aboutPB.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
         aboutPB.setForeground(new java.awt.Color(255, 255, 255));
-        aboutPB.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/COMPANY 100 X 100.png"))); // NOI18N
+        aboutPB.setIcon(ImageCache.getIcon("/media/COMPANY 100 X 100.png"));
         aboutPB.setText("About");
         aboutPB.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
@@ -223,7 +223,7 @@ public class AdminHR extends JFrame {
         personaldetPB.setBackground(new java.awt.Color(153, 0, 0));
         personaldetPB.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
         personaldetPB.setForeground(new java.awt.Color(255, 255, 255));
-        personaldetPB.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/DETAILS 64 X 64.png"))); // NOI18N
+        personaldetPB.setIcon(ImageCache.getIcon("/media/DETAILS 64 X 64.png"));
         personaldetPB.setText("View Details");
         personaldetPB.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
@@ -236,7 +236,7 @@ public class AdminHR extends JFrame {
         attendanceemppgPB.setBackground(new java.awt.Color(153, 0, 0));
         attendanceemppgPB.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
         attendanceemppgPB.setForeground(new java.awt.Color(255, 255, 255));
-        attendanceemppgPB.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/availability.png"))); // NOI18N
+        attendanceemppgPB.setIcon(ImageCache.getIcon("/media/availability.png"));
         attendanceemppgPB.setText("View Attendance");
         attendanceemppgPB.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
@@ -249,7 +249,7 @@ public class AdminHR extends JFrame {
         payrollemppgPB.setBackground(new java.awt.Color(153, 0, 0));
         payrollemppgPB.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
         payrollemppgPB.setForeground(new java.awt.Color(255, 255, 255));
-        payrollemppgPB.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/PAYROLL 64 X 64.png"))); // NOI18N
+        payrollemppgPB.setIcon(ImageCache.getIcon("/media/PAYROLL 64 X 64.png"));
         payrollemppgPB.setText("View Payroll");
         payrollemppgPB.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
@@ -262,7 +262,7 @@ public class AdminHR extends JFrame {
         payrollsummarypgPB.setBackground(new java.awt.Color(153, 0, 0));
         payrollsummarypgPB.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
         payrollsummarypgPB.setForeground(new java.awt.Color(255, 255, 255));
-        payrollsummarypgPB.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/REPORTING (64X64).png"))); // NOI18N
+        payrollsummarypgPB.setIcon(ImageCache.getIcon("/media/REPORTING (64X64).png"));
         payrollsummarypgPB.setText("Payslip Reporting");
         payrollsummarypgPB.setActionCommand("");
         payrollsummarypgPB.addActionListener(new java.awt.event.ActionListener() {
@@ -273,21 +273,21 @@ public class AdminHR extends JFrame {
         emppagemainPNL.add(payrollsummarypgPB);
         payrollsummarypgPB.setBounds(410, 320, 200, 80);
 
-        redOrangeDesign.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/Red-Orange Design.png"))); // NOI18N
+        redOrangeDesign.setIcon(ImageCache.getIcon("/media/Red-Orange Design.png"));
         redOrangeDesign.setText("RedOrangeDesign");
         redOrangeDesign.setVerticalAlignment(javax.swing.SwingConstants.BOTTOM);
         redOrangeDesign.setPreferredSize(new java.awt.Dimension(725, 500));
         emppagemainPNL.add(redOrangeDesign);
         redOrangeDesign.setBounds(0, -20, 510, 500);
 
-        MotorPHLogo.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/OG Logo _ 100X124.png"))); // NOI18N
+        MotorPHLogo.setIcon(ImageCache.getIcon("/media/OG Logo _ 100X124.png"));
         emppagemainPNL.add(MotorPHLogo);
         MotorPHLogo.setBounds(760, 30, 130, 90);
 
         empManagement.setBackground(new java.awt.Color(153, 0, 0));
         empManagement.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
         empManagement.setForeground(new java.awt.Color(255, 255, 255));
-        empManagement.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/management.png"))); // NOI18N
+        empManagement.setIcon(ImageCache.getIcon("/media/management.png"));
         empManagement.setText("Employee Management");
         empManagement.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
@@ -320,7 +320,7 @@ public class AdminHR extends JFrame {
         requestleaveemppgPB1.setBackground(new java.awt.Color(153, 0, 0));
         requestleaveemppgPB1.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
         requestleaveemppgPB1.setForeground(new java.awt.Color(255, 255, 255));
-        requestleaveemppgPB1.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/REQUEST LEAVE 64 X 64.png"))); // NOI18N
+        requestleaveemppgPB1.setIcon(ImageCache.getIcon("/media/REQUEST LEAVE 64 X 64.png"));
         requestleaveemppgPB1.setText("Request Leave");
         requestleaveemppgPB1.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
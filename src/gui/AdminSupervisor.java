@@ -89,6 +89,7 @@ public class AdminSupervisor extends JFrame {
         attendanceemppgPB = new javax.swing.JButton();
         payrollemppgPB = new javax.swing.JButton();
         requestleaveemppgPB = new javax.swing.JButton();
+        teamcalendarPB = new javax.swing.JButton();
         redOrangeDesign = new javax.swing.JLabel();
         MotorPHLogo = new javax.swing.JLabel();
         lblWelcomeMessage = new javax.swing.JLabel();
@@ -182,7 +183,7 @@ public class AdminSupervisor extends JFrame {
         aboutPB.setBackground(new java.awt.Color(153, 0, 0));
         aboutPB.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
         aboutPB.setForeground(new java.awt.Color(255, 255, 255));
-        aboutPB.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/COMPANY 100 X 100.png"))); // NOI18N
+        aboutPB.setIcon(ImageCache.getIcon("/media/COMPANY 100 X 100.png"));
         aboutPB.setText("About");
         aboutPB.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
@@ -195,7 +196,7 @@ public class AdminSupervisor extends JFrame {
         personaldetPB.setBackground(new java.awt.Color(153, 0, 0));
         personaldetPB.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
         personaldetPB.setForeground(new java.awt.Color(255, 255, 255));
-        personaldetPB.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/DETAILS 64 X 64.png"))); // NOI18N
+        personaldetPB.setIcon(ImageCache.getIcon("/media/DETAILS 64 X 64.png"));
         personaldetPB.setText("View Details");
         personaldetPB.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
@@ -208,7 +209,7 @@ public class AdminSupervisor extends JFrame {
         attendanceemppgPB.setBackground(new java.awt.Color(153, 0, 0));
         attendanceemppgPB.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
         attendanceemppgPB.setForeground(new java.awt.Color(255, 255, 255));
-        attendanceemppgPB.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/availability.png"))); // NOI18N
+        attendanceemppgPB.setIcon(ImageCache.getIcon("/media/availability.png"));
         attendanceemppgPB.setText("View Attendance");
         attendanceemppgPB.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
@@ -221,7 +222,7 @@ public class AdminSupervisor extends JFrame {
         payrollemppgPB.setBackground(new java.awt.Color(153, 0, 0));
         payrollemppgPB.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
         payrollemppgPB.setForeground(new java.awt.Color(255, 255, 255));
-        payrollemppgPB.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/PAYROLL 64 X 64.png"))); // NOI18N
+        payrollemppgPB.setIcon(ImageCache.getIcon("/media/PAYROLL 64 X 64.png"));
         payrollemppgPB.setText("View Payroll");
         payrollemppgPB.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
@@ -234,7 +235,7 @@ public class AdminSupervisor extends JFrame {
         requestleaveemppgPB.setBackground(new java.awt.Color(153, 0, 0));
         requestleaveemppgPB.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
         requestleaveemppgPB.setForeground(new java.awt.Color(255, 255, 255));
-        requestleaveemppgPB.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/REQUEST LEAVE 64 X 64.png"))); // NOI18N
+        requestleaveemppgPB.setIcon(ImageCache.getIcon("/media/REQUEST LEAVE 64 X 64.png"));
         requestleaveemppgPB.setText("Request Leave");
         requestleaveemppgPB.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
@@ -244,14 +245,27 @@ public class AdminSupervisor extends JFrame {
         emppagemainPNL.add(requestleaveemppgPB);
         requestleaveemppgPB.setBounds(410, 320, 200, 80);
 
-        redOrangeDesign.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/Red-Orange Design.png"))); // NOI18N
+        teamcalendarPB.setBackground(new java.awt.Color(153, 0, 0));
+        teamcalendarPB.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
+        teamcalendarPB.setForeground(new java.awt.Color(255, 255, 255));
+        teamcalendarPB.setIcon(ImageCache.getIcon("/media/leave.png"));
+        teamcalendarPB.setText("Team Calendar");
+        teamcalendarPB.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                teamcalendarPBActionPerformed(evt);
+            }
+        });
+        emppagemainPNL.add(teamcalendarPB);
+        teamcalendarPB.setBounds(190, 320, 200, 80);
+
+        redOrangeDesign.setIcon(ImageCache.getIcon("/media/Red-Orange Design.png"));
         redOrangeDesign.setText("RedOrangeDesign");
         redOrangeDesign.setVerticalAlignment(javax.swing.SwingConstants.BOTTOM);
         redOrangeDesign.setPreferredSize(new java.awt.Dimension(725, 500));
         emppagemainPNL.add(redOrangeDesign);
         redOrangeDesign.setBounds(0, -20, 510, 500);
 
-        MotorPHLogo.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/OG Logo _ 100X124.png"))); // NOI18N
+        MotorPHLogo.setIcon(ImageCache.getIcon("/media/OG Logo _ 100X124.png"));
         emppagemainPNL.add(MotorPHLogo);
         MotorPHLogo.setBounds(760, 30, 130, 90);
 
@@ -400,6 +414,22 @@ public class AdminSupervisor extends JFrame {
     }
     }//GEN-LAST:event_requestleaveemppgPBActionPerformed
 
+    private void teamcalendarPBActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_teamcalendarPBActionPerformed
+    try {
+        // Modal, so the dashboard stays open underneath
+        TeamLeaveCalendarDialog calendarDialog = new TeamLeaveCalendarDialog(this, loggedInUser);
+        calendarDialog.setVisible(true);
+        
+    } catch (Exception e) {
+        System.err.println("Error opening Team Leave Calendar: " + e.getMessage());
+        e.printStackTrace();
+        JOptionPane.showMessageDialog(this, 
+            "Error opening Team Leave Calendar: " + e.getMessage(), 
+            "Error", 
+            JOptionPane.ERROR_MESSAGE);
+    }
+    }//GEN-LAST:event_teamcalendarPBActionPerformed
+
     /**
      * @param args the command line arguments
      */
@@ -433,5 +463,6 @@ public class AdminSupervisor extends JFrame {
     private javax.swing.JLabel redOrangeDesign;
     private javax.swing.JButton requestleaveemppgPB;
     private javax.swing.JPanel specialaccessPNL;
+    private javax.swing.JButton teamcalendarPB;
     // End of variables declaration//GEN-END:variables
 }
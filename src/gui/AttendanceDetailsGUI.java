@@ -3,7 +3,7 @@ package gui;
 import Models.AttendanceModel;
 import Models.UserAuthenticationModel;
 import Services.AttendanceService;
-import DAOs.DatabaseConnection;
+import Services.AppContext;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -29,6 +29,7 @@ public class AttendanceDetailsGUI extends javax.swing.JFrame {
      * Sets up service dependencies and loads initial data.
      */
     public AttendanceDetailsGUI(UserAuthenticationModel loggedInUser) {
+        long openedAt = System.nanoTime();
         this.loggedInUser = loggedInUser;
         this.employeeId = String.valueOf(loggedInUser.getEmployeeId());
         this.employeeName = loggedInUser.getFirstName() + " " + loggedInUser.getLastName();
@@ -37,15 +38,15 @@ public class AttendanceDetailsGUI extends javax.swing.JFrame {
         
         this.setLocationRelativeTo(null);
         
-        // Initialize service layer
-        DatabaseConnection databaseConnection = new DatabaseConnection();
-        this.attendanceService = new AttendanceService(databaseConnection);
+        // Shared service layer
+        this.attendanceService = AppContext.get(AttendanceService.class);
 
         setTitle("Attendance Details - " + employeeName);
         
         initializeDateFilter();
         setupOvertimeButtonVisibility();
         loadAttendanceData();
+        ScreenTimer.trackFirstPaint(this, openedAt);
     }
 
     /**
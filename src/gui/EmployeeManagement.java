@@ -3,14 +3,17 @@ package gui;
 import DAOs.*;
 import Models.*;
 import Models.EmployeeModel.EmployeeStatus;
+import Services.AppContext;
 import java.awt.Component;
 import java.math.BigDecimal;
 import java.sql.Date;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.JOptionPane;
 import javax.swing.JTable;
@@ -60,9 +63,9 @@ public class EmployeeManagement extends javax.swing.JFrame {
             this.hrModel.setLastLogin(loggedInUser.getLastLogin());
         }
         
-        this.databaseConnection = new DatabaseConnection();
-        this.employeeDAO = new EmployeeDAO(databaseConnection);
-        this.positionDAO = new PositionDAO(databaseConnection);
+        this.databaseConnection = AppContext.getDatabaseConnection();
+        this.employeeDAO = AppContext.get(EmployeeDAO.class);
+        this.positionDAO = AppContext.get(PositionDAO.class);
         
         initializeGUI();
     }
@@ -72,14 +75,16 @@ public class EmployeeManagement extends javax.swing.JFrame {
         this.userRole = "HR";
         this.hrModel = new HRModel();
         
-        this.databaseConnection = new DatabaseConnection();
-        this.employeeDAO = new EmployeeDAO(databaseConnection);
-        this.positionDAO = new PositionDAO(databaseConnection);
+        this.databaseConnection = AppContext.getDatabaseConnection();
+        this.employeeDAO = AppContext.get(EmployeeDAO.class);
+        this.positionDAO = AppContext.get(PositionDAO.class);
         
         initializeGUI();
     }
     
     private void initializeGUI() {
+        long openedAt = System.nanoTime();
+        ScreenTimer.trackFirstPaint(this, openedAt);
         try {
             initComponents();
             setupGUI();
@@ -143,7 +148,7 @@ public class EmployeeManagement extends javax.swing.JFrame {
                 return;
             }
             
-            positionList = positionDAO.findAll();
+            positionList = new ArrayList<>(ReferenceDataCache.getInstance().getAllPositions());
             System.out.println("Loaded " + positionList.size() + " positions");
         } catch (Exception e) {
             System.err.println("Error loading positions: " + e.getMessage());
@@ -272,6 +277,7 @@ public class EmployeeManagement extends javax.swing.JFrame {
             }
             
             employeeList = employeeDAO.getActiveEmployees();
+            EmployeeDirectoryIndex.getInstance().rebuild(employeeList);
             
             DefaultTableModel model = (DefaultTableModel) tblERecords.getModel();
             model.setRowCount(0);
@@ -982,14 +988,15 @@ public class EmployeeManagement extends javax.swing.JFrame {
             TableRowSorter<TableModel> sorter = new TableRowSorter<>(tblERecords.getModel());
             tblERecords.setRowSorter(sorter);
             
-            List<RowFilter<Object, Object>> filters = new ArrayList<>();
-            filters.add(RowFilter.regexFilter("(?i)" + searchQuery, 0));  // Employee ID
-            filters.add(RowFilter.regexFilter("(?i)" + searchQuery, 1));  // Last Name
-            filters.add(RowFilter.regexFilter("(?i)" + searchQuery, 2));  // First Name
-            filters.add(RowFilter.regexFilter("(?i)" + searchQuery, 11)); // Position
-            
-            RowFilter<Object, Object> combinedFilter = RowFilter.orFilter(filters);
-            sorter.setRowFilter(combinedFilter);
+            // Resolve matches from the in-memory employee index (ID, name or position)
+            Set<Integer> matchingIds = findMatchingEmployeeIds(searchQuery.trim());
+            sorter.setRowFilter(new RowFilter<TableModel, Integer>() {
+                @Override
+                public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+                    Object id = entry.getValue(0); // Employee ID
+                    return id instanceof Integer && matchingIds.contains((Integer) id);
+                }
+            });
             
             if (tblERecords.getRowCount() == 0) {
                 JOptionPane.showMessageDialog(this, "No matching records found.", 
@@ -1003,6 +1010,39 @@ public class EmployeeManagement extends javax.swing.JFrame {
         }
     }
     
+    /**
+     * Find IDs of active employees matching an ID, a name fragment or a position name
+     * @param searchQuery Search text
+     * @return Matching employee IDs
+     */
+    private Set<Integer> findMatchingEmployeeIds(String searchQuery) {
+        EmployeeDirectoryIndex index = EmployeeDirectoryIndex.getInstance();
+        Set<Integer> ids = new HashSet<>();
+        
+        try {
+            EmployeeModel byId = index.findById(Integer.valueOf(searchQuery));
+            if (byId != null) {
+                ids.add(byId.getEmployeeId());
+            }
+        } catch (NumberFormatException e) {
+            // Not an ID - name and position matching below
+        }
+        
+        for (EmployeeModel employee : index.searchByName(searchQuery)) {
+            ids.add(employee.getEmployeeId());
+        }
+        
+        String queryLower = searchQuery.toLowerCase();
+        for (PositionModel position : ReferenceDataCache.getInstance().getAllPositions()) {
+            if (position.getPosition() != null && position.getPosition().toLowerCase().contains(queryLower)) {
+                for (EmployeeModel employee : index.findByPosition(position.getPositionId())) {
+                    ids.add(employee.getEmployeeId());
+                }
+            }
+        }
+        return ids;
+    }
+    
     private void addMonetaryFieldTooltips() {
         TFbasicsalary.setToolTipText("Enter amount without commas (e.g., 50000 not 50,000)");
         TFricesub.setToolTipText("Auto-populated based on position");
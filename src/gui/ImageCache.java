@@ -0,0 +1,151 @@
+package gui;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+
+/**
+ * Process-wide cache for the images in src/media.
+ *
+ * Each asset is decoded once and shared by every screen that shows it, so
+ * moving between dashboards no longer re-reads and re-decodes the same files.
+ * Scaled variants are cached separately, keyed by target size. All entries are
+ * soft references: the JVM may drop them under memory pressure, and they are
+ * decoded again on next use.
+ *
+ * preloadAsync() decodes assets on a background thread (e.g. the dashboard
+ * images while the user is still on the login screen).
+ */
+public final class ImageCache {
+
+    /** Images shown on the dashboards right after login */
+    public static final String[] DASHBOARD_ASSETS = {
+        "/media/Red-Orange Design.png",
+        "/media/OG Logo _ 100X124.png",
+        "/media/COMPANY 100 X 100.png",
+        "/media/DETAILS 64 X 64.png",
+        "/media/availability.png",
+        "/media/PAYROLL 64 X 64.png",
+        "/media/REQUEST LEAVE 64 X 64.png",
+        "/media/REPORTING (64X64).png",
+        "/media/management.png",
+        "/media/accounting.png",
+        "/media/password.png",
+        "/media/USER 128 X 128.png"
+    };
+
+    private static final Map<String, SoftReference<ImageIcon>> icons = new ConcurrentHashMap<>();
+
+    private static final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "image-cache-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ImageCache() {
+    }
+
+    /**
+     * Get an image at its original size
+     * @param resourcePath Classpath resource, e.g. "/media/availability.png"
+     * @return Shared icon, or null if the resource is missing
+     */
+    public static ImageIcon getIcon(String resourcePath) {
+        ImageIcon icon = cached(resourcePath);
+        if (icon == null) {
+            BufferedImage image = decode(resourcePath);
+            if (image == null) {
+                return null;
+            }
+            icon = new ImageIcon(image);
+            icons.put(resourcePath, new SoftReference<>(icon));
+        }
+        return icon;
+    }
+
+    /**
+     * Get an image scaled to the given size. The scaled copy is cached, so
+     * the image is only resampled the first time each size is requested.
+     * @param resourcePath Classpath resource
+     * @param width Target width in pixels
+     * @param height Target height in pixels
+     * @return Shared icon, or null if the resource is missing
+     */
+    public static ImageIcon getIcon(String resourcePath, int width, int height) {
+        String key = resourcePath + "@" + width + "x" + height;
+        ImageIcon icon = cached(key);
+        if (icon == null) {
+            ImageIcon original = getIcon(resourcePath);
+            if (original == null) {
+                return null;
+            }
+            if (original.getIconWidth() == width && original.getIconHeight() == height) {
+                return original;
+            }
+            icon = new ImageIcon(scale((BufferedImage) original.getImage(), width, height));
+            icons.put(key, new SoftReference<>(icon));
+        }
+        return icon;
+    }
+
+    /**
+     * Decode images on the background loader thread so later getIcon() calls
+     * are served from memory
+     * @param resourcePaths Classpath resources to load
+     */
+    public static void preloadAsync(String... resourcePaths) {
+        for (String resourcePath : resourcePaths) {
+            loader.execute(() -> getIcon(resourcePath));
+        }
+    }
+
+    /**
+     * Drop every cached image
+     */
+    public static void clear() {
+        icons.clear();
+    }
+
+    // HELPER METHODS
+
+    private static ImageIcon cached(String key) {
+        SoftReference<ImageIcon> reference = icons.get(key);
+        return reference != null ? reference.get() : null;
+    }
+
+    private static BufferedImage decode(String resourcePath) {
+        URL url = ImageCache.class.getResource(resourcePath);
+        if (url == null) {
+            System.err.println("Image not found: " + resourcePath);
+            return null;
+        }
+        try {
+            return ImageIO.read(url);
+        } catch (IOException e) {
+            System.err.println("Error loading image " + resourcePath + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+}
@@ -5,11 +5,13 @@ import DAOs.LeaveRequestDAO;
 import DAOs.LeaveTypeDAO;
 import DAOs.LeaveBalanceDAO;
 import DAOs.DatabaseConnection;
+import DAOs.ReferenceDataCache;
 import Models.EmployeeModel;
 import Models.LeaveRequestModel;
 import Models.LeaveTypeModel;
 import Models.LeaveBalance;
 import Models.UserAuthenticationModel;
+import Services.AppContext;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -55,16 +57,17 @@ public class LeaveRequest extends javax.swing.JFrame {
      * @param loggedInUser The authenticated user
      */
     public LeaveRequest(UserAuthenticationModel loggedInUser) {
+        long openedAt = System.nanoTime();
         this.loggedInUser = loggedInUser;
         this.employeeId = String.valueOf(loggedInUser.getEmployeeId());
         this.employeeName = loggedInUser.getFirstName() + " " + loggedInUser.getLastName();
         
-        // Initialize database components
-        this.leaveRequestDAO = new LeaveRequestDAO();
-        this.leaveTypeDAO = new LeaveTypeDAO();
-        this.leaveBalanceDAO = new LeaveBalanceDAO();
-        this.databaseConnection = new DatabaseConnection();
-        this.employeeDAO = new EmployeeDAO(databaseConnection);
+        // Shared database components
+        this.leaveRequestDAO = AppContext.get(LeaveRequestDAO.class);
+        this.leaveTypeDAO = AppContext.get(LeaveTypeDAO.class);
+        this.leaveBalanceDAO = AppContext.get(LeaveBalanceDAO.class);
+        this.databaseConnection = AppContext.getDatabaseConnection();
+        this.employeeDAO = AppContext.get(EmployeeDAO.class);
         
         initComponents();
         initializeCustomComponents();
@@ -75,11 +78,9 @@ public class LeaveRequest extends javax.swing.JFrame {
         loadLeaveTypes(); // This will override the NetBeans combo box model
         loadLeaveRequests();
         
-        // Test leave types loading for debugging
-        testLeaveTypesLoading();
-        
         setLocationRelativeTo(null);
         setTitle("Leave Request - " + employeeName);
+        ScreenTimer.trackFirstPaint(this, openedAt);
     }
     
     /**
@@ -216,8 +217,8 @@ public class LeaveRequest extends javax.swing.JFrame {
             DefaultComboBoxModel<String> model = new DefaultComboBoxModel<>();
             model.addElement("Select Leave Type");
             
-            // Get all leave types from database
-            List<LeaveTypeModel> leaveTypes = leaveTypeDAO.getAllLeaveTypes();
+            // Get all leave types from the shared reference data cache
+            List<LeaveTypeModel> leaveTypes = ReferenceDataCache.getInstance().getAllLeaveTypes();
             System.out.println("Database returned " + leaveTypes.size() + " leave types");
             
             boolean foundValidTypes = false;
@@ -282,6 +283,7 @@ public class LeaveRequest extends javax.swing.JFrame {
             // Get leave balances for current year
             List<LeaveBalance> leaveBalances = leaveBalanceDAO.getLeaveBalancesByEmployee(
                 Integer.parseInt(employeeId), currentYear);
+            String[] remainingBalances = getRemainingVacationAndSickBalances(leaveBalances);
             
             for (LeaveRequestModel lr : requests) {
                 // Get leave type name
@@ -303,26 +305,9 @@ public class LeaveRequest extends javax.swing.JFrame {
                 String createdDateStr = lr.getDateCreated() != null ? 
                     lr.getDateCreated().toLocalDateTime().format(DateTimeFormatter.ofPattern("MM/dd/yyyy")) : "";
                 
-                // Get remaining balances
-                String vlRemaining = "N/A";
-                String slRemaining = "N/A";
-                
-                for (LeaveBalance balance : leaveBalances) {
-                    try {
-                        LeaveTypeModel leaveType = leaveTypeDAO.getLeaveTypeById(balance.getLeaveTypeId());
-                        if (leaveType != null) {
-                            if ("Vacation Leave".equals(leaveType.getLeaveTypeName())) {
-                                vlRemaining = String.valueOf(balance.getRemainingLeaveDays() != null ? 
-                                    balance.getRemainingLeaveDays() : 0);
-                            } else if ("Sick Leave".equals(leaveType.getLeaveTypeName())) {
-                                slRemaining = String.valueOf(balance.getRemainingLeaveDays() != null ? 
-                                    balance.getRemainingLeaveDays() : 0);
-                            }
-                        }
-                    } catch (Exception e) {
-                        System.err.println("Error getting leave type for balance: " + e.getMessage());
-                    }
-                }
+                // Remaining balances are the same for every row
+                String vlRemaining = remainingBalances[0];
+                String slRemaining = remainingBalances[1];
                 
                 model.addRow(new Object[]{
                     createdDateStr,
@@ -349,6 +334,31 @@ public class LeaveRequest extends javax.swing.JFrame {
         }
     }
     
+    /**
+     * Resolve remaining vacation and sick leave days from the employee's balances.
+     * Leave type names come from the shared reference data cache.
+     * @param leaveBalances Balances for the current year
+     * @return {vacationRemaining, sickRemaining}, "N/A" when no balance exists
+     */
+    private String[] getRemainingVacationAndSickBalances(List<LeaveBalance> leaveBalances) {
+        String vlRemaining = "N/A";
+        String slRemaining = "N/A";
+        
+        for (LeaveBalance balance : leaveBalances) {
+            LeaveTypeModel leaveType = ReferenceDataCache.getInstance().getLeaveType(balance.getLeaveTypeId());
+            if (leaveType != null) {
+                if ("Vacation Leave".equals(leaveType.getLeaveTypeName())) {
+                    vlRemaining = String.valueOf(balance.getRemainingLeaveDays() != null ? 
+                        balance.getRemainingLeaveDays() : 0);
+                } else if ("Sick Leave".equals(leaveType.getLeaveTypeName())) {
+                    slRemaining = String.valueOf(balance.getRemainingLeaveDays() != null ? 
+                        balance.getRemainingLeaveDays() : 0);
+                }
+            }
+        }
+        return new String[]{vlRemaining, slRemaining};
+    }
+    
     /**
      * Filter leave requests by selected date
      */
@@ -391,6 +401,7 @@ public class LeaveRequest extends javax.swing.JFrame {
             Year currentYear = Year.now(MANILA_TIMEZONE);
             List<LeaveBalance> leaveBalances = leaveBalanceDAO.getLeaveBalancesByEmployee(
                 Integer.parseInt(employeeId), currentYear);
+            String[] remainingBalances = getRemainingVacationAndSickBalances(leaveBalances);
             
             for (LeaveRequestModel lr : requests) {
                 // Same logic as loadLeaveRequests...
@@ -411,25 +422,8 @@ public class LeaveRequest extends javax.swing.JFrame {
                 String createdDateStr = lr.getDateCreated() != null ? 
                     lr.getDateCreated().toLocalDateTime().format(DateTimeFormatter.ofPattern("MM/dd/yyyy")) : "";
                 
-                String vlRemaining = "N/A";
-                String slRemaining = "N/A";
-                
-                for (LeaveBalance balance : leaveBalances) {
-                    try {
-                        LeaveTypeModel leaveType = leaveTypeDAO.getLeaveTypeById(balance.getLeaveTypeId());
-                        if (leaveType != null) {
-                            if ("Vacation Leave".equals(leaveType.getLeaveTypeName())) {
-                                vlRemaining = String.valueOf(balance.getRemainingLeaveDays() != null ? 
-                                    balance.getRemainingLeaveDays() : 0);
-                            } else if ("Sick Leave".equals(leaveType.getLeaveTypeName())) {
-                                slRemaining = String.valueOf(balance.getRemainingLeaveDays() != null ? 
-                                    balance.getRemainingLeaveDays() : 0);
-                            }
-                        }
-                    } catch (Exception e) {
-                        System.err.println("Error getting leave type for balance: " + e.getMessage());
-                    }
-                }
+                String vlRemaining = remainingBalances[0];
+                String slRemaining = remainingBalances[1];
                 
                 model.addRow(new Object[]{
                     createdDateStr,
@@ -645,33 +639,6 @@ public class LeaveRequest extends javax.swing.JFrame {
                 return;
             }
             
-            // Check leave balance
-            Year currentYear = Year.now(MANILA_TIMEZONE);
-            LeaveBalance currentBalance = leaveBalanceDAO.getLeaveBalance(
-                Integer.parseInt(employeeId), 
-                selectedLeaveType.getLeaveTypeId(), 
-                currentYear
-            );
-            
-            if (currentBalance == null) {
-                JOptionPane.showMessageDialog(this, 
-                    "No leave balance found for " + selectedLeaveType.getLeaveTypeName() + 
-                    " in " + currentYear + "!\nPlease contact HR.", 
-                    "Balance Not Found", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-            
-            // Check if sufficient balance
-            if (!currentBalance.canTakeLeave(workingDaysRequested)) {
-                JOptionPane.showMessageDialog(this, 
-                    "Insufficient leave balance!\n" +
-                    "Requested: " + workingDaysRequested + " days\n" +
-                    "Available: " + (currentBalance.getRemainingLeaveDays() != null ? 
-                        currentBalance.getRemainingLeaveDays() : 0) + " days", 
-                    "Insufficient Balance", JOptionPane.WARNING_MESSAGE);
-                return;
-            }
-            
             // Create leave request model
             LeaveRequestModel leaveRequest = new LeaveRequestModel();
             leaveRequest.setEmployeeId(Integer.parseInt(employeeId));
@@ -690,15 +657,47 @@ public class LeaveRequest extends javax.swing.JFrame {
                 return;
             }
             
+            // Balance and attendance in one query, overlapping requests from the interval index
+            Year currentYear = Year.now(MANILA_TIMEZONE);
+            LeaveRequestDAO.SubmissionCheck check = leaveRequestDAO.checkLeaveSubmission(leaveRequest, currentYear);
+            
+            if (check.getError() != null) {
+                JOptionPane.showMessageDialog(this, 
+                    "Could not validate the leave request. Please try again.\n" + check.getError(), 
+                    "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            
+            if (!check.isBalanceFound()) {
+                JOptionPane.showMessageDialog(this, 
+                    "No leave balance found for " + selectedLeaveType.getLeaveTypeName() + 
+                    " in " + currentYear + "!\nPlease contact HR.", 
+                    "Balance Not Found", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            
+            // Check if sufficient balance
+            if (!check.hasSufficientBalance()) {
+                JOptionPane.showMessageDialog(this, 
+                    "Insufficient leave balance!\n" +
+                    "Requested: " + check.getWorkingDays() + " days\n" +
+                    "Available: " + (check.getRemainingDays() != null ? 
+                        check.getRemainingDays() : 0) + " days", 
+                    "Insufficient Balance", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+            
             // Check for overlapping requests
-            List<LeaveRequestModel> overlapping = leaveRequestDAO.getOverlappingLeaveRequests(leaveRequest);
-            if (!overlapping.isEmpty()) {
+            if (check.hasOverlaps()) {
                 JOptionPane.showMessageDialog(this, 
                     "You already have a leave request for overlapping dates!", 
                     "Overlapping Request", JOptionPane.WARNING_MESSAGE);
                 return;
             }
             
+            // Days already worked stay worked days; flag them for HR review
+            leaveRequest.setHasAttendanceConflict(check.hasAttendanceConflicts());
+            
             // Save to database
             if (leaveRequestDAO.createLeaveRequest(leaveRequest)) {
                 // Show success message with request details
@@ -850,57 +849,6 @@ public class LeaveRequest extends javax.swing.JFrame {
         typeofleavejcombobox.setSelectedIndex(0);
     }
     
-    /**
-     * Test method to debug leave types loading
-     */
-    private void testLeaveTypesLoading() {
-        try {
-            System.out.println("=== Testing Leave Types Loading ===");
-            List<LeaveTypeModel> leaveTypes = leaveTypeDAO.getAllLeaveTypes();
-            System.out.println("Total leave types found: " + leaveTypes.size());
-            
-            for (LeaveTypeModel leaveType : leaveTypes) {
-                System.out.println("Leave Type ID: " + leaveType.getLeaveTypeId() + 
-                                 ", Name: '" + leaveType.getLeaveTypeName() + "'" +
-                                 ", Max Days: " + leaveType.getMaxDaysPerYear());
-                
-                // Test each leave type lookup
-                LeaveTypeModel testLookup = leaveTypeDAO.getLeaveTypeByName(leaveType.getLeaveTypeName());
-                System.out.println("  -> Lookup test: " + (testLookup != null ? "SUCCESS" : "FAILED"));
-            }
-            
-            // Test specific lookups
-            System.out.println("\n=== Testing Specific Lookups ===");
-            String[] testNames = {"Sick Leave", "Vacation Leave", "sick leave", "SICK LEAVE"};
-            for (String testName : testNames) {
-                LeaveTypeModel result = leaveTypeDAO.getLeaveTypeByName(testName);
-                System.out.println("Testing '" + testName + "': " + (result != null ? "FOUND" : "NOT FOUND"));
-            }
-            
-            // Test combo box model
-            System.out.println("\n=== Testing Combo Box Model ===");
-            ComboBoxModel<String> model = typeofleavejcombobox.getModel();
-            System.out.println("Combo box item count: " + model.getSize());
-            for (int i = 0; i < model.getSize(); i++) {
-                System.out.println("Item " + i + ": '" + model.getElementAt(i) + "'");
-            }
-            System.out.println("Selected item: '" + typeofleavejcombobox.getSelectedItem() + "'");
-            System.out.println("Is combo box enabled: " + typeofleavejcombobox.isEnabled());
-            
-            // Check if we need to initialize leave types
-            if (leaveTypes.size() == 0) {
-                System.out.println("\n=== No Leave Types Found - Attempting to Initialize ===");
-                initializeLeaveTypesIfNeeded();
-            }
-            
-            System.out.println("=== End Testing ===\n");
-            
-        } catch (Exception e) {
-            System.err.println("Error in testing: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-    
     /**
      * Initialize leave types if they don't exist
      */
@@ -1,8 +1,8 @@
 package gui;
 
-import DAOs.DatabaseConnection;
 import DAOs.UserAuthenticationDAO;
 import Models.UserAuthenticationModel;
+import Services.AppContext;
 import javax.swing.*;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
@@ -14,21 +14,8 @@ import java.awt.event.KeyListener;
  */
 public class Login extends javax.swing.JFrame {
 
-    private final UserAuthenticationDAO userAuthDAO;
-    private final DatabaseConnection databaseConnection;
-
     public Login() {
-        // Initialize database connection and DAO
-        databaseConnection = new DatabaseConnection();
-        userAuthDAO = new UserAuthenticationDAO();
-        
-        // Test database connection
-        if (!databaseConnection.testConnection()) {
-            JOptionPane.showMessageDialog(this, 
-                "Database connection failed! Please check your database settings.", 
-                "Connection Error", 
-                JOptionPane.ERROR_MESSAGE);
-        }
+        long openedAt = System.nanoTime();
         
         initComponents();
         setupKeyListeners();
@@ -38,6 +25,29 @@ public class Login extends javax.swing.JFrame {
         pack();  // Size the window to fit components
         setLocationRelativeTo(null);  // Center the window on screen
         setResizable(false);  // Optional: prevent resizing
+        
+        ScreenTimer.trackFirstPaint(this, openedAt);
+        checkDatabaseConnectionAsync();
+        
+        // Decode the dashboard images while the user is typing their credentials
+        ImageCache.preloadAsync(ImageCache.DASHBOARD_ASSETS);
+    }
+    
+    /**
+     * Load the JDBC driver and test the database connection in the background,
+     * so the login window paints immediately instead of waiting on the database
+     */
+    private void checkDatabaseConnectionAsync() {
+        Thread connectionCheck = new Thread(() -> {
+            if (!AppContext.warmUpConnection()) {
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, 
+                    "Database connection failed! Please check your database settings.", 
+                    "Connection Error", 
+                    JOptionPane.ERROR_MESSAGE));
+            }
+        }, "login-connection-check");
+        connectionCheck.setDaemon(true);
+        connectionCheck.start();
     }
     
     /**
@@ -107,6 +117,7 @@ public class Login extends javax.swing.JFrame {
             setCursor(java.awt.Cursor.getPredefinedCursor(java.awt.Cursor.WAIT_CURSOR));
             
             // Authenticate user using DAO
+            UserAuthenticationDAO userAuthDAO = AppContext.get(UserAuthenticationDAO.class);
             UserAuthenticationModel user = userAuthDAO.authenticateUser(email, password);
 
             if (user != null) {
@@ -127,6 +138,9 @@ public class Login extends javax.swing.JFrame {
                     System.out.println("Login successful for user: " + user.getEmail() + 
                                      " at " + user.getFormattedLastLogin());
                     
+                    // Warm reference data and the landing screen's DAOs while the welcome dialog is open
+                    AppContext.warmUpAsync(user.getUserRole());
+                    
                     // Show success message
                     JOptionPane.showMessageDialog(this, 
                         "Welcome, " + user.getDisplayName() + "!\nLogin successful!", 
@@ -407,7 +421,7 @@ public class Login extends javax.swing.JFrame {
         jPanel2.setLayout(null);
         getContentPane().add(jPanel2, new org.netbeans.lib.awtextra.AbsoluteConstraints(0, 0, -1, -1));
 
-        jLabel1.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/MPH_NEW_LOGIN2.jpg"))); // NOI18N
+        jLabel1.setIcon(ImageCache.getIcon("/media/MPH_NEW_LOGIN2.jpg"));
         getContentPane().add(jLabel1, new org.netbeans.lib.awtextra.AbsoluteConstraints(-3, 0, 490, -1));
 
         pack();
@@ -430,7 +444,7 @@ public class Login extends javax.swing.JFrame {
 
         if (email != null && !email.trim().isEmpty()) {
             if (isValidEmail(email)) {
-                if (userAuthDAO.emailExists(email)) {
+                if (AppContext.get(UserAuthenticationDAO.class).emailExists(email)) {
                     JOptionPane.showMessageDialog(this,
                         "Password reset instructions have been sent to your email!\nPlease check your inbox and follow the instructions.",
                         "Password Reset",
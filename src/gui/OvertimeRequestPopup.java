@@ -14,6 +14,8 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import DAOs.DatabaseConnection;
+import DAOs.OvertimeRequestDAO;
+import DAOs.RequestIntervalIndex;
 import Models.UserAuthenticationModel;
 
 /**
@@ -675,6 +677,11 @@ public class OvertimeRequestPopup extends JDialog {
             if (rowsAffected == 0) {
                 throw new SQLException("Failed to insert overtime request - no rows affected");
             }
+            
+            // Inserted directly, so let the overlap index reload this employee
+            // and recount their overtime period totals
+            RequestIntervalIndex.getInstance().invalidateEmployee(Integer.parseInt(employeeId));
+            new OvertimeRequestDAO(databaseConnection).refreshPeriodTotals(Integer.parseInt(employeeId));
         }
     }
     
@@ -2,6 +2,7 @@ package gui;
 
 import Models.*;
 import DAOs.*;
+import Services.AppContext;
 import Services.ReportService;
 import Services.PurePDFPayslipGenerator;
 
@@ -69,6 +70,7 @@ public class PayrollManagement extends javax.swing.JFrame {
      * @param user The logged-in user (must be Accounting role)
      */
     public PayrollManagement(UserAuthenticationModel user) {
+        long openedAt = System.nanoTime();
         this.loggedInUser = user;
         
         // Initialize current data first to prevent null pointer exceptions
@@ -92,6 +94,7 @@ public class PayrollManagement extends javax.swing.JFrame {
         updateButtonStates();
         
         System.out.println("PayrollManagement initialized for user: " + user.getFirstName() + " " + user.getLastName());
+        ScreenTimer.trackFirstPaint(this, openedAt);
     }
     
     /**
@@ -99,22 +102,20 @@ public class PayrollManagement extends javax.swing.JFrame {
      */
     private void initializeComponents() {
          try {
-        // Initialize DAOs with shared database connection
-        DatabaseConnection dbConnection = new DatabaseConnection();
-        this.payrollDAO = new PayrollDAO(dbConnection);
-        this.payPeriodDAO = new PayPeriodDAO();
-        this.employeeDAO = new EmployeeDAO(dbConnection);
-        this.positionDAO = new PositionDAO(dbConnection);
-        this.positionBenefitDAO = new PositionBenefitDAO(dbConnection);
-        this.payslipDAO = new PayslipDAO(dbConnection);
-        
-        // Initialize detail DAOs with shared database connection
-        this.payrollAttendanceDAO = new PayrollAttendanceDAO(dbConnection);
-        this.payrollBenefitDAO = new PayrollBenefitDAO(dbConnection);
-        this.payrollOvertimeDAO = new PayrollOvertimeDAO(dbConnection);
-        
-        // Initialize ReportService
-        this.reportService = new ReportService(dbConnection);
+        // Shared DAOs and services, created on first use by AppContext
+        this.payrollDAO = AppContext.get(PayrollDAO.class);
+        this.payPeriodDAO = AppContext.get(PayPeriodDAO.class);
+        this.employeeDAO = AppContext.get(EmployeeDAO.class);
+        this.positionDAO = AppContext.get(PositionDAO.class);
+        this.positionBenefitDAO = AppContext.get(PositionBenefitDAO.class);
+        this.payslipDAO = AppContext.get(PayslipDAO.class);
+        
+        // Detail DAOs
+        this.payrollAttendanceDAO = AppContext.get(PayrollAttendanceDAO.class);
+        this.payrollBenefitDAO = AppContext.get(PayrollBenefitDAO.class);
+        this.payrollOvertimeDAO = AppContext.get(PayrollOvertimeDAO.class);
+        
+        this.reportService = AppContext.get(ReportService.class);
         
         // Create AccountingModel from existing user
         if (loggedInUser != null) {
@@ -227,15 +228,12 @@ private void populateDepartmentDropdown() {
         // Use Set to avoid duplicates
         Set<String> uniqueDepartments = new TreeSet<>();
         
-        // USE AccountingModel to get employees (with permission checking)
-        List<EmployeeModel> employees = accountingModel.getAllActiveEmployees();
-        
-        for (EmployeeModel employee : employees) {
-            if (employee.getPositionId() != null) {
-                PositionModel position = positionDAO.findById(employee.getPositionId());
-                if (position != null && position.getDepartment() != null) {
-                    uniqueDepartments.add(position.getDepartment().trim());
-                }
+        // Departments that have active employees, from the in-memory caches
+        // (no per-employee position lookups before the window is shown)
+        EmployeeDirectoryIndex directory = EmployeeDirectoryIndex.getInstance();
+        for (String department : ReferenceDataCache.getInstance().getDepartments()) {
+            if (!directory.findByDepartment(department).isEmpty()) {
+                uniqueDepartments.add(department.trim());
             }
         }
         
@@ -244,7 +242,7 @@ private void populateDepartmentDropdown() {
             selectDepJComboBox1.addItem(department);
         }
         
-        System.out.println("Populated " + uniqueDepartments.size() + " departments using AccountingModel");
+        System.out.println("Populated " + uniqueDepartments.size() + " departments from reference data");
         
     } catch (Exception e) {
         System.err.println("Error populating department dropdown: " + e.getMessage());
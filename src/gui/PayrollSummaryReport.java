@@ -4,6 +4,7 @@ import Models.UserAuthenticationModel;
 import DAOs.DatabaseConnection;
 import Services.ReportService;
 import Services.PurePDFPayrollSummaryGenerator;
+import Services.AppContext;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -50,9 +51,9 @@ public class PayrollSummaryReport extends javax.swing.JFrame {
         this.loggedInUser = loggedInUser;
         this.userRole = (loggedInUser != null) ? loggedInUser.getUserRole() : "HR";
         
-        // Initialize services
-        this.databaseConnection = new DatabaseConnection();
-        this.reportService = new ReportService(databaseConnection);
+        // Shared services
+        this.databaseConnection = AppContext.getDatabaseConnection();
+        this.reportService = AppContext.get(ReportService.class);
         
         initializeGUI();
         
@@ -67,9 +68,9 @@ public class PayrollSummaryReport extends javax.swing.JFrame {
         this.loggedInUser = null;
         this.userRole = "HR";
         
-        // Initialize services
-        this.databaseConnection = new DatabaseConnection();
-        this.reportService = new ReportService(databaseConnection);
+        // Shared services
+        this.databaseConnection = AppContext.getDatabaseConnection();
+        this.reportService = AppContext.get(ReportService.class);
         
         initializeGUI();
         
@@ -80,6 +81,7 @@ public class PayrollSummaryReport extends javax.swing.JFrame {
      * Initialize GUI components and setup
      */
     private void initializeGUI() {
+        ScreenTimer.trackFirstPaint(this, System.nanoTime());
         initComponents(); // Initialize Swing components
         setupUIComponents(); // Additional UI setup
         loadInitialData(); // Load dropdown data
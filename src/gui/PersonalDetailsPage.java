@@ -2,6 +2,7 @@ package gui;
 
 import DAOs.UserAuthenticationDAO;
 import Models.UserAuthenticationModel;
+import Services.AppContext;
 import java.awt.HeadlessException;
 import java.sql.*;
 import javax.swing.JOptionPane;
@@ -23,7 +24,7 @@ public class PersonalDetailsPage extends javax.swing.JFrame {
         
         // Store the user object for later use
         this.loggedInUser = user;
-        this.userAuthDAO = new UserAuthenticationDAO();
+        this.userAuthDAO = AppContext.get(UserAuthenticationDAO.class);
         
         // Get user details from the UserAuthenticationModel object
         this.employeeID = String.valueOf(user.getEmployeeId());
@@ -50,7 +51,7 @@ public class PersonalDetailsPage extends javax.swing.JFrame {
      */
     public PersonalDetailsPage() {
         initComponents();
-        this.userAuthDAO = new UserAuthenticationDAO();
+        this.userAuthDAO = AppContext.get(UserAuthenticationDAO.class);
         setLocationRelativeTo(null);
         setResizable(false);
         System.out.println("PersonalDetailsPage default constructor called (not normally used)");
@@ -528,7 +529,7 @@ public class PersonalDetailsPage extends javax.swing.JFrame {
 
         detailsiconPNL.setBackground(new java.awt.Color(220, 95, 0));
 
-        icondetailsLBL.setIcon(new javax.swing.ImageIcon(getClass().getResource("/media/USER 128 X 128.png"))); // NOI18N
+        icondetailsLBL.setIcon(ImageCache.getIcon("/media/USER 128 X 128.png"));
 
         javax.swing.GroupLayout detailsiconPNLLayout = new javax.swing.GroupLayout(detailsiconPNL);
         detailsiconPNL.setLayout(detailsiconPNLLayout);
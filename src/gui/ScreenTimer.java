@@ -0,0 +1,60 @@
+package gui;
+
+import java.awt.Window;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.swing.SwingUtilities;
+
+/**
+ * Measures time-to-first-paint for screens: from the start of a screen's
+ * constructor until the window has been shown and its first paint has been
+ * processed on the event thread.
+ *
+ * Usage in a screen constructor:
+ *   long openedAt = System.nanoTime();
+ *   ... build the screen ...
+ *   ScreenTimer.trackFirstPaint(this, openedAt);
+ */
+public final class ScreenTimer {
+
+    // Last measured time per screen, in milliseconds
+    private static final Map<String, Long> firstPaintMillis =
+            Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private ScreenTimer() {
+    }
+
+    /**
+     * Report the first paint time of a window once it becomes visible
+     * @param window The screen being opened
+     * @param openedAtNanos System.nanoTime() taken at the start of its constructor
+     */
+    public static void trackFirstPaint(Window window, long openedAtNanos) {
+        String screenName = window.getClass().getSimpleName();
+        window.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                window.removeWindowListener(this);
+                // Queued behind the paint events posted when the window was shown
+                SwingUtilities.invokeLater(() -> {
+                    long elapsedMillis = (System.nanoTime() - openedAtNanos) / 1_000_000;
+                    firstPaintMillis.put(screenName, elapsedMillis);
+                    System.out.println("Time to first paint for " + screenName + ": " + elapsedMillis + " ms");
+                });
+            }
+        });
+    }
+
+    /**
+     * Get the last measured first paint time of every screen opened so far
+     * @return Screen name to milliseconds
+     */
+    public static Map<String, Long> getFirstPaintTimes() {
+        synchronized (firstPaintMillis) {
+            return new LinkedHashMap<>(firstPaintMillis);
+        }
+    }
+}
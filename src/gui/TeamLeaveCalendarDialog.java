@@ -0,0 +1,231 @@
+package gui;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import DAOs.LeaveOccupancyIndex;
+import Models.EmployeeModel;
+import Models.UserAuthenticationModel;
+import Services.AppContext;
+import Services.TeamLeaveCalendarService;
+import Utility.WorkdayCalendar;
+
+/**
+ * Quarter view of who is out in the supervisor's team or department.
+ * One row per employee and one column per day: A = approved leave,
+ * P = pending leave. The last row is the number of people out that day.
+ * Switching quarters or scope only reads the in-memory occupancy index.
+ */
+public class TeamLeaveCalendarDialog extends JDialog {
+
+    private static final String SCOPE_TEAM = "My Team";
+    private static final String SCOPE_DEPARTMENT = "My Department";
+
+    private static final Color APPROVED_COLOR = new Color(220, 80, 80);
+    private static final Color PENDING_COLOR = new Color(255, 190, 90);
+    private static final Color NON_WORKDAY_COLOR = new Color(235, 235, 235);
+
+    private final UserAuthenticationModel loggedInUser;
+    private final TeamLeaveCalendarService calendarService;
+    private final DateTimeFormatter quarterFormatter = DateTimeFormatter.ofPattern("MMM d, yyyy");
+
+    private JComboBox<String> scopeComboBox;
+    private JCheckBox includePendingCheckBox;
+    private JLabel quarterLabel;
+    private JLabel summaryLabel;
+    private JTable calendarTable;
+    private DefaultTableModel tableModel;
+
+    private LocalDate quarterStart;
+    private List<LocalDate> days = new ArrayList<>();
+
+    public TeamLeaveCalendarDialog(JFrame parent, UserAuthenticationModel loggedInUser) {
+        super(parent, "Team Leave Calendar", true);
+        this.loggedInUser = loggedInUser;
+        this.calendarService = AppContext.get(TeamLeaveCalendarService.class);
+        this.quarterStart = TeamLeaveCalendarService.quarterStart(LocalDate.now(TeamLeaveCalendarService.MANILA_TIMEZONE));
+
+        initComponents();
+        loadCalendar();
+
+        setLocationRelativeTo(parent);
+    }
+
+    private void initComponents() {
+        setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+        setLayout(new BorderLayout());
+        setSize(1100, 550);
+
+        JPanel mainPanel = new JPanel(new BorderLayout(0, 10));
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
+        mainPanel.setBackground(Color.WHITE);
+
+        JPanel controlsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        controlsPanel.setBackground(Color.WHITE);
+
+        scopeComboBox = new JComboBox<>(new String[] { SCOPE_TEAM, SCOPE_DEPARTMENT });
+        scopeComboBox.addActionListener(e -> loadCalendar());
+
+        JButton previousButton = new JButton("< Previous");
+        previousButton.addActionListener(e -> {
+            quarterStart = quarterStart.minusMonths(3);
+            loadCalendar();
+        });
+
+        JButton nextButton = new JButton("Next >");
+        nextButton.addActionListener(e -> {
+            quarterStart = quarterStart.plusMonths(3);
+            loadCalendar();
+        });
+
+        quarterLabel = new JLabel();
+        quarterLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
+
+        includePendingCheckBox = new JCheckBox("Show pending", true);
+        includePendingCheckBox.setBackground(Color.WHITE);
+        includePendingCheckBox.addActionListener(e -> loadCalendar());
+
+        controlsPanel.add(new JLabel("View:"));
+        controlsPanel.add(scopeComboBox);
+        controlsPanel.add(previousButton);
+        controlsPanel.add(quarterLabel);
+        controlsPanel.add(nextButton);
+        controlsPanel.add(includePendingCheckBox);
+        mainPanel.add(controlsPanel, BorderLayout.NORTH);
+
+        tableModel = new DefaultTableModel() {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        calendarTable = new JTable(tableModel);
+        calendarTable.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
+        calendarTable.getTableHeader().setReorderingAllowed(false);
+        calendarTable.setRowHeight(22);
+        calendarTable.setDefaultRenderer(Object.class, new DayCellRenderer());
+        mainPanel.add(new JScrollPane(calendarTable), BorderLayout.CENTER);
+
+        JPanel bottomPanel = new JPanel(new BorderLayout());
+        bottomPanel.setBackground(Color.WHITE);
+        summaryLabel = new JLabel(" ");
+        JButton closeButton = new JButton("Close");
+        closeButton.addActionListener(e -> dispose());
+        bottomPanel.add(summaryLabel, BorderLayout.CENTER);
+        bottomPanel.add(closeButton, BorderLayout.EAST);
+        mainPanel.add(bottomPanel, BorderLayout.SOUTH);
+
+        add(mainPanel, BorderLayout.CENTER);
+    }
+
+    private void loadCalendar() {
+        try {
+            LocalDate quarterEnd = TeamLeaveCalendarService.quarterEnd(quarterStart);
+            quarterLabel.setText(quarterStart.format(quarterFormatter) + " - " + quarterEnd.format(quarterFormatter));
+
+            List<EmployeeModel> team = loadTeam();
+            boolean includePending = includePendingCheckBox.isSelected();
+            List<LeaveOccupancyIndex.DayOccupancy> calendar = calendarService.getCalendar(team, quarterStart, quarterEnd);
+
+            days = new ArrayList<>();
+            List<String> columns = new ArrayList<>();
+            columns.add("Employee");
+            for (LeaveOccupancyIndex.DayOccupancy day : calendar) {
+                days.add(day.getDate());
+                LocalDate date = day.getDate();
+                columns.add(date.getDayOfMonth() == 1
+                        ? date.format(DateTimeFormatter.ofPattern("MMM d"))
+                        : String.valueOf(date.getDayOfMonth()));
+            }
+
+            Object[][] rows = new Object[team.size() + 1][columns.size()];
+            for (int r = 0; r < team.size(); r++) {
+                EmployeeModel employee = team.get(r);
+                rows[r][0] = employee.getFirstName() + " " + employee.getLastName();
+                for (int c = 0; c < calendar.size(); c++) {
+                    LeaveOccupancyIndex.DayOccupancy day = calendar.get(c);
+                    if (day.isApproved(employee.getEmployeeId())) {
+                        rows[r][c + 1] = "A";
+                    } else if (includePending && day.isPending(employee.getEmployeeId())) {
+                        rows[r][c + 1] = "P";
+                    } else {
+                        rows[r][c + 1] = "";
+                    }
+                }
+            }
+
+            int peak = 0;
+            LocalDate peakDay = null;
+            int totalRow = team.size();
+            rows[totalRow][0] = "Out";
+            for (int c = 0; c < calendar.size(); c++) {
+                LeaveOccupancyIndex.DayOccupancy day = calendar.get(c);
+                int out = includePending ? day.getTotal() : day.getApproved().size();
+                rows[totalRow][c + 1] = out > 0 ? String.valueOf(out) : "";
+                if (out > peak) {
+                    peak = out;
+                    peakDay = day.getDate();
+                }
+            }
+
+            tableModel.setDataVector(rows, columns.toArray());
+            calendarTable.getColumnModel().getColumn(0).setPreferredWidth(180);
+            for (int c = 1; c < columns.size(); c++) {
+                calendarTable.getColumnModel().getColumn(c).setPreferredWidth(columns.get(c).length() > 2 ? 48 : 28);
+            }
+
+            summaryLabel.setText(team.size() + " employees" + (peakDay != null
+                    ? " | Most out: " + peak + " on " + peakDay.format(quarterFormatter)
+                    : " | Nobody out this quarter"));
+
+        } catch (Exception e) {
+            System.err.println("Error loading team leave calendar: " + e.getMessage());
+            JOptionPane.showMessageDialog(this,
+                "Error loading team leave calendar: " + e.getMessage(),
+                "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private List<EmployeeModel> loadTeam() {
+        int supervisorId = loggedInUser.getEmployeeId();
+        if (SCOPE_DEPARTMENT.equals(scopeComboBox.getSelectedItem())) {
+            String department = calendarService.getDepartmentOf(supervisorId);
+            return department != null ? calendarService.getDepartmentMembers(department) : new ArrayList<>();
+        }
+        return calendarService.getDirectReports(supervisorId);
+    }
+
+    /**
+     * Colors leave cells and greys out weekends and holidays
+     */
+    private class DayCellRenderer extends DefaultTableCellRenderer {
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                       boolean hasFocus, int row, int column) {
+            Component cell = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+            setHorizontalAlignment(column == 0 ? SwingConstants.LEFT : SwingConstants.CENTER);
+            if (isSelected) {
+                return cell;
+            }
+
+            Color background = Color.WHITE;
+            if (column > 0 && column - 1 < days.size()) {
+                if ("A".equals(value)) {
+                    background = APPROVED_COLOR;
+                } else if ("P".equals(value)) {
+                    background = PENDING_COLOR;
+                } else if (!WorkdayCalendar.getInstance().isWorkday(days.get(column - 1))) {
+                    background = NON_WORKDAY_COLOR;
+                }
+            }
+            cell.setBackground(background);
+            cell.setFont(cell.getFont().deriveFont(row == table.getRowCount() - 1 ? Font.BOLD : Font.PLAIN));
+            return cell;
+        }
+    }
+}
@@ -2,11 +2,15 @@ package gui;
 
 import DAOs.DatabaseConnection;
 import DAOs.EmployeeDAO;
+import DAOs.EmployeeDirectoryIndex;
+import DAOs.EmployeeIdAllocator;
 import DAOs.UserAuthenticationDAO;
 import DAOs.PositionDAO;
+import DAOs.ReferenceDataCache;
 import Models.EmployeeModel;
 import Models.UserAuthenticationModel;
 import Models.PositionModel;
+import Services.AppContext;
 import Utility.PasswordHasher;
 import java.awt.GridLayout;
 import java.awt.BorderLayout;
@@ -23,6 +27,7 @@ import java.util.ArrayList;
 import java.util.Set;
 import java.util.HashSet;
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
 
 /**
@@ -55,6 +60,7 @@ public class UserManagement extends javax.swing.JFrame {
      * @param user The currently logged-in user
      */
     public UserManagement(UserAuthenticationModel user) {
+        long openedAt = System.nanoTime();
         this.loggedInUser = user;
         initializeDAOs();
         initComponents();
@@ -73,6 +79,7 @@ public class UserManagement extends javax.swing.JFrame {
         setTitle("User Management - MotorPH");
         setDefaultCloseOperation(javax.swing.WindowConstants.EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
+        ScreenTimer.trackFirstPaint(this, openedAt);
     }
 
     /**
@@ -80,10 +87,10 @@ public class UserManagement extends javax.swing.JFrame {
      */
     private void initializeDAOs() {
         try {
-            this.databaseConnection = new DatabaseConnection();
-            this.employeeDAO = new EmployeeDAO(databaseConnection);
-            this.userAuthDAO = new UserAuthenticationDAO();
-            this.positionDAO = new PositionDAO(databaseConnection);
+            this.databaseConnection = AppContext.getDatabaseConnection();
+            this.employeeDAO = AppContext.get(EmployeeDAO.class);
+            this.userAuthDAO = AppContext.get(UserAuthenticationDAO.class);
+            this.positionDAO = AppContext.get(PositionDAO.class);
             
             // Test database connection
             if (!databaseConnection.testConnection()) {
@@ -182,7 +189,7 @@ public class UserManagement extends javax.swing.JFrame {
         try {
             passwordTableModel.setRowCount(0); // Clear existing data
             
-            List<EmployeeModel> employees = employeeDAO.getActiveEmployees();
+            List<EmployeeModel> employees = EmployeeDirectoryIndex.getInstance().getAll();
             
             for (EmployeeModel employee : employees) {
                 addEmployeeToTable(employee);
@@ -238,12 +245,12 @@ public class UserManagement extends javax.swing.JFrame {
     }
 
     /**
-     * Get department filter options using PositionDAO methods
+     * Get department filter options from the shared reference data cache
      * @return Array of department options
      */
     private String[] getDepartmentFilterOptions() {
         try {
-            List<PositionModel> allPositions = positionDAO.findAll();
+            List<String> cachedDepartments = ReferenceDataCache.getInstance().getDepartments();
             Set<String> departmentSet = new HashSet<>();
             
             // Start with core departments
@@ -255,11 +262,7 @@ public class UserManagement extends javax.swing.JFrame {
             }
             
             // Add any additional departments from database
-            for (PositionModel position : allPositions) {
-                if (position.getDepartment() != null && !position.getDepartment().trim().isEmpty()) {
-                    departmentSet.add(position.getDepartment());
-                }
-            }
+            departmentSet.addAll(cachedDepartments);
             
             // Convert to array while maintaining order (put "All" first)
             List<String> orderedDepts = new ArrayList<>();
@@ -304,7 +307,10 @@ public class UserManagement extends javax.swing.JFrame {
             // Try to parse as employee ID first
             try {
                 Integer id = Integer.valueOf(trimmedSearch);
-                EmployeeModel employee = employeeDAO.findById(id);
+                EmployeeModel employee = EmployeeDirectoryIndex.getInstance().findById(id);
+                if (employee == null) {
+                    employee = employeeDAO.findById(id); // Not active - check the database
+                }
                 
                 if (employee != null) {
                     addEmployeeToTable(employee);
@@ -326,22 +332,12 @@ public class UserManagement extends javax.swing.JFrame {
     }
 
     /**
-     * Filter employees by name using Employee methods
+     * Filter employees by name using the in-memory employee index
      * @param searchName The name to search for
      */
     private void filterByEmployeeName(String searchName) {
         try {
-            List<EmployeeModel> allEmployees = employeeDAO.getActiveEmployees();
-            List<EmployeeModel> matchingEmployees = new ArrayList<>();
-            
-            String searchLower = searchName.toLowerCase().trim();
-            
-            // Use Employee model's getFullName() method for consistency
-            for (EmployeeModel employee : allEmployees) {
-                if (employee.getFullName().toLowerCase().contains(searchLower)) {
-                    matchingEmployees.add(employee);
-                }
-            }
+            List<EmployeeModel> matchingEmployees = EmployeeDirectoryIndex.getInstance().searchByName(searchName);
             
             for (EmployeeModel employee : matchingEmployees) {
                 addEmployeeToTable(employee);
@@ -363,7 +359,7 @@ public class UserManagement extends javax.swing.JFrame {
     }
 
     /**
-     * Filter employees by department using PositionDAO and PositionModel methods
+     * Filter employees by department using the in-memory employee index
      * @param filterValue The department to filter by
      */
     private void filterByDepartment(String filterValue) {
@@ -375,20 +371,7 @@ public class UserManagement extends javax.swing.JFrame {
                 return;
             }
             
-            List<EmployeeModel> allEmployees = employeeDAO.getActiveEmployees();
-            List<EmployeeModel> filteredEmployees = new ArrayList<>();
-            
-            for (EmployeeModel employee : allEmployees) {
-                if (employee.getPositionId() != null) {
-                    PositionModel position = positionDAO.findById(employee.getPositionId());
-                    if (position != null) {
-                        String empDepartment = position.getDepartment();
-                        if (empDepartment != null && empDepartment.equalsIgnoreCase(filterValue)) {
-                            filteredEmployees.add(employee);
-                        }
-                    }
-                }
-            }
+            List<EmployeeModel> filteredEmployees = EmployeeDirectoryIndex.getInstance().findByDepartment(filterValue);
             
             for (EmployeeModel employee : filteredEmployees) {
                 addEmployeeToTable(employee);
@@ -404,54 +387,15 @@ public class UserManagement extends javax.swing.JFrame {
     }
 
     /**
-     * Get next available employee ID using EmployeeDAO methods
-     * @param currentInput Current input to start from
-     * @return Next available employee ID
+     * Get next available employee ID from the shared block allocator
+     * @return Next available employee ID, or empty if none could be reserved
      */
-    private String getNextEmployeeID(String currentInput) {
+    private String getNextEmployeeID() {
         try {
-            int startingID;
-            
-            try {
-                startingID = Integer.parseInt(currentInput);
-            } catch (NumberFormatException e) {
-                startingID = getHighestEmployeeID();
-            }
-            
-            int suggestedID = startingID + 1;
-            
-            while (employeeDAO.findById(suggestedID) != null) {
-                suggestedID++;
-            }
-            
-            return String.valueOf(suggestedID);
-            
-        } catch (Exception e) {
+            return String.valueOf(EmployeeIdAllocator.getInstance().nextId());
+        } catch (SQLException e) {
             System.err.println("Error getting next employee ID: " + e.getMessage());
-            return "10000"; // Default starting ID
-        }
-    }
-
-    /**
-     * Get highest existing employee ID using DAO methods
-     * @return Highest employee ID in the database
-     */
-    private int getHighestEmployeeID() {
-        try {
-            List<EmployeeModel> allEmployees = employeeDAO.findAll();
-            int highestID = 0;
-            
-            for (EmployeeModel employee : allEmployees) {
-                if (employee.getEmployeeId() != null && employee.getEmployeeId() > highestID) {
-                    highestID = employee.getEmployeeId();
-                }
-            }
-            
-            return highestID;
-            
-        } catch (Exception e) {
-            System.err.println("Error getting highest employee ID: " + e.getMessage());
-            return 10000; // Default starting point
+            return "";
         }
     }
 
@@ -521,9 +465,7 @@ public class UserManagement extends javax.swing.JFrame {
      */
     private void createNewUser() {
         try {
-            String suggestedID = getNextEmployeeID("");
-            
-            List<PositionModel> positions = positionDAO.findAll();
+            List<PositionModel> positions = ReferenceDataCache.getInstance().getAllPositions();
             if (positions.isEmpty()) {
                 JOptionPane.showMessageDialog(this,
                     "No positions available. Please create positions first.",
@@ -531,6 +473,9 @@ public class UserManagement extends javax.swing.JFrame {
                 return;
             }
             
+            String suggestedID = getNextEmployeeID();
+            boolean created = false;
+            
             JPanel mainPanel = new JPanel(new BorderLayout());
             JPanel fieldsPanel = new JPanel();
             fieldsPanel.setLayout(new BoxLayout(fieldsPanel, BoxLayout.Y_AXIS));
@@ -596,8 +541,14 @@ public class UserManagement extends javax.swing.JFrame {
                 int selectedIndex = positionCombo.getSelectedIndex();
                 PositionModel selectedPosition = positions.get(selectedIndex);
                 
-                processNewUserCreation(idField, firstNameField, lastNameField, emailField,
-                                     selectedPosition, roleCombo, passwordField);
+                created = processNewUserCreation(idField, firstNameField, lastNameField, emailField,
+                                     selectedPosition, roleCombo, passwordField)
+                        && suggestedID.equals(idField.getText().trim());
+            }
+            
+            // Hand an unused suggestion back; the allocator only offers it again if it is still free
+            if (!created && !suggestedID.isEmpty()) {
+                EmployeeIdAllocator.getInstance().release(Integer.parseInt(suggestedID));
             }
             
         } catch (Exception e) {
@@ -609,8 +560,9 @@ public class UserManagement extends javax.swing.JFrame {
 
     /**
      * Process new user creation using Model validation methods
+     * @return true if the user was created
      */
-    private void processNewUserCreation(JTextField idField, JTextField firstNameField, 
+    private boolean processNewUserCreation(JTextField idField, JTextField firstNameField, 
                                       JTextField lastNameField, JTextField emailField,
                                       PositionModel selectedPosition,
                                       JComboBox<String> roleCombo,
@@ -628,21 +580,28 @@ public class UserManagement extends javax.swing.JFrame {
                 JOptionPane.showMessageDialog(this,
                     "All fields are required.",
                     "Invalid Input", JOptionPane.ERROR_MESSAGE);
-                return;
+                return false;
             }
             
             if (isEmployeeIDDuplicate(employeeIdStr)) {
                 JOptionPane.showMessageDialog(this,
                     "Employee ID " + employeeIdStr + " already exists.\nPlease choose a different ID.",
                     "Duplicate ID", JOptionPane.ERROR_MESSAGE);
-                return;
+                return false;
+            }
+            
+            if (!EmployeeIdAllocator.getInstance().isClaimable(Integer.parseInt(employeeIdStr))) {
+                JOptionPane.showMessageDialog(this,
+                    "Employee ID " + employeeIdStr + " may be reserved by another HR user.\nPlease use the suggested ID.",
+                    "Reserved ID", JOptionPane.ERROR_MESSAGE);
+                return false;
             }
             
             if (userAuthDAO.emailExists(email)) {
                 JOptionPane.showMessageDialog(this,
                     "Email address " + email + " already exists.\nPlease choose a different email.",
                     "Duplicate Email", JOptionPane.ERROR_MESSAGE);
-                return;
+                return false;
             }
             
             PasswordHasher.PasswordValidationResult passwordValidation = 
@@ -654,7 +613,7 @@ public class UserManagement extends javax.swing.JFrame {
                     String.join("\n", passwordValidation.getIssues()) + "\n\n" +
                     PasswordHasher.getSystemPasswordRequirements(),
                     "Invalid Password", JOptionPane.ERROR_MESSAGE);
-                return;
+                return false;
             }
             
             EmployeeModel newEmployee = new EmployeeModel();
@@ -688,6 +647,7 @@ public class UserManagement extends javax.swing.JFrame {
                     "User Created", JOptionPane.INFORMATION_MESSAGE);
                     
                 updateStatusLabel("New user created: " + newEmployee.getDisplayName());
+                return true;
             } else {
                 JOptionPane.showMessageDialog(this,
                     "Failed to create user. Please try again.",
@@ -700,6 +660,7 @@ public class UserManagement extends javax.swing.JFrame {
                 "Creation Error", JOptionPane.ERROR_MESSAGE);
             System.err.println("Error creating user: " + e.getMessage());
         }
+        return false;
     }
 
     /**
@@ -725,7 +686,7 @@ public class UserManagement extends javax.swing.JFrame {
                 return;
             }
             
-            List<PositionModel> positions = positionDAO.findAll();
+            List<PositionModel> positions = ReferenceDataCache.getInstance().getAllPositions();
             
             JPanel mainPanel = new JPanel(new BorderLayout());
             JPanel fieldsPanel = new JPanel();
@@ -955,6 +916,7 @@ public class UserManagement extends javax.swing.JFrame {
      * Reset table to show all employees
      */
     private void resetTableView() {
+        EmployeeDirectoryIndex.getInstance().refresh(); // Pick up changes made by other users
         loadAllEmployees();
         searchBartxtfield.setText("");
         deptfiltercombobox.setSelectedItem("All");
@@ -5,6 +5,7 @@ import DAOs.DatabaseConnection;
 import DAOs.EmployeeDAO;
 import Services.ReportService;
 import Services.PurePDFPayslipGenerator;
+import Services.AppContext;
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 import java.awt.Cursor;
@@ -47,6 +48,7 @@ public class ViewPayslip extends javax.swing.JFrame {
      * @param user The currently logged in user
      */
     public ViewPayslip(UserAuthenticationModel user) {
+        long openedAt = System.nanoTime();
         this.loggedInUser = user;
         initializeServices(); // Initialize business services
 
@@ -67,6 +69,7 @@ public class ViewPayslip extends javax.swing.JFrame {
         if (loggedInUser != null) {
             loadUserDataToUI(); // UI data loading
         }
+        ScreenTimer.trackFirstPaint(this, openedAt);
     }
     
     // SERVICE INITIALIZATION - Business Logic Setup
@@ -77,9 +80,9 @@ public class ViewPayslip extends javax.swing.JFrame {
      */
     private void initializeServices() {
         try {
-            this.databaseConnection = new DatabaseConnection();
-            this.employeeDAO = new EmployeeDAO(databaseConnection);
-            this.reportService = new ReportService(databaseConnection);
+            this.databaseConnection = AppContext.getDatabaseConnection();
+            this.employeeDAO = AppContext.get(EmployeeDAO.class);
+            this.reportService = AppContext.get(ReportService.class);
             
             System.out.println("Services initialized successfully");
         } catch (Exception e) {
@@ -0,0 +1,96 @@
+package UnitTestAOOP;
+
+import DAOs.ApprovalInboxDAO;
+import DAOs.ApprovalInboxDAO.InboxCursor;
+import DAOs.ApprovalInboxDAO.InboxItem;
+import Services.ApprovalInboxService.InboxDelta;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the approval inbox cursor and delta handling (no database needed)
+ */
+public class ApprovalInboxServiceTest {
+
+    @Test
+    public void testCursorTokenRoundTrip() {
+        InboxItem item = createItem(ApprovalInboxDAO.TYPE_OVERTIME, 42, "Pending", 1000);
+        InboxCursor cursor = InboxCursor.fromToken(item.toCursor().toToken());
+
+        assertNotNull(cursor);
+        assertEquals(item.getDateCreated(), cursor.getDateCreated());
+        assertEquals(ApprovalInboxDAO.TYPE_OVERTIME, cursor.getRequestType());
+        assertEquals(42, cursor.getRequestId());
+
+        assertNull(InboxCursor.fromToken("not-a-cursor"));
+        assertNull(InboxCursor.fromToken("abc:LEAVE:1"));
+    }
+
+    @Test
+    public void testDeltaSplitsPendingAndDecided() {
+        Timestamp previousMark = new Timestamp(1000);
+        InboxDelta delta = InboxDelta.of(Arrays.asList(
+                createItem(ApprovalInboxDAO.TYPE_LEAVE, 1, "Pending", 2000),
+                createItem(ApprovalInboxDAO.TYPE_OVERTIME, 1, "Approved", 3000),
+                createItem(ApprovalInboxDAO.TYPE_LEAVE, 2, "Rejected", 2500)), previousMark);
+
+        assertEquals(1, delta.getUpserts().size());
+        assertEquals("LEAVE:1", delta.getUpserts().get(0).getKey());
+        assertEquals(Arrays.asList("OVERTIME:1", "LEAVE:2"), delta.getRemovedKeys());
+        assertEquals(new Timestamp(3000), delta.getHighWaterMark());
+    }
+
+    @Test
+    public void testEmptyDeltaKeepsMark() {
+        Timestamp previousMark = new Timestamp(1000);
+        InboxDelta delta = InboxDelta.of(Collections.emptyList(), previousMark);
+
+        assertTrue(delta.isEmpty());
+        assertEquals(previousMark, delta.getHighWaterMark());
+    }
+
+    @Test
+    public void testConsecutivePollsWithoutNewChangesAreEmpty() {
+        // Each poll re-reads from two seconds before the mark, so it gets the same rows again
+        List<InboxItem> changes = Arrays.asList(
+                createItem(ApprovalInboxDAO.TYPE_LEAVE, 1, "Pending", 2000),
+                createItem(ApprovalInboxDAO.TYPE_OVERTIME, 1, "Approved", 3000));
+        InboxDelta first = InboxDelta.of(changes, new Timestamp(1000));
+        assertEquals(1, first.getUpserts().size());
+        assertEquals(1, first.getRemovedKeys().size());
+
+        InboxDelta second = InboxDelta.of(changes, first.getHighWaterMark(), first.getSentVersions());
+        assertTrue(second.isEmpty());
+        assertEquals(new Timestamp(3000), second.getHighWaterMark());
+
+        InboxDelta third = InboxDelta.of(changes, second.getHighWaterMark(), second.getSentVersions());
+        assertTrue(third.isEmpty());
+        assertEquals(new Timestamp(3000), third.getHighWaterMark());
+    }
+
+    @Test
+    public void testItemEditedInsideOverlapIsSentAgain() {
+        InboxDelta first = InboxDelta.of(Arrays.asList(
+                createItem(ApprovalInboxDAO.TYPE_LEAVE, 1, "Pending", 2000)), new Timestamp(1000));
+
+        InboxDelta second = InboxDelta.of(Arrays.asList(
+                createItem(ApprovalInboxDAO.TYPE_LEAVE, 1, "Pending", 2000),
+                createItem(ApprovalInboxDAO.TYPE_LEAVE, 2, "Pending", 2500),
+                createItem(ApprovalInboxDAO.TYPE_LEAVE, 1, "Rejected", 2600)),
+                first.getHighWaterMark(), first.getSentVersions());
+
+        assertEquals(1, second.getUpserts().size());
+        assertEquals("LEAVE:2", second.getUpserts().get(0).getKey());
+        assertEquals(Arrays.asList("LEAVE:1"), second.getRemovedKeys());
+        assertEquals(new Timestamp(2600), second.getHighWaterMark());
+    }
+
+    private static InboxItem createItem(String type, int id, String status, long lastModified) {
+        return new InboxItem(type, id, 10001, "Juan Dela Cruz", null, null, null, "Test",
+                status, new Timestamp(500), new Timestamp(lastModified));
+    }
+}
@@ -0,0 +1,147 @@
+package UnitTestAOOP;
+
+import DAOs.AttendanceDAO;
+import DAOs.DatabaseConnection;
+import DAOs.EmployeeDAO;
+import DAOs.SchemaMigrations;
+import Models.EmployeeModel;
+import Models.TardinessRecordModel;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Concurrency test for the single-transaction clock-in path
+ * (AttendanceDAO.recordClockIn). Simulates the 8:00 AM burst by clocking in
+ * every active employee on a run of future test dates from many threads and
+ * reports the throughput. All rows are written on dates from 2099-01-01 and
+ * removed afterwards, together with the summary rows the clock-ins updated.
+ */
+public class AttendanceClockInBenchmarkTest {
+
+    private static final LocalDate TEST_START_DATE = LocalDate.of(2099, 1, 1);
+    private static final int TARGET_CLOCK_INS = 3000;
+    private static final int THREADS = 32;
+
+    private static DatabaseConnection databaseConnection;
+    private static List<Integer> employeeIds;
+
+    private AttendanceDAO attendanceDAO;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        databaseConnection = new DatabaseConnection();
+        try (Connection conn = databaseConnection.createConnection()) {
+            assertTrue("Database should be reachable", conn.isValid(5));
+        }
+        assertTrue("Schema migrations should be applied", SchemaMigrations.migrate(databaseConnection));
+
+        employeeIds = new ArrayList<>();
+        for (EmployeeModel employee : new EmployeeDAO(databaseConnection).getActiveEmployees()) {
+            employeeIds.add(employee.getEmployeeId());
+        }
+        assertFalse("Test needs at least one active employee", employeeIds.isEmpty());
+        cleanupTestRows();
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        cleanupTestRows();
+    }
+
+    @Before
+    public void setUp() {
+        attendanceDAO = new AttendanceDAO(databaseConnection);
+    }
+
+    @Test
+    public void testSecondClockInSameDayIsRejected() {
+        int employeeId = employeeIds.get(0);
+        Date date = Date.valueOf(TEST_START_DATE.plusYears(1)); // Outside the throughput test range
+
+        assertNotNull(attendanceDAO.recordClockIn(employeeId, date, Time.valueOf("07:55:00"), null));
+        assertNull(attendanceDAO.recordClockIn(employeeId, date, Time.valueOf("07:58:00"), null));
+    }
+
+    @Test
+    public void testConcurrentClockInThroughput() throws Exception {
+        int days = (TARGET_CLOCK_INS + employeeIds.size() - 1) / employeeIds.size();
+        int total = days * employeeIds.size();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> results = new ArrayList<>(total);
+
+        long start = System.nanoTime();
+        for (int day = 0; day < days; day++) {
+            Date date = Date.valueOf(TEST_START_DATE.plusDays(day));
+            for (int i = 0; i < employeeIds.size(); i++) {
+                int employeeId = employeeIds.get(i);
+                // Every fourth employee arrives after the grace period
+                boolean late = i % 4 == 0;
+                Time timeIn = Time.valueOf(late ? "08:25:00" : "07:55:00");
+                results.add(pool.submit(() -> attendanceDAO.recordClockIn(employeeId, date, timeIn,
+                        late ? new TardinessRecordModel(null, new BigDecimal("0.4167"),
+                                TardinessRecordModel.TardinessType.LATE, "Benchmark late arrival") : null)));
+            }
+        }
+
+        int succeeded = 0;
+        for (Future<Integer> result : results) {
+            if (result.get() != null) {
+                succeeded++;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+
+        double perSecond = total / (elapsedNanos / 1_000_000_000.0);
+        System.out.printf("Clock-in benchmark: %d clock-ins on %d threads in %d ms (%.0f per second)%n",
+                total, THREADS, elapsedNanos / 1_000_000, perSecond);
+
+        assertEquals("Every clock-in should succeed", total, succeeded);
+        assertEquals("One attendance row per employee per day", total, countTestAttendanceRows());
+    }
+
+    private static int countTestAttendanceRows() throws SQLException {
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "SELECT COUNT(*) FROM attendance WHERE date >= ? AND date < ?")) {
+            stmt.setDate(1, Date.valueOf(TEST_START_DATE));
+            stmt.setDate(2, Date.valueOf(TEST_START_DATE.plusYears(1)));
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    private static void cleanupTestRows() throws SQLException {
+        try (Connection conn = databaseConnection.createConnection()) {
+            deleteFrom(conn, "DELETE t FROM tardinessrecord t JOIN attendance a ON t.attendanceId = a.attendanceId "
+                    + "WHERE a.date >= ?");
+            deleteFrom(conn, "DELETE FROM attendance WHERE date >= ?");
+            deleteFrom(conn, "DELETE FROM tardiness_period_totals WHERE periodMonth >= ?");
+            deleteFrom(conn, "DELETE FROM attendance_daily_rollup WHERE rollupDate >= ?");
+        }
+    }
+
+    private static void deleteFrom(Connection conn, String sql) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setDate(1, Date.valueOf(TEST_START_DATE));
+            stmt.executeUpdate();
+        }
+    }
+}
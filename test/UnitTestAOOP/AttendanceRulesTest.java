@@ -0,0 +1,70 @@
+package UnitTestAOOP;
+
+import Models.AttendanceModel;
+import Utility.AttendanceRules;
+import java.sql.Date;
+import java.sql.Time;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the seconds-of-day attendance rules
+ */
+public class AttendanceRulesTest {
+
+    @Test
+    public void testParseSecondOfDay() {
+        assertEquals(8 * 3600 + 10 * 60 + 5, AttendanceRules.parseSecondOfDay("08:10:05"));
+        assertEquals(7 * 3600 + 30 * 60, AttendanceRules.parseSecondOfDay("7:30"));
+        assertEquals(17 * 3600, AttendanceRules.parseSecondOfDay("17:00:00.000"));
+        assertEquals(AttendanceRules.NO_TIME, AttendanceRules.parseSecondOfDay(""));
+        assertEquals(AttendanceRules.NO_TIME, AttendanceRules.parseSecondOfDay(null));
+        assertEquals(AttendanceRules.NO_TIME, AttendanceRules.parseSecondOfDay("25:00:00"));
+        assertEquals(AttendanceRules.NO_TIME, AttendanceRules.parseSecondOfDay("8h30"));
+    }
+
+    @Test
+    public void testGracePeriodBoundaries() {
+        assertFalse(AttendanceRules.isWithinGracePeriod(AttendanceRules.parseSecondOfDay("08:00:00")));
+        assertTrue(AttendanceRules.isWithinGracePeriod(AttendanceRules.parseSecondOfDay("08:00:01")));
+        assertTrue(AttendanceRules.isWithinGracePeriod(AttendanceRules.parseSecondOfDay("08:10:00")));
+        assertFalse(AttendanceRules.isLate(AttendanceRules.parseSecondOfDay("08:10:00")));
+        assertTrue(AttendanceRules.isLate(AttendanceRules.parseSecondOfDay("08:10:01")));
+        assertFalse(AttendanceRules.isLate(AttendanceRules.NO_TIME));
+    }
+
+    @Test
+    public void testWorkedLateAndOvertime() {
+        int in = AttendanceRules.parseSecondOfDay("08:30:00");
+        int out = AttendanceRules.parseSecondOfDay("19:00:00");
+        assertEquals(9.5, AttendanceRules.toHours(AttendanceRules.workedSeconds(in, out)), 0.0001);
+        assertEquals(30, AttendanceRules.lateMinutes(in));
+        assertEquals(90, AttendanceRules.overtimeMinutes(in, out));
+        assertEquals(0, AttendanceRules.workedSeconds(in, AttendanceRules.NO_TIME));
+    }
+
+    @Test
+    public void testRegularSecondsDeductLunchOnlyWhenCovered() {
+        int morningOnly = AttendanceRules.regularSeconds(
+                AttendanceRules.parseSecondOfDay("08:00:00"), AttendanceRules.parseSecondOfDay("12:00:00"));
+        assertEquals(4 * 3600, morningOnly);
+        int fullDay = AttendanceRules.regularSeconds(
+                AttendanceRules.parseSecondOfDay("07:00:00"), AttendanceRules.parseSecondOfDay("18:00:00"));
+        assertEquals(8 * 3600, fullDay);
+    }
+
+    @Test
+    public void testAttendanceModelUsesRules() {
+        AttendanceModel attendance = new AttendanceModel(Date.valueOf("2025-06-02"),
+                Time.valueOf("08:15:00"), Time.valueOf("16:30:00"), 10001);
+        assertTrue(attendance.isLateAttendance());
+        assertTrue(attendance.isEarlyOut());
+        assertEquals(7.25, attendance.getComputedHours(), 0.0001);
+        assertEquals(0.25, attendance.getLateHours(), 0.0001);
+        assertEquals(0.5, attendance.getUndertimeHoursBigDecimal().doubleValue(), 0.0001);
+
+        attendance.setTimeIn(Time.valueOf("08:05:00"));
+        assertFalse(attendance.isLateAttendance());
+        assertTrue(attendance.isWithinGracePeriod());
+    }
+}
@@ -0,0 +1,181 @@
+package UnitTestAOOP;
+
+import DAOs.ClockEventJournal;
+import DAOs.ClockEventJournal.ClockEvent;
+import DAOs.ClockEventJournal.EventType;
+import DAOs.ClockEventJournal.WriteResult;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.sql.Time;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the write-behind clock event journal. File-only: the database
+ * writer is replaced by an in-memory sink.
+ */
+public class ClockEventJournalTest {
+
+    private static final Date DAY = Date.valueOf("2025-06-02");
+
+    private File directory;
+    private File journalFile;
+    private List<ClockEvent> stored;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("clock-journal").toFile();
+        journalFile = new File(directory, "clock-events.journal");
+        stored = new ArrayList<>();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void testAppendIsPendingAndRejectsDuplicatePunch() throws Exception {
+        ClockEventJournal journal = new ClockEventJournal(journalFile);
+
+        assertNotNull(journal.append(EventType.IN, 10001, DAY, Time.valueOf("07:55:00")));
+        assertNull(journal.append(EventType.IN, 10001, DAY, Time.valueOf("07:58:00")));
+        assertNotNull(journal.append(EventType.OUT, 10001, DAY, Time.valueOf("17:02:00")));
+
+        assertEquals(2, journal.getPendingCount());
+        journal.close(null);
+    }
+
+    @Test
+    public void testUnflushedEventsAreReplayedOnRestart() throws Exception {
+        ClockEventJournal journal = new ClockEventJournal(journalFile);
+        journal.append(EventType.IN, 10001, DAY, Time.valueOf("07:55:00"));
+        journal.append(EventType.IN, 10002, DAY, Time.valueOf("08:20:00"));
+        journal.close(events -> WriteResult.RETRY); // Database down
+
+        ClockEventJournal reopened = new ClockEventJournal(journalFile);
+        List<ClockEvent> pending = reopened.getPendingEvents();
+        assertEquals(2, pending.size());
+        assertEquals(10002, pending.get(1).getEmployeeId());
+        assertEquals(Time.valueOf("08:20:00"), pending.get(1).getTime());
+        assertTrue(reopened.hasPunch(EventType.IN, 10001, DAY));
+
+        // Sequence numbers continue after the replayed events
+        ClockEvent next = reopened.append(EventType.IN, 10003, DAY, Time.valueOf("08:00:00"));
+        assertEquals(3, next.getSequence());
+        reopened.close(null);
+    }
+
+    @Test
+    public void testSuccessfulFlushIsCheckpointed() throws Exception {
+        ClockEventJournal journal = new ClockEventJournal(journalFile);
+        journal.append(EventType.IN, 10001, DAY, Time.valueOf("07:55:00"));
+        journal.append(EventType.OUT, 10001, DAY, Time.valueOf("17:00:00"));
+
+        assertEquals(2, journal.flush(this::store, 100));
+        assertEquals(0, journal.getPendingCount());
+        assertEquals(2, stored.size());
+        journal.close(null);
+
+        ClockEventJournal reopened = new ClockEventJournal(journalFile);
+        assertEquals("Flushed events must not be replayed", 0, reopened.getPendingCount());
+        reopened.close(null);
+    }
+
+    @Test
+    public void testFailedFlushKeepsEventsForRetry() throws Exception {
+        ClockEventJournal journal = new ClockEventJournal(journalFile);
+        journal.append(EventType.IN, 10001, DAY, Time.valueOf("07:55:00"));
+        journal.append(EventType.IN, 10002, DAY, Time.valueOf("07:56:00"));
+        journal.append(EventType.IN, 10003, DAY, Time.valueOf("07:57:00"));
+
+        assertEquals(0, journal.flush(events -> WriteResult.RETRY, 100));
+        assertEquals(3, journal.getPendingCount());
+
+        // Partial progress: only the first batch is stored
+        assertEquals(2, journal.flush(this::store, 2));
+        assertEquals(1, journal.getPendingCount());
+        journal.close(null);
+
+        ClockEventJournal reopened = new ClockEventJournal(journalFile);
+        assertEquals(1, reopened.getPendingCount());
+        assertEquals(10003, reopened.getPendingEvents().get(0).getEmployeeId());
+        reopened.close(null);
+    }
+
+    @Test
+    public void testRejectedEventIsDeadLetteredAndOthersStored() throws Exception {
+        ClockEventJournal journal = new ClockEventJournal(journalFile);
+        journal.append(EventType.IN, 10001, DAY, Time.valueOf("07:55:00"));
+        journal.append(EventType.IN, 99999, DAY, Time.valueOf("07:56:00")); // Unknown employee
+        journal.append(EventType.IN, 10003, DAY, Time.valueOf("07:57:00"));
+
+        // The database rejects any batch holding the unknown employee
+        assertEquals(3, journal.flush(events -> {
+            for (ClockEvent event : events) {
+                if (event.getEmployeeId() == 99999) {
+                    return WriteResult.REJECTED;
+                }
+            }
+            return store(events);
+        }, 100));
+
+        assertEquals(0, journal.getPendingCount());
+        assertEquals(2, stored.size());
+        assertEquals(10003, stored.get(1).getEmployeeId());
+
+        List<String> rejected = Files.readAllLines(journal.getDeadLetterPath(), StandardCharsets.UTF_8);
+        assertEquals(1, rejected.size());
+        assertTrue(rejected.get(0).startsWith("2,IN,99999,"));
+        journal.close(null);
+    }
+
+    @Test
+    public void testIsolationStopsWhenDatabaseGoesAway() throws Exception {
+        ClockEventJournal journal = new ClockEventJournal(journalFile);
+        journal.append(EventType.IN, 99999, DAY, Time.valueOf("07:55:00"));
+        journal.append(EventType.IN, 10002, DAY, Time.valueOf("07:56:00"));
+
+        // Batch rejected, then the database is unreachable for the single writes
+        int[] calls = {0};
+        assertEquals(0, journal.flush(events -> calls[0]++ == 0 ? WriteResult.REJECTED : WriteResult.RETRY, 100));
+        assertEquals(2, journal.getPendingCount());
+        assertFalse(Files.exists(journal.getDeadLetterPath()));
+        journal.close(null);
+    }
+
+    @Test
+    public void testTornLastLineIsIgnored() throws Exception {
+        ClockEventJournal journal = new ClockEventJournal(journalFile);
+        journal.append(EventType.IN, 10001, DAY, Time.valueOf("07:55:00"));
+        journal.close(null);
+
+        // Simulate a crash in the middle of writing the next event
+        Files.write(journalFile.toPath(), "2,IN,100".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        ClockEventJournal reopened = new ClockEventJournal(journalFile);
+        assertEquals(1, reopened.getPendingCount());
+        reopened.append(EventType.IN, 10002, DAY, Time.valueOf("07:56:00"));
+        reopened.close(null);
+
+        ClockEventJournal again = new ClockEventJournal(journalFile);
+        assertEquals(2, again.getPendingCount());
+        again.close(null);
+    }
+
+    private WriteResult store(List<ClockEvent> events) {
+        stored.addAll(events);
+        return WriteResult.STORED;
+    }
+}
@@ -0,0 +1,106 @@
+package UnitTestAOOP;
+
+import DAOs.EmployeeDirectoryIndex;
+import Models.EmployeeModel;
+import Models.EmployeeModel.EmployeeStatus;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for EmployeeDirectoryIndex (in-memory, no database rows needed)
+ */
+public class EmployeeDirectoryIndexTest {
+
+    private static final int DIRECTORY_SIZE = 50000;
+
+    private final EmployeeDirectoryIndex index = new EmployeeDirectoryIndex();
+
+    @Before
+    public void setUp() {
+        List<EmployeeModel> employees = new ArrayList<>();
+        employees.add(createEmployee(10001, "Manuel", "Garcia", 1, EmployeeStatus.REGULAR));
+        employees.add(createEmployee(10002, "Antonio", "Lim", 2, EmployeeStatus.REGULAR));
+        employees.add(createEmployee(10003, "Bianca", "Aquino", 2, EmployeeStatus.PROBATIONARY));
+        employees.add(createEmployee(10004, "Isabella", "Reyes", 3, EmployeeStatus.TERMINATED));
+        index.rebuild(employees);
+    }
+
+    @Test
+    public void testSearchByNameSubstring() {
+        List<EmployeeModel> results = index.searchByName("garc");
+        assertEquals(1, results.size());
+        assertEquals(Integer.valueOf(10001), results.get(0).getEmployeeId());
+
+        // Matches across first and last name
+        assertEquals(1, index.searchByName("antonio l").size());
+    }
+
+    @Test
+    public void testShortQueryMatchesNamePrefix() {
+        List<EmployeeModel> results = index.searchByName("b");
+        assertEquals(1, results.size());
+        assertEquals("Bianca", results.get(0).getFirstName());
+    }
+
+    @Test
+    public void testTerminatedEmployeesAreNotIndexed() {
+        assertNull(index.findById(10004));
+        assertTrue(index.searchByName("isabella").isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void testPositionFacet() {
+        assertEquals(2, index.findByPosition(2).size());
+        assertTrue(index.findByPosition(99).isEmpty());
+    }
+
+    @Test
+    public void testUpsertReplacesOldPostings() {
+        EmployeeModel employee = index.findById(10002);
+        employee.setLastName("Santos");
+        employee.setPositionId(1);
+        index.upsert(employee);
+
+        assertTrue(index.searchByName("lim").isEmpty());
+        assertEquals(1, index.searchByName("santos").size());
+        assertEquals(2, index.findByPosition(1).size());
+
+        employee.setStatus(EmployeeStatus.TERMINATED);
+        index.upsert(employee);
+        assertNull(index.findById(10002));
+    }
+
+    @Test
+    public void testSearchAtDirectoryScale() {
+        List<EmployeeModel> employees = new ArrayList<>();
+        String[] firstNames = {"Juan", "Maria", "Jose", "Ana", "Pedro", "Rosa", "Carlos", "Elena"};
+        String[] lastNames = {"Santos", "Reyes", "Cruz", "Bautista", "Ocampo", "Garcia", "Mendoza", "Torres"};
+        for (int i = 0; i < DIRECTORY_SIZE; i++) {
+            employees.add(createEmployee(20000 + i,
+                firstNames[i % firstNames.length] + i,
+                lastNames[(i / firstNames.length) % lastNames.length],
+                1 + (i % 20), EmployeeStatus.REGULAR));
+        }
+        index.rebuild(employees);
+
+        List<EmployeeModel> results = index.searchByName("maria4321 ocampo");
+        assertEquals(1, results.size());
+        assertEquals(Integer.valueOf(24321), results.get(0).getEmployeeId());
+        assertEquals(DIRECTORY_SIZE, index.size());
+    }
+
+    private EmployeeModel createEmployee(int id, String firstName, String lastName,
+                                         int positionId, EmployeeStatus status) {
+        EmployeeModel employee = new EmployeeModel();
+        employee.setEmployeeId(id);
+        employee.setFirstName(firstName);
+        employee.setLastName(lastName);
+        employee.setPositionId(positionId);
+        employee.setStatus(status);
+        return employee;
+    }
+}
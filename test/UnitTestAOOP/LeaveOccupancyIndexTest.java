@@ -0,0 +1,86 @@
+package UnitTestAOOP;
+
+import DAOs.LeaveOccupancyIndex;
+import Models.LeaveRequestModel;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for LeaveOccupancyIndex (requests are loaded in memory, no database rows needed)
+ */
+public class LeaveOccupancyIndexTest {
+
+    private static final List<Integer> TEAM = Arrays.asList(10001, 10002, 10003);
+
+    private final LeaveOccupancyIndex index = new LeaveOccupancyIndex();
+
+    @Before
+    public void setUp() {
+        List<LeaveRequestModel> requests = new ArrayList<>();
+        requests.add(createLeave(1, 10001, "2025-03-03", "2025-03-05", LeaveRequestModel.ApprovalStatus.APPROVED));
+        requests.add(createLeave(2, 10002, "2025-03-04", "2025-03-04", LeaveRequestModel.ApprovalStatus.PENDING));
+        requests.add(createLeave(3, 10003, "2025-03-05", "2025-03-06", LeaveRequestModel.ApprovalStatus.REJECTED));
+        // Outside the team
+        requests.add(createLeave(4, 20001, "2025-03-04", "2025-03-04", LeaveRequestModel.ApprovalStatus.APPROVED));
+        index.rebuild(requests);
+    }
+
+    @Test
+    public void testWhoIsOutOnADay() {
+        assertEquals(Arrays.asList(10001, 10002), index.getEmployeesOnLeave(TEAM, day("2025-03-04"), true));
+        assertEquals(Arrays.asList(10001), index.getEmployeesOnLeave(TEAM, day("2025-03-04"), false));
+        // Rejected requests are not indexed
+        assertEquals(Collections.emptyList(), index.getEmployeesOnLeave(TEAM, day("2025-03-06"), true));
+    }
+
+    @Test
+    public void testCountsAndCalendar() {
+        assertEquals("[0, 1, 2, 1, 0]",
+                Arrays.toString(index.countOnLeave(TEAM, day("2025-03-02"), day("2025-03-06"), true)));
+
+        List<LeaveOccupancyIndex.DayOccupancy> calendar = index.getTeamCalendar(TEAM, day("2025-03-04"), day("2025-03-05"));
+        assertEquals(2, calendar.size());
+        assertEquals(Arrays.asList(10001), calendar.get(0).getApproved());
+        assertEquals(Arrays.asList(10002), calendar.get(0).getPending());
+        assertEquals(1, calendar.get(1).getTotal());
+    }
+
+    @Test
+    public void testUpdatesKeepIndexCurrent() {
+        index.setApproved(2);
+        assertEquals(Arrays.asList(10001, 10002), index.getEmployeesOnLeave(TEAM, day("2025-03-04"), false));
+
+        // An overlapping request keeps the day marked when the other one goes away
+        index.upsert(createLeave(5, 10001, "2025-03-05", "2025-03-07", LeaveRequestModel.ApprovalStatus.APPROVED));
+        index.remove(1);
+        assertEquals(Arrays.asList(10002), index.getEmployeesOnLeave(TEAM, day("2025-03-04"), true));
+        assertEquals(Arrays.asList(10001), index.getEmployeesOnLeave(TEAM, day("2025-03-05"), true));
+
+        LeaveRequestModel moved = createLeave(2, 10002, "2025-03-10", "2025-03-10", LeaveRequestModel.ApprovalStatus.APPROVED);
+        index.upsert(moved);
+        assertEquals(Collections.emptyList(), index.getEmployeesOnLeave(TEAM, day("2025-03-04"), true));
+        assertEquals(Arrays.asList(10002), index.getEmployeesOnLeave(TEAM, day("2025-03-10"), true));
+    }
+
+    private static LocalDate day(String date) {
+        return LocalDate.parse(date);
+    }
+
+    private static LeaveRequestModel createLeave(int id, int employeeId, String start, String end,
+                                                 LeaveRequestModel.ApprovalStatus status) {
+        LeaveRequestModel request = new LeaveRequestModel();
+        request.setLeaveRequestId(id);
+        request.setEmployeeId(employeeId);
+        request.setLeaveStart(Date.valueOf(start));
+        request.setLeaveEnd(Date.valueOf(end));
+        request.setApprovalStatus(status);
+        return request;
+    }
+}
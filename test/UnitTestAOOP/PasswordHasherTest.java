@@ -1,6 +1,9 @@
 
 package UnitTestAOOP;
 import Utility.PasswordHasher;
+import Utility.Pbkdf2Engine;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
 import org.junit.Test;
 import org.junit.Before;
 import org.junit.After;
@@ -70,11 +73,13 @@ public class PasswordHasherTest {
         String hashedPassword = PasswordHasher.hashPassword(VALID_PASSWORD);
         
         assertNotNull("Hashed password should not be null", hashedPassword);
-        assertTrue("Hashed password should contain salt:hash format", 
-                  hashedPassword.contains(":"));
+        assertTrue("Hashed password should use the versioned format", 
+                  hashedPassword.startsWith(PasswordHasher.HASH_SCHEME + "$"));
         
-        String[] parts = hashedPassword.split(":");
-        assertEquals("Hashed password should have exactly 2 parts", 2, parts.length);
+        String[] parts = hashedPassword.split("\\$");
+        assertEquals("Hashed password should have scheme, cost, salt and hash", 4, parts.length);
+        assertEquals("Cost should be the current iteration count", 
+                    String.valueOf(PasswordHasher.getIterations()), parts[1]);
     }
     
     @Test
@@ -285,4 +290,76 @@ public class PasswordHasherTest {
         
         System.out.println("  Password change scenario completed successfully");
     }
-}
\ No newline at end of file
+    
+    // =====================================
+    // ENGINE, LEGACY FORMAT AND REHASH TESTS
+    // =====================================
+    
+    @Test
+    public void testEngineMatchesSecretKeyFactory() throws Exception {
+        System.out.println("Testing PBKDF2 engine against the JDK implementation");
+        
+        byte[] salt = Base64.getDecoder().decode(PasswordHasher.generateSalt());
+        SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
+        
+        for (String password : new String[] {VALID_PASSWORD, "\u00f1and\u00fa-\u03a9mega", EMPTY_PASSWORD}) {
+            // 40 bytes spans two HMAC blocks
+            for (int length : new int[] {32, 40}) {
+                byte[] expected = factory.generateSecret(
+                        new PBEKeySpec(password.toCharArray(), salt, 1000, length * 8)).getEncoded();
+                byte[] actual = Pbkdf2Engine.derive(password.toCharArray(), salt, 1000, length);
+                assertEquals("Engine output should match for '" + password + "' (" + length + " bytes)",
+                            Base64.getEncoder().encodeToString(expected),
+                            Base64.getEncoder().encodeToString(actual));
+            }
+        }
+    }
+    
+    @Test
+    public void testVerifyLegacySaltHashFormat() {
+        System.out.println("Testing verification of legacy salt:hash passwords");
+        
+        String salt = PasswordHasher.generateSalt();
+        String legacyHash = salt + ":" + PasswordHasher.hashPassword(VALID_PASSWORD, salt);
+        
+        assertTrue("Legacy hash should still verify", 
+                  PasswordHasher.verifyPassword(VALID_PASSWORD, legacyHash));
+        assertFalse("Wrong password should not verify against legacy hash", 
+                   PasswordHasher.verifyPassword("WrongPassword123!", legacyHash));
+        assertTrue("Legacy hash should be upgraded at login", 
+                  PasswordHasher.needsRehash(legacyHash));
+    }
+    
+    @Test
+    public void testNeedsRehashFollowsCurrentCost() {
+        System.out.println("Testing rehash detection against the configured cost");
+        
+        int originalCost = PasswordHasher.getIterations();
+        try {
+            PasswordHasher.setIterations(PasswordHasher.LEGACY_ITERATIONS);
+            String cheapHash = PasswordHasher.hashPassword(VALID_PASSWORD);
+            assertFalse("Hash at the current cost should not need rehash", 
+                       PasswordHasher.needsRehash(cheapHash));
+            
+            PasswordHasher.setIterations(PasswordHasher.LEGACY_ITERATIONS * 2);
+            assertTrue("Hash below the current cost should need rehash", 
+                      PasswordHasher.needsRehash(cheapHash));
+            assertTrue("Cheaper hash should still verify", 
+                      PasswordHasher.verifyPassword(VALID_PASSWORD, cheapHash));
+            assertTrue("Plain text should need rehash", 
+                      PasswordHasher.needsRehash("plaintext"));
+        } finally {
+            PasswordHasher.setIterations(originalCost);
+        }
+    }
+    
+    @Test
+    public void testCalibrateIterationsStaysAboveLegacyCost() {
+        System.out.println("Testing iteration calibration against the login budget");
+        
+        int recommended = PasswordHasher.calibrateIterations(PasswordHasher.LOGIN_HASH_BUDGET_MILLIS);
+        System.out.println("  Recommended iterations: " + recommended);
+        assertTrue("Recommended cost should not be below the legacy cost", 
+                  recommended >= PasswordHasher.LEGACY_ITERATIONS);
+    }
+}
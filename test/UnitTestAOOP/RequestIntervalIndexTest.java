@@ -0,0 +1,109 @@
+package UnitTestAOOP;
+
+import DAOs.RequestIntervalIndex;
+import Models.LeaveRequestModel;
+import Models.OvertimeRequestModel;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for RequestIntervalIndex (ranges are loaded in memory, no database rows needed)
+ */
+public class RequestIntervalIndexTest {
+
+    private static final int EMPLOYEE_ID = 10001;
+
+    private final RequestIntervalIndex index = RequestIntervalIndex.getInstance();
+
+    @Before
+    public void setUp() {
+        List<LeaveRequestModel> leaves = new ArrayList<>();
+        leaves.add(createLeave(1, "2025-03-03", "2025-03-05", LeaveRequestModel.ApprovalStatus.APPROVED));
+        leaves.add(createLeave(2, "2025-03-10", "2025-03-10", LeaveRequestModel.ApprovalStatus.PENDING));
+        leaves.add(createLeave(3, "2025-01-02", "2025-02-28", LeaveRequestModel.ApprovalStatus.APPROVED));
+        index.loadLeave(EMPLOYEE_ID, leaves);
+
+        List<OvertimeRequestModel> overtime = new ArrayList<>();
+        overtime.add(createOvertime(7, LocalDateTime.of(2025, 3, 3, 17, 0), LocalDateTime.of(2025, 3, 3, 19, 0)));
+        index.loadOvertime(EMPLOYEE_ID, overtime);
+    }
+
+    @Test
+    public void testLeaveOverlapIsInclusive() {
+        assertEquals(Arrays.asList(1), index.findOverlappingLeave(EMPLOYEE_ID, day("2025-03-05"), day("2025-03-07"), -1));
+        assertFalse(index.hasOverlappingLeave(EMPLOYEE_ID, day("2025-03-06"), day("2025-03-09"), -1));
+        assertEquals(Arrays.asList(1, 2), index.findOverlappingLeave(EMPLOYEE_ID, day("2025-03-01"), day("2025-03-31"), -1));
+
+        // A long range that starts well before the query is still found
+        assertEquals(Arrays.asList(3), index.findOverlappingLeave(EMPLOYEE_ID, day("2025-02-20"), day("2025-02-21"), -1));
+    }
+
+    @Test
+    public void testExcludeAndApprovedOnly() {
+        assertFalse(index.hasOverlappingLeave(EMPLOYEE_ID, day("2025-03-10"), day("2025-03-10"), 2));
+        assertFalse(index.hasOverlappingApprovedLeave(EMPLOYEE_ID, day("2025-03-10"), day("2025-03-10"), -1));
+
+        index.setLeaveApproved(2);
+        assertTrue(index.hasOverlappingApprovedLeave(EMPLOYEE_ID, day("2025-03-10"), day("2025-03-10"), -1));
+    }
+
+    @Test
+    public void testUpdatesKeepIndexCurrent() {
+        LeaveRequestModel moved = createLeave(2, "2025-04-01", "2025-04-02", LeaveRequestModel.ApprovalStatus.PENDING);
+        index.upsertLeave(moved);
+        assertFalse(index.hasOverlappingLeave(EMPLOYEE_ID, day("2025-03-10"), day("2025-03-10"), -1));
+        assertTrue(index.hasOverlappingLeave(EMPLOYEE_ID, day("2025-04-02"), day("2025-04-03"), -1));
+
+        moved.reject("Not approved");
+        index.upsertLeave(moved);
+        assertFalse(index.hasOverlappingLeave(EMPLOYEE_ID, day("2025-04-02"), day("2025-04-03"), -1));
+
+        index.removeLeave(1);
+        assertFalse(index.hasOverlappingLeave(EMPLOYEE_ID, day("2025-03-04"), day("2025-03-04"), -1));
+    }
+
+    @Test
+    public void testOvertimeOverlap() {
+        assertTrue(index.hasOverlappingOvertime(EMPLOYEE_ID,
+                LocalDateTime.of(2025, 3, 3, 18, 0), LocalDateTime.of(2025, 3, 3, 20, 0), -1));
+        // Touching end points count as overlapping, as before
+        assertTrue(index.hasOverlappingOvertime(EMPLOYEE_ID,
+                LocalDateTime.of(2025, 3, 3, 19, 0), LocalDateTime.of(2025, 3, 3, 21, 0), -1));
+        assertFalse(index.hasOverlappingOvertime(EMPLOYEE_ID,
+                LocalDateTime.of(2025, 3, 3, 19, 1), LocalDateTime.of(2025, 3, 3, 21, 0), -1));
+
+        index.removeOvertime(7);
+        assertFalse(index.hasOverlappingOvertime(EMPLOYEE_ID,
+                LocalDateTime.of(2025, 3, 3, 18, 0), LocalDateTime.of(2025, 3, 3, 20, 0), -1));
+    }
+
+    private static LocalDate day(String date) {
+        return LocalDate.parse(date);
+    }
+
+    private static LeaveRequestModel createLeave(int id, String start, String end, LeaveRequestModel.ApprovalStatus status) {
+        LeaveRequestModel request = new LeaveRequestModel();
+        request.setLeaveRequestId(id);
+        request.setEmployeeId(EMPLOYEE_ID);
+        request.setLeaveStart(Date.valueOf(start));
+        request.setLeaveEnd(Date.valueOf(end));
+        request.setApprovalStatus(status);
+        return request;
+    }
+
+    private static OvertimeRequestModel createOvertime(int id, LocalDateTime start, LocalDateTime end) {
+        OvertimeRequestModel request = new OvertimeRequestModel();
+        request.setOvertimeRequestId(id);
+        request.setEmployeeId(EMPLOYEE_ID);
+        request.setOvertimeStart(start);
+        request.setOvertimeEnd(end);
+        return request;
+    }
+}
@@ -0,0 +1,79 @@
+package UnitTestAOOP;
+
+import Utility.WorkdayCalendar;
+import Utility.WorkdayCalendar.HolidayType;
+import java.io.File;
+import java.time.LocalDate;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the holiday-aware workday calendar
+ */
+public class WorkdayCalendarTest {
+
+    private WorkdayCalendar calendar;
+
+    @Before
+    public void setUp() {
+        calendar = new WorkdayCalendar(new File("does-not-exist.properties"));
+    }
+
+    @Test
+    public void testWeekendsAndRegularHolidaysAreNotWorkdays() {
+        assertTrue(calendar.isWorkday(LocalDate.of(2025, 6, 2)));   // Monday
+        assertFalse(calendar.isWorkday(LocalDate.of(2025, 6, 7)));  // Saturday
+        assertFalse(calendar.isWorkday(LocalDate.of(2025, 6, 12))); // Independence Day
+        assertFalse(calendar.isWorkday(LocalDate.of(2025, 8, 25))); // National Heroes Day (last Monday)
+        assertEquals(HolidayType.REGULAR, calendar.getHoliday(LocalDate.of(2025, 12, 30)).getType());
+    }
+
+    @Test
+    public void testEasterBasedHolidays() {
+        // Easter 2025 is April 20
+        assertFalse(calendar.isWorkday(LocalDate.of(2025, 4, 17))); // Maundy Thursday
+        assertFalse(calendar.isWorkday(LocalDate.of(2025, 4, 18))); // Good Friday
+        assertEquals(HolidayType.SPECIAL_NON_WORKING, calendar.getHoliday(LocalDate.of(2025, 4, 19)).getType());
+        assertTrue(calendar.isWorkday(LocalDate.of(2025, 4, 16)));
+    }
+
+    @Test
+    public void testCountMatchesDayByDayCount() {
+        LocalDate start = LocalDate.of(2024, 11, 15);
+        LocalDate end = LocalDate.of(2025, 2, 10);
+        int expected = 0;
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            if (calendar.isWorkday(date)) {
+                expected++;
+            }
+        }
+        assertEquals(expected, calendar.countWorkdays(start, end));
+        assertEquals(expected, calendar.getWorkdays(start, end).size());
+    }
+
+    @Test
+    public void testJune2025Workdays() {
+        // 21 weekdays minus Independence Day (Thursday)
+        assertEquals(20, calendar.countWorkdays(LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 30)));
+        assertEquals(0, calendar.countWorkdays(LocalDate.of(2025, 6, 30), LocalDate.of(2025, 6, 1)));
+    }
+
+    @Test
+    public void testDatesOutsideInitialSpan() {
+        assertFalse(calendar.isWorkday(LocalDate.of(1990, 12, 25)));
+        // 2060-06-12 is a Saturday, so June 2060 has its full 22 weekdays
+        assertEquals(22, calendar.countWorkdays(LocalDate.of(2060, 6, 1), LocalDate.of(2060, 6, 30)));
+    }
+
+    @Test
+    public void testConfiguredHolidays() {
+        LocalDate chineseNewYear = LocalDate.of(2025, 1, 29);
+        int before = calendar.countWorkdays(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+        calendar.addHoliday(chineseNewYear, HolidayType.SPECIAL_NON_WORKING, "Chinese New Year");
+        assertFalse(calendar.isWorkday(chineseNewYear));
+        assertEquals(before - 1, calendar.countWorkdays(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)));
+
+        calendar.removeHoliday(LocalDate.of(2025, 12, 31));
+        assertTrue(calendar.isWorkday(LocalDate.of(2025, 12, 31)));
+    }
+}